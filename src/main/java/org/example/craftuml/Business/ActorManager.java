@@ -1,7 +1,10 @@
 package org.example.craftuml.Business;
 
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
 import org.example.craftuml.models.UseCaseDiagrams.Actor;
 
 import java.util.List;
@@ -19,6 +22,26 @@ public class ActorManager {
      */
     private List<Actor> actors;
 
+    /**
+     * The size of the actor's head.
+     */
+    private static final double HEAD_SIZE = 20;
+
+    /**
+     * The length of the actor's body.
+     */
+    private static final double BODY_HEIGHT = 25;
+
+    /**
+     * The length of the actor's legs.
+     */
+    private static final double LEG_LENGTH = 30;
+
+    /**
+     * The vertical offset of the actor's name from the top of the figure.
+     */
+    private static final double NAME_OFFSET = HEAD_SIZE + BODY_HEIGHT + LEG_LENGTH + 10;
+
     /**
      * Constructor to initialize the ActorManager with a list of actors.
      *
@@ -37,30 +60,54 @@ public class ActorManager {
      * @param actor The `Actor` to be drawn.
      */
     public void drawActor(GraphicsContext gc, Actor actor) {
-        // Adjust the size for the actor
-        double headSize = 20;  // Smaller head size
-        double bodyHeight = 25; // Shorter body
-        double armLength = 20;  // Shorter arms
-        double legLength = 30;  // Shorter legs
+        drawActor(new FxRenderer(gc), actor);
+    }
 
+    /**
+     * Draws an actor with the given renderer: a head (circle), body (line), arms (line) and legs (lines),
+     * with the actor's name below the figure.
+     *
+     * @param renderer The `Renderer` used for drawing.
+     * @param actor The `Actor` to be drawn.
+     */
+    public void drawActor(Renderer renderer, Actor actor) {
         // Draw the actor's head (outline of the circle, no fill)
-        gc.setStroke(Color.BLACK);  // Set stroke color to black for the outline
-        gc.setLineWidth(2);  // Optional: Adjust line width for a clearer outline
-        gc.strokeOval(actor.getX(), actor.getY(), headSize, headSize);  // Head as an outline circle
+        renderer.setStroke(Color.BLACK);  // Set stroke color to black for the outline
+        renderer.setLineWidth(2);  // Optional: Adjust line width for a clearer outline
+        renderer.strokeOval(actor.getX(), actor.getY(), HEAD_SIZE, HEAD_SIZE);  // Head as an outline circle
 
         // Draw the actor's body (line)
-        gc.strokeLine(actor.getX() + headSize / 2, actor.getY() + headSize, actor.getX() + headSize / 2, actor.getY() + headSize + bodyHeight); // Body
+        renderer.strokeLine(actor.getX() + HEAD_SIZE / 2, actor.getY() + HEAD_SIZE, actor.getX() + HEAD_SIZE / 2, actor.getY() + HEAD_SIZE + BODY_HEIGHT); // Body
 
         // Draw the actor's arms (lines)
-        gc.strokeLine(actor.getX(), actor.getY() + headSize + 10, actor.getX() + headSize, actor.getY() + headSize + 10); // Arms
+        renderer.strokeLine(actor.getX(), actor.getY() + HEAD_SIZE + 10, actor.getX() + HEAD_SIZE, actor.getY() + HEAD_SIZE + 10); // Arms
 
         // Draw the actor's legs (lines)
-        gc.strokeLine(actor.getX() + headSize / 2, actor.getY() + headSize + bodyHeight, actor.getX(), actor.getY() + headSize + bodyHeight + legLength); // Left leg
-        gc.strokeLine(actor.getX() + headSize / 2, actor.getY() + headSize + bodyHeight, actor.getX() + headSize, actor.getY() + headSize + bodyHeight + legLength); // Right leg
+        renderer.strokeLine(actor.getX() + HEAD_SIZE / 2, actor.getY() + HEAD_SIZE + BODY_HEIGHT, actor.getX(), actor.getY() + HEAD_SIZE + BODY_HEIGHT + LEG_LENGTH); // Left leg
+        renderer.strokeLine(actor.getX() + HEAD_SIZE / 2, actor.getY() + HEAD_SIZE + BODY_HEIGHT, actor.getX() + HEAD_SIZE, actor.getY() + HEAD_SIZE + BODY_HEIGHT + LEG_LENGTH); // Right leg
 
         // Draw the actor's name below the figure
-        gc.setFill(Color.BLACK);  // Fill color for the name text
-        gc.fillText(actor.getName(), actor.getX() + 5, actor.getY() + headSize + bodyHeight + legLength + 10);  // Name below the actor
+        renderer.setFill(Color.BLACK);  // Fill color for the name text
+        renderer.fillText(actor.getName(), actor.getX() + 5, actor.getY() + NAME_OFFSET);  // Name below the actor
+    }
+
+    /**
+     * Returns the area covered by a drawn actor, including its name.
+     * The name is drawn with whatever alignment is set on the canvas, so its area is taken
+     * generously enough to cover both left and centre alignment, on the top or on the baseline.
+     *
+     * @param actor The `Actor` to measure.
+     * @param metrics The text metrics used to measure the name.
+     * @return The bounds of the drawn actor.
+     */
+    public static Bounds getActorBounds(Actor actor, TextMetricsCache metrics) {
+        Bounds name = metrics.measure(actor.getName() == null ? "" : actor.getName(), Font.getDefault());
+        double nameX = actor.getX() + 5;
+        double nameY = actor.getY() + NAME_OFFSET;
+        double minX = Math.min(actor.getX(), nameX - name.getWidth());
+        double maxX = Math.max(actor.getX() + HEAD_SIZE, nameX + name.getWidth());
+        double maxY = nameY + name.getHeight();
+        return new BoundingBox(minX, actor.getY(), maxX - minX, maxY - actor.getY());
     }
 
     /**
@@ -181,14 +228,31 @@ public class ActorManager {
      */
     public static void updateActorPosition(Actor actor, double mouseX, double mouseY, double offsetX, double offsetY,
                                            double canvasWidth, double canvasHeight) {
+        updateActorPosition(actor, mouseX, mouseY, offsetX, offsetY, new BoundingBox(0, 0, canvasWidth, canvasHeight));
+    }
+
+    /**
+     * Updates the position of an actor based on the mouse coordinates, while ensuring
+     * that the actor stays within the given area. All values are in model coordinates,
+     * so a zoomed or panned canvas passes the part of the model it shows.
+     *
+     * @param actor The `Actor` to move.
+     * @param mouseX The current x-coordinate of the mouse.
+     * @param mouseY The current y-coordinate of the mouse.
+     * @param offsetX The horizontal offset between the actor's position and the mouse.
+     * @param offsetY The vertical offset between the actor's position and the mouse.
+     * @param bounds The area to constrain the actor within.
+     */
+    public static void updateActorPosition(Actor actor, double mouseX, double mouseY, double offsetX, double offsetY,
+                                           Bounds bounds) {
         double newX = mouseX - offsetX;
         double newY = mouseY - offsetY;
 
-        // Clamp the position of the Actor to stay within the bounds of the whole drawingCanvas
-        double maxX = canvasWidth - actor.getWidth();  // Right boundary of the canvas
-        double minX = 0;  // Left boundary of the canvas
-        double maxY = canvasHeight - actor.getHeight();  // Bottom boundary of the canvas
-        double minY = 0;  // Top boundary of the canvas
+        // Clamp the position of the Actor to stay within the given bounds
+        double maxX = bounds.getMaxX() - actor.getWidth();  // Right boundary
+        double minX = bounds.getMinX();  // Left boundary
+        double maxY = bounds.getMaxY() - actor.getHeight();  // Bottom boundary
+        double minY = bounds.getMinY();  // Top boundary
 
         // Apply constraints
         actor.setX(Math.max(minX, Math.min(newX, maxX)));
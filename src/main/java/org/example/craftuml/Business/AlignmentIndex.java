@@ -0,0 +1,316 @@
+package org.example.craftuml.Business;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds boxes that a dragged box can be aligned with. The left, centre and right x-coordinates and the top,
+ * middle and bottom y-coordinates of every added box are kept in two sorted arrays, so the edge closest to a
+ * dragged box is found with a binary search instead of a scan over every box.
+ * <p>
+ * The edges of one direction share a single array, so any edge can align with any other edge of that
+ * direction: a left edge can snap to a centre or a right edge as well as to a left edge, which places
+ * boxes flush next to each other.
+ * </p>
+ * <p>
+ * The index is meant to be filled once when a drag starts, with the boxes that stay in place, and queried on
+ * every drag step. After a successful lookup the matched edge is available as a guide line, spanning the box
+ * it belongs to.
+ * </p>
+ */
+public class AlignmentIndex {
+    /**
+     * The edges of one direction, sorted by their coordinate.
+     */
+    private static final class Axis {
+        /**
+         * Every added edge, as a coordinate, span start and span end triple.
+         */
+        private final List<double[]> edges = new ArrayList<>();
+
+        /**
+         * The sorted coordinates of the edges.
+         */
+        private double[] values = new double[0];
+
+        /**
+         * The start and end of the box each sorted edge belongs to, along the other direction.
+         */
+        private double[] spanStarts = new double[0], spanEnds = new double[0];
+
+        /**
+         * Whether the sorted arrays reflect every added edge.
+         */
+        private boolean sorted = true;
+
+        /**
+         * Whether the last lookup found an edge.
+         */
+        private boolean found;
+
+        /**
+         * The coordinate and span of the edge found by the last lookup.
+         */
+        private double guide, guideStart, guideEnd;
+
+        /**
+         * Adds an edge.
+         *
+         * @param value The coordinate of the edge.
+         * @param spanStart The start of the box along the other direction.
+         * @param spanEnd The end of the box along the other direction.
+         */
+        private void add(double value, double spanStart, double spanEnd) {
+            edges.add(new double[]{value, spanStart, spanEnd});
+            sorted = false;
+        }
+
+        /**
+         * Removes every edge.
+         */
+        private void clear() {
+            edges.clear();
+            values = new double[0];
+            spanStarts = new double[0];
+            spanEnds = new double[0];
+            sorted = true;
+            found = false;
+        }
+
+        /**
+         * Sorts the added edges into the lookup arrays if edges were added since the last sort.
+         */
+        private void sort() {
+            if (sorted) {
+                return;
+            }
+            edges.sort((a, b) -> Double.compare(a[0], b[0]));
+            int size = edges.size();
+            values = new double[size];
+            spanStarts = new double[size];
+            spanEnds = new double[size];
+            for (int i = 0; i < size; i++) {
+                double[] edge = edges.get(i);
+                values[i] = edge[0];
+                spanStarts[i] = edge[1];
+                spanEnds[i] = edge[2];
+            }
+            sorted = true;
+        }
+
+        /**
+         * Finds the edge closest to any of the start, centre and end of a dragged box.
+         *
+         * @param start The start of the dragged box along this direction.
+         * @param length The length of the dragged box along this direction.
+         * @param tolerance The largest distance at which an edge is found.
+         * @return The distance to move the box by to align it, or 0 if no edge is close enough.
+         */
+        private double align(double start, double length, double tolerance) {
+            sort();
+            found = false;
+            double bestOffset = 0;
+            double bestDistance = tolerance;
+            for (int probe = 0; probe < 3; probe++) {
+                double position = start + probe * length / 2;
+                int index = nearest(position);
+                if (index < 0) {
+                    continue;
+                }
+                double offset = values[index] - position;
+                double distance = Math.abs(offset);
+                if (distance < bestDistance || (!found && distance == bestDistance)) {
+                    found = true;
+                    bestDistance = distance;
+                    bestOffset = offset;
+                    guide = values[index];
+                    guideStart = spanStarts[index];
+                    guideEnd = spanEnds[index];
+                }
+            }
+            return bestOffset;
+        }
+
+        /**
+         * Finds the sorted edge closest to a coordinate with a binary search.
+         *
+         * @param position The coordinate.
+         * @return The index of the closest edge, or -1 if there are no edges.
+         */
+        private int nearest(double position) {
+            if (values.length == 0) {
+                return -1;
+            }
+            int low = 0;
+            int high = values.length - 1;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (values[middle] < position) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            if (low > 0 && position - values[low - 1] <= Math.abs(values[low] - position)) {
+                return low - 1;
+            }
+            return low;
+        }
+    }
+
+    /**
+     * The vertical edges of the boxes: left, centre and right.
+     */
+    private final Axis verticalEdges = new Axis();
+
+    /**
+     * The horizontal edges of the boxes: top, middle and bottom.
+     */
+    private final Axis horizontalEdges = new Axis();
+
+    /**
+     * Adds the edges of a box that other boxes can be aligned with.
+     *
+     * @param x The x-coordinate of the box.
+     * @param y The y-coordinate of the box.
+     * @param width The width of the box.
+     * @param height The height of the box.
+     */
+    public void add(double x, double y, double width, double height) {
+        for (int i = 0; i < 3; i++) {
+            verticalEdges.add(x + i * width / 2, y, y + height);
+            horizontalEdges.add(y + i * height / 2, x, x + width);
+        }
+    }
+
+    /**
+     * Removes every box.
+     */
+    public void clear() {
+        verticalEdges.clear();
+        horizontalEdges.clear();
+    }
+
+    /**
+     * Returns the number of boxes in the index.
+     *
+     * @return The number of boxes.
+     */
+    public int size() {
+        return verticalEdges.edges.size() / 3;
+    }
+
+    /**
+     * Finds the horizontal move that aligns the left edge, centre or right edge of a dragged box with the
+     * closest vertical edge of an indexed box.
+     *
+     * @param x The x-coordinate of the dragged box.
+     * @param width The width of the dragged box.
+     * @param tolerance The largest distance the box is moved by.
+     * @return The distance to add to the x-coordinate, or 0 if no edge is within the tolerance.
+     * @throws IllegalArgumentException if the tolerance is negative.
+     */
+    public double alignX(double x, double width, double tolerance) {
+        checkTolerance(tolerance);
+        return verticalEdges.align(x, width, tolerance);
+    }
+
+    /**
+     * Finds the vertical move that aligns the top edge, middle or bottom edge of a dragged box with the
+     * closest horizontal edge of an indexed box.
+     *
+     * @param y The y-coordinate of the dragged box.
+     * @param height The height of the dragged box.
+     * @param tolerance The largest distance the box is moved by.
+     * @return The distance to add to the y-coordinate, or 0 if no edge is within the tolerance.
+     * @throws IllegalArgumentException if the tolerance is negative.
+     */
+    public double alignY(double y, double height, double tolerance) {
+        checkTolerance(tolerance);
+        return horizontalEdges.align(y, height, tolerance);
+    }
+
+    /**
+     * Checks whether the last call to {@link #alignX} found an edge.
+     *
+     * @return true if there is a vertical guide, false otherwise.
+     */
+    public boolean hasGuideX() {
+        return verticalEdges.found;
+    }
+
+    /**
+     * Returns the x-coordinate of the vertical edge found by the last call to {@link #alignX}.
+     *
+     * @return The x-coordinate of the guide.
+     */
+    public double getGuideX() {
+        return verticalEdges.guide;
+    }
+
+    /**
+     * Returns the top of the box the vertical guide belongs to.
+     *
+     * @return The smallest y-coordinate of the aligned box.
+     */
+    public double getGuideXStart() {
+        return verticalEdges.guideStart;
+    }
+
+    /**
+     * Returns the bottom of the box the vertical guide belongs to.
+     *
+     * @return The largest y-coordinate of the aligned box.
+     */
+    public double getGuideXEnd() {
+        return verticalEdges.guideEnd;
+    }
+
+    /**
+     * Checks whether the last call to {@link #alignY} found an edge.
+     *
+     * @return true if there is a horizontal guide, false otherwise.
+     */
+    public boolean hasGuideY() {
+        return horizontalEdges.found;
+    }
+
+    /**
+     * Returns the y-coordinate of the horizontal edge found by the last call to {@link #alignY}.
+     *
+     * @return The y-coordinate of the guide.
+     */
+    public double getGuideY() {
+        return horizontalEdges.guide;
+    }
+
+    /**
+     * Returns the left side of the box the horizontal guide belongs to.
+     *
+     * @return The smallest x-coordinate of the aligned box.
+     */
+    public double getGuideYStart() {
+        return horizontalEdges.guideStart;
+    }
+
+    /**
+     * Returns the right side of the box the horizontal guide belongs to.
+     *
+     * @return The largest x-coordinate of the aligned box.
+     */
+    public double getGuideYEnd() {
+        return horizontalEdges.guideEnd;
+    }
+
+    /**
+     * Rejects negative or undefined tolerances.
+     *
+     * @param tolerance The tolerance to check.
+     * @throws IllegalArgumentException if the tolerance is negative.
+     */
+    private static void checkTolerance(double tolerance) {
+        if (!(tolerance >= 0)) {
+            throw new IllegalArgumentException("Tolerance cannot be negative.");
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package org.example.craftuml.Business;
 
-import javafx.geometry.Point2D;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
 import javafx.scene.canvas.Canvas;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 import org.example.craftuml.models.UseCaseDiagrams.Actor;
 import org.example.craftuml.models.UseCaseDiagrams.Association;
@@ -28,6 +28,16 @@ public class AssociationManager {
      */
     private List<Actor> actors;
 
+    /**
+     * The end points of the last association line that was found, reused so that drawing allocates no points.
+     */
+    private double lineStartX, lineStartY, lineEndX, lineEndY;
+
+    /**
+     * The last boundary point found by {@link #findNearestBoundaryPoint}.
+     */
+    private double boundaryX, boundaryY;
+
     /**
      * Constructor to initialize the `AssociationManager` with lists of `UseCase` and `Actor`.
      *
@@ -78,32 +88,66 @@ public class AssociationManager {
      * @param drawingCanvas The `Canvas` on which the association line will be drawn.
      */
     public void drawAssociationLine(Actor actor, UseCase useCase, Canvas drawingCanvas) {
-        GraphicsContext gc = drawingCanvas.getGraphicsContext2D();
-        gc.setStroke(Color.BLACK);
-        gc.setLineWidth(2);
+        drawAssociationLine(actor, useCase, new FxRenderer(drawingCanvas.getGraphicsContext2D()));
+    }
+
+    /**
+     * Draws an association line between an `Actor` and a `UseCase` with the given renderer,
+     * from the nearest boundary of the actor to the nearest boundary of the use case.
+     *
+     * @param actor The `Actor` to draw the association line from.
+     * @param useCase The `UseCase` to draw the association line to.
+     * @param renderer The `Renderer` used for drawing.
+     */
+    public void drawAssociationLine(Actor actor, UseCase useCase, Renderer renderer) {
+        renderer.setStroke(Color.BLACK);
+        renderer.setLineWidth(2);
 
+        findLine(actor, useCase);
+        renderer.strokeLine(lineStartX, lineStartY, lineEndX, lineEndY);
+    }
+
+    /**
+     * Returns the area covered by the association line between an `Actor` and a `UseCase`.
+     *
+     * @param actor The `Actor` the association line starts at.
+     * @param useCase The `UseCase` the association line ends at.
+     * @return The bounds of the association line.
+     */
+    public Bounds getAssociationBounds(Actor actor, UseCase useCase) {
+        findLine(actor, useCase);
+        return new BoundingBox(Math.min(lineStartX, lineEndX), Math.min(lineStartY, lineEndY),
+                Math.abs(lineStartX - lineEndX), Math.abs(lineStartY - lineEndY));
+    }
+
+    /**
+     * Finds the end points of the association line from the nearest boundary of the actor to the
+     * nearest boundary of the use case, and stores them in the line fields.
+     *
+     * @param actor The `Actor` the association line starts at.
+     * @param useCase The `UseCase` the association line ends at.
+     */
+    private void findLine(Actor actor, UseCase useCase) {
         double actorCenterX = actor.getX() + actor.getWidth() / 2;
         double actorCenterY = actor.getY() + actor.getHeight() / 2;
         double useCaseCenterX = useCase.getX() + useCase.getWidth() / 2;
         double useCaseCenterY = useCase.getY() + useCase.getHeight() / 2;
 
-        Point2D actorBoundaryPoint = getNearestBoundaryPoint(
-                actor.getX(), actor.getY(), actor.getWidth(), actor.getHeight(),
-                useCaseCenterX, useCaseCenterY, false
-        );
+        findNearestBoundaryPoint(actor.getX(), actor.getY(), actor.getWidth(), actor.getHeight(),
+                useCaseCenterX, useCaseCenterY, false);
+        lineStartX = boundaryX;
+        lineStartY = boundaryY;
 
-        Point2D useCaseBoundaryPoint = getNearestBoundaryPoint(
-                useCase.getX(), useCase.getY(), useCase.getWidth(), useCase.getHeight(),
-                actorCenterX, actorCenterY, true
-        );
-
-        gc.strokeLine(actorBoundaryPoint.getX(), actorBoundaryPoint.getY(),
-                useCaseBoundaryPoint.getX(), useCaseBoundaryPoint.getY());
+        findNearestBoundaryPoint(useCase.getX(), useCase.getY(), useCase.getWidth(), useCase.getHeight(),
+                actorCenterX, actorCenterY, true);
+        lineEndX = boundaryX;
+        lineEndY = boundaryY;
     }
 
     /**
      * Finds the nearest boundary point of a shape (either actor or use case) to a target point (actor or use case center).
      * This method handles both rectangular and elliptical shapes for accurate boundary point calculation.
+     * The point is stored in {@link #boundaryX} and {@link #boundaryY}.
      *
      * @param x The x-coordinate of the top-left corner of the shape.
      * @param y The y-coordinate of the top-left corner of the shape.
@@ -112,10 +156,9 @@ public class AssociationManager {
      * @param targetX The x-coordinate of the target point (the center of the other shape).
      * @param targetY The y-coordinate of the target point (the center of the other shape).
      * @param isEllipse Boolean flag indicating if the shape is an ellipse (`true`) or a rectangle (`false`).
-     * @return A `Point2D` object representing the nearest boundary point of the shape.
      */
-    private Point2D getNearestBoundaryPoint(double x, double y, double width, double height,
-                                            double targetX, double targetY, boolean isEllipse) {
+    private void findNearestBoundaryPoint(double x, double y, double width, double height,
+                                          double targetX, double targetY, boolean isEllipse) {
         if (isEllipse) {
             double a = width / 2.0;
             double b = height / 2.0;
@@ -129,10 +172,8 @@ public class AssociationManager {
             double nx = dx / magnitude;
             double ny = dy / magnitude;
 
-            double boundaryX = xCenter + a * nx;
-            double boundaryY = yCenter + b * ny;
-
-            return new Point2D(boundaryX - 8, boundaryY);
+            boundaryX = xCenter + a * nx - 8;
+            boundaryY = yCenter + b * ny;
         } else {
             double rectCenterX = x + width / 2.0;
             double rectCenterY = y + height / 2.0;
@@ -145,10 +186,8 @@ public class AssociationManager {
 
             double scale = (absDx / width > absDy / height) ? width / 2.0 / absDx : height / 2.0 / absDy;
 
-            double boundaryX = rectCenterX + dx * scale;
-            double boundaryY = rectCenterY + dy * scale;
-
-            return new Point2D(boundaryX, boundaryY);
+            boundaryX = rectCenterX + dx * scale;
+            boundaryY = rectCenterY + dy * scale;
         }
     }
 }
@@ -0,0 +1,396 @@
+package org.example.craftuml.Business;
+
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import org.example.craftuml.models.ClassDiagrams.AttributeData;
+import org.example.craftuml.models.ClassDiagrams.ClassDiagram;
+import org.example.craftuml.models.ClassDiagrams.InterfaceData;
+import org.example.craftuml.models.ClassDiagrams.MethodData;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The measured layout of a class or interface box: its size, the offsets of the lines separating
+ * its compartments and the position of every text line. All offsets are relative to the top-left
+ * corner of the box, so a layout stays valid while the box is moved and only has to be computed
+ * again when the content of the diagram changes.
+ *
+ * <p>Rendering, hit testing, bounds calculation and export all read the same layout, so they always
+ * agree on the size of a box.</p>
+ */
+public final class BoxLayout {
+    /**
+     * The font used for every line of a box except the interface name.
+     */
+    public static final Font BODY_FONT = Font.font(Font.getDefault().getFamily(), Font.getDefault().getSize());
+
+    /**
+     * The slightly larger font used for the name of an interface.
+     */
+    public static final Font INTERFACE_NAME_FONT = Font.font(Font.getDefault().getFamily(), Font.getDefault().getSize() + 2);
+
+    /**
+     * The stereotype line drawn above the name of an interface.
+     */
+    private static final String INTERFACE_STEREOTYPE = "<<interface>>";
+
+    /**
+     * The height of the name compartment of a class box.
+     */
+    private static final double CLASS_NAME_HEIGHT = 30;
+
+    /**
+     * The height of the name compartment of an interface box.
+     */
+    private static final double INTERFACE_NAME_HEIGHT = 40;
+
+    /**
+     * The height reserved for each attribute or method in a box.
+     */
+    private static final double ROW_HEIGHT = 30;
+
+    /**
+     * The distance between the baselines of consecutive attribute or method lines.
+     */
+    private static final double LINE_SPACING = 20;
+
+    /**
+     * The distance between the top of a compartment and the baseline of its first line.
+     */
+    private static final double FIRST_BASELINE = 15;
+
+    /**
+     * The horizontal indent of attribute and method lines.
+     */
+    private static final double TEXT_INDENT = 10;
+
+    /**
+     * The total width of the box.
+     */
+    private final double width;
+
+    /**
+     * The total height of the box.
+     */
+    private final double height;
+
+    /**
+     * The vertical offsets of the horizontal lines separating the compartments.
+     */
+    private final double[] separators;
+
+    /**
+     * The text of every line in the box, in drawing order.
+     */
+    private final String[] texts;
+
+    /**
+     * The horizontal offset of every line.
+     */
+    private final double[] textX;
+
+    /**
+     * The vertical offset of the baseline of every line.
+     */
+    private final double[] baselines;
+
+    /**
+     * The font of every line.
+     */
+    private final Font[] fonts;
+
+    /**
+     * The index of the line holding the name of the diagram.
+     */
+    private final int nameLine;
+
+    /**
+     * Creates a layout from its measured parts.
+     *
+     * @param width The total width of the box.
+     * @param height The total height of the box.
+     * @param separators The offsets of the compartment separators.
+     * @param lines The text lines of the box.
+     * @param nameLine The index of the line holding the name of the diagram.
+     */
+    private BoxLayout(double width, double height, double[] separators, List<Line> lines, int nameLine) {
+        this.width = width;
+        this.height = height;
+        this.separators = separators;
+        this.nameLine = nameLine;
+        this.texts = new String[lines.size()];
+        this.textX = new double[lines.size()];
+        this.baselines = new double[lines.size()];
+        this.fonts = new Font[lines.size()];
+        for (int i = 0; i < lines.size(); i++) {
+            Line line = lines.get(i);
+            texts[i] = line.text;
+            textX[i] = line.x;
+            baselines[i] = line.baseline;
+            fonts[i] = line.font;
+        }
+    }
+
+    /**
+     * Measures the layout of a class box. The box has a name compartment followed by the attribute
+     * and method compartments, which share the remaining height in proportion to their line counts.
+     *
+     * @param diagram The class diagram to lay out.
+     * @param metrics The text metrics used to measure the lines.
+     * @return The layout of the class box.
+     * @throws IllegalArgumentException if the diagram or the metrics are null.
+     */
+    public static BoxLayout forClass(ClassDiagram diagram, TextMetricsCache metrics) {
+        if (diagram == null || metrics == null) {
+            throw new IllegalArgumentException("Diagram and text metrics cannot be null.");
+        }
+        List<String> attributeLines = new ArrayList<>();
+        for (AttributeData attribute : diagram.getAttributes()) {
+            attributeLines.add(attribute.getAccessModifier() + " " + attribute.getName() + " : " + attribute.getDataType());
+        }
+        List<String> methodLines = new ArrayList<>();
+        for (MethodData method : diagram.getMethods()) {
+            methodLines.add(method.getAccessModifier() + " " + method.getName() + " : " + method.getReturnType());
+        }
+
+        int attributeCount = attributeLines.size();
+        int methodCount = methodLines.size();
+        double height = 1 + Math.max(attributeCount, 1) * ROW_HEIGHT + Math.max(methodCount, 1) * ROW_HEIGHT;
+        int totalItems = attributeCount + methodCount;
+        double attributeHeight = totalItems > 0
+                ? (height - CLASS_NAME_HEIGHT) * attributeCount / totalItems
+                : (height - CLASS_NAME_HEIGHT) / 2;
+
+        String name = diagram.getName() == null ? "" : diagram.getName();
+        double nameWidth = metrics.getWidth(name, BODY_FONT);
+        double maxWidth = nameWidth;
+        for (String line : attributeLines) {
+            maxWidth = Math.max(maxWidth, metrics.getWidth(line, BODY_FONT));
+        }
+        for (String line : methodLines) {
+            maxWidth = Math.max(maxWidth, metrics.getWidth(line, BODY_FONT));
+        }
+        double width = maxWidth + 40;
+
+        List<Line> lines = new ArrayList<>();
+        lines.add(new Line(name, (width - nameWidth) / 2, CLASS_NAME_HEIGHT / 2 + 10, BODY_FONT));
+        addRows(lines, attributeLines, CLASS_NAME_HEIGHT + FIRST_BASELINE);
+        addRows(lines, methodLines, CLASS_NAME_HEIGHT + attributeHeight + FIRST_BASELINE);
+
+        return new BoxLayout(width, height, new double[]{CLASS_NAME_HEIGHT, CLASS_NAME_HEIGHT + attributeHeight}, lines, 0);
+    }
+
+    /**
+     * Measures the layout of an interface box. The box has a name compartment holding the
+     * stereotype and the name, followed by the method compartment.
+     *
+     * @param diagram The interface diagram to lay out.
+     * @param metrics The text metrics used to measure the lines.
+     * @return The layout of the interface box.
+     * @throws IllegalArgumentException if the diagram or the metrics are null.
+     */
+    public static BoxLayout forInterface(InterfaceData diagram, TextMetricsCache metrics) {
+        if (diagram == null || metrics == null) {
+            throw new IllegalArgumentException("Diagram and text metrics cannot be null.");
+        }
+        List<String> methodLines = new ArrayList<>();
+        for (MethodData method : diagram.getMethods()) {
+            methodLines.add(method.getAccessModifier() + " " + method.getName() + " : " + method.getReturnType());
+        }
+
+        String name = diagram.getName() == null ? "" : diagram.getName();
+        double stereotypeWidth = metrics.getWidth(INTERFACE_STEREOTYPE, BODY_FONT);
+        double maxWidth = Math.max(stereotypeWidth, metrics.getWidth(name, BODY_FONT));
+        for (String line : methodLines) {
+            maxWidth = Math.max(maxWidth, metrics.getWidth(line, BODY_FONT));
+        }
+        double width = maxWidth * 1.3;
+        double height = INTERFACE_NAME_HEIGHT + Math.max(ROW_HEIGHT * methodLines.size(), ROW_HEIGHT);
+
+        List<Line> lines = new ArrayList<>();
+        lines.add(new Line(INTERFACE_STEREOTYPE, (width - stereotypeWidth) / 2, 15, BODY_FONT));
+        double nameWidth = metrics.getWidth(name, INTERFACE_NAME_FONT);
+        lines.add(new Line(name, (width - nameWidth) / 2, 35, INTERFACE_NAME_FONT));
+        addRows(lines, methodLines, INTERFACE_NAME_HEIGHT + FIRST_BASELINE);
+
+        return new BoxLayout(width, height, new double[]{INTERFACE_NAME_HEIGHT}, lines, 1);
+    }
+
+    /**
+     * Adds indented compartment lines, one below the other, starting at the given baseline.
+     *
+     * @param lines The list to add the lines to.
+     * @param texts The text of each line.
+     * @param firstBaseline The baseline offset of the first line.
+     */
+    private static void addRows(List<Line> lines, List<String> texts, double firstBaseline) {
+        double baseline = firstBaseline;
+        for (String text : texts) {
+            lines.add(new Line(text, TEXT_INDENT, baseline, BODY_FONT));
+            baseline += LINE_SPACING;
+        }
+    }
+
+    /**
+     * Returns the total width of the box.
+     *
+     * @return The width of the box.
+     */
+    public double getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the total height of the box.
+     *
+     * @return The height of the box.
+     */
+    public double getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the number of compartment separators.
+     *
+     * @return The number of separators.
+     */
+    public int getSeparatorCount() {
+        return separators.length;
+    }
+
+    /**
+     * Returns the vertical offset of a compartment separator from the top of the box.
+     *
+     * @param index The index of the separator.
+     * @return The offset of the separator.
+     */
+    public double getSeparator(int index) {
+        return separators[index];
+    }
+
+    /**
+     * Returns the number of text lines in the box, including its name.
+     *
+     * @return The number of lines.
+     */
+    public int getLineCount() {
+        return texts.length;
+    }
+
+    /**
+     * Returns the text of a line.
+     *
+     * @param index The index of the line.
+     * @return The text of the line.
+     */
+    public String getText(int index) {
+        return texts[index];
+    }
+
+    /**
+     * Returns the horizontal offset of a line from the left edge of the box.
+     *
+     * @param index The index of the line.
+     * @return The offset of the line.
+     */
+    public double getTextX(int index) {
+        return textX[index];
+    }
+
+    /**
+     * Returns the vertical offset of the baseline of a line from the top of the box.
+     *
+     * @param index The index of the line.
+     * @return The baseline offset of the line.
+     */
+    public double getBaseline(int index) {
+        return baselines[index];
+    }
+
+    /**
+     * Returns the font a line is drawn with.
+     *
+     * @param index The index of the line.
+     * @return The font of the line.
+     */
+    public Font getFont(int index) {
+        return fonts[index];
+    }
+
+    /**
+     * Returns the index of the line holding the name of the diagram, which is the only line
+     * drawn when boxes are reduced to their names.
+     *
+     * @return The index of the name line.
+     */
+    public int getNameLine() {
+        return nameLine;
+    }
+
+    /**
+     * Checks whether a point lies inside a box with this layout placed at the given position.
+     *
+     * @param boxX The x-coordinate of the box.
+     * @param boxY The y-coordinate of the box.
+     * @param pointX The x-coordinate of the point.
+     * @param pointY The y-coordinate of the point.
+     * @return true if the point is inside the box, false otherwise.
+     */
+    public boolean contains(double boxX, double boxY, double pointX, double pointY) {
+        return pointX >= boxX && pointX <= boxX + width && pointY >= boxY && pointY <= boxY + height;
+    }
+
+    /**
+     * Draws a box with this layout: the border, the compartment separators and every text line.
+     * At reduced detail only the border and the name, or only the border, are drawn.
+     *
+     * @param renderer The renderer to draw with.
+     * @param x The x-coordinate of the box.
+     * @param y The y-coordinate of the box.
+     * @param stroke The colour of the border.
+     * @param detail The level of detail to draw at.
+     */
+    public void draw(Renderer renderer, double x, double y, Color stroke, LevelOfDetail.Detail detail) {
+        renderer.setStroke(stroke);
+        renderer.setLineWidth(2);
+        renderer.strokeRect(x, y, width, height);
+        if (detail == LevelOfDetail.Detail.OUTLINES) {
+            return;
+        }
+
+        renderer.setFill(Color.BLACK);
+        if (detail == LevelOfDetail.Detail.NAMES_ONLY) {
+            renderer.setFont(fonts[nameLine]);
+            renderer.fillText(texts[nameLine], x + textX[nameLine], y + baselines[nameLine]);
+            renderer.setFont(BODY_FONT);
+            return;
+        }
+
+        for (double separator : separators) {
+            renderer.strokeLine(x, y + separator, x + width, y + separator);
+        }
+        for (int i = 0; i < texts.length; i++) {
+            renderer.setFont(fonts[i]);
+            renderer.fillText(texts[i], x + textX[i], y + baselines[i]);
+        }
+        renderer.setFont(BODY_FONT);
+    }
+
+    /**
+     * One measured text line while a layout is being built.
+     */
+    private static final class Line {
+        private final String text;
+        private final double x;
+        private final double baseline;
+        private final Font font;
+
+        private Line(String text, double x, double baseline, Font font) {
+            this.text = text;
+            this.x = x;
+            this.baseline = baseline;
+            this.font = font;
+        }
+    }
+}
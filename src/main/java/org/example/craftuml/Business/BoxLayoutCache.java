@@ -0,0 +1,105 @@
+package org.example.craftuml.Business;
+
+import org.example.craftuml.models.ClassDiagrams.ClassDiagram;
+import org.example.craftuml.models.ClassDiagrams.InterfaceData;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the {@link BoxLayout} of every class and interface diagram.
+ * A layout is computed the first time it is requested and reused until the content version of its
+ * diagram changes, i.e. until its name, attributes or methods are edited. Moving a diagram keeps its layout.
+ */
+public class BoxLayoutCache {
+    /**
+     * The text metrics used to measure new layouts.
+     */
+    private final TextMetricsCache metrics;
+
+    /**
+     * The cached layouts, keyed by the diagram they belong to.
+     */
+    private final Map<Object, Entry> layouts = new IdentityHashMap<>();
+
+    /**
+     * Creates an empty cache that measures text with the given metrics.
+     *
+     * @param metrics The text metrics used to measure layouts.
+     * @throws IllegalArgumentException if the metrics are null.
+     */
+    public BoxLayoutCache(TextMetricsCache metrics) {
+        if (metrics == null) {
+            throw new IllegalArgumentException("Text metrics cannot be null.");
+        }
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the layout of a class diagram, computing it if its content changed since the last call.
+     *
+     * @param diagram The class diagram.
+     * @return The layout of the diagram's box.
+     */
+    public BoxLayout get(ClassDiagram diagram) {
+        Entry entry = layouts.get(diagram);
+        if (entry == null || entry.version != diagram.getContentVersion()) {
+            entry = new Entry(diagram.getContentVersion(), BoxLayout.forClass(diagram, metrics));
+            layouts.put(diagram, entry);
+        }
+        return entry.layout;
+    }
+
+    /**
+     * Returns the layout of an interface diagram, computing it if its content changed since the last call.
+     *
+     * @param diagram The interface diagram.
+     * @return The layout of the diagram's box.
+     */
+    public BoxLayout get(InterfaceData diagram) {
+        Entry entry = layouts.get(diagram);
+        if (entry == null || entry.version != diagram.getContentVersion()) {
+            entry = new Entry(diagram.getContentVersion(), BoxLayout.forInterface(diagram, metrics));
+            layouts.put(diagram, entry);
+        }
+        return entry.layout;
+    }
+
+    /**
+     * Forgets the layout of a diagram, for example after it was deleted.
+     *
+     * @param diagram The class or interface diagram.
+     */
+    public void remove(Object diagram) {
+        layouts.remove(diagram);
+    }
+
+    /**
+     * Returns the number of cached layouts.
+     *
+     * @return The number of layouts.
+     */
+    public int size() {
+        return layouts.size();
+    }
+
+    /**
+     * Forgets every cached layout.
+     */
+    public void clear() {
+        layouts.clear();
+    }
+
+    /**
+     * A layout together with the content version it was computed for.
+     */
+    private static final class Entry {
+        private final long version;
+        private final BoxLayout layout;
+
+        private Entry(long version, BoxLayout layout) {
+            this.version = version;
+            this.layout = layout;
+        }
+    }
+}
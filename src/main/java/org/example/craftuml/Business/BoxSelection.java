@@ -0,0 +1,144 @@
+package org.example.craftuml.Business;
+
+import org.example.craftuml.models.DiagramComponent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The boxes selected with a marquee on a class diagram, and the group move that drags them together.
+ * <p>
+ * Boxes are looked up in the {@link SpatialGrid} the canvas already keeps over the bounds of every drawn box,
+ * so selecting only tests the boxes near the marquee. A box is selected when it lies completely inside the
+ * marquee; the marquee may be dragged out in any direction. Dragging one box of a selection of several moves
+ * every selected box by the same distance.
+ * </p>
+ */
+public class BoxSelection {
+    /**
+     * The grid over the bounds of every drawn box.
+     */
+    private final SpatialGrid<Object> boxes;
+
+    /**
+     * The selected boxes, in the order of the grid.
+     */
+    private final Set<DiagramComponent> selected = new LinkedHashSet<>();
+
+    /**
+     * The elements returned by the last grid lookup, reused between lookups.
+     */
+    private final List<Object> candidates = new ArrayList<>();
+
+    /**
+     * Creates an empty selection over the boxes of a grid.
+     *
+     * @param boxes The grid over the bounds of every drawn box.
+     * @throws IllegalArgumentException if the grid is null.
+     */
+    public BoxSelection(SpatialGrid<Object> boxes) {
+        if (boxes == null) {
+            throw new IllegalArgumentException("Box grid cannot be null.");
+        }
+        this.boxes = boxes;
+    }
+
+    /**
+     * Replaces the selection with every box lying completely inside a marquee. The two corners may be given
+     * in any order, so a marquee dragged to the left or upwards selects the same boxes.
+     *
+     * @param startX The x-coordinate of the corner where the marquee was started.
+     * @param startY The y-coordinate of the corner where the marquee was started.
+     * @param endX The x-coordinate of the opposite corner.
+     * @param endY The y-coordinate of the opposite corner.
+     */
+    public void selectInside(double startX, double startY, double endX, double endY) {
+        double minX = Math.min(startX, endX);
+        double minY = Math.min(startY, endY);
+        selected.clear();
+        boxes.queryInside(minX, minY, Math.abs(endX - startX), Math.abs(endY - startY), candidates);
+        for (Object candidate : candidates) {
+            if (candidate instanceof DiagramComponent) {
+                selected.add((DiagramComponent) candidate);
+            }
+        }
+        candidates.clear();
+    }
+
+    /**
+     * Checks whether dragging a box moves the whole selection, which is the case when the box is part
+     * of a selection of several boxes.
+     *
+     * @param anchor The box that is pressed, or {@code null} if there is none.
+     * @return true if all selected boxes are dragged together, false otherwise.
+     */
+    public boolean isGroupMove(Object anchor) {
+        return anchor != null && selected.size() > 1 && selected.contains(anchor);
+    }
+
+    /**
+     * Moves every selected box by the same distance, so that the pressed box ends up at the given position.
+     *
+     * @param anchor The pressed box.
+     * @param x The new x-coordinate of the pressed box.
+     * @param y The new y-coordinate of the pressed box.
+     * @throws IllegalArgumentException if the anchor is null.
+     */
+    public void moveTo(DiagramComponent anchor, double x, double y) {
+        if (anchor == null) {
+            throw new IllegalArgumentException("Anchor cannot be null.");
+        }
+        double dx = x - anchor.getX();
+        double dy = y - anchor.getY();
+        for (DiagramComponent box : selected) {
+            box.setPosition(box.getX() + dx, box.getY() + dy);
+        }
+    }
+
+    /**
+     * Returns the selected boxes.
+     *
+     * @return A read-only view of the selected boxes.
+     */
+    public Set<DiagramComponent> getSelected() {
+        return Collections.unmodifiableSet(selected);
+    }
+
+    /**
+     * Checks whether a box is selected.
+     *
+     * @param box The box to check.
+     * @return true if the box is selected, false otherwise.
+     */
+    public boolean contains(Object box) {
+        return selected.contains(box);
+    }
+
+    /**
+     * Drops a box from the selection, for example when it is deleted.
+     *
+     * @param box The box to drop.
+     */
+    public void remove(Object box) {
+        selected.remove(box);
+    }
+
+    /**
+     * Checks whether no box is selected.
+     *
+     * @return true if the selection is empty, false otherwise.
+     */
+    public boolean isEmpty() {
+        return selected.isEmpty();
+    }
+
+    /**
+     * Drops every box from the selection.
+     */
+    public void clear() {
+        selected.clear();
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.craftuml.Business;
+
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+
+/**
+ * Accumulates the screen areas that have changed since the last repaint.
+ * Callers record the old and new bounds of anything that moved, and the canvas
+ * then clears and repaints only the union of those areas instead of the whole surface.
+ */
+public class DirtyRegionTracker {
+    /**
+     * Extra space added around the dirty union so that stroke widths and
+     * anti-aliasing at the edges of the moved shapes are also repainted.
+     */
+    private final double padding;
+
+    /**
+     * The edges of the accumulated dirty union.
+     */
+    private double minX, minY, maxX, maxY;
+
+    /**
+     * Flag indicating whether any area has been recorded since the last reset.
+     */
+    private boolean dirty = false;
+
+    /**
+     * Creates a tracker with a default padding of 4 pixels around the dirty union.
+     */
+    public DirtyRegionTracker() {
+        this(4);
+    }
+
+    /**
+     * Creates a tracker with the given padding around the dirty union.
+     *
+     * @param padding The padding, in pixels, added to every side of the dirty union.
+     * @throws IllegalArgumentException if the padding is negative.
+     */
+    public DirtyRegionTracker(double padding) {
+        if (padding < 0) {
+            throw new IllegalArgumentException("Padding cannot be negative.");
+        }
+        this.padding = padding;
+    }
+
+    /**
+     * Adds the given rectangle to the dirty union.
+     * Rectangles with a negative width or height are ignored.
+     *
+     * @param x The x-coordinate of the top-left corner.
+     * @param y The y-coordinate of the top-left corner.
+     * @param width The width of the rectangle.
+     * @param height The height of the rectangle.
+     */
+    public void include(double x, double y, double width, double height) {
+        if (width < 0 || height < 0) {
+            return;
+        }
+        if (!dirty) {
+            minX = x;
+            minY = y;
+            maxX = x + width;
+            maxY = y + height;
+            dirty = true;
+        } else {
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x + width);
+            maxY = Math.max(maxY, y + height);
+        }
+    }
+
+    /**
+     * Adds the given bounds to the dirty union.
+     *
+     * @param bounds The bounds to add; ignored if {@code null} or empty.
+     */
+    public void include(Bounds bounds) {
+        if (bounds != null && !bounds.isEmpty()) {
+            include(bounds.getMinX(), bounds.getMinY(), bounds.getWidth(), bounds.getHeight());
+        }
+    }
+
+    /**
+     * Checks whether any area has been recorded since the last reset.
+     *
+     * @return true if there is something to repaint, false otherwise.
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Returns the padded union of every area recorded since the last reset.
+     *
+     * @return The dirty bounds, or {@code null} if nothing is dirty.
+     */
+    public Bounds getDirtyBounds() {
+        if (!dirty) {
+            return null;
+        }
+        return new BoundingBox(minX - padding, minY - padding,
+                (maxX - minX) + 2 * padding, (maxY - minY) + 2 * padding);
+    }
+
+    /**
+     * Forgets every recorded area, typically right after the dirty region has been repainted.
+     */
+    public void reset() {
+        dirty = false;
+    }
+}
@@ -0,0 +1,356 @@
+package org.example.craftuml.Business;
+
+import javafx.geometry.Bounds;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * A {@link Renderer} that draws on the {@link GraphicsContext} of a JavaFX canvas.
+ * Every operation is passed straight to the graphics context; text is measured through the
+ * shared {@link TextMetricsCache}.
+ */
+public class FxRenderer implements Renderer {
+    /**
+     * The graphics context drawn on.
+     */
+    private final GraphicsContext gc;
+
+    /**
+     * The text metrics used to measure text.
+     */
+    private final TextMetricsCache textMetrics = TextMetricsCache.getShared();
+
+    /**
+     * Creates a renderer drawing on the given graphics context.
+     *
+     * @param gc The graphics context to draw on.
+     * @throws IllegalArgumentException if the graphics context is null.
+     */
+    public FxRenderer(GraphicsContext gc) {
+        if (gc == null) {
+            throw new IllegalArgumentException("Graphics context cannot be null.");
+        }
+        this.gc = gc;
+    }
+
+    /**
+     * Returns the graphics context this renderer draws on.
+     *
+     * @return The graphics context.
+     */
+    public GraphicsContext getGraphicsContext() {
+        return gc;
+    }
+
+    /**
+     * Sets the stroke colour of the graphics context.
+     *
+     * @param color The stroke colour.
+     */
+    @Override
+    public void setStroke(Color color) {
+        gc.setStroke(color);
+    }
+
+    /**
+     * Sets the fill colour of the graphics context.
+     *
+     * @param color The fill colour.
+     */
+    @Override
+    public void setFill(Color color) {
+        gc.setFill(color);
+    }
+
+    /**
+     * Sets the line width of the graphics context.
+     *
+     * @param width The line width.
+     */
+    @Override
+    public void setLineWidth(double width) {
+        gc.setLineWidth(width);
+    }
+
+    /**
+     * Sets the dash pattern of the graphics context.
+     *
+     * @param dashes The alternating lengths of dashes and gaps.
+     */
+    @Override
+    public void setLineDashes(double... dashes) {
+        gc.setLineDashes(dashes);
+    }
+
+    /**
+     * Returns the dash pattern of the graphics context.
+     *
+     * @return The dash lengths, or {@code null} for solid lines.
+     */
+    @Override
+    public double[] getLineDashes() {
+        return gc.getLineDashes();
+    }
+
+    /**
+     * Sets the font of the graphics context.
+     *
+     * @param font The font.
+     */
+    @Override
+    public void setFont(Font font) {
+        gc.setFont(font);
+    }
+
+    /**
+     * Returns the font of the graphics context.
+     *
+     * @return The current font.
+     */
+    @Override
+    public Font getFont() {
+        return gc.getFont();
+    }
+
+    /**
+     * Sets the text alignment of the graphics context.
+     *
+     * @param align The text alignment.
+     */
+    @Override
+    public void setTextAlign(TextAlignment align) {
+        gc.setTextAlign(align);
+    }
+
+    /**
+     * Sets the text baseline of the graphics context.
+     *
+     * @param baseline The text baseline.
+     */
+    @Override
+    public void setTextBaseline(VPos baseline) {
+        gc.setTextBaseline(baseline);
+    }
+
+    /**
+     * Strokes a line on the canvas.
+     *
+     * @param x1 The x-coordinate of the first point.
+     * @param y1 The y-coordinate of the first point.
+     * @param x2 The x-coordinate of the second point.
+     * @param y2 The y-coordinate of the second point.
+     */
+    @Override
+    public void strokeLine(double x1, double y1, double x2, double y2) {
+        gc.strokeLine(x1, y1, x2, y2);
+    }
+
+    /**
+     * Strokes a rectangle on the canvas.
+     *
+     * @param x The x-coordinate of the rectangle.
+     * @param y The y-coordinate of the rectangle.
+     * @param width The width of the rectangle.
+     * @param height The height of the rectangle.
+     */
+    @Override
+    public void strokeRect(double x, double y, double width, double height) {
+        gc.strokeRect(x, y, width, height);
+    }
+
+    /**
+     * Fills a rectangle on the canvas.
+     *
+     * @param x The x-coordinate of the rectangle.
+     * @param y The y-coordinate of the rectangle.
+     * @param width The width of the rectangle.
+     * @param height The height of the rectangle.
+     */
+    @Override
+    public void fillRect(double x, double y, double width, double height) {
+        gc.fillRect(x, y, width, height);
+    }
+
+    /**
+     * Clears a rectangle of the canvas.
+     *
+     * @param x The x-coordinate of the rectangle.
+     * @param y The y-coordinate of the rectangle.
+     * @param width The width of the rectangle.
+     * @param height The height of the rectangle.
+     */
+    @Override
+    public void clearRect(double x, double y, double width, double height) {
+        gc.clearRect(x, y, width, height);
+    }
+
+    /**
+     * Strokes an oval on the canvas.
+     *
+     * @param x The x-coordinate of the bounding rectangle.
+     * @param y The y-coordinate of the bounding rectangle.
+     * @param width The width of the oval.
+     * @param height The height of the oval.
+     */
+    @Override
+    public void strokeOval(double x, double y, double width, double height) {
+        gc.strokeOval(x, y, width, height);
+    }
+
+    /**
+     * Fills an oval on the canvas.
+     *
+     * @param x The x-coordinate of the bounding rectangle.
+     * @param y The y-coordinate of the bounding rectangle.
+     * @param width The width of the oval.
+     * @param height The height of the oval.
+     */
+    @Override
+    public void fillOval(double x, double y, double width, double height) {
+        gc.fillOval(x, y, width, height);
+    }
+
+    /**
+     * Strokes a polygon on the canvas.
+     *
+     * @param xPoints The x-coordinates of the corners.
+     * @param yPoints The y-coordinates of the corners.
+     * @param count The number of corners to use.
+     */
+    @Override
+    public void strokePolygon(double[] xPoints, double[] yPoints, int count) {
+        gc.strokePolygon(xPoints, yPoints, count);
+    }
+
+    /**
+     * Fills a polygon on the canvas.
+     *
+     * @param xPoints The x-coordinates of the corners.
+     * @param yPoints The y-coordinates of the corners.
+     * @param count The number of corners to use.
+     */
+    @Override
+    public void fillPolygon(double[] xPoints, double[] yPoints, int count) {
+        gc.fillPolygon(xPoints, yPoints, count);
+    }
+
+    /**
+     * Starts a new path on the graphics context.
+     */
+    @Override
+    public void beginPath() {
+        gc.beginPath();
+    }
+
+    /**
+     * Starts a new subpath of the path of the graphics context.
+     *
+     * @param x The x-coordinate of the point.
+     * @param y The y-coordinate of the point.
+     */
+    @Override
+    public void moveTo(double x, double y) {
+        gc.moveTo(x, y);
+    }
+
+    /**
+     * Adds a line to the path of the graphics context.
+     *
+     * @param x The x-coordinate of the point.
+     * @param y The y-coordinate of the point.
+     */
+    @Override
+    public void lineTo(double x, double y) {
+        gc.lineTo(x, y);
+    }
+
+    /**
+     * Closes the current subpath of the graphics context.
+     */
+    @Override
+    public void closePath() {
+        gc.closePath();
+    }
+
+    /**
+     * Strokes the path of the graphics context.
+     */
+    @Override
+    public void stroke() {
+        gc.stroke();
+    }
+
+    /**
+     * Fills the path of the graphics context.
+     */
+    @Override
+    public void fill() {
+        gc.fill();
+    }
+
+    /**
+     * Draws text on the canvas, skipping {@code null} text.
+     *
+     * @param text The text to draw.
+     * @param x The x-coordinate of the anchor point.
+     * @param y The y-coordinate of the anchor point.
+     */
+    @Override
+    public void fillText(String text, double x, double y) {
+        if (text != null) {
+            gc.fillText(text, x, y);
+        }
+    }
+
+    /**
+     * Measures text in the font of the graphics context.
+     *
+     * @param text The text to measure.
+     * @return The bounds of the text.
+     */
+    @Override
+    public Bounds measureText(String text) {
+        return textMetrics.measure(text == null ? "" : text, gc.getFont());
+    }
+
+    /**
+     * Saves the state of the graphics context.
+     */
+    @Override
+    public void save() {
+        gc.save();
+    }
+
+    /**
+     * Restores the last saved state of the graphics context.
+     */
+    @Override
+    public void restore() {
+        gc.restore();
+    }
+
+    /**
+     * Translates the transform of the graphics context.
+     *
+     * @param x The horizontal translation.
+     * @param y The vertical translation.
+     */
+    @Override
+    public void translate(double x, double y) {
+        gc.translate(x, y);
+    }
+
+    /**
+     * Scales the transform of the graphics context.
+     *
+     * @param x The horizontal scale factor.
+     * @param y The vertical scale factor.
+     */
+    @Override
+    public void scale(double x, double y) {
+        gc.scale(x, y);
+    }
+}
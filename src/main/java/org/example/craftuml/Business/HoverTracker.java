@@ -0,0 +1,114 @@
+package org.example.craftuml.Business;
+
+/**
+ * Remembers which element the mouse pointer is over, so that mouse move handlers can skip hit testing
+ * while the pointer stays on the same element and only react when the hovered element changes.
+ * <p>
+ * Each hover is recorded with the bounds inside which it stays valid. While the pointer remains inside
+ * those bounds, {@link #contains} reports that nothing needs to be looked up. A hover recorded without
+ * bounds, such as over a thin line or over empty space, is looked up again on the next move. The tracker
+ * must be {@link #reset} whenever the elements change, since the recorded bounds may then be stale.
+ * </p>
+ *
+ * @param <T> The type of the hovered elements.
+ */
+public class HoverTracker<T> {
+    /**
+     * The element the pointer is over, or {@code null} if it is over none.
+     */
+    private T hovered;
+
+    /**
+     * Whether {@link #hovered} holds the result of a lookup.
+     */
+    private boolean known;
+
+    /**
+     * Whether the hover has bounds inside which it stays valid.
+     */
+    private boolean bounded;
+
+    /**
+     * The bounds inside which the hover stays valid.
+     */
+    private double minX, minY, maxX, maxY;
+
+    /**
+     * Checks whether a point lies inside the bounds of the current hover, in which case the hovered
+     * element is still the same and no lookup is needed.
+     *
+     * @param x The x-coordinate of the pointer.
+     * @param y The y-coordinate of the pointer.
+     * @return true if the current hover is still valid at the point, false if the element has to be looked up.
+     */
+    public boolean contains(double x, double y) {
+        return known && bounded && x >= minX && x <= maxX && y >= minY && y <= maxY;
+    }
+
+    /**
+     * Records the element the pointer is over, together with the bounds inside which the hover stays valid.
+     *
+     * @param element The hovered element.
+     * @param x The x-coordinate of the bounds.
+     * @param y The y-coordinate of the bounds.
+     * @param width The width of the bounds.
+     * @param height The height of the bounds.
+     * @return true if the hovered element changed, false if it is the same as before.
+     * @throws IllegalArgumentException if the element is null.
+     */
+    public boolean update(T element, double x, double y, double width, double height) {
+        if (element == null) {
+            throw new IllegalArgumentException("Hovered element cannot be null.");
+        }
+        boolean changed = record(element);
+        bounded = true;
+        minX = x;
+        minY = y;
+        maxX = x + width;
+        maxY = y + height;
+        return changed;
+    }
+
+    /**
+     * Records the element the pointer is over without bounds, so that it is looked up again on the next move.
+     *
+     * @param element The hovered element, or {@code null} if the pointer is over no element.
+     * @return true if the hovered element changed, false if it is the same as before.
+     */
+    public boolean update(T element) {
+        boolean changed = record(element);
+        bounded = false;
+        return changed;
+    }
+
+    /**
+     * Returns the element the pointer is over.
+     *
+     * @return The hovered element, or {@code null} if the pointer is over no element or nothing was recorded.
+     */
+    public T getHovered() {
+        return hovered;
+    }
+
+    /**
+     * Forgets the current hover, so that the next move looks up the element and reports a change.
+     */
+    public void reset() {
+        hovered = null;
+        known = false;
+        bounded = false;
+    }
+
+    /**
+     * Stores the hovered element.
+     *
+     * @param element The hovered element, or {@code null}.
+     * @return true if the element differs from the previous one or no element was known, false otherwise.
+     */
+    private boolean record(T element) {
+        boolean changed = !known || hovered != element;
+        hovered = element;
+        known = true;
+        return changed;
+    }
+}
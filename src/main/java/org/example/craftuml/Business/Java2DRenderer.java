@@ -0,0 +1,574 @@
+package org.example.craftuml.Business;
+
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.geometry.VPos;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Composite;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Ellipse2D;
+import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * A {@link Renderer} that draws on a {@link Graphics2D}, for example the graphics of a
+ * {@link java.awt.image.BufferedImage}. It needs neither the FX toolkit nor the FX application
+ * thread, so diagrams can be rendered headless, e.g. for batch export or in benchmarks.
+ *
+ * <p>The attributes follow the defaults of a JavaFX graphics context: black stroke and fill,
+ * a line width of 1 with square caps and mitred joins, left-aligned text on its baseline.
+ * JavaFX colours and fonts are converted to their AWT equivalents when they are set.</p>
+ */
+public class Java2DRenderer implements Renderer {
+    /**
+     * The graphics drawn on.
+     */
+    private final Graphics2D graphics;
+
+    /**
+     * The current attributes.
+     */
+    private State state = new State();
+
+    /**
+     * The attributes and transforms pushed by {@link #save()}.
+     */
+    private final Deque<State> savedStates = new ArrayDeque<>();
+
+    /**
+     * Reused shapes, so that drawing allocates no geometry objects.
+     */
+    private final Line2D.Double line = new Line2D.Double();
+    private final Rectangle2D.Double rect = new Rectangle2D.Double();
+    private final Ellipse2D.Double oval = new Ellipse2D.Double();
+    private final Path2D.Double polygon = new Path2D.Double();
+
+    /**
+     * The current path built by {@link #moveTo} and {@link #lineTo}.
+     */
+    private final Path2D.Double path = new Path2D.Double();
+
+    /**
+     * Whether the current path has a current point, which Java2D requires before a line is added.
+     */
+    private boolean pathStarted;
+
+    /**
+     * Creates a renderer drawing on the given graphics, with antialiasing enabled like on a JavaFX canvas.
+     *
+     * @param graphics The graphics to draw on.
+     * @throws IllegalArgumentException if the graphics is null.
+     */
+    public Java2DRenderer(Graphics2D graphics) {
+        if (graphics == null) {
+            throw new IllegalArgumentException("Graphics cannot be null.");
+        }
+        this.graphics = graphics;
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        graphics.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+        applyStroke();
+    }
+
+    /**
+     * Returns the graphics this renderer draws on.
+     *
+     * @return The graphics.
+     */
+    public Graphics2D getGraphics() {
+        return graphics;
+    }
+
+    /**
+     * Sets the colour used by the stroke operations.
+     *
+     * @param color The stroke colour.
+     */
+    @Override
+    public void setStroke(Color color) {
+        state.strokeColor = toAwt(color);
+    }
+
+    /**
+     * Sets the colour used by the fill and text operations.
+     *
+     * @param color The fill colour.
+     */
+    @Override
+    public void setFill(Color color) {
+        state.fillColor = toAwt(color);
+    }
+
+    /**
+     * Sets the width of stroked lines and outlines.
+     *
+     * @param width The line width.
+     */
+    @Override
+    public void setLineWidth(double width) {
+        if (width > 0 && width != state.lineWidth) {
+            state.lineWidth = width;
+            applyStroke();
+        }
+    }
+
+    /**
+     * Sets the dash pattern of stroked lines. Java2D rejects patterns without a positive length,
+     * so those are treated as solid lines, as JavaFX does.
+     *
+     * @param dashes The alternating lengths of dashes and gaps.
+     */
+    @Override
+    public void setLineDashes(double... dashes) {
+        state.dashes = null;
+        if (dashes != null) {
+            for (double dash : dashes) {
+                if (dash > 0) {
+                    state.dashes = dashes.clone();
+                    break;
+                }
+            }
+        }
+        applyStroke();
+    }
+
+    /**
+     * Returns the current dash pattern.
+     *
+     * @return The dash lengths, or {@code null} for solid lines.
+     */
+    @Override
+    public double[] getLineDashes() {
+        return state.dashes == null ? null : state.dashes.clone();
+    }
+
+    /**
+     * Sets the font used by the text operations.
+     *
+     * @param font The font.
+     */
+    @Override
+    public void setFont(Font font) {
+        if (font != null && font != state.font) {
+            state.font = font;
+            state.awtFont = toAwt(font);
+        }
+    }
+
+    /**
+     * Returns the font used by the text operations.
+     *
+     * @return The current font.
+     */
+    @Override
+    public Font getFont() {
+        if (state.font == null) {
+            state.font = Font.font(state.awtFont.getFamily(), state.awtFont.getSize2D());
+        }
+        return state.font;
+    }
+
+    /**
+     * Sets the horizontal alignment of text relative to its anchor point.
+     *
+     * @param align The text alignment.
+     */
+    @Override
+    public void setTextAlign(TextAlignment align) {
+        state.textAlign = align;
+    }
+
+    /**
+     * Sets the vertical position of text relative to its anchor point.
+     *
+     * @param baseline The text baseline.
+     */
+    @Override
+    public void setTextBaseline(VPos baseline) {
+        state.textBaseline = baseline;
+    }
+
+    /**
+     * Strokes a line between two points.
+     *
+     * @param x1 The x-coordinate of the first point.
+     * @param y1 The y-coordinate of the first point.
+     * @param x2 The x-coordinate of the second point.
+     * @param y2 The y-coordinate of the second point.
+     */
+    @Override
+    public void strokeLine(double x1, double y1, double x2, double y2) {
+        line.setLine(x1, y1, x2, y2);
+        graphics.setColor(state.strokeColor);
+        graphics.draw(line);
+    }
+
+    /**
+     * Strokes the outline of a rectangle.
+     *
+     * @param x The x-coordinate of the rectangle.
+     * @param y The y-coordinate of the rectangle.
+     * @param width The width of the rectangle.
+     * @param height The height of the rectangle.
+     */
+    @Override
+    public void strokeRect(double x, double y, double width, double height) {
+        rect.setRect(x, y, width, height);
+        graphics.setColor(state.strokeColor);
+        graphics.draw(rect);
+    }
+
+    /**
+     * Fills a rectangle.
+     *
+     * @param x The x-coordinate of the rectangle.
+     * @param y The y-coordinate of the rectangle.
+     * @param width The width of the rectangle.
+     * @param height The height of the rectangle.
+     */
+    @Override
+    public void fillRect(double x, double y, double width, double height) {
+        rect.setRect(x, y, width, height);
+        graphics.setColor(state.fillColor);
+        graphics.fill(rect);
+    }
+
+    /**
+     * Clears a rectangle to full transparency.
+     *
+     * @param x The x-coordinate of the rectangle.
+     * @param y The y-coordinate of the rectangle.
+     * @param width The width of the rectangle.
+     * @param height The height of the rectangle.
+     */
+    @Override
+    public void clearRect(double x, double y, double width, double height) {
+        Composite composite = graphics.getComposite();
+        graphics.setComposite(AlphaComposite.Clear);
+        rect.setRect(x, y, width, height);
+        graphics.fill(rect);
+        graphics.setComposite(composite);
+    }
+
+    /**
+     * Strokes the outline of the oval inscribed in a rectangle.
+     *
+     * @param x The x-coordinate of the bounding rectangle.
+     * @param y The y-coordinate of the bounding rectangle.
+     * @param width The width of the oval.
+     * @param height The height of the oval.
+     */
+    @Override
+    public void strokeOval(double x, double y, double width, double height) {
+        oval.setFrame(x, y, width, height);
+        graphics.setColor(state.strokeColor);
+        graphics.draw(oval);
+    }
+
+    /**
+     * Fills the oval inscribed in a rectangle.
+     *
+     * @param x The x-coordinate of the bounding rectangle.
+     * @param y The y-coordinate of the bounding rectangle.
+     * @param width The width of the oval.
+     * @param height The height of the oval.
+     */
+    @Override
+    public void fillOval(double x, double y, double width, double height) {
+        oval.setFrame(x, y, width, height);
+        graphics.setColor(state.fillColor);
+        graphics.fill(oval);
+    }
+
+    /**
+     * Strokes the outline of a closed polygon.
+     *
+     * @param xPoints The x-coordinates of the corners.
+     * @param yPoints The y-coordinates of the corners.
+     * @param count The number of corners to use.
+     */
+    @Override
+    public void strokePolygon(double[] xPoints, double[] yPoints, int count) {
+        if (setPolygon(xPoints, yPoints, count)) {
+            graphics.setColor(state.strokeColor);
+            graphics.draw(polygon);
+        }
+    }
+
+    /**
+     * Fills a closed polygon.
+     *
+     * @param xPoints The x-coordinates of the corners.
+     * @param yPoints The y-coordinates of the corners.
+     * @param count The number of corners to use.
+     */
+    @Override
+    public void fillPolygon(double[] xPoints, double[] yPoints, int count) {
+        if (setPolygon(xPoints, yPoints, count)) {
+            graphics.setColor(state.fillColor);
+            graphics.fill(polygon);
+        }
+    }
+
+    /**
+     * Starts a new, empty path.
+     */
+    @Override
+    public void beginPath() {
+        path.reset();
+        pathStarted = false;
+    }
+
+    /**
+     * Starts a new subpath of the current path at the given point.
+     *
+     * @param x The x-coordinate of the point.
+     * @param y The y-coordinate of the point.
+     */
+    @Override
+    public void moveTo(double x, double y) {
+        path.moveTo(x, y);
+        pathStarted = true;
+    }
+
+    /**
+     * Adds a straight line to the given point, starting a subpath there if the path is empty.
+     *
+     * @param x The x-coordinate of the point.
+     * @param y The y-coordinate of the point.
+     */
+    @Override
+    public void lineTo(double x, double y) {
+        if (!pathStarted) {
+            moveTo(x, y);
+        } else {
+            path.lineTo(x, y);
+        }
+    }
+
+    /**
+     * Closes the current subpath with a line back to its first point.
+     */
+    @Override
+    public void closePath() {
+        if (pathStarted) {
+            path.closePath();
+        }
+    }
+
+    /**
+     * Strokes the current path with the stroke colour, line width and dash pattern.
+     */
+    @Override
+    public void stroke() {
+        graphics.setColor(state.strokeColor);
+        graphics.draw(path);
+    }
+
+    /**
+     * Fills the current path with the fill colour.
+     */
+    @Override
+    public void fill() {
+        graphics.setColor(state.fillColor);
+        graphics.fill(path);
+    }
+
+    /**
+     * Draws text with the fill colour, moving the anchor point according to the current
+     * alignment and baseline. Nothing is drawn for {@code null} text.
+     *
+     * @param text The text to draw.
+     * @param x The x-coordinate of the anchor point.
+     * @param y The y-coordinate of the anchor point.
+     */
+    @Override
+    public void fillText(String text, double x, double y) {
+        if (text == null || text.isEmpty()) {
+            return;
+        }
+        FontMetrics metrics = graphics.getFontMetrics(state.awtFont);
+        double width = metrics.getStringBounds(text, graphics).getWidth();
+        if (state.textAlign == TextAlignment.CENTER) {
+            x -= width / 2;
+        } else if (state.textAlign == TextAlignment.RIGHT) {
+            x -= width;
+        }
+        if (state.textBaseline == VPos.TOP) {
+            y += metrics.getAscent();
+        } else if (state.textBaseline == VPos.CENTER) {
+            y += (metrics.getAscent() - metrics.getDescent()) / 2.0;
+        } else if (state.textBaseline == VPos.BOTTOM) {
+            y -= metrics.getDescent();
+        }
+        graphics.setFont(state.awtFont);
+        graphics.setColor(state.fillColor);
+        graphics.drawString(text, (float) x, (float) y);
+    }
+
+    /**
+     * Measures text in the current font.
+     *
+     * @param text The text to measure.
+     * @return The bounds of the text relative to its baseline.
+     */
+    @Override
+    public Bounds measureText(String text) {
+        FontMetrics metrics = graphics.getFontMetrics(state.awtFont);
+        double width = text == null ? 0 : metrics.getStringBounds(text, graphics).getWidth();
+        return new BoundingBox(0, -metrics.getAscent(), width, metrics.getAscent() + metrics.getDescent());
+    }
+
+    /**
+     * Pushes the current attributes and transform, to be restored by {@link #restore()}.
+     */
+    @Override
+    public void save() {
+        State saved = new State(state);
+        saved.transform = graphics.getTransform();
+        savedStates.push(saved);
+    }
+
+    /**
+     * Pops the attributes and transform saved by the last {@link #save()}.
+     * Does nothing if nothing was saved.
+     */
+    @Override
+    public void restore() {
+        State saved = savedStates.poll();
+        if (saved == null) {
+            return;
+        }
+        graphics.setTransform(saved.transform);
+        state = saved;
+        applyStroke();
+    }
+
+    /**
+     * Translates the current transform.
+     *
+     * @param x The horizontal translation.
+     * @param y The vertical translation.
+     */
+    @Override
+    public void translate(double x, double y) {
+        graphics.translate(x, y);
+    }
+
+    /**
+     * Scales the current transform.
+     *
+     * @param x The horizontal scale factor.
+     * @param y The vertical scale factor.
+     */
+    @Override
+    public void scale(double x, double y) {
+        graphics.scale(x, y);
+    }
+
+    /**
+     * Loads the corners of a polygon into the reused path.
+     *
+     * @param xPoints The x-coordinates of the corners.
+     * @param yPoints The y-coordinates of the corners.
+     * @param count The number of corners to use.
+     * @return true if the polygon has at least one corner, false otherwise.
+     */
+    private boolean setPolygon(double[] xPoints, double[] yPoints, int count) {
+        if (count <= 0) {
+            return false;
+        }
+        polygon.reset();
+        polygon.moveTo(xPoints[0], yPoints[0]);
+        for (int i = 1; i < count; i++) {
+            polygon.lineTo(xPoints[i], yPoints[i]);
+        }
+        polygon.closePath();
+        return true;
+    }
+
+    /**
+     * Applies the current line width and dash pattern to the graphics.
+     */
+    private void applyStroke() {
+        float[] dashes = null;
+        if (state.dashes != null) {
+            dashes = new float[state.dashes.length];
+            for (int i = 0; i < dashes.length; i++) {
+                dashes[i] = (float) state.dashes[i];
+            }
+        }
+        graphics.setStroke(new BasicStroke((float) state.lineWidth, BasicStroke.CAP_SQUARE, BasicStroke.JOIN_MITER, 10f, dashes, 0f));
+    }
+
+    /**
+     * Converts a JavaFX colour to an AWT colour.
+     *
+     * @param color The JavaFX colour, or {@code null} for transparent.
+     * @return The AWT colour.
+     */
+    private static java.awt.Color toAwt(Color color) {
+        if (color == null) {
+            return new java.awt.Color(0, 0, 0, 0);
+        }
+        return new java.awt.Color((float) color.getRed(), (float) color.getGreen(), (float) color.getBlue(), (float) color.getOpacity());
+    }
+
+    /**
+     * Converts a JavaFX font to an AWT font with the same family, size, weight and posture.
+     *
+     * @param font The JavaFX font.
+     * @return The AWT font.
+     */
+    private static java.awt.Font toAwt(Font font) {
+        String style = font.getStyle() == null ? "" : font.getStyle().toLowerCase();
+        int awtStyle = java.awt.Font.PLAIN;
+        if (style.contains("bold")) {
+            awtStyle |= java.awt.Font.BOLD;
+        }
+        if (style.contains("italic") || style.contains("oblique")) {
+            awtStyle |= java.awt.Font.ITALIC;
+        }
+        return new java.awt.Font(font.getFamily(), awtStyle, 1).deriveFont((float) font.getSize());
+    }
+
+    /**
+     * The attributes saved and restored together with the transform.
+     */
+    private static final class State {
+        private java.awt.Color strokeColor = java.awt.Color.BLACK;
+        private java.awt.Color fillColor = java.awt.Color.BLACK;
+        private double lineWidth = 1;
+        private double[] dashes;
+        private Font font;
+        private java.awt.Font awtFont = new java.awt.Font(java.awt.Font.SANS_SERIF, java.awt.Font.PLAIN, 13);
+        private TextAlignment textAlign = TextAlignment.LEFT;
+        private VPos textBaseline = VPos.BASELINE;
+        private AffineTransform transform;
+
+        private State() {
+        }
+
+        private State(State other) {
+            strokeColor = other.strokeColor;
+            fillColor = other.fillColor;
+            lineWidth = other.lineWidth;
+            dashes = other.dashes;
+            font = other.font;
+            awtFont = other.awtFont;
+            textAlign = other.textAlign;
+            textBaseline = other.textBaseline;
+        }
+    }
+}
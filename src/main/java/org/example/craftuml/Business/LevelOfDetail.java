@@ -0,0 +1,152 @@
+package org.example.craftuml.Business;
+
+/**
+ * Decides how much of each class and interface box is worth drawing.
+ * When the view is zoomed far out, or when a lot of boxes are on screen at once, attribute and
+ * method lines are unreadable and only cost time, so boxes are reduced to their name or to a
+ * plain outline and relationship labels are left out. Full detail returns as soon as the scale
+ * and the number of visible boxes are back under the thresholds.
+ */
+public class LevelOfDetail {
+
+    /**
+     * The amount of detail boxes and relationships are drawn with.
+     */
+    public enum Detail {
+        /**
+         * Boxes with every compartment and line, relationships with their names and multiplicities.
+         */
+        FULL,
+        /**
+         * Boxes with only their outline and name, relationships without labels.
+         */
+        NAMES_ONLY,
+        /**
+         * Boxes as plain rectangles, relationships without labels.
+         */
+        OUTLINES
+    }
+
+    /**
+     * The default scale below which boxes only show their names.
+     */
+    public static final double DEFAULT_NAMES_ONLY_SCALE = 0.6;
+
+    /**
+     * The default scale below which boxes are drawn as plain rectangles.
+     */
+    public static final double DEFAULT_OUTLINE_SCALE = 0.3;
+
+    /**
+     * The default number of visible boxes above which boxes only show their names.
+     */
+    public static final int DEFAULT_NAMES_ONLY_COUNT = 150;
+
+    /**
+     * The default number of visible boxes above which boxes are drawn as plain rectangles.
+     */
+    public static final int DEFAULT_OUTLINE_COUNT = 400;
+
+    /**
+     * The scale below which boxes only show their names.
+     */
+    private final double namesOnlyScale;
+
+    /**
+     * The scale below which boxes are drawn as plain rectangles.
+     */
+    private final double outlineScale;
+
+    /**
+     * The number of visible boxes above which boxes only show their names.
+     */
+    private final int namesOnlyCount;
+
+    /**
+     * The number of visible boxes above which boxes are drawn as plain rectangles.
+     */
+    private final int outlineCount;
+
+    /**
+     * Creates a policy with the default thresholds.
+     */
+    public LevelOfDetail() {
+        this(DEFAULT_NAMES_ONLY_SCALE, DEFAULT_OUTLINE_SCALE, DEFAULT_NAMES_ONLY_COUNT, DEFAULT_OUTLINE_COUNT);
+    }
+
+    /**
+     * Creates a policy with the given thresholds.
+     *
+     * @param namesOnlyScale The scale below which boxes only show their names.
+     * @param outlineScale The scale below which boxes are drawn as plain rectangles.
+     * @param namesOnlyCount The number of visible boxes above which boxes only show their names.
+     * @param outlineCount The number of visible boxes above which boxes are drawn as plain rectangles.
+     * @throws IllegalArgumentException if a threshold is negative, or if an outline threshold
+     *                                  is less strict than the matching names-only threshold.
+     */
+    public LevelOfDetail(double namesOnlyScale, double outlineScale, int namesOnlyCount, int outlineCount) {
+        if (outlineScale < 0 || namesOnlyScale < outlineScale) {
+            throw new IllegalArgumentException("Scale thresholds must satisfy 0 <= outline <= names-only.");
+        }
+        if (namesOnlyCount < 0 || outlineCount < namesOnlyCount) {
+            throw new IllegalArgumentException("Count thresholds must satisfy 0 <= names-only <= outline.");
+        }
+        this.namesOnlyScale = namesOnlyScale;
+        this.outlineScale = outlineScale;
+        this.namesOnlyCount = namesOnlyCount;
+        this.outlineCount = outlineCount;
+    }
+
+    /**
+     * Selects the detail to draw with for the given view.
+     *
+     * @param scale The scale the model is drawn at, where 1 is the natural size.
+     * @param visibleBoxes The number of class and interface boxes inside the viewport.
+     * @return The detail boxes and relationships should be drawn with.
+     */
+    public Detail select(double scale, int visibleBoxes) {
+        if (scale < outlineScale || visibleBoxes > outlineCount) {
+            return Detail.OUTLINES;
+        }
+        if (scale < namesOnlyScale || visibleBoxes > namesOnlyCount) {
+            return Detail.NAMES_ONLY;
+        }
+        return Detail.FULL;
+    }
+
+    /**
+     * Returns the scale below which boxes only show their names.
+     *
+     * @return The names-only scale threshold.
+     */
+    public double getNamesOnlyScale() {
+        return namesOnlyScale;
+    }
+
+    /**
+     * Returns the scale below which boxes are drawn as plain rectangles.
+     *
+     * @return The outline scale threshold.
+     */
+    public double getOutlineScale() {
+        return outlineScale;
+    }
+
+    /**
+     * Returns the number of visible boxes above which boxes only show their names.
+     *
+     * @return The names-only count threshold.
+     */
+    public int getNamesOnlyCount() {
+        return namesOnlyCount;
+    }
+
+    /**
+     * Returns the number of visible boxes above which boxes are drawn as plain rectangles.
+     *
+     * @return The outline count threshold.
+     */
+    public int getOutlineCount() {
+        return outlineCount;
+    }
+}
@@ -0,0 +1,88 @@
+package org.example.craftuml.Business;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+
+/**
+ * Brings a list in line with a desired list using as few edits as possible.
+ * Items shared at the start and at the end of both lists are left untouched, items that were
+ * replaced in place are set, and only the remaining difference is removed or inserted.
+ * When the target is an {@code ObservableList} backing a {@code ListView}, a rename therefore
+ * updates one cell and adding or deleting an element inserts or removes a single row,
+ * instead of the whole list being replaced.
+ */
+public final class ListPatcher {
+
+    /**
+     * Utility class; not meant to be instantiated.
+     */
+    private ListPatcher() {
+    }
+
+    /**
+     * Patches the target list so that it equals the desired list, comparing items with {@link Objects#equals}.
+     *
+     * @param target The list to modify.
+     * @param desired The contents the target should have afterwards.
+     * @param <T> The type of the list items.
+     * @return true if the target was modified, false if it already matched.
+     * @throws IllegalArgumentException if either list is null.
+     */
+    public static <T> boolean patch(List<T> target, List<? extends T> desired) {
+        return patch(target, desired, Objects::equals);
+    }
+
+    /**
+     * Patches the target list so that it matches the desired list.
+     * Items for which {@code sameItem} holds are kept as they are, every other position is
+     * set, removed or inserted so that the target ends up in the same order as the desired list.
+     *
+     * @param target The list to modify.
+     * @param desired The contents the target should have afterwards.
+     * @param sameItem Decides whether an existing item can be kept in place of a desired one.
+     * @param <T> The type of the list items.
+     * @return true if the target was modified, false if it already matched.
+     * @throws IllegalArgumentException if any argument is null.
+     */
+    public static <T> boolean patch(List<T> target, List<? extends T> desired, BiPredicate<? super T, ? super T> sameItem) {
+        if (target == null || desired == null || sameItem == null) {
+            throw new IllegalArgumentException("Lists and comparison cannot be null.");
+        }
+        int oldSize = target.size();
+        int newSize = desired.size();
+
+        int prefix = 0;
+        while (prefix < oldSize && prefix < newSize && sameItem.test(target.get(prefix), desired.get(prefix))) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < oldSize - prefix && suffix < newSize - prefix
+                && sameItem.test(target.get(oldSize - 1 - suffix), desired.get(newSize - 1 - suffix))) {
+            suffix++;
+        }
+
+        int oldEnd = oldSize - suffix;
+        int newEnd = newSize - suffix;
+        if (prefix == oldEnd && prefix == newEnd) {
+            return false;
+        }
+
+        // Replace the overlapping part of the changed range in place
+        int overlap = Math.min(oldEnd, newEnd) - prefix;
+        for (int i = prefix; i < prefix + overlap; i++) {
+            T item = desired.get(i);
+            if (!sameItem.test(target.get(i), item)) {
+                target.set(i, item);
+            }
+        }
+
+        // Then drop or insert whatever is left
+        if (oldEnd > newEnd) {
+            target.subList(prefix + overlap, oldEnd).clear();
+        } else if (newEnd > oldEnd) {
+            target.addAll(prefix + overlap, desired.subList(prefix + overlap, newEnd));
+        }
+        return true;
+    }
+}
@@ -0,0 +1,184 @@
+package org.example.craftuml.Business;
+
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Finds diagram elements by name with a hash lookup instead of a scan over every element.
+ * <p>
+ * The index listens to the name property of every element it holds, so renamed elements are found under
+ * their new name right away. An index created for an observable list also follows the elements that are
+ * added to and removed from the list. Names do not have to be unique; of several elements with the same
+ * name, the one that was added first is found.
+ * </p>
+ *
+ * @param <T> The type of the indexed elements.
+ */
+public final class NameIndex<T> {
+    /**
+     * Returns the observable name of an element.
+     */
+    private final Function<? super T, ? extends ObservableValue<String>> nameOf;
+
+    /**
+     * The elements with each name, in the order in which they were added.
+     */
+    private final Map<String, List<T>> elementsByName = new HashMap<>();
+
+    /**
+     * The name property of every indexed element, used to stop listening when the element is removed.
+     */
+    private final Map<T, ObservableValue<String>> names = new IdentityHashMap<>();
+
+    /**
+     * The element each observed name property belongs to.
+     */
+    private final Map<ObservableValue<? extends String>, T> owners = new IdentityHashMap<>();
+
+    /**
+     * Moves an element to its new name when it is renamed.
+     */
+    private final ChangeListener<String> renameListener = (observable, oldName, newName) -> {
+        T element = owners.get(observable);
+        if (element != null) {
+            unlink(element, oldName);
+            link(element, newName);
+        }
+    };
+
+    /**
+     * Creates an empty index.
+     *
+     * @param nameOf Returns the observable name of an element.
+     * @throws IllegalArgumentException if the name function is null.
+     */
+    public NameIndex(Function<? super T, ? extends ObservableValue<String>> nameOf) {
+        if (nameOf == null) {
+            throw new IllegalArgumentException("Name function cannot be null.");
+        }
+        this.nameOf = nameOf;
+    }
+
+    /**
+     * Creates an index over the elements of a list and keeps it in sync with the list.
+     *
+     * @param items The list of elements to index.
+     * @param nameOf Returns the observable name of an element.
+     * @throws IllegalArgumentException if the list or the name function is null.
+     */
+    public NameIndex(ObservableList<? extends T> items, Function<? super T, ? extends ObservableValue<String>> nameOf) {
+        this(nameOf);
+        if (items == null) {
+            throw new IllegalArgumentException("Element list cannot be null.");
+        }
+        items.forEach(this::add);
+        items.addListener((ListChangeListener<T>) change -> {
+            while (change.next()) {
+                change.getRemoved().forEach(this::remove);
+                change.getAddedSubList().forEach(this::add);
+            }
+        });
+    }
+
+    /**
+     * Adds an element under its current name and follows its renames.
+     * Adding an element that is already in the index does nothing.
+     *
+     * @param element The element to add.
+     * @throws IllegalArgumentException if the element is null.
+     */
+    public void add(T element) {
+        if (element == null) {
+            throw new IllegalArgumentException("Element cannot be null.");
+        }
+        if (names.containsKey(element)) {
+            return;
+        }
+        ObservableValue<String> name = nameOf.apply(element);
+        names.put(element, name);
+        owners.put(name, element);
+        name.addListener(renameListener);
+        link(element, name.getValue());
+    }
+
+    /**
+     * Removes an element and stops following its renames. Elements that are not in the index are ignored.
+     *
+     * @param element The element to remove.
+     */
+    public void remove(Object element) {
+        ObservableValue<String> name = names.remove(element);
+        if (name != null) {
+            name.removeListener(renameListener);
+            owners.remove(name);
+            unlink(element, name.getValue());
+        }
+    }
+
+    /**
+     * Returns the element with a name.
+     *
+     * @param name The name to look up.
+     * @return The first added element with that name, or {@code null} if there is none.
+     */
+    public T find(String name) {
+        List<T> elements = elementsByName.get(name);
+        return elements == null ? null : elements.get(0);
+    }
+
+    /**
+     * Returns the number of elements in the index.
+     *
+     * @return The number of elements.
+     */
+    public int size() {
+        return names.size();
+    }
+
+    /**
+     * Removes every element and stops following their renames.
+     */
+    public void clear() {
+        names.values().forEach(name -> name.removeListener(renameListener));
+        names.clear();
+        owners.clear();
+        elementsByName.clear();
+    }
+
+    /**
+     * Files an element under a name.
+     *
+     * @param element The element.
+     * @param name The name, or {@code null} if the element has no name yet.
+     */
+    private void link(T element, String name) {
+        if (name != null) {
+            elementsByName.computeIfAbsent(name, key -> new ArrayList<>(1)).add(element);
+        }
+    }
+
+    /**
+     * Takes an element out of the elements filed under a name.
+     *
+     * @param element The element.
+     * @param name The name it was filed under, or {@code null} if it had none.
+     */
+    private void unlink(Object element, String name) {
+        List<T> elements = name == null ? null : elementsByName.get(name);
+        if (elements != null) {
+            elements.removeIf(candidate -> candidate == element);
+            if (elements.isEmpty()) {
+                elementsByName.remove(name);
+            }
+        }
+    }
+}
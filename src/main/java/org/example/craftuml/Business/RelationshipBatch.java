@@ -0,0 +1,142 @@
+package org.example.craftuml.Business;
+
+import javafx.scene.paint.Color;
+import org.example.craftuml.models.Relationship;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Draws many relationships with a fixed number of rendering commands instead of a few per relationship.
+ * The relationships of a frame are collected first and then drawn grouped by their visual style:
+ * every solid line and outlined arrowhead as one path, every dashed line as a second path and every
+ * filled arrowhead as a third, followed by the labels. The stroke, fill, line width and dash pattern
+ * are set once per style, so the number of state changes no longer grows with the number of edges.
+ *
+ * <p>A batch is meant to be reused from frame to frame: {@link #draw} empties it again.</p>
+ */
+public class RelationshipBatch {
+    /**
+     * The width of every relationship line.
+     */
+    private static final double LINE_WIDTH = 2;
+
+    /**
+     * The dash pattern of realization lines.
+     */
+    private static final double[] DASHES = {10, 5};
+
+    /**
+     * The relationships collected for the next draw.
+     */
+    private final List<Relationship> relationships = new ArrayList<>();
+
+    /**
+     * The number of collected relationships with a dashed line.
+     */
+    private int dashedCount;
+
+    /**
+     * The number of collected relationships with a filled arrowhead.
+     */
+    private int filledCount;
+
+    /**
+     * Adds a relationship to be drawn by the next {@link #draw}.
+     *
+     * @param relationship The relationship to draw.
+     * @throws IllegalArgumentException if the relationship is null.
+     */
+    public void add(Relationship relationship) {
+        if (relationship == null) {
+            throw new IllegalArgumentException("Relationship cannot be null.");
+        }
+        relationships.add(relationship);
+        if (relationship.isDashed()) {
+            dashedCount++;
+        }
+        if (relationship.hasFilledArrowhead()) {
+            filledCount++;
+        }
+    }
+
+    /**
+     * Returns the number of relationships collected for the next draw.
+     *
+     * @return The number of relationships.
+     */
+    public int size() {
+        return relationships.size();
+    }
+
+    /**
+     * Removes every collected relationship without drawing it.
+     */
+    public void clear() {
+        relationships.clear();
+        dashedCount = 0;
+        filledCount = 0;
+    }
+
+    /**
+     * Draws the collected relationships grouped by style and empties the batch.
+     * The attributes of the renderer are restored afterwards.
+     *
+     * @param renderer The renderer to draw with.
+     * @param drawLabels Whether the names and multiplicities are drawn.
+     */
+    public void draw(Renderer renderer, boolean drawLabels) {
+        if (relationships.isEmpty()) {
+            return;
+        }
+        renderer.save();
+        renderer.setLineWidth(LINE_WIDTH);
+        renderer.setStroke(Color.BLACK);
+        renderer.setFill(Color.BLACK);
+        renderer.setLineDashes();
+
+        // Solid lines and outlined arrowheads share one style; realization arrowheads are solid too
+        renderer.beginPath();
+        for (Relationship relationship : relationships) {
+            if (!relationship.isDashed()) {
+                relationship.appendLine(renderer);
+            }
+            if (!relationship.hasFilledArrowhead()) {
+                relationship.appendArrowhead(renderer);
+            }
+        }
+        renderer.stroke();
+
+        if (dashedCount > 0) {
+            renderer.setLineDashes(DASHES);
+            renderer.beginPath();
+            for (Relationship relationship : relationships) {
+                if (relationship.isDashed()) {
+                    relationship.appendLine(renderer);
+                }
+            }
+            renderer.stroke();
+            renderer.setLineDashes();
+        }
+
+        if (filledCount > 0) {
+            renderer.beginPath();
+            for (Relationship relationship : relationships) {
+                if (relationship.hasFilledArrowhead()) {
+                    relationship.appendArrowhead(renderer);
+                }
+            }
+            renderer.fill();
+        }
+
+        if (drawLabels) {
+            for (Relationship relationship : relationships) {
+                if (relationship.hasLabels()) {
+                    relationship.drawLabels(renderer);
+                }
+            }
+        }
+        renderer.restore();
+        clear();
+    }
+}
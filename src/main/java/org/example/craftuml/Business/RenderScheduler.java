@@ -0,0 +1,143 @@
+package org.example.craftuml.Business;
+
+import javafx.animation.AnimationTimer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Coalesces repaint and refresh requests so that each one runs at most once per JavaFX pulse.
+ * Callers request a task whenever the scene becomes invalid; the task is queued once no matter
+ * how often it is requested, and every queued task runs on the next pulse of an {@link AnimationTimer}.
+ * The timer only runs while there is pending work.
+ *
+ * <p>Tasks are compared by identity, so callers should keep one {@link Runnable} instance per kind of
+ * work (for example a field holding a method reference) and request that same instance every time.
+ * Like the rest of the scene graph, this class is meant to be used from the JavaFX application thread.</p>
+ */
+public class RenderScheduler {
+    /**
+     * The tasks waiting for the next pulse, in the order they were first requested.
+     */
+    private final Set<Runnable> pending = new LinkedHashSet<>();
+
+    /**
+     * The timer that flushes the pending tasks on each pulse, created on first use.
+     */
+    private AnimationTimer timer;
+
+    /**
+     * Flag indicating whether the pulse timer is currently running.
+     */
+    private boolean pulseRunning = false;
+
+    /**
+     * Flag indicating whether the pending tasks are currently being run.
+     */
+    private boolean flushing = false;
+
+    /**
+     * Queues a task for the next pulse. Requesting a task that is already queued does nothing.
+     *
+     * @param task The task to run.
+     * @throws IllegalArgumentException if the task is null.
+     */
+    public void request(Runnable task) {
+        if (task == null) {
+            throw new IllegalArgumentException("Task cannot be null.");
+        }
+        pending.add(task);
+        if (!pulseRunning && !flushing) {
+            pulseRunning = true;
+            startPulse();
+        }
+    }
+
+    /**
+     * Runs every pending task now and stops the pulse timer.
+     * Tasks requested while flushing also run in this flush, unless they already ran in it;
+     * those are queued again for the next pulse so that a task never runs twice per pulse.
+     */
+    public void flush() {
+        if (flushing) {
+            return;
+        }
+        flushing = true;
+        Set<Runnable> ran = new LinkedHashSet<>();
+        try {
+            while (!pending.isEmpty()) {
+                List<Runnable> tasks = new ArrayList<>(pending);
+                pending.clear();
+                boolean progressed = false;
+                for (Runnable task : tasks) {
+                    if (ran.add(task)) {
+                        task.run();
+                        progressed = true;
+                    } else {
+                        pending.add(task);
+                    }
+                }
+                if (!progressed) {
+                    break;
+                }
+            }
+        } finally {
+            flushing = false;
+        }
+        if (pending.isEmpty()) {
+            if (pulseRunning) {
+                pulseRunning = false;
+                stopPulse();
+            }
+        } else if (!pulseRunning) {
+            pulseRunning = true;
+            startPulse();
+        }
+    }
+
+    /**
+     * Checks whether any task is waiting for the next pulse.
+     *
+     * @return true if there is pending work, false otherwise.
+     */
+    public boolean hasPendingWork() {
+        return !pending.isEmpty();
+    }
+
+    /**
+     * Drops every pending task without running it and stops the pulse timer.
+     */
+    public void cancel() {
+        pending.clear();
+        if (pulseRunning) {
+            pulseRunning = false;
+            stopPulse();
+        }
+    }
+
+    /**
+     * Starts delivering pulses, each of which calls {@link #flush()}.
+     */
+    protected void startPulse() {
+        if (timer == null) {
+            timer = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    flush();
+                }
+            };
+        }
+        timer.start();
+    }
+
+    /**
+     * Stops delivering pulses until work is requested again.
+     */
+    protected void stopPulse() {
+        if (timer != null) {
+            timer.stop();
+        }
+    }
+}
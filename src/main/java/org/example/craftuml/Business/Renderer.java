@@ -0,0 +1,243 @@
+package org.example.craftuml.Business;
+
+import javafx.geometry.Bounds;
+import javafx.geometry.VPos;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+/**
+ * The drawing operations used to render diagrams, independent of the surface they are drawn on.
+ * Models and managers draw through this interface, so the same code paints a JavaFX canvas
+ * ({@link FxRenderer}) or a {@link java.awt.Graphics2D} surface ({@link Java2DRenderer}); the latter
+ * needs neither a running FX toolkit nor the FX application thread, which makes it suitable for
+ * headless export, tests and benchmarks.
+ *
+ * <p>The operations and their defaults follow {@link javafx.scene.canvas.GraphicsContext}:
+ * coordinates are in the current transform, strokes are centred on the outline, and text is placed
+ * according to the current alignment and baseline.</p>
+ */
+public interface Renderer {
+
+    /**
+     * Sets the colour used by the stroke operations.
+     *
+     * @param color The stroke colour.
+     */
+    void setStroke(Color color);
+
+    /**
+     * Sets the colour used by the fill and text operations.
+     *
+     * @param color The fill colour.
+     */
+    void setFill(Color color);
+
+    /**
+     * Sets the width of stroked lines and outlines.
+     *
+     * @param width The line width.
+     */
+    void setLineWidth(double width);
+
+    /**
+     * Sets the dash pattern of stroked lines. No dashes, or only zero-length dashes, draw solid lines.
+     *
+     * @param dashes The alternating lengths of dashes and gaps.
+     */
+    void setLineDashes(double... dashes);
+
+    /**
+     * Returns the current dash pattern.
+     *
+     * @return The dash lengths, or {@code null} for solid lines.
+     */
+    double[] getLineDashes();
+
+    /**
+     * Sets the font used by the text operations.
+     *
+     * @param font The font.
+     */
+    void setFont(Font font);
+
+    /**
+     * Returns the font used by the text operations.
+     *
+     * @return The current font.
+     */
+    Font getFont();
+
+    /**
+     * Sets the horizontal alignment of text relative to its anchor point.
+     *
+     * @param align The text alignment.
+     */
+    void setTextAlign(TextAlignment align);
+
+    /**
+     * Sets the vertical position of text relative to its anchor point.
+     *
+     * @param baseline The text baseline.
+     */
+    void setTextBaseline(VPos baseline);
+
+    /**
+     * Strokes a line between two points.
+     *
+     * @param x1 The x-coordinate of the first point.
+     * @param y1 The y-coordinate of the first point.
+     * @param x2 The x-coordinate of the second point.
+     * @param y2 The y-coordinate of the second point.
+     */
+    void strokeLine(double x1, double y1, double x2, double y2);
+
+    /**
+     * Strokes the outline of a rectangle.
+     *
+     * @param x The x-coordinate of the rectangle.
+     * @param y The y-coordinate of the rectangle.
+     * @param width The width of the rectangle.
+     * @param height The height of the rectangle.
+     */
+    void strokeRect(double x, double y, double width, double height);
+
+    /**
+     * Fills a rectangle.
+     *
+     * @param x The x-coordinate of the rectangle.
+     * @param y The y-coordinate of the rectangle.
+     * @param width The width of the rectangle.
+     * @param height The height of the rectangle.
+     */
+    void fillRect(double x, double y, double width, double height);
+
+    /**
+     * Clears a rectangle to full transparency.
+     *
+     * @param x The x-coordinate of the rectangle.
+     * @param y The y-coordinate of the rectangle.
+     * @param width The width of the rectangle.
+     * @param height The height of the rectangle.
+     */
+    void clearRect(double x, double y, double width, double height);
+
+    /**
+     * Strokes the outline of the oval inscribed in a rectangle.
+     *
+     * @param x The x-coordinate of the bounding rectangle.
+     * @param y The y-coordinate of the bounding rectangle.
+     * @param width The width of the oval.
+     * @param height The height of the oval.
+     */
+    void strokeOval(double x, double y, double width, double height);
+
+    /**
+     * Fills the oval inscribed in a rectangle.
+     *
+     * @param x The x-coordinate of the bounding rectangle.
+     * @param y The y-coordinate of the bounding rectangle.
+     * @param width The width of the oval.
+     * @param height The height of the oval.
+     */
+    void fillOval(double x, double y, double width, double height);
+
+    /**
+     * Strokes the outline of a closed polygon.
+     *
+     * @param xPoints The x-coordinates of the corners.
+     * @param yPoints The y-coordinates of the corners.
+     * @param count The number of corners to use.
+     */
+    void strokePolygon(double[] xPoints, double[] yPoints, int count);
+
+    /**
+     * Fills a closed polygon.
+     *
+     * @param xPoints The x-coordinates of the corners.
+     * @param yPoints The y-coordinates of the corners.
+     * @param count The number of corners to use.
+     */
+    void fillPolygon(double[] xPoints, double[] yPoints, int count);
+
+    /**
+     * Starts a new, empty path. Paths let many lines and shapes of the same style be stroked or
+     * filled with a single command.
+     */
+    void beginPath();
+
+    /**
+     * Starts a new subpath of the current path at the given point.
+     *
+     * @param x The x-coordinate of the point.
+     * @param y The y-coordinate of the point.
+     */
+    void moveTo(double x, double y);
+
+    /**
+     * Adds a straight line from the last point of the current path to the given point.
+     *
+     * @param x The x-coordinate of the point.
+     * @param y The y-coordinate of the point.
+     */
+    void lineTo(double x, double y);
+
+    /**
+     * Closes the current subpath with a line back to its first point.
+     */
+    void closePath();
+
+    /**
+     * Strokes the current path with the stroke colour, line width and dash pattern.
+     */
+    void stroke();
+
+    /**
+     * Fills the current path with the fill colour.
+     */
+    void fill();
+
+    /**
+     * Draws text with the fill colour and the current font, alignment and baseline.
+     * Nothing is drawn for {@code null} text.
+     *
+     * @param text The text to draw.
+     * @param x The x-coordinate of the anchor point.
+     * @param y The y-coordinate of the anchor point.
+     */
+    void fillText(String text, double x, double y);
+
+    /**
+     * Measures text in the current font.
+     *
+     * @param text The text to measure.
+     * @return The bounds of the text; only the width and height are meaningful.
+     */
+    Bounds measureText(String text);
+
+    /**
+     * Pushes the current attributes and transform, to be restored by {@link #restore()}.
+     */
+    void save();
+
+    /**
+     * Pops the attributes and transform saved by the last {@link #save()}.
+     */
+    void restore();
+
+    /**
+     * Translates the current transform.
+     *
+     * @param x The horizontal translation.
+     * @param y The vertical translation.
+     */
+    void translate(double x, double y);
+
+    /**
+     * Scales the current transform.
+     *
+     * @param x The horizontal scale factor.
+     * @param y The vertical scale factor.
+     */
+    void scale(double x, double y);
+}
@@ -0,0 +1,220 @@
+package org.example.craftuml.Business;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Indexes the polylines of diagram edges segment by segment, so that the edge closest to a point can be
+ * found by testing only the segments near the point. Every segment is kept in a {@link SpatialGrid} under
+ * its bounding rectangle; a lookup only visits the cells within the tolerance around the point and
+ * measures the exact distance to the segments found there.
+ *
+ * <p>An edge is registered with all points of its polyline, so straight lines, loops and routed lines
+ * are picked along the path that is actually drawn.</p>
+ *
+ * @param <T> The type of the edges.
+ */
+public class SegmentIndex<T> {
+    /**
+     * One straight piece of the polyline of an edge.
+     *
+     * @param <T> The type of the edge.
+     */
+    private static final class Segment<T> {
+        /**
+         * The edge the segment belongs to.
+         */
+        private final T owner;
+
+        /**
+         * The start and end points of the segment.
+         */
+        private double x1, y1, x2, y2;
+
+        /**
+         * Creates a segment of an edge.
+         *
+         * @param owner The edge.
+         */
+        private Segment(T owner) {
+            this.owner = owner;
+        }
+    }
+
+    /**
+     * The segments of every edge, keyed by the edge.
+     */
+    private final Map<T, List<Segment<T>>> edges = new IdentityHashMap<>();
+
+    /**
+     * The grid over the bounding rectangles of all segments.
+     */
+    private final SpatialGrid<Segment<T>> grid;
+
+    /**
+     * The segments returned by the last grid lookup, reused between lookups.
+     */
+    private final List<Segment<T>> candidates = new ArrayList<>();
+
+    /**
+     * Creates an empty index.
+     *
+     * @param cellSize The width and height of a grid cell.
+     * @throws IllegalArgumentException if the cell size is not positive.
+     */
+    public SegmentIndex(double cellSize) {
+        grid = new SpatialGrid<>(cellSize);
+    }
+
+    /**
+     * Sets the polyline of an edge, replacing the segments it was registered with before.
+     * A polyline of fewer than two points removes the edge.
+     *
+     * @param owner The edge.
+     * @param xPoints The x-coordinates of the points of the polyline.
+     * @param yPoints The y-coordinates of the points of the polyline.
+     * @param count The number of points to use.
+     * @throws IllegalArgumentException if the edge or an array is null, or an array is shorter than the count.
+     */
+    public void update(T owner, double[] xPoints, double[] yPoints, int count) {
+        if (owner == null) {
+            throw new IllegalArgumentException("Edge cannot be null.");
+        }
+        if (xPoints == null || yPoints == null || count < 0 || xPoints.length < count || yPoints.length < count) {
+            throw new IllegalArgumentException("Point arrays must hold the given number of points.");
+        }
+        if (count < 2) {
+            remove(owner);
+            return;
+        }
+        List<Segment<T>> segments = edges.computeIfAbsent(owner, k -> new ArrayList<>(count - 1));
+        while (segments.size() > count - 1) {
+            grid.remove(segments.remove(segments.size() - 1));
+        }
+        for (int i = 0; i < count - 1; i++) {
+            Segment<T> segment;
+            if (i < segments.size()) {
+                segment = segments.get(i);
+            } else {
+                segment = new Segment<>(owner);
+                segments.add(segment);
+            }
+            segment.x1 = xPoints[i];
+            segment.y1 = yPoints[i];
+            segment.x2 = xPoints[i + 1];
+            segment.y2 = yPoints[i + 1];
+            grid.update(segment, Math.min(segment.x1, segment.x2), Math.min(segment.y1, segment.y2),
+                    Math.abs(segment.x2 - segment.x1), Math.abs(segment.y2 - segment.y1));
+        }
+    }
+
+    /**
+     * Removes an edge and its segments. Edges that are not in the index are ignored.
+     *
+     * @param owner The edge to remove.
+     */
+    public void remove(Object owner) {
+        List<Segment<T>> segments = edges.remove(owner);
+        if (segments != null) {
+            for (Segment<T> segment : segments) {
+                grid.remove(segment);
+            }
+        }
+    }
+
+    /**
+     * Checks whether an edge is in the index.
+     *
+     * @param owner The edge.
+     * @return true if the edge is in the index, false otherwise.
+     */
+    public boolean contains(Object owner) {
+        return edges.containsKey(owner);
+    }
+
+    /**
+     * Returns the number of edges in the index.
+     *
+     * @return The number of edges.
+     */
+    public int size() {
+        return edges.size();
+    }
+
+    /**
+     * Removes every edge from the index.
+     */
+    public void clear() {
+        edges.clear();
+        grid.clear();
+    }
+
+    /**
+     * Finds the edge with the segment closest to a point, if that segment lies within the tolerance.
+     *
+     * @param x The x-coordinate of the point.
+     * @param y The y-coordinate of the point.
+     * @param tolerance The largest distance at which an edge is found.
+     * @return The closest edge, or {@code null} if no edge is within the tolerance.
+     */
+    public T findNearest(double x, double y, double tolerance) {
+        return findNearest(x, y, tolerance, null);
+    }
+
+    /**
+     * Finds the edge with the segment closest to a point among the edges accepted by a filter,
+     * if that segment lies within the tolerance. Of equally close edges the one added first is returned.
+     *
+     * @param x The x-coordinate of the point.
+     * @param y The y-coordinate of the point.
+     * @param tolerance The largest distance at which an edge is found.
+     * @param filter Accepts the edges that may be returned, or {@code null} to accept every edge.
+     * @return The closest accepted edge, or {@code null} if no accepted edge is within the tolerance.
+     * @throws IllegalArgumentException if the tolerance is negative.
+     */
+    public T findNearest(double x, double y, double tolerance, Predicate<? super T> filter) {
+        if (!(tolerance >= 0)) {
+            throw new IllegalArgumentException("Tolerance cannot be negative.");
+        }
+        grid.query(x - tolerance, y - tolerance, 2 * tolerance, 2 * tolerance, candidates);
+        T nearest = null;
+        double nearestDistance = tolerance;
+        for (Segment<T> segment : candidates) {
+            if (filter != null && !filter.test(segment.owner)) {
+                continue;
+            }
+            double distance = distanceToSegment(x, y, segment.x1, segment.y1, segment.x2, segment.y2);
+            if (distance < nearestDistance || (nearest == null && distance == nearestDistance)) {
+                nearest = segment.owner;
+                nearestDistance = distance;
+            }
+        }
+        candidates.clear();
+        return nearest;
+    }
+
+    /**
+     * Calculates the distance from a point to a line segment, measured to the closest point of the segment.
+     *
+     * @param pointX The x-coordinate of the point.
+     * @param pointY The y-coordinate of the point.
+     * @param x1 The x-coordinate of the start of the segment.
+     * @param y1 The y-coordinate of the start of the segment.
+     * @param x2 The x-coordinate of the end of the segment.
+     * @param y2 The y-coordinate of the end of the segment.
+     * @return The distance from the point to the segment.
+     */
+    public static double distanceToSegment(double pointX, double pointY, double x1, double y1, double x2, double y2) {
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+        double lengthSquared = dx * dx + dy * dy;
+        double t = 0;
+        if (lengthSquared > 0) {
+            t = Math.max(0, Math.min(1, ((pointX - x1) * dx + (pointY - y1) * dy) / lengthSquared));
+        }
+        return Math.hypot(pointX - (x1 + t * dx), pointY - (y1 + t * dy));
+    }
+}
@@ -0,0 +1,391 @@
+package org.example.craftuml.Business;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A uniform grid over the bounding rectangles of diagram elements, used to find the elements at a point
+ * or in an area without testing every element. Each element is registered in every cell its rectangle
+ * overlaps, so a point lookup only looks at the elements of a single cell.
+ *
+ * <p>Elements are keyed by identity. Updating an element that is already in the grid moves it; only the
+ * cells it enters or leaves are touched when it changes cells. Results are returned in the order the
+ * elements were first added, so callers can resolve overlaps the same way a scan over their lists would.</p>
+ *
+ * @param <T> The type of the indexed elements.
+ */
+public class SpatialGrid<T> {
+    /**
+     * An element together with its rectangle and the range of cells it is registered in.
+     *
+     * @param <T> The type of the element.
+     */
+    private static final class Entry<T> {
+        /**
+         * The indexed element.
+         */
+        private final T item;
+
+        /**
+         * The position of the element in insertion order.
+         */
+        private final long sequence;
+
+        /**
+         * The bounds of the element's rectangle.
+         */
+        private double minX, minY, maxX, maxY;
+
+        /**
+         * The first and last column and row of the cells the element is registered in.
+         */
+        private int minColumn, minRow, maxColumn, maxRow;
+
+        /**
+         * The number of the last area query that reported this element, to report it only once.
+         */
+        private int queryStamp;
+
+        /**
+         * Creates an entry for an element.
+         *
+         * @param item The element.
+         * @param sequence The position of the element in insertion order.
+         */
+        private Entry(T item, long sequence) {
+            this.item = item;
+            this.sequence = sequence;
+        }
+
+        /**
+         * Checks whether the element's rectangle contains a point, edges included.
+         *
+         * @param x The x-coordinate of the point.
+         * @param y The y-coordinate of the point.
+         * @return true if the point is inside the rectangle, false otherwise.
+         */
+        private boolean contains(double x, double y) {
+            return x >= minX && x <= maxX && y >= minY && y <= maxY;
+        }
+
+        /**
+         * Checks whether the element's rectangle overlaps an area, touching edges included.
+         *
+         * @param x1 The left edge of the area.
+         * @param y1 The top edge of the area.
+         * @param x2 The right edge of the area.
+         * @param y2 The bottom edge of the area.
+         * @return true if the rectangle and the area overlap, false otherwise.
+         */
+        private boolean intersects(double x1, double y1, double x2, double y2) {
+            return minX <= x2 && maxX >= x1 && minY <= y2 && maxY >= y1;
+        }
+    }
+
+    /**
+     * The width and height of a grid cell.
+     */
+    private final double cellSize;
+
+    /**
+     * The entry of every element, keyed by the element.
+     */
+    private final Map<T, Entry<T>> entries = new IdentityHashMap<>();
+
+    /**
+     * The entries registered in each non-empty cell, sorted by insertion order and keyed by the cell's column and row.
+     */
+    private final Map<Long, List<Entry<T>>> cells = new HashMap<>();
+
+    /**
+     * The insertion order given to the next new element.
+     */
+    private long nextSequence;
+
+    /**
+     * The number of the current area query.
+     */
+    private int queryStamp;
+
+    /**
+     * The entries found by the current area query, reused between queries.
+     */
+    private final List<Entry<T>> matches = new ArrayList<>();
+
+    /**
+     * Creates an empty grid.
+     *
+     * @param cellSize The width and height of a grid cell, ideally about the size of a typical element.
+     * @throws IllegalArgumentException if the cell size is not positive.
+     */
+    public SpatialGrid(double cellSize) {
+        if (!(cellSize > 0) || Double.isInfinite(cellSize)) {
+            throw new IllegalArgumentException("Cell size must be positive.");
+        }
+        this.cellSize = cellSize;
+    }
+
+    /**
+     * Sets the rectangle of an element, adding the element on first use and moving it afterwards.
+     *
+     * @param item The element.
+     * @param x The x-coordinate of the top-left corner.
+     * @param y The y-coordinate of the top-left corner.
+     * @param width The width of the rectangle.
+     * @param height The height of the rectangle.
+     * @throws IllegalArgumentException if the element is null or the rectangle is not finite or has a negative size.
+     */
+    public void update(T item, double x, double y, double width, double height) {
+        if (item == null) {
+            throw new IllegalArgumentException("Indexed element cannot be null.");
+        }
+        if (!Double.isFinite(x) || !Double.isFinite(y) || !(width >= 0) || !(height >= 0)
+                || Double.isInfinite(width) || Double.isInfinite(height)) {
+            throw new IllegalArgumentException("Bounds must be finite and have a non-negative size.");
+        }
+        Entry<T> entry = entries.get(item);
+        if (entry == null) {
+            entry = new Entry<>(item, nextSequence++);
+            entries.put(item, entry);
+        } else {
+            int minColumn = cell(x);
+            int minRow = cell(y);
+            int maxColumn = cell(x + width);
+            int maxRow = cell(y + height);
+            if (minColumn == entry.minColumn && minRow == entry.minRow
+                    && maxColumn == entry.maxColumn && maxRow == entry.maxRow) {
+                setBounds(entry, x, y, width, height);
+                return;
+            }
+            unregister(entry);
+        }
+        setBounds(entry, x, y, width, height);
+        entry.minColumn = cell(x);
+        entry.minRow = cell(y);
+        entry.maxColumn = cell(x + width);
+        entry.maxRow = cell(y + height);
+        register(entry);
+    }
+
+    /**
+     * Removes an element from the grid. Elements that are not in the grid are ignored.
+     *
+     * @param item The element to remove.
+     */
+    public void remove(Object item) {
+        Entry<T> entry = entries.remove(item);
+        if (entry != null) {
+            unregister(entry);
+        }
+    }
+
+    /**
+     * Checks whether an element is in the grid.
+     *
+     * @param item The element.
+     * @return true if the element is in the grid, false otherwise.
+     */
+    public boolean contains(Object item) {
+        return entries.containsKey(item);
+    }
+
+    /**
+     * Returns the number of elements in the grid.
+     *
+     * @return The number of elements.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Removes every element from the grid.
+     */
+    public void clear() {
+        entries.clear();
+        cells.clear();
+    }
+
+    /**
+     * Finds the elements whose rectangles contain a point. Only the elements registered in the point's
+     * cell are tested.
+     *
+     * @param x The x-coordinate of the point.
+     * @param y The y-coordinate of the point.
+     * @param result The list to fill; it is cleared first and receives the elements in insertion order.
+     * @return The given list.
+     */
+    public List<T> query(double x, double y, List<T> result) {
+        result.clear();
+        List<Entry<T>> cell = cells.get(key(cell(x), cell(y)));
+        if (cell != null) {
+            for (Entry<T> entry : cell) {
+                if (entry.contains(x, y)) {
+                    result.add(entry.item);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Finds the elements whose rectangles overlap an area.
+     *
+     * @param x The x-coordinate of the top-left corner of the area.
+     * @param y The y-coordinate of the top-left corner of the area.
+     * @param width The width of the area.
+     * @param height The height of the area.
+     * @param result The list to fill; it is cleared first and receives the elements in insertion order.
+     * @return The given list.
+     */
+    public List<T> query(double x, double y, double width, double height, List<T> result) {
+        result.clear();
+        double maxX = x + width;
+        double maxY = y + height;
+        queryStamp++;
+        matches.clear();
+
+        long columns = (long) cell(maxX) - cell(x) + 1;
+        long rows = (long) cell(maxY) - cell(y) + 1;
+        if (columns * rows > cells.size()) {
+            // The area spans more cells than are occupied, so walking the occupied cells is cheaper
+            for (List<Entry<T>> cell : cells.values()) {
+                collect(cell, x, y, maxX, maxY);
+            }
+        } else {
+            for (int column = cell(x); column <= cell(maxX); column++) {
+                for (int row = cell(y); row <= cell(maxY); row++) {
+                    List<Entry<T>> cell = cells.get(key(column, row));
+                    if (cell != null) {
+                        collect(cell, x, y, maxX, maxY);
+                    }
+                }
+            }
+        }
+
+        matches.sort((a, b) -> Long.compare(a.sequence, b.sequence));
+        for (Entry<T> entry : matches) {
+            result.add(entry.item);
+        }
+        matches.clear();
+        return result;
+    }
+
+    /**
+     * Finds the elements whose rectangles lie completely inside an area, edges included. Only the elements
+     * overlapping the area are tested.
+     *
+     * @param x The x-coordinate of the top-left corner of the area.
+     * @param y The y-coordinate of the top-left corner of the area.
+     * @param width The width of the area.
+     * @param height The height of the area.
+     * @param result The list to fill; it is cleared first and receives the elements in insertion order.
+     * @return The given list.
+     */
+    public List<T> queryInside(double x, double y, double width, double height, List<T> result) {
+        query(x, y, width, height, result);
+        double maxX = x + width;
+        double maxY = y + height;
+        result.removeIf(item -> {
+            Entry<T> entry = entries.get(item);
+            return entry.minX < x || entry.minY < y || entry.maxX > maxX || entry.maxY > maxY;
+        });
+        return result;
+    }
+
+    /**
+     * Adds the entries of a cell that overlap an area and were not reported yet to the current matches.
+     *
+     * @param cell The entries of the cell.
+     * @param x1 The left edge of the area.
+     * @param y1 The top edge of the area.
+     * @param x2 The right edge of the area.
+     * @param y2 The bottom edge of the area.
+     */
+    private void collect(List<Entry<T>> cell, double x1, double y1, double x2, double y2) {
+        for (Entry<T> entry : cell) {
+            if (entry.queryStamp != queryStamp && entry.intersects(x1, y1, x2, y2)) {
+                entry.queryStamp = queryStamp;
+                matches.add(entry);
+            }
+        }
+    }
+
+    /**
+     * Stores the rectangle of an entry.
+     *
+     * @param entry The entry.
+     * @param x The x-coordinate of the top-left corner.
+     * @param y The y-coordinate of the top-left corner.
+     * @param width The width of the rectangle.
+     * @param height The height of the rectangle.
+     */
+    private void setBounds(Entry<T> entry, double x, double y, double width, double height) {
+        entry.minX = x;
+        entry.minY = y;
+        entry.maxX = x + width;
+        entry.maxY = y + height;
+    }
+
+    /**
+     * Adds an entry to every cell in its range, keeping each cell sorted by insertion order.
+     *
+     * @param entry The entry to register.
+     */
+    private void register(Entry<T> entry) {
+        for (int column = entry.minColumn; column <= entry.maxColumn; column++) {
+            for (int row = entry.minRow; row <= entry.maxRow; row++) {
+                List<Entry<T>> cell = cells.computeIfAbsent(key(column, row), k -> new ArrayList<>(4));
+                int index = cell.size();
+                while (index > 0 && cell.get(index - 1).sequence > entry.sequence) {
+                    index--;
+                }
+                cell.add(index, entry);
+            }
+        }
+    }
+
+    /**
+     * Removes an entry from every cell in its range, dropping cells that become empty.
+     *
+     * @param entry The entry to unregister.
+     */
+    private void unregister(Entry<T> entry) {
+        for (int column = entry.minColumn; column <= entry.maxColumn; column++) {
+            for (int row = entry.minRow; row <= entry.maxRow; row++) {
+                Long key = key(column, row);
+                List<Entry<T>> cell = cells.get(key);
+                if (cell != null) {
+                    cell.remove(entry);
+                    if (cell.isEmpty()) {
+                        cells.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the column or row of the cell containing a coordinate.
+     *
+     * @param coordinate The x- or y-coordinate.
+     * @return The column or row index.
+     */
+    private int cell(double coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    /**
+     * Packs the column and row of a cell into a single key.
+     *
+     * @param column The column of the cell.
+     * @param row The row of the cell.
+     * @return The key of the cell.
+     */
+    private static Long key(int column, int row) {
+        return ((long) column << 32) | (row & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,159 @@
+package org.example.craftuml.Business;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps a pre-rendered image (a sprite) of each diagram element, so that unchanged elements can be
+ * copied onto the canvas instead of being drawn again line by line.
+ * A sprite is only valid for the content version and the scale it was rendered at; a lookup with
+ * a different version or scale misses. The total size of the sprites is kept under a memory budget
+ * by evicting the least recently used ones.
+ *
+ * @param <S> The type of the stored sprites.
+ */
+public class SpriteCache<S> {
+    /**
+     * The maximum total size of the stored sprites, in bytes.
+     */
+    private final long budgetBytes;
+
+    /**
+     * The total size of the stored sprites, in bytes.
+     */
+    private long usedBytes;
+
+    /**
+     * The stored sprites keyed by their element, from the least to the most recently used.
+     */
+    private final LinkedHashMap<Object, Entry<S>> sprites = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * Creates an empty cache with the given memory budget.
+     *
+     * @param budgetBytes The maximum total size of the stored sprites, in bytes.
+     * @throws IllegalArgumentException if the budget is not positive.
+     */
+    public SpriteCache(long budgetBytes) {
+        if (budgetBytes <= 0) {
+            throw new IllegalArgumentException("Sprite budget must be positive.");
+        }
+        this.budgetBytes = budgetBytes;
+    }
+
+    /**
+     * Returns the sprite of an element if it was rendered for the given content version and scale.
+     * A sprite rendered for another version or scale is dropped.
+     *
+     * @param element The element the sprite belongs to.
+     * @param version The current content version of the element.
+     * @param scale The scale the sprite is needed at.
+     * @return The sprite, or {@code null} if it has to be rendered.
+     */
+    public S get(Object element, long version, double scale) {
+        Entry<S> entry = sprites.get(element);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.version != version || entry.scale != scale) {
+            invalidate(element);
+            return null;
+        }
+        return entry.sprite;
+    }
+
+    /**
+     * Stores the sprite of an element, replacing any previous one, and evicts the least recently
+     * used sprites until the cache is back under its budget. A sprite larger than the whole budget
+     * is not stored.
+     *
+     * @param element The element the sprite belongs to.
+     * @param version The content version the sprite was rendered for.
+     * @param scale The scale the sprite was rendered at.
+     * @param sprite The rendered sprite.
+     * @param bytes The memory used by the sprite, in bytes.
+     * @throws IllegalArgumentException if the element or the sprite is null, or if the size is negative.
+     */
+    public void put(Object element, long version, double scale, S sprite, long bytes) {
+        if (element == null || sprite == null || bytes < 0) {
+            throw new IllegalArgumentException("Element and sprite cannot be null and size cannot be negative.");
+        }
+        invalidate(element);
+        if (bytes > budgetBytes) {
+            return;
+        }
+        sprites.put(element, new Entry<>(version, scale, sprite, bytes));
+        usedBytes += bytes;
+
+        Iterator<Entry<S>> eldest = sprites.values().iterator();
+        while (usedBytes > budgetBytes && eldest.hasNext()) {
+            usedBytes -= eldest.next().bytes;
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Drops the sprite of an element, for example when it is edited, selected or deleted.
+     *
+     * @param element The element whose sprite is dropped.
+     */
+    public void invalidate(Object element) {
+        Entry<S> entry = sprites.remove(element);
+        if (entry != null) {
+            usedBytes -= entry.bytes;
+        }
+    }
+
+    /**
+     * Drops every sprite.
+     */
+    public void clear() {
+        sprites.clear();
+        usedBytes = 0;
+    }
+
+    /**
+     * Returns the number of stored sprites.
+     *
+     * @return The number of sprites.
+     */
+    public int size() {
+        return sprites.size();
+    }
+
+    /**
+     * Returns the total size of the stored sprites.
+     *
+     * @return The used memory in bytes.
+     */
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * Returns the memory budget of the cache.
+     *
+     * @return The budget in bytes.
+     */
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    /**
+     * A sprite together with the version and scale it was rendered for.
+     */
+    private static final class Entry<S> {
+        private final long version;
+        private final double scale;
+        private final S sprite;
+        private final long bytes;
+
+        private Entry(long version, double scale, S sprite, long bytes) {
+            this.version = version;
+            this.scale = scale;
+            this.sprite = sprite;
+            this.bytes = bytes;
+        }
+    }
+}
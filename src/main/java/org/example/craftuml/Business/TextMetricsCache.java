@@ -0,0 +1,195 @@
+package org.example.craftuml.Business;
+
+import javafx.geometry.Bounds;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+
+/**
+ * Measures the layout bounds of text strings and remembers the results.
+ * Measurements are keyed by the (font, string) pair and kept in a bounded LRU map,
+ * so repeated width and height queries during redraws and hit tests reuse a single
+ * {@link Text} node instead of allocating a new one for every line.
+ *
+ * <p>Like the rest of the scene graph, this class is meant to be used from the JavaFX application thread.</p>
+ */
+public class TextMetricsCache {
+    /**
+     * The default number of measurements kept by the shared cache.
+     */
+    private static final int DEFAULT_CAPACITY = 4096;
+
+    /**
+     * The instance shared by the dashboards.
+     */
+    private static final TextMetricsCache SHARED = new TextMetricsCache(DEFAULT_CAPACITY);
+
+    /**
+     * The maximum number of measurements kept before the least recently used one is evicted.
+     */
+    private final int capacity;
+
+    /**
+     * The function that performs an actual measurement when a (font, string) pair is not cached.
+     */
+    private final BiFunction<String, Font, Bounds> measurer;
+
+    /**
+     * The cached measurements, ordered from least to most recently used.
+     */
+    private final Map<Key, Bounds> cache;
+
+    /**
+     * Creates a cache holding at most the given number of measurements,
+     * measured with a single reused {@link Text} node.
+     *
+     * @param capacity The maximum number of cached measurements.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    public TextMetricsCache(int capacity) {
+        this(capacity, textNodeMeasurer());
+    }
+
+    /**
+     * Creates a cache holding at most the given number of measurements, measured by the given function.
+     *
+     * @param capacity The maximum number of cached measurements.
+     * @param measurer The function returning the layout bounds of a string rendered with a font.
+     * @throws IllegalArgumentException if the capacity is not positive or the measurer is null.
+     */
+    public TextMetricsCache(int capacity, BiFunction<String, Font, Bounds> measurer) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive.");
+        }
+        if (measurer == null) {
+            throw new IllegalArgumentException("Measurer cannot be null.");
+        }
+        this.capacity = capacity;
+        this.measurer = measurer;
+        this.cache = new LinkedHashMap<Key, Bounds>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Bounds> eldest) {
+                return size() > TextMetricsCache.this.capacity;
+            }
+        };
+    }
+
+    /**
+     * Creates a measuring function backed by one {@link Text} node that is reused for every call.
+     *
+     * @return A function returning the layout bounds of a string rendered with a font.
+     */
+    private static BiFunction<String, Font, Bounds> textNodeMeasurer() {
+        Text measuringText = new Text();
+        return (text, font) -> {
+            measuringText.setText(text);
+            measuringText.setFont(font);
+            return measuringText.getLayoutBounds();
+        };
+    }
+
+    /**
+     * Returns the cache shared by the dashboards.
+     *
+     * @return The shared text metrics cache.
+     */
+    public static TextMetricsCache getShared() {
+        return SHARED;
+    }
+
+    /**
+     * Measures the layout bounds of a string rendered with the given font.
+     *
+     * @param text The text to measure; {@code null} is measured as an empty string.
+     * @param font The font used to render the text.
+     * @return The layout bounds of the text.
+     */
+    public Bounds measure(String text, Font font) {
+        Key key = new Key(font, text == null ? "" : text);
+        Bounds bounds = cache.get(key);
+        if (bounds == null) {
+            bounds = measurer.apply(key.text, font);
+            cache.put(key, bounds);
+        }
+        return bounds;
+    }
+
+    /**
+     * Returns the width of a string rendered with the given font.
+     *
+     * @param text The text to measure.
+     * @param font The font used to render the text.
+     * @return The width of the text in pixels.
+     */
+    public double getWidth(String text, Font font) {
+        return measure(text, font).getWidth();
+    }
+
+    /**
+     * Returns the height of a string rendered with the given font.
+     *
+     * @param text The text to measure.
+     * @param font The font used to render the text.
+     * @return The height of the text in pixels.
+     */
+    public double getHeight(String text, Font font) {
+        return measure(text, font).getHeight();
+    }
+
+    /**
+     * Returns the number of measurements currently cached.
+     *
+     * @return The number of cached measurements.
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Returns the maximum number of measurements kept by this cache.
+     *
+     * @return The capacity of the cache.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Removes every cached measurement.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * The (font, string) pair a measurement is stored under.
+     */
+    private static final class Key {
+        private final Font font;
+        private final String text;
+        private final int hash;
+
+        private Key(Font font, String text) {
+            this.font = font;
+            this.text = text;
+            this.hash = 31 * Objects.hashCode(font) + text.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return hash == other.hash && text.equals(other.text) && Objects.equals(font, other.font);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package org.example.craftuml.Business;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.example.craftuml.models.UseCaseDiagrams.Actor;
+import org.example.craftuml.models.UseCaseDiagrams.UseCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Finds the actor or use case under a point of a use case diagram.
+ * <p>
+ * Every actor and use case is kept in a {@link SpatialGrid} under its bounding rectangle, so a lookup only
+ * tests the few elements near the point. Actors are hit anywhere in their rectangle, use cases only inside
+ * their oval. Where elements overlap, the one drawn on top wins: use cases are drawn after actors, and
+ * within each list later elements are drawn after earlier ones.
+ * </p>
+ * <p>
+ * The picker follows the actor and use case lists it is created for, adding and removing elements as the
+ * lists change. Moved or resized elements must be passed to {@link #update(Object)}.
+ * </p>
+ */
+public final class UseCaseDiagramPicker {
+    /**
+     * The cell size of the grid in model units, about the size of a use case.
+     */
+    private static final double CELL_SIZE = 100;
+
+    /**
+     * The grid over the bounds of every actor and use case.
+     */
+    private final SpatialGrid<Object> grid = new SpatialGrid<>(CELL_SIZE);
+
+    /**
+     * The elements returned by the last grid lookup, reused between lookups.
+     */
+    private final List<Object> candidates = new ArrayList<>();
+
+    /**
+     * Creates a picker over the given lists and keeps it in sync with them.
+     *
+     * @param actors The actors of the diagram.
+     * @param useCases The use cases of the diagram.
+     * @throws IllegalArgumentException if a list is null.
+     */
+    public UseCaseDiagramPicker(ObservableList<Actor> actors, ObservableList<UseCase> useCases) {
+        if (actors == null || useCases == null) {
+            throw new IllegalArgumentException("Element lists cannot be null.");
+        }
+        actors.forEach(this::update);
+        useCases.forEach(this::update);
+        ListChangeListener<Object> listener = change -> {
+            while (change.next()) {
+                change.getRemoved().forEach(grid::remove);
+                change.getAddedSubList().forEach(this::update);
+            }
+        };
+        actors.addListener(listener);
+        useCases.addListener(listener);
+    }
+
+    /**
+     * Stores the current position and size of an actor or use case.
+     *
+     * @param element The actor or use case that was added, moved or resized.
+     * @throws IllegalArgumentException if the element is neither an actor nor a use case.
+     */
+    public void update(Object element) {
+        if (element instanceof Actor) {
+            Actor actor = (Actor) element;
+            grid.update(actor, actor.getX(), actor.getY(), actor.getWidth(), actor.getHeight());
+        } else if (element instanceof UseCase) {
+            UseCase useCase = (UseCase) element;
+            grid.update(useCase, useCase.getX(), useCase.getY(), useCase.getWidth(), useCase.getHeight());
+        } else {
+            throw new IllegalArgumentException("Unsupported element type: "
+                    + (element == null ? "null" : element.getClass().getSimpleName()));
+        }
+    }
+
+    /**
+     * Returns the topmost actor or use case at a point.
+     *
+     * @param x The x-coordinate of the point.
+     * @param y The y-coordinate of the point.
+     * @return The actor or use case drawn on top at the point, or {@code null} if there is none.
+     */
+    public Object pick(double x, double y) {
+        grid.query(x, y, candidates);
+        Object actorHit = null;
+        Object useCaseHit = null;
+        for (Object candidate : candidates) {
+            if (candidate instanceof UseCase) {
+                if (isInsideOval(x, y, (UseCase) candidate)) {
+                    useCaseHit = candidate;
+                }
+            } else {
+                actorHit = candidate;
+            }
+        }
+        candidates.clear();
+        return useCaseHit != null ? useCaseHit : actorHit;
+    }
+
+    /**
+     * Checks whether any actor or use case lies at a point.
+     *
+     * @param x The x-coordinate of the point.
+     * @param y The y-coordinate of the point.
+     * @return true if an element is at the point, false otherwise.
+     */
+    public boolean isOverElement(double x, double y) {
+        return pick(x, y) != null;
+    }
+
+    /**
+     * Returns the number of elements the picker knows about.
+     *
+     * @return The number of actors and use cases.
+     */
+    public int size() {
+        return grid.size();
+    }
+
+    /**
+     * Checks whether a point lies inside the oval of a use case, border included.
+     *
+     * @param x The x-coordinate of the point.
+     * @param y The y-coordinate of the point.
+     * @param useCase The use case.
+     * @return true if the point is inside the oval, false otherwise.
+     */
+    private static boolean isInsideOval(double x, double y, UseCase useCase) {
+        double radiusX = useCase.getWidth() / 2;
+        double radiusY = useCase.getHeight() / 2;
+        if (radiusX <= 0 || radiusY <= 0) {
+            return false;
+        }
+        double dx = (x - (useCase.getX() + radiusX)) / radiusX;
+        double dy = (y - (useCase.getY() + radiusY)) / radiusY;
+        return dx * dx + dy * dy <= 1;
+    }
+}
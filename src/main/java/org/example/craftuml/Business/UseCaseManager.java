@@ -1,9 +1,10 @@
 package org.example.craftuml.Business;
 
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
-import javafx.scene.text.Text;
 import org.example.craftuml.models.UseCaseDiagrams.UseCase;
 import org.example.craftuml.models.UseCaseDiagrams.UseCaseDiagram;
 
@@ -23,6 +24,11 @@ public class UseCaseManager {
      */
     private List<UseCase> useCases = new ArrayList<>();
 
+    /**
+     * The font of the use case names, which also determines the size of the ovals.
+     */
+    public static final Font NAME_FONT = new Font("Arial", 14);
+
     /**
      * Constructor to initialize the `UseCaseManager` with a pre-existing list of use cases.
      *
@@ -117,35 +123,60 @@ public class UseCaseManager {
      * @param useCase The `UseCase` object to be drawn.
      */
     public void drawUseCase(GraphicsContext gc, UseCase useCase) {
-        String name = useCase.getName();
+        drawUseCase(new FxRenderer(gc), useCase);
+    }
 
-        // Set font for drawing text
-        gc.setFont(new Font("Arial", 14));
-        Text textHelper = new Text();
-        textHelper.setFont(gc.getFont());
+    /**
+     * Draws a `UseCase` object with the given renderer, sizing the oval to the measured name
+     * and centring the name inside it.
+     * The name is only measured when it changed since it was last measured; the extents and the
+     * resulting oval size are kept in the use case, so drawing an unchanged use case allocates nothing.
+     *
+     * @param renderer The `Renderer` used for drawing.
+     * @param useCase The `UseCase` object to be drawn.
+     */
+    public void drawUseCase(Renderer renderer, UseCase useCase) {
+        String name = useCase.getName() == null ? "" : useCase.getName();
 
-        // Calculate the text width and height
-        textHelper.setText(name);
-        double textWidth = textHelper.getBoundsInLocal().getWidth();
-        double textHeight = textHelper.getBoundsInLocal().getHeight();
+        // Set font for drawing text
+        renderer.setFont(NAME_FONT);
 
-        // Calculate the oval dimensions
-        double ovalWidth = Math.max(0, textWidth + 30); // Add padding
-        double ovalHeight = Math.max(50, textHeight + 10); // Add padding
+        // Size the oval to the name, measuring it only if it changed
+        if (!useCase.hasTextExtents(name)) {
+            Bounds textBounds = renderer.measureText(name);
+            useCase.setTextExtents(name, textBounds.getWidth(), textBounds.getHeight());
+        }
+        double ovalWidth = useCase.getWidth();
+        double ovalHeight = useCase.getHeight();
 
         // Draw the oval
-        gc.setFill(Color.WHITE);
-        gc.fillOval(useCase.getX(), useCase.getY(), ovalWidth, ovalHeight);
-        gc.setStroke(Color.BLACK);
-        gc.strokeOval(useCase.getX(), useCase.getY(), ovalWidth, ovalHeight);
-
-        // Center text in the oval
-        gc.setFill(Color.BLACK);
-        double centerX = useCase.getX() + ovalWidth / 2 + textWidth / 2;
-        double centerY = useCase.getY() + ovalHeight / 2.5;
+        renderer.setFill(Color.WHITE);
+        renderer.fillOval(useCase.getX(), useCase.getY(), ovalWidth, ovalHeight);
+        renderer.setStroke(Color.BLACK);
+        renderer.strokeOval(useCase.getX(), useCase.getY(), ovalWidth, ovalHeight);
 
         // Draw the text centered in the oval
-        gc.fillText(name, centerX - textWidth / 2, centerY);
+        renderer.setFill(Color.BLACK);
+        renderer.fillText(name, useCase.getX() + ovalWidth / 2, useCase.getY() + ovalHeight / 2.5);
+    }
+
+    /**
+     * Returns the area covered by a drawn use case. The name is measured in {@link #NAME_FONT}
+     * if it was not measured yet, which also sizes the use case to its oval.
+     *
+     * @param useCase The `UseCase` to measure.
+     * @param metrics The text metrics used to measure the name.
+     * @return The bounds of the drawn use case.
+     */
+    public static Bounds getUseCaseBounds(UseCase useCase, TextMetricsCache metrics) {
+        String name = useCase.getName() == null ? "" : useCase.getName();
+        if (!useCase.hasTextExtents(name)) {
+            Bounds textBounds = metrics.measure(name, NAME_FONT);
+            useCase.setTextExtents(name, textBounds.getWidth(), textBounds.getHeight());
+        }
+        // A left-aligned name starts at the centre of the oval and can reach past its right edge
+        double width = Math.max(useCase.getWidth(), useCase.getWidth() / 2 + useCase.getTextWidth());
+        return new BoundingBox(useCase.getX(), useCase.getY(), width, useCase.getHeight());
     }
 
     /**
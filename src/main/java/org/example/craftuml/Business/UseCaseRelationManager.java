@@ -1,6 +1,7 @@
 package org.example.craftuml.Business;
 
-import javafx.geometry.Point2D;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 import org.example.craftuml.models.UseCaseDiagrams.UseCase;
@@ -26,6 +27,31 @@ public class UseCaseRelationManager {
      */
     private List<UseCaseToUseCaseRelation> extendRelations;
 
+    /**
+     * The label drawn above include relations.
+     */
+    private static final String INCLUDE_LABEL = "<<include>>";
+
+    /**
+     * The label drawn above extend relations.
+     */
+    private static final String EXTEND_LABEL = "<<extend>>";
+
+    /**
+     * The vertical distance between the middle of a relation line and its label.
+     */
+    private static final double LABEL_OFFSET = 40;
+
+    /**
+     * The end points of the last relation line that was found, reused so that drawing allocates no points.
+     */
+    private double lineStartX, lineStartY, lineEndX, lineEndY;
+
+    /**
+     * The last boundary point found by {@link #findNearestBoundaryPoint}.
+     */
+    private double boundaryX, boundaryY;
+
     /**
      * Constructor to initialize the `UseCaseRelationManager` with specified lists of include and extend relations.
      *
@@ -113,7 +139,70 @@ public class UseCaseRelationManager {
      * @param gc The graphics context used to draw the relation.
      */
     public void drawUseCaseRelation(UseCase useCase1, UseCase useCase2, String relationType, GraphicsContext gc) {
+        drawUseCaseRelation(useCase1, useCase2, relationType, new FxRenderer(gc));
+    }
+
+    /**
+     * Draws a relationship between two use cases with the given renderer, using a dotted line, an arrowhead
+     * and the relation type as a label.
+     *
+     * @param useCase1 The first use case in the relationship.
+     * @param useCase2 The second use case in the relationship.
+     * @param relationType The type of relation ("include" or "extend").
+     * @param renderer The renderer used to draw the relation.
+     */
+    public void drawUseCaseRelation(UseCase useCase1, UseCase useCase2, String relationType, Renderer renderer) {
+        findLine(useCase1, useCase2);
+
+        // Draw dotted line
+        renderer.setStroke(Color.BLACK);
+        renderer.setLineWidth(2);
+        renderer.setLineDashes(10); // Dotted line pattern
+        renderer.strokeLine(lineStartX, lineStartY, lineEndX, lineEndY);
+        renderer.setLineDashes(0); // Reset dash pattern
 
+        // Draw arrowhead
+        drawArrowhead(renderer, lineStartX, lineStartY, lineEndX, lineEndY);
+
+        // Draw relation label above the line
+        renderer.setFill(Color.BLACK);
+        renderer.setFont(UseCaseManager.NAME_FONT);
+        renderer.fillText(getLabel(relationType), (lineStartX + lineEndX) / 2, (lineStartY + lineEndY) / 2 - LABEL_OFFSET);
+    }
+
+    /**
+     * Returns the area covered by a drawn relation between two use cases: the line, the arrowhead
+     * and the label above the middle of the line. The label is taken wide and tall enough to cover
+     * both left and centre alignment.
+     *
+     * @param useCase1 The first use case in the relationship.
+     * @param useCase2 The second use case in the relationship.
+     * @param relationType The type of relation ("include" or "extend").
+     * @param metrics The text metrics used to measure the label.
+     * @return The bounds of the drawn relation.
+     */
+    public Bounds getUseCaseRelationBounds(UseCase useCase1, UseCase useCase2, String relationType, TextMetricsCache metrics) {
+        findLine(useCase1, useCase2);
+
+        Bounds label = metrics.measure(getLabel(relationType), UseCaseManager.NAME_FONT);
+        double labelX = (lineStartX + lineEndX) / 2;
+        double labelY = (lineStartY + lineEndY) / 2 - LABEL_OFFSET;
+
+        double minX = Math.min(Math.min(lineStartX, lineEndX), labelX - label.getWidth());
+        double minY = Math.min(Math.min(lineStartY, lineEndY), labelY - label.getHeight());
+        double maxX = Math.max(Math.max(lineStartX, lineEndX), labelX + label.getWidth());
+        double maxY = Math.max(Math.max(lineStartY, lineEndY), labelY + label.getHeight());
+        return new BoundingBox(minX, minY, maxX - minX, maxY - minY);
+    }
+
+    /**
+     * Finds the end points of the line between the nearest boundary points of two use cases,
+     * and stores them in the line fields.
+     *
+     * @param useCase1 The use case the line starts at.
+     * @param useCase2 The use case the line ends at.
+     */
+    private void findLine(UseCase useCase1, UseCase useCase2) {
         // Use case centers
         double useCase1CenterX = useCase1.getX() + useCase1.getWidth() / 2;
         double useCase1CenterY = useCase1.getY() + useCase1.getHeight() / 2;
@@ -121,48 +210,42 @@ public class UseCaseRelationManager {
         double useCase2CenterY = useCase2.getY() + useCase2.getHeight() / 2;
 
         // Nearest boundary points
-        Point2D start = getNearestBoundaryPoint(
-                useCase1.getX(), useCase1.getY(), useCase1.getWidth(), useCase1.getHeight(),
-                useCase2CenterX, useCase2CenterY,
-                true // Use case is elliptical
-        );
-
-        Point2D end = getNearestBoundaryPoint(
-                useCase2.getX(), useCase2.getY(), useCase2.getWidth(), useCase2.getHeight(),
-                useCase1CenterX, useCase1CenterY,
-                true // Use case is elliptical
-        );
-
-        // Draw dotted line
-        gc.setStroke(Color.BLACK);
-        gc.setLineWidth(2);
-        gc.setLineDashes(10); // Dotted line pattern
-        gc.strokeLine(start.getX(), start.getY(), end.getX(), end.getY());
-        gc.setLineDashes(0); // Reset dash pattern
-
-        // Draw arrowhead
-        drawArrowhead(gc, start.getX(), start.getY(), end.getX(), end.getY());
-
-        // Draw relation label
-        double labelX = (start.getX() + end.getX()) / 2;
-        double labelY = (start.getY() + end.getY()) / 2;
-        gc.setFill(Color.BLACK);
-        // Draw relation label above the line
-        double offset = 40; // Adjust the vertical offset as needed
-        gc.fillText("<<" + relationType + ">>", labelX, labelY - offset);
+        findNearestBoundaryPoint(useCase1.getX(), useCase1.getY(), useCase1.getWidth(), useCase1.getHeight(),
+                useCase2CenterX, useCase2CenterY, true);
+        lineStartX = boundaryX;
+        lineStartY = boundaryY;
+
+        findNearestBoundaryPoint(useCase2.getX(), useCase2.getY(), useCase2.getWidth(), useCase2.getHeight(),
+                useCase1CenterX, useCase1CenterY, true);
+        lineEndX = boundaryX;
+        lineEndY = boundaryY;
+    }
 
+    /**
+     * Returns the label of a relation type, reusing the labels of the include and extend relations.
+     *
+     * @param relationType The type of relation ("include" or "extend").
+     * @return The label drawn above the relation line.
+     */
+    private static String getLabel(String relationType) {
+        if ("include".equals(relationType)) {
+            return INCLUDE_LABEL;
+        } else if ("extend".equals(relationType)) {
+            return EXTEND_LABEL;
+        }
+        return "<<" + relationType + ">>";
     }
 
     /**
      * Draws an arrowhead pointing from (x1, y1) to (x2, y2).
      *
-     * @param gc The graphics context used to draw the arrowhead.
+     * @param renderer The renderer used to draw the arrowhead.
      * @param x1 The x-coordinate of the start point of the arrow.
      * @param y1 The y-coordinate of the start point of the arrow.
      * @param x2 The x-coordinate of the end point of the arrow.
      * @param y2 The y-coordinate of the end point of the arrow.
      */
-    private void drawArrowhead(GraphicsContext gc, double x1, double y1, double x2, double y2) {
+    private void drawArrowhead(Renderer renderer, double x1, double y1, double x2, double y2) {
         double angle = Math.atan2(y2 - y1, x2 - x1);
         double arrowLength = 10;
         double arrowAngle = Math.toRadians(30); // Angle of arrowhead sides
@@ -174,12 +257,13 @@ public class UseCaseRelationManager {
         double yArrow2 = y2 - arrowLength * Math.sin(angle + arrowAngle);
 
         // Draw the arrowhead
-        gc.strokeLine(x2, y2, xArrow1, yArrow1);
-        gc.strokeLine(x2, y2, xArrow2, yArrow2);
+        renderer.strokeLine(x2, y2, xArrow1, yArrow1);
+        renderer.strokeLine(x2, y2, xArrow2, yArrow2);
     }
 
     /**
      * Determines the nearest boundary point on a use case (either elliptical or rectangular) from a target point.
+     * The point is stored in {@link #boundaryX} and {@link #boundaryY}.
      *
      * @param x The x-coordinate of the top-left corner of the use case.
      * @param y The y-coordinate of the top-left corner of the use case.
@@ -188,10 +272,9 @@ public class UseCaseRelationManager {
      * @param targetX The x-coordinate of the target point.
      * @param targetY The y-coordinate of the target point.
      * @param isEllipse True if the use case is elliptical, false if rectangular.
-     * @return The nearest boundary point of the use case to the target point.
      */
-    private Point2D getNearestBoundaryPoint(double x, double y, double width, double height,
-                                            double targetX, double targetY, boolean isEllipse) {
+    private void findNearestBoundaryPoint(double x, double y, double width, double height,
+                                          double targetX, double targetY, boolean isEllipse) {
         if (isEllipse) {
             double a = width / 2.0;
             double b = height / 2.0;
@@ -205,10 +288,8 @@ public class UseCaseRelationManager {
             double nx = dx / magnitude;
             double ny = dy / magnitude;
 
-            double boundaryX = xCenter + a * nx;
-            double boundaryY = yCenter + b * ny;
-
-            return new Point2D(boundaryX - 8, boundaryY);
+            boundaryX = xCenter + a * nx - 8;
+            boundaryY = yCenter + b * ny;
         } else {
             double rectCenterX = x + width / 2.0;
             double rectCenterY = y + height / 2.0;
@@ -221,10 +302,8 @@ public class UseCaseRelationManager {
 
             double scale = (absDx / width > absDy / height) ? width / 2.0 / absDx : height / 2.0 / absDy;
 
-            double boundaryX = rectCenterX + dx * scale;
-            double boundaryY = rectCenterY + dy * scale;
-
-            return new Point2D(boundaryX, boundaryY);
+            boundaryX = rectCenterX + dx * scale;
+            boundaryY = rectCenterY + dy * scale;
         }
     }
 
@@ -0,0 +1,223 @@
+package org.example.craftuml.Business;
+
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.scene.canvas.GraphicsContext;
+
+/**
+ * The mapping between model coordinates and the pixels of a canvas: the model is scaled by
+ * {@link #getScale()} and then shifted left and up by the view offset, which is measured in canvas pixels.
+ * Zooming and panning only change this mapping, so the canvas keeps its size however far the
+ * view is zoomed out, and mouse positions are converted back to model coordinates before hit testing.
+ */
+public class ViewTransform {
+    /**
+     * The default smallest scale the view can be zoomed out to.
+     */
+    public static final double DEFAULT_MIN_SCALE = 0.1;
+
+    /**
+     * The default largest scale the view can be zoomed in to.
+     */
+    public static final double DEFAULT_MAX_SCALE = 4.0;
+
+    /**
+     * The size in canvas pixels below which an element is not worth drawing.
+     */
+    private static final double MIN_VISIBLE_SIZE = 1.0;
+
+    /**
+     * The smallest allowed scale.
+     */
+    private final double minScale;
+
+    /**
+     * The largest allowed scale.
+     */
+    private final double maxScale;
+
+    /**
+     * The current scale, where 1 draws the model at its natural size.
+     */
+    private double scale = 1.0;
+
+    /**
+     * The horizontal offset of the view in canvas pixels.
+     */
+    private double offsetX;
+
+    /**
+     * The vertical offset of the view in canvas pixels.
+     */
+    private double offsetY;
+
+    /**
+     * Creates an unscaled, unshifted transform with the default zoom limits.
+     */
+    public ViewTransform() {
+        this(DEFAULT_MIN_SCALE, DEFAULT_MAX_SCALE);
+    }
+
+    /**
+     * Creates an unscaled, unshifted transform with the given zoom limits.
+     *
+     * @param minScale The smallest scale the view can be zoomed out to.
+     * @param maxScale The largest scale the view can be zoomed in to.
+     * @throws IllegalArgumentException if the limits are not positive, or if they do not include the natural scale of 1.
+     */
+    public ViewTransform(double minScale, double maxScale) {
+        if (!(minScale > 0) || minScale > 1 || maxScale < 1) {
+            throw new IllegalArgumentException("Scale limits must satisfy 0 < minimum <= 1 <= maximum.");
+        }
+        this.minScale = minScale;
+        this.maxScale = maxScale;
+    }
+
+    /**
+     * Returns the current scale.
+     *
+     * @return The scale, where 1 is the natural size of the model.
+     */
+    public double getScale() {
+        return scale;
+    }
+
+    /**
+     * Returns the horizontal offset of the view.
+     *
+     * @return The offset in canvas pixels.
+     */
+    public double getOffsetX() {
+        return offsetX;
+    }
+
+    /**
+     * Returns the vertical offset of the view.
+     *
+     * @return The offset in canvas pixels.
+     */
+    public double getOffsetY() {
+        return offsetY;
+    }
+
+    /**
+     * Sets the offset of the view, for example from the position of the scroll bars.
+     *
+     * @param offsetX The horizontal offset in canvas pixels.
+     * @param offsetY The vertical offset in canvas pixels.
+     */
+    public void setOffset(double offsetX, double offsetY) {
+        this.offsetX = offsetX;
+        this.offsetY = offsetY;
+    }
+
+    /**
+     * Moves the view along with a mouse drag, so that the model follows the pointer.
+     *
+     * @param deltaX The horizontal distance the pointer moved, in canvas pixels.
+     * @param deltaY The vertical distance the pointer moved, in canvas pixels.
+     */
+    public void panBy(double deltaX, double deltaY) {
+        offsetX -= deltaX;
+        offsetY -= deltaY;
+    }
+
+    /**
+     * Multiplies the scale by a factor, keeping the model point under the given canvas position in place.
+     * The resulting scale is clamped to the zoom limits.
+     *
+     * @param canvasX The x-coordinate on the canvas to zoom around.
+     * @param canvasY The y-coordinate on the canvas to zoom around.
+     * @param factor The zoom factor; values above 1 zoom in and values below 1 zoom out.
+     * @return true if the scale changed, false if it was already at the limit.
+     * @throws IllegalArgumentException if the factor is not a positive number.
+     */
+    public boolean zoomAt(double canvasX, double canvasY, double factor) {
+        if (!(factor > 0) || Double.isInfinite(factor)) {
+            throw new IllegalArgumentException("Zoom factor must be a positive number.");
+        }
+        double newScale = Math.max(minScale, Math.min(maxScale, scale * factor));
+        if (newScale == scale) {
+            return false;
+        }
+        double modelX = toModelX(canvasX);
+        double modelY = toModelY(canvasY);
+        scale = newScale;
+        offsetX = modelX * scale - canvasX;
+        offsetY = modelY * scale - canvasY;
+        return true;
+    }
+
+    /**
+     * Converts a horizontal canvas position to model coordinates.
+     *
+     * @param canvasX The x-coordinate on the canvas.
+     * @return The x-coordinate in model space.
+     */
+    public double toModelX(double canvasX) {
+        return (canvasX + offsetX) / scale;
+    }
+
+    /**
+     * Converts a vertical canvas position to model coordinates.
+     *
+     * @param canvasY The y-coordinate on the canvas.
+     * @return The y-coordinate in model space.
+     */
+    public double toModelY(double canvasY) {
+        return (canvasY + offsetY) / scale;
+    }
+
+    /**
+     * Converts a horizontal model position to canvas coordinates.
+     *
+     * @param modelX The x-coordinate in model space.
+     * @return The x-coordinate on the canvas.
+     */
+    public double toCanvasX(double modelX) {
+        return modelX * scale - offsetX;
+    }
+
+    /**
+     * Converts a vertical model position to canvas coordinates.
+     *
+     * @param modelY The y-coordinate in model space.
+     * @return The y-coordinate on the canvas.
+     */
+    public double toCanvasY(double modelY) {
+        return modelY * scale - offsetY;
+    }
+
+    /**
+     * Returns the part of the model shown by a canvas of the given size.
+     *
+     * @param canvasWidth The width of the canvas.
+     * @param canvasHeight The height of the canvas.
+     * @return The visible bounds in model coordinates.
+     */
+    public Bounds getVisibleBounds(double canvasWidth, double canvasHeight) {
+        return new BoundingBox(toModelX(0), toModelY(0), canvasWidth / scale, canvasHeight / scale);
+    }
+
+    /**
+     * Checks whether an element of the given model size would cover less than a pixel at the current scale.
+     *
+     * @param width The width of the element in model coordinates.
+     * @param height The height of the element in model coordinates.
+     * @return true if the element is too small to be seen, false otherwise.
+     */
+    public boolean isSubPixel(double width, double height) {
+        return Math.max(width, height) * scale < MIN_VISIBLE_SIZE;
+    }
+
+    /**
+     * Applies the model-to-canvas mapping to a graphics context, so that everything drawn
+     * afterwards can use model coordinates.
+     *
+     * @param gc The graphics context to transform.
+     */
+    public void apply(GraphicsContext gc) {
+        gc.translate(-offsetX, -offsetY);
+        gc.scale(scale, scale);
+    }
+}
@@ -1,7 +1,9 @@
 package org.example.craftuml.Controllers;
 
 import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.embed.swing.SwingFXUtils;
 import javafx.fxml.FXML;
@@ -10,15 +12,18 @@ import javafx.geometry.BoundingBox;
 import javafx.geometry.Bounds;
 import javafx.scene.Cursor;
 import javafx.scene.Node;
+import javafx.scene.SnapshotParameters;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.*;
-import javafx.scene.image.PixelReader;
-import javafx.scene.image.PixelWriter;
+import javafx.scene.image.Image;
 import javafx.scene.image.WritableImage;
+import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.GridPane;
+import javafx.scene.layout.Pane;
 import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Font;
@@ -26,13 +31,33 @@ import javafx.scene.text.Text;
 import javafx.scene.text.TextFlow;
 import javafx.stage.FileChooser;
 import javafx.util.Pair;
+import org.example.craftuml.Business.AlignmentIndex;
+import org.example.craftuml.Business.BoxLayout;
+import org.example.craftuml.Business.BoxLayoutCache;
+import org.example.craftuml.Business.BoxSelection;
+import org.example.craftuml.Business.DirtyRegionTracker;
+import org.example.craftuml.Business.FxRenderer;
+import org.example.craftuml.Business.HoverTracker;
+import org.example.craftuml.Business.LevelOfDetail;
+import org.example.craftuml.Business.ListPatcher;
+import org.example.craftuml.Business.RelationshipBatch;
+import org.example.craftuml.Business.RenderScheduler;
+import org.example.craftuml.Business.SegmentIndex;
+import org.example.craftuml.Business.SpatialGrid;
+import org.example.craftuml.Business.SpriteCache;
+import org.example.craftuml.Business.TextMetricsCache;
+import org.example.craftuml.Business.ViewTransform;
 import org.example.craftuml.UI.InterfaceDiagramUI;
 import org.example.craftuml.UI.classDiagramUI;
 import org.example.craftuml.models.ClassDiagrams.AttributeData;
 import org.example.craftuml.models.ClassDiagrams.ClassDiagram;
 import org.example.craftuml.models.ClassDiagrams.InterfaceData;
 import org.example.craftuml.models.ClassDiagrams.MethodData;
+import org.example.craftuml.models.DiagramComponent;
+import org.example.craftuml.models.DiagramModel;
+import org.example.craftuml.models.ObstacleIndex;
 import org.example.craftuml.models.Relationship;
+import org.example.craftuml.models.RelationshipKind;
 import org.example.craftuml.models.Section;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -46,6 +71,7 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -77,6 +103,74 @@ public class ClassDashboardController {
     @FXML
     public ScrollPane scrollPane;
 
+    /**
+     * A transparent canvas stacked on top of {@link #drawingCanvas}.
+     * While an element is dragged, the element and its relationships are drawn here
+     * so that the rest of the diagram on the canvas below does not need to be repainted.
+     */
+    @FXML
+    public Canvas overlayCanvas;
+
+    /**
+     * The scroll pane content. Its size is the scrollable extent of the model, which grows as
+     * elements are moved outwards, while the canvases themselves stay the size of the viewport.
+     */
+    @FXML
+    public Pane virtualSpace;
+
+    /**
+     * The stack holding {@link #drawingCanvas} and {@link #overlayCanvas}, moved inside
+     * {@link #virtualSpace} so that it always covers the visible viewport.
+     */
+    @FXML
+    public StackPane canvasLayers;
+
+    /**
+     * Maps the model to the canvas. Its offset follows the scroll bars and its scale is changed
+     * by zooming with Ctrl and the mouse wheel or with a pinch gesture.
+     */
+    private final ViewTransform viewTransform = new ViewTransform();
+
+    /**
+     * The factor the scale changes by for one notch of the mouse wheel.
+     */
+    private static final double ZOOM_STEP = 1.1;
+
+    /**
+     * The scroll distance reported for one notch of the mouse wheel.
+     */
+    private static final double WHEEL_NOTCH = 40;
+
+    /**
+     * The last screen position of the pointer while panning with the middle mouse button.
+     */
+    private double panLastX, panLastY;
+
+    /**
+     * Space kept between the outermost element and the end of the scrollable area.
+     */
+    private static final double VIRTUAL_SPACE_PADDING = 100;
+
+    /**
+     * The order in which relationships are written to a saved project, kept as it was before
+     * relationships were held per {@link RelationshipKind}, so saved files do not change.
+     */
+    private static final List<RelationshipKind> SAVE_ORDER = List.of(RelationshipKind.ASSOCIATION,
+            RelationshipKind.AGGREGATION, RelationshipKind.COMPOSITION, RelationshipKind.REALIZATION,
+            RelationshipKind.GENERALIZATION);
+
+    /**
+     * Decides how much detail boxes and relationships are drawn with, based on the scale
+     * and on the number of boxes in the viewport.
+     */
+    private LevelOfDetail levelOfDetail = new LevelOfDetail();
+
+    /**
+     * The detail the current frame is drawn with. It is chosen once per full repaint and
+     * also used for the elements drawn on the drag overlay, so both layers match.
+     */
+    private LevelOfDetail.Detail renderDetail = LevelOfDetail.Detail.FULL;
+
     /**
      * The list view displaying information about the class model.
      * The list is populated with model information, such as class names and other relevant data.
@@ -124,19 +218,65 @@ public class ClassDashboardController {
     private boolean isSaveable = false;
 
     /**
-     * A list of obstacles (rectangles) used for collision detection or boundaries in the diagram.
+     * The obstacle rectangles used for collision detection or boundaries in the diagram, one per
+     * class or interface diagram and updated in place whenever a diagram is redrawn.
+     */
+    private final ObstacleIndex obstacles = new ObstacleIndex();
+
+    /**
+     * The cell size of {@link #hitIndex} and {@link #edgeIndex} in model units, about the size of a small class box.
+     */
+    private static final double HIT_CELL_SIZE = 128;
+
+    /**
+     * How far from a relationship line, in screen pixels, the mouse still counts as being on the line.
+     */
+    private static final double HIT_TOLERANCE = 5.0;
+
+    /**
+     * A grid over the bounds of every drawn class and interface box, used to find the box under the
+     * mouse without scanning every model list. A box's entry is refreshed whenever the box is drawn
+     * and dropped when the diagram is removed from its list.
+     */
+    private final SpatialGrid<Object> hitIndex = new SpatialGrid<>(HIT_CELL_SIZE);
+
+    /**
+     * The segments of every drawn relationship line, used to find the relationship nearest to the mouse.
+     * Like {@link #hitIndex}, it is refreshed on drawing and cleaned up when relationships are removed.
+     */
+    private final SegmentIndex<Relationship> edgeIndex = new SegmentIndex<>(HIT_CELL_SIZE);
+
+    /**
+     * The element under the mouse pointer, so that mouse moves within the same box skip hit testing and the
+     * cursor is only changed when the pointer moves onto another element. Reset on every repaint, since
+     * elements may have moved, resized or disappeared.
+     */
+    private final HoverTracker<Object> hoverTracker = new HoverTracker<>();
+
+    /**
+     * The points of the relationship path being indexed, reused between relationships.
+     */
+    private final double[] pathX = new double[Relationship.MAX_PATH_POINTS], pathY = new double[Relationship.MAX_PATH_POINTS];
+
+    /**
+     * The elements returned by the last lookup in {@link #hitIndex}, reused between mouse events.
      */
-    private List<Rectangle> obstacles = new ArrayList<>();
+    private final List<Object> hitCandidates = new ArrayList<>();
+
+    /**
+     * The class diagrams, interfaces and relationships of the current diagram, indexed by id and relationship kind.
+     */
+    private final DiagramModel diagramModel = new DiagramModel();
 
     /**
      * A list of interface diagrams that are part of the current diagram.
      */
-    private List<InterfaceData> interfaceDiagrams = new ArrayList<>();
+    private ObservableList<InterfaceData> interfaceDiagrams = diagramModel.getInterfaceDiagrams();
 
     /**
      * A list of class diagrams that are part of the current diagram.
      */
-    public List<ClassDiagram> classDiagrams = new ArrayList<>();
+    public ObservableList<ClassDiagram> classDiagrams = diagramModel.getClassDiagrams();
 
     /**
      * The starting X-coordinate of a drag action.
@@ -148,35 +288,185 @@ public class ClassDashboardController {
      */
     private double dragStartY = 0;
 
+    /**
+     * The context menu used for interacting with the diagram objects (e.g., classes, relationships).
+     */
+    private ContextMenu contextMenu;
+
+    /**
+     * Tracks the canvas areas invalidated by a drag so that only they are cleared and repainted.
+     */
+    private final DirtyRegionTracker dirtyRegion = new DirtyRegionTracker();
 
     /**
-     * A list of relationship objects representing associations in the diagram.
+     * The class and interface diagrams currently being dragged on the overlay canvas.
+     * They are left out of the static layer until the drag ends.
      */
-    private List<Relationship> associations = new ArrayList<>();
+    private final Set<Object> draggedElements = new LinkedHashSet<>();
 
     /**
-     * A list of relationship objects representing compositions in the diagram.
+     * The relationships attached to the dragged elements, drawn on the overlay canvas during a drag.
      */
-    private List<Relationship> compositions = new ArrayList<>();
+    private final Set<Relationship> draggedRelationships = new LinkedHashSet<>();
 
     /**
-     * A list of relationship objects representing aggregations in the diagram.
+     * The class and interface diagrams selected with the marquee. They are highlighted like the
+     * active diagram, and dragging any of them moves all of them together.
      */
-    private List<Relationship> aggregations = new ArrayList<>();
+    private final BoxSelection selection = new BoxSelection(hitIndex);
 
     /**
-     * A list of relationship objects representing realizations in the diagram.
+     * Whether a marquee is being dragged out on empty canvas space.
      */
-    private List<Relationship> realizations = new ArrayList<>();
+    private boolean marqueeActive;
 
     /**
-     * A list of relationship objects representing generalizations in the diagram.
+     * The corner where the marquee was started and the corner under the mouse, in model coordinates.
      */
-    private List<Relationship> generalizations = new ArrayList<>();
+    private double marqueeStartX, marqueeStartY, marqueeEndX, marqueeEndY;
+
     /**
-     * The context menu used for interacting with the diagram objects (e.g., classes, relationships).
+     * The spacing of the grid dragged boxes snap to, in model units.
      */
-    private ContextMenu contextMenu;
+    private static final double GRID_SIZE = 10;
+
+    /**
+     * How close, in screen pixels, an edge of a dragged box must come to an edge of another box to be aligned with it.
+     */
+    private static final double ALIGN_DISTANCE = 6;
+
+    /**
+     * The colour of the alignment guides.
+     */
+    private static final Color GUIDE_STROKE = new Color(0.86, 0.27, 0.48, 1.0);
+
+    /**
+     * The edges of the visible boxes that are not being dragged, filled when a drag starts.
+     */
+    private final AlignmentIndex alignmentIndex = new AlignmentIndex();
+
+    /**
+     * Whether {@link #alignmentIndex} has been filled for the current drag.
+     */
+    private boolean alignmentIndexReady;
+
+    /**
+     * The position of the dragged box after the last call to {@link #snapPosition}.
+     */
+    private double snappedX, snappedY;
+
+    /**
+     * Whether the vertical and the horizontal alignment guide are shown.
+     */
+    private boolean guideXVisible, guideYVisible;
+
+    /**
+     * The x-coordinate of the vertical guide and the range it spans vertically.
+     */
+    private double guideX, guideXStart, guideXEnd;
+
+    /**
+     * The y-coordinate of the horizontal guide and the range it spans horizontally.
+     */
+    private double guideY, guideYStart, guideYEnd;
+
+    /**
+     * The minimum margin kept around a relationship's end boxes for its multiplicity and name labels.
+     */
+    private static final double RELATIONSHIP_LABEL_MARGIN = 30;
+
+    /**
+     * Shared cache of text measurements used for every diagram width and height calculation.
+     */
+    private final TextMetricsCache textMetrics = TextMetricsCache.getShared();
+
+    /**
+     * The measured layout of every class and interface box, shared by rendering, hit testing,
+     * bounds calculation and export and recomputed only when a diagram's content changes.
+     */
+    private final BoxLayoutCache boxLayouts = new BoxLayoutCache(textMetrics);
+
+    /**
+     * The memory budget of {@link #boxSprites}: 32 MB, enough for several hundred boxes at natural size.
+     */
+    private static final long SPRITE_BUDGET_BYTES = 32L * 1024 * 1024;
+
+    /**
+     * The space kept around a box inside its sprite, in model units, so that the border stroke is not cut off.
+     */
+    private static final double SPRITE_PADDING = 2;
+
+    /**
+     * Pre-rendered images of the class and interface boxes, keyed by their content version and the
+     * current scale, so that unchanged boxes are copied onto the canvas instead of being drawn again.
+     */
+    private final SpriteCache<Image> boxSprites = new SpriteCache<>(SPRITE_BUDGET_BYTES);
+
+    /**
+     * The offscreen canvas boxes are rendered on before being captured as sprites.
+     */
+    private Canvas spriteCanvas;
+
+    /**
+     * The snapshot parameters used to capture sprites with a transparent background.
+     */
+    private SnapshotParameters spriteSnapshot;
+
+    /**
+     * Whether boxes may be drawn from their sprites. Exports turn this off so that they are drawn as vectors.
+     */
+    private boolean spritesEnabled = true;
+
+    /**
+     * The scale of the previous full repaint, used to tell whether the view is being zoomed.
+     */
+    private double lastPaintScale = Double.NaN;
+
+    /**
+     * Whether the scale changed since the previous full repaint. While it does, boxes are drawn as vectors,
+     * since rendering a sprite for every box on every zoom step would cost more than it saves.
+     */
+    private boolean scaleChanging;
+
+    /**
+     * The outline colour of the active class or interface diagram.
+     */
+    private static final Color ACTIVE_STROKE = new Color(0.47, 0.35, 0.65, 1.0);
+
+    /**
+     * Collects the relationships of a repaint so that they are drawn grouped by style.
+     */
+    private final RelationshipBatch relationshipBatch = new RelationshipBatch();
+
+    /**
+     * Coalesces repaint and list view refresh requests so that each runs at most once per pulse.
+     */
+    private final RenderScheduler renderScheduler = new RenderScheduler();
+
+    /**
+     * The full repaint of the static canvas, requested through {@link #renderScheduler}.
+     */
+    private final Runnable paintTask = this::paintCanvas;
+
+    /**
+     * The repaint of the area invalidated by a drag, requested through {@link #renderScheduler}.
+     */
+    private final Runnable dirtyRegionTask = this::redrawDirtyRegion;
+
+    /**
+     * The rebuild of the model info list, requested through {@link #renderScheduler}.
+     */
+    private final Runnable listViewTask = this::updateListView;
+
+    /**
+     * The repaint of the marquee on the overlay canvas, requested through {@link #renderScheduler}.
+     */
+    private final Runnable marqueeTask = this::drawMarquee;
+
+    /**
+     * Requests a model info list update whenever the name of a diagram or relationship changes.
+     */
+    private final ChangeListener<String> nameListener = (obs, oldName, newName) -> requestListViewUpdate();
 
 
     /**
@@ -188,6 +478,11 @@ public class ClassDashboardController {
 
     @FXML
     public void initialize() {
+        if (overlayCanvas != null) {
+            overlayCanvas.widthProperty().bind(drawingCanvas.widthProperty());
+            overlayCanvas.heightProperty().bind(drawingCanvas.heightProperty());
+        }
+        initializeViewport();
         initializeCanvasHandlers();
 
         modelInfoList.setCellFactory(listView -> new ListCell<String>() {
@@ -231,40 +526,63 @@ public class ClassDashboardController {
             }
 
         });
-            updateListView();
-
-        classDiagrams.forEach(diagram ->
-                diagram.nameProperty().addListener((obs, oldName, newName) -> updateListView()));
-
-        interfaceDiagrams.forEach(diagram ->
-                diagram.nameProperty().addListener((obs, oldName, newName) -> updateListView()));
+        modelInfoList.setItems(modelNames);
+        updateListView();
 
-        addRelationshipListeners(associations);
-        addRelationshipListeners(compositions);
-        addRelationshipListeners(aggregations);
-        addRelationshipListeners(realizations);
-        addRelationshipListeners(generalizations);
+        addModelListeners(classDiagrams, ClassDiagram::nameProperty);
+        addModelListeners(interfaceDiagrams, InterfaceData::nameProperty);
+        for (RelationshipKind kind : RelationshipKind.values()) {
+            addModelListeners(diagramModel.getRelationships(kind), Relationship::relationNameProperty);
+        }
      }
 
     /**
-     * Adds listeners to the relation name properties of each relationship in the given list.
-     * This ensures that any changes to the name of a relationship trigger a refresh of the list view.
+     * Keeps the model info list in sync with one of the model lists.
+     * Adding or removing items requests a list update, and the name property of every item in the list
+     * is observed so that renames request one too. Moving or resizing items does not touch the list.
+     * Removed items are dropped from the hit indices, the selection, the obstacle index and the layout and
+     * sprite caches as well, so every way of removing an item, opening a project included, clears its state.
      *
-     * @param relationships the list of relationships to add listeners to
+     * @param items the model list to observe
+     * @param name returns the name property of an item
+     * @param <T> the type of the items in the list
+     */
+    private <T> void addModelListeners(ObservableList<T> items, Function<T, ObservableValue<String>> name) {
+        items.forEach(item -> name.apply(item).addListener(nameListener));
+        items.addListener((ListChangeListener<T>) change -> {
+            while (change.next()) {
+                change.getRemoved().forEach(item -> {
+                    name.apply(item).removeListener(nameListener);
+                    hitIndex.remove(item);
+                    edgeIndex.remove(item);
+                    selection.remove(item);
+                    obstacles.remove(item);
+                    boxLayouts.remove(item);
+                    boxSprites.invalidate(item);
+                });
+                change.getAddedSubList().forEach(item -> name.apply(item).addListener(nameListener));
+            }
+            requestListViewUpdate();
+        });
+    }
+
+    /**
+     * Schedules a rebuild of the model info list for the next pulse.
+     * Several name changes within the same pulse result in a single rebuild.
      */
-    private void addRelationshipListeners(List<Relationship> relationships) {
-        relationships.forEach(relationship ->
-                relationship.relationNameProperty().addListener((obs, oldName, newName) -> updateListView()));
+    private void requestListViewUpdate() {
+        renderScheduler.request(listViewTask);
     }
 
     /**
      * Updates the model info list view by categorizing diagram items into sections.
      * It organizes class diagrams, interface diagrams, and relationships into separate sections and
-     * refreshes the list view with the latest data.
+     * patches the list view with the latest data, so that only the rows that actually changed are
+     * inserted, removed or renamed.
      */
     public void updateListView() {
-        modelNames.clear();
-        modelObjects.clear();
+        List<String> names = new ArrayList<>();
+        List<Object> objects = new ArrayList<>();
 
         // Create sections for each type of item
         List<Section> sections = new ArrayList<>();
@@ -282,12 +600,7 @@ public class ClassDashboardController {
         }
 
         // Only create and add "RELATIONSHIPS" section if there are relationships
-        List<Object> relationshipItems = new ArrayList<>();
-        relationshipItems.addAll(associations);
-        relationshipItems.addAll(compositions);
-        relationshipItems.addAll(aggregations);
-        relationshipItems.addAll(realizations);
-        relationshipItems.addAll(generalizations);
+        List<Object> relationshipItems = new ArrayList<>(diagramModel.getRelationships());
 
         if (!relationshipItems.isEmpty()) {
             sections.add(new Section("RELATIONSHIPS", relationshipItems));
@@ -300,65 +613,654 @@ public class ClassDashboardController {
         for (Section section : sections) {
             // Add space before each section except the first one
             if (!firstSection) {
-                modelNames.add(SPACE);  // Adding space between sections
-                modelObjects.add(null); // Just to add space in the modelObjects
+                names.add(SPACE);  // Adding space between sections
+                objects.add(null); // Just to add space in the modelObjects
             }
             firstSection = false; // Set the flag to false after the first section
 
             // Add section title as header
-            modelNames.add(section.getTitle());
-            modelObjects.add(section); // Add section object for reference
+            names.add(section.getTitle());
+            objects.add(section); // Add section object for reference
 
             // Add items of the section
             for (Object item : section.getItems()) {
-                modelNames.add(item instanceof ClassDiagram ? ((ClassDiagram) item).getName()
+                names.add(item instanceof ClassDiagram ? ((ClassDiagram) item).getName()
                         : item instanceof InterfaceData ? ((InterfaceData) item).getName()
                         : ((Relationship) item).getRelationType());
-                modelObjects.add(item); // Add item for reference
+                objects.add(item); // Add item for reference
             }
         }
-        modelInfoList.setItems(FXCollections.observableList(modelNames));
-        isSaveable = false;
+        // Patch the objects first, since the cells look up their style there when a name changes
+        boolean objectsChanged = ListPatcher.patch(modelObjects, objects, ClassDashboardController::isSameListItem);
+        boolean namesChanged = ListPatcher.patch(modelNames, names);
+        if (objectsChanged && !namesChanged) {
+            modelInfoList.refresh();
+        }
+        if (objectsChanged || namesChanged) {
+            isSaveable = false;
+        }
 
     }
 
     /**
-     * Redraws the entire canvas by clearing it and then re-rendering all class diagrams,
-     * interface diagrams, and relationships.
-     * This method iterates over all the stored diagrams and relationships and invokes
-     * their respective drawing methods to update the canvas display.
+     * Checks whether an entry of the model info list can be kept for a newly built one.
+     * Sections are rebuilt on every update, so they are matched by title; every other entry by identity.
+     *
+     * @param current The entry currently in the list.
+     * @param updated The entry that should be in the list.
+     * @return true if the current entry can stay in place, false otherwise.
+     */
+    private static boolean isSameListItem(Object current, Object updated) {
+        if (current instanceof Section && updated instanceof Section) {
+            return ((Section) current).getTitle().equals(((Section) updated).getTitle());
+        }
+        return current == updated;
+    }
+
+    /**
+     * Marks the canvas as invalid so that it is redrawn on the next pulse.
+     * Any number of calls within the same pulse result in a single repaint.
      */
     public void redrawCanvas() {
+        renderScheduler.request(paintTask);
+        isSaveable = false;
+    }
+
+    /**
+     * Redraws the entire canvas by clearing it and then re-rendering all class diagrams,
+     * interface diagrams, and relationships.
+     * The canvas only covers the visible part of the scroll pane, so the model is drawn through the
+     * view transform and elements outside the viewport, or smaller than a pixel at the current scale, are skipped.
+     * Elements being dragged are skipped as well, since they are drawn on the overlay canvas.
+     * When no drag is in progress the overlay is cleared in the same pass, so elements returning
+     * from the overlay never disappear for a frame.
+     */
+    private void paintCanvas() {
+        hoverTracker.reset();
         GraphicsContext gc = drawingCanvas.getGraphicsContext2D();
         gc.clearRect(0, 0, drawingCanvas.getWidth(), drawingCanvas.getHeight());
 
+        double scale = viewTransform.getScale();
+        scaleChanging = scale != lastPaintScale;
+        lastPaintScale = scale;
+
+        Bounds visible = getVisibleModelBounds();
+        renderDetail = levelOfDetail.select(scale, countVisibleBoxes(visible));
+
+        gc.save();
+        viewTransform.apply(gc);
+        renderScene(gc, visible);
+        gc.restore();
+
+        Bounds modelBounds = calculateDiagramBounds();
+        if (modelBounds != null) {
+            ensureVirtualSpaceCovers(modelBounds.getMaxX(), modelBounds.getMaxY());
+        }
+        if (overlayCanvas != null && draggedElements.isEmpty()) {
+            overlayCanvas.getGraphicsContext2D().clearRect(0, 0, overlayCanvas.getWidth(), overlayCanvas.getHeight());
+        }
+        if (scaleChanging) {
+            renderScheduler.request(paintTask); // Paint once more at the settled scale to build the sprites
+        }
+    }
+
+    /**
+     * Draws every class diagram, interface diagram and relationship that intersects the given area
+     * and is not currently on the overlay canvas. The graphics context must already be set up
+     * with the model-to-canvas transform.
+     *
+     * @param gc The graphics context to draw on.
+     * @param visible The area of the model to draw, or {@code null} to draw everything.
+     */
+    private void renderScene(GraphicsContext gc, Bounds visible) {
         for (ClassDiagram diagram : classDiagrams) {
-            createClassDiagram(diagram);
+            if (!isOnOverlay(diagram) && isVisible(visible, diagram.getX(), diagram.getY(), diagram.getWidth(), diagram.getHeight())) {
+                createClassDiagram(diagram, gc);
+            }
+        }
+
+        for (InterfaceData diagram : interfaceDiagrams) {
+            if (!isOnOverlay(diagram) && isVisible(visible, diagram.getX(), diagram.getY(), diagram.getWidth(), diagram.getHeight())) {
+                createInterfaceDiagram(diagram, gc);
+            }
         }
 
+        for (Relationship relationship : diagramModel.getRelationships()) {
+            if (!isOnOverlay(relationship) && isVisible(visible, getRelationshipBounds(relationship))) {
+                indexRelationship(relationship);
+                relationshipBatch.add(relationship);
+            }
+        }
+        drawRelationships(gc);
+    }
+
+    /**
+     * Counts the class and interface boxes that intersect the visible area.
+     *
+     * @param visible The visible area.
+     * @return The number of visible boxes.
+     */
+    private int countVisibleBoxes(Bounds visible) {
+        int count = 0;
+        for (ClassDiagram diagram : classDiagrams) {
+            if (isVisible(visible, diagram.getX(), diagram.getY(), diagram.getWidth(), diagram.getHeight())) {
+                count++;
+            }
+        }
         for (InterfaceData diagram : interfaceDiagrams) {
-            createInterfaceDiagram(diagram);
+            if (isVisible(visible, diagram.getX(), diagram.getY(), diagram.getWidth(), diagram.getHeight())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Replaces the thresholds that decide when boxes are reduced to their names or outlines, and redraws.
+     *
+     * @param levelOfDetail The new level of detail policy.
+     * @throws IllegalArgumentException if the policy is null.
+     */
+    public void setLevelOfDetail(LevelOfDetail levelOfDetail) {
+        if (levelOfDetail == null) {
+            throw new IllegalArgumentException("Level of detail cannot be null.");
+        }
+        this.levelOfDetail = levelOfDetail;
+        redrawCanvas();
+    }
+
+    /**
+     * Checks whether a box intersects the visible area and is at least a pixel large at the current scale.
+     * Boxes that have not been measured yet (zero width or height) are always treated as visible so
+     * that they get drawn and sized.
+     *
+     * @param visible The visible area, or {@code null} if everything is visible.
+     * @param x The x-coordinate of the box.
+     * @param y The y-coordinate of the box.
+     * @param width The width of the box.
+     * @param height The height of the box.
+     * @return true if the box should be drawn, false otherwise.
+     */
+    private boolean isVisible(Bounds visible, double x, double y, double width, double height) {
+        return visible == null || width <= 0 || height <= 0
+                || (visible.intersects(x, y, width, height) && !viewTransform.isSubPixel(width, height));
+    }
+
+    /**
+     * Checks whether the bounds of a relationship intersect the visible area and are at least
+     * a pixel large at the current scale.
+     *
+     * @param visible The visible area, or {@code null} if everything is visible.
+     * @param bounds The bounds of the relationship.
+     * @return true if the relationship should be drawn, false otherwise.
+     */
+    private boolean isVisible(Bounds visible, Bounds bounds) {
+        return visible == null
+                || (visible.intersects(bounds) && !viewTransform.isSubPixel(bounds.getWidth(), bounds.getHeight()));
+    }
+
+    /**
+     * Returns the part of the model space currently shown by the canvas.
+     *
+     * @return The visible bounds in model coordinates.
+     */
+    private Bounds getVisibleModelBounds() {
+        return viewTransform.getVisibleBounds(drawingCanvas.getWidth(), drawingCanvas.getHeight());
+    }
+
+    /**
+     * Binds the canvas layers to the scroll pane viewport. The canvases keep the size of the viewport
+     * and are moved along with the scroll position, while {@link #virtualSpace} provides the scrollable
+     * extent of the model.
+     * Ctrl with the mouse wheel and pinch gestures zoom around the pointer, and dragging with the
+     * middle mouse button pans the view; both only change the view transform and the scroll position.
+     */
+    private void initializeViewport() {
+        if (scrollPane == null || virtualSpace == null || canvasLayers == null) {
+            return;
         }
+        scrollPane.viewportBoundsProperty().addListener((obs, oldBounds, newBounds) -> updateViewport());
+        scrollPane.hvalueProperty().addListener((obs, oldValue, newValue) -> updateViewport());
+        scrollPane.vvalueProperty().addListener((obs, oldValue, newValue) -> updateViewport());
+
+        drawingCanvas.setOnScroll(event -> {
+            if (event.isControlDown() && event.getDeltaY() != 0) {
+                zoomAt(event.getX(), event.getY(), Math.pow(ZOOM_STEP, event.getDeltaY() / WHEEL_NOTCH));
+                event.consume();
+            }
+        });
+        drawingCanvas.setOnZoom(event -> {
+            zoomAt(event.getX(), event.getY(), event.getZoomFactor());
+            event.consume();
+        });
+        drawingCanvas.addEventFilter(MouseEvent.ANY, event -> {
+            if (event.getButton() != MouseButton.MIDDLE && !event.isMiddleButtonDown()) {
+                return;
+            }
+            if (event.getEventType() == MouseEvent.MOUSE_DRAGGED) {
+                scrollTo(viewTransform.getOffsetX() - (event.getScreenX() - panLastX),
+                        viewTransform.getOffsetY() - (event.getScreenY() - panLastY));
+            }
+            panLastX = event.getScreenX();
+            panLastY = event.getScreenY();
+            event.consume();
+        });
+    }
 
-        for (Relationship relationship : associations) {
-            relationship.draw(gc);
+    /**
+     * Zooms the view around a point of the canvas, keeping the model point under it in place.
+     * The virtual space is resized to the extent of the model at the new scale and the scroll bars
+     * are moved to the new offset, so the canvases keep the size of the viewport at every scale.
+     *
+     * @param canvasX The x-coordinate on the canvas to zoom around.
+     * @param canvasY The y-coordinate on the canvas to zoom around.
+     * @param factor The zoom factor; values above 1 zoom in and values below 1 zoom out.
+     */
+    private void zoomAt(double canvasX, double canvasY, double factor) {
+        if (!viewTransform.zoomAt(canvasX, canvasY, factor)) {
+            return;
         }
-        for (Relationship relationship : compositions) {
-            relationship.draw(gc);
+        Bounds viewport = scrollPane.getViewportBounds();
+        double offsetX = Math.max(0, viewTransform.getOffsetX());
+        double offsetY = Math.max(0, viewTransform.getOffsetY());
+        double width = offsetX + viewport.getWidth();
+        double height = offsetY + viewport.getHeight();
+        Bounds modelBounds = calculateDiagramBounds();
+        if (modelBounds != null) {
+            width = Math.max(width, modelBounds.getMaxX() * viewTransform.getScale() + VIRTUAL_SPACE_PADDING);
+            height = Math.max(height, modelBounds.getMaxY() * viewTransform.getScale() + VIRTUAL_SPACE_PADDING);
         }
-        for (Relationship relationship : aggregations) {
-            relationship.draw(gc);
+        virtualSpace.setPrefSize(width, height);
+        scrollTo(offsetX, offsetY);
+    }
+
+    /**
+     * Moves the scroll bars so that the view starts at the given offset, clamped to the scrollable
+     * extent of the virtual space, and updates the viewport.
+     *
+     * @param offsetX The horizontal offset in canvas pixels.
+     * @param offsetY The vertical offset in canvas pixels.
+     */
+    private void scrollTo(double offsetX, double offsetY) {
+        Bounds viewport = scrollPane.getViewportBounds();
+        double scrollableWidth = Math.max(0, virtualSpace.getPrefWidth() - Math.max(1, viewport.getWidth()));
+        double scrollableHeight = Math.max(0, virtualSpace.getPrefHeight() - Math.max(1, viewport.getHeight()));
+        scrollPane.setHvalue(scrollableWidth > 0 ? Math.max(0, Math.min(1, offsetX / scrollableWidth)) : 0);
+        scrollPane.setVvalue(scrollableHeight > 0 ? Math.max(0, Math.min(1, offsetY / scrollableHeight)) : 0);
+        updateViewport();
+    }
+
+    /**
+     * Resizes the canvas layers to the scroll pane viewport, recomputes the scroll offset from the
+     * scroll bar positions, moves the layers to the visible part of the virtual space and redraws.
+     */
+    private void updateViewport() {
+        Bounds viewport = scrollPane.getViewportBounds();
+        double viewportWidth = Math.max(1, viewport.getWidth());
+        double viewportHeight = Math.max(1, viewport.getHeight());
+
+        virtualSpace.setMinSize(viewportWidth, viewportHeight);
+        double scrollableWidth = Math.max(0, virtualSpace.getPrefWidth() - viewportWidth);
+        double scrollableHeight = Math.max(0, virtualSpace.getPrefHeight() - viewportHeight);
+        viewTransform.setOffset(scrollPane.getHvalue() * scrollableWidth, scrollPane.getVvalue() * scrollableHeight);
+
+        drawingCanvas.setWidth(viewportWidth);
+        drawingCanvas.setHeight(viewportHeight);
+        canvasLayers.relocate(viewTransform.getOffsetX(), viewTransform.getOffsetY());
+        redrawCanvas();
+    }
+
+    /**
+     * Converts the x-coordinate of a mouse event on the canvas to model coordinates.
+     *
+     * @param event The mouse event.
+     * @return The x-coordinate in model space.
+     */
+    private double toModelX(MouseEvent event) {
+        return viewTransform.toModelX(event.getX());
+    }
+
+    /**
+     * Converts the y-coordinate of a mouse event on the canvas to model coordinates.
+     *
+     * @param event The mouse event.
+     * @return The y-coordinate in model space.
+     */
+    private double toModelY(MouseEvent event) {
+        return viewTransform.toModelY(event.getY());
+    }
+
+    /**
+     * Starts dragging the given element. The element and its relationships are moved from the
+     * static canvas to the overlay canvas: the static canvas is redrawn once without them, and
+     * after that each pulse only repaints the part of the overlay invalidated by the drag.
+     * Calling this for an element that is already being dragged does nothing.
+     *
+     * @param element The class or interface diagram that starts being dragged.
+     */
+    private void beginOverlayDrag(Object element) {
+        if (!draggedElements.add(element)) {
+            return;
+        }
+        draggedRelationships.addAll(diagramModel.getIncidentRelationships(element));
+        if (overlayCanvas != null) {
+            redrawCanvas();
+            overlayCanvas.getGraphicsContext2D().clearRect(0, 0, overlayCanvas.getWidth(), overlayCanvas.getHeight());
+            markDirtyElements();
+            renderScheduler.request(dirtyRegionTask);
         }
-        for (Relationship relationship : realizations) {
-            relationship.drawRealization(gc);
+    }
+
+    /**
+     * Ends the current drag, returning the dragged elements and their relationships to the
+     * static canvas and hiding the alignment guides. The overlay is cleared by the next full repaint.
+     */
+    private void endOverlayDrag() {
+        if (draggedElements.isEmpty()) {
+            return;
         }
-        for (Relationship relationship : generalizations) {
-            relationship.drawGeneralization(gc);
+        boolean guidesShown = guideXVisible || guideYVisible;
+        draggedElements.clear();
+        draggedRelationships.clear();
+        dirtyRegion.reset();
+        guideXVisible = false;
+        guideYVisible = false;
+        alignmentIndexReady = false;
+        if (overlayCanvas != null || guidesShown) {
+            redrawCanvas();
         }
-        updateListView();
+    }
+
+    /**
+     * Checks whether an element or relationship is currently drawn on the overlay canvas instead of the static one.
+     *
+     * @param element The class diagram, interface diagram or relationship to check.
+     * @return true if the element is being dragged on the overlay, false otherwise.
+     */
+    private boolean isOnOverlay(Object element) {
+        return overlayCanvas != null && (draggedElements.contains(element) || draggedRelationships.contains(element));
+    }
+
+    /**
+     * Repaints the area recorded in the dirty region tracker on the drag layer.
+     * Drag steps only add to the tracker, so every step since the last pulse is repainted at once.
+     * The area is cleared under a clip and the dragged elements, their relationships and the alignment guides are drawn again.
+     * Without an overlay canvas, the area is repainted on the main canvas with every intersecting element.
+     */
+    private void redrawDirtyRegion() {
+        if (!dirtyRegion.isDirty()) {
+            return;
+        }
+        hoverTracker.reset();
+        Bounds region = dirtyRegion.getDirtyBounds();
+        dirtyRegion.reset();
+
+        Canvas layer = overlayCanvas != null ? overlayCanvas : drawingCanvas;
+        GraphicsContext gc = layer.getGraphicsContext2D();
+        gc.save();
+        viewTransform.apply(gc);
+        gc.beginPath();
+        gc.rect(region.getMinX(), region.getMinY(), region.getWidth(), region.getHeight());
+        gc.closePath();
+        gc.clip();
+        gc.clearRect(region.getMinX(), region.getMinY(), region.getWidth(), region.getHeight());
+
+        for (ClassDiagram diagram : classDiagrams) {
+            if ((overlayCanvas == null || draggedElements.contains(diagram))
+                    && region.intersects(diagram.getX(), diagram.getY(), diagram.getWidth(), diagram.getHeight())) {
+                createClassDiagram(diagram, gc);
+            }
+        }
+
+        for (InterfaceData diagram : interfaceDiagrams) {
+            if ((overlayCanvas == null || draggedElements.contains(diagram))
+                    && region.intersects(diagram.getX(), diagram.getY(), diagram.getWidth(), diagram.getHeight())) {
+                createInterfaceDiagram(diagram, gc);
+            }
+        }
+
+        Collection<Relationship> relationships = overlayCanvas != null ? draggedRelationships : diagramModel.getRelationships();
+        for (Relationship relationship : relationships) {
+            if (region.intersects(getRelationshipBounds(relationship))) {
+                indexRelationship(relationship);
+                relationshipBatch.add(relationship);
+            }
+        }
+        drawRelationships(gc);
+        drawGuides(gc);
+        gc.restore();
         isSaveable = false;
     }
 
+    /**
+     * Records the current bounds of every dragged element, of its relationships and of the alignment guides as dirty.
+     */
+    private void markDirtyElements() {
+        for (Object element : draggedElements) {
+            if (element instanceof ClassDiagram) {
+                ClassDiagram diagram = (ClassDiagram) element;
+                dirtyRegion.include(diagram.getX(), diagram.getY(), diagram.getWidth(), diagram.getHeight());
+            } else if (element instanceof InterfaceData) {
+                InterfaceData diagram = (InterfaceData) element;
+                dirtyRegion.include(diagram.getX(), diagram.getY(), diagram.getWidth(), diagram.getHeight());
+            }
+        }
+        for (Relationship relationship : draggedRelationships) {
+            dirtyRegion.include(getRelationshipBounds(relationship));
+        }
+        double lineWidth = 1 / viewTransform.getScale();
+        if (guideXVisible) {
+            dirtyRegion.include(guideX - lineWidth, guideXStart - lineWidth, 2 * lineWidth, guideXEnd - guideXStart + 2 * lineWidth);
+        }
+        if (guideYVisible) {
+            dirtyRegion.include(guideYStart - lineWidth, guideY - lineWidth, guideYEnd - guideYStart + 2 * lineWidth, 2 * lineWidth);
+        }
+    }
+
+    /**
+     * Checks whether the current drag moves the whole selection, which is the case when a box of a
+     * selection of several boxes was pressed.
+     *
+     * @return true if all selected boxes are dragged together, false otherwise.
+     */
+    private boolean isGroupDrag() {
+        return selection.isGroupMove(activeDiagram != null ? activeDiagram : activeInterface);
+    }
+
+    /**
+     * Moves every selected box by the same distance, so that the pressed box ends up at the given position.
+     * All boxes and their relationships are moved to the overlay canvas, and their old and new bounds are
+     * added to the dirty region, so that the whole move is repainted in a single pass on the next pulse.
+     *
+     * @param anchorX The new x-coordinate of the pressed box, before snapping.
+     * @param anchorY The new y-coordinate of the pressed box, before snapping.
+     * @param snap Whether the pressed box snaps to the grid and to other boxes.
+     */
+    private void moveSelection(double anchorX, double anchorY, boolean snap) {
+        for (DiagramComponent element : selection.getSelected()) {
+            beginOverlayDrag(element);
+        }
+        markDirtyElements();
+        if (activeDiagram != null) {
+            snapPosition(anchorX, anchorY, activeDiagram.getWidth(), activeDiagram.getHeight(), snap);
+        } else {
+            snapPosition(anchorX, anchorY, activeInterface.getWidth(), activeInterface.getHeight(), snap);
+        }
+        selection.moveTo(activeDiagram != null ? activeDiagram : activeInterface, snappedX, snappedY);
+        for (DiagramComponent element : selection.getSelected()) {
+            ensureVirtualSpaceCovers(element.getX(), element.getY());
+        }
+        markDirtyElements();
+        renderScheduler.request(dirtyRegionTask);
+    }
+
+    /**
+     * Snaps the position of a dragged box and stores the result in {@link #snappedX} and {@link #snappedY}.
+     * An edge or centre of the box that comes within a few pixels of an edge or centre of a visible box
+     * is aligned with it and shown with a guide; otherwise the position is rounded to the grid.
+     *
+     * @param x The x-coordinate the box is dragged to.
+     * @param y The y-coordinate the box is dragged to.
+     * @param width The width of the box.
+     * @param height The height of the box.
+     * @param snap Whether to snap at all; if not, the position is kept as it is.
+     */
+    private void snapPosition(double x, double y, double width, double height, boolean snap) {
+        guideXVisible = false;
+        guideYVisible = false;
+        snappedX = x;
+        snappedY = y;
+        if (!snap) {
+            return;
+        }
+        if (!alignmentIndexReady) {
+            fillAlignmentIndex();
+        }
+
+        double tolerance = ALIGN_DISTANCE / viewTransform.getScale();
+        double dx = alignmentIndex.alignX(x, width, tolerance);
+        guideXVisible = alignmentIndex.hasGuideX();
+        snappedX = guideXVisible ? x + dx : Math.round(x / GRID_SIZE) * GRID_SIZE;
+        double dy = alignmentIndex.alignY(y, height, tolerance);
+        guideYVisible = alignmentIndex.hasGuideY();
+        snappedY = guideYVisible ? y + dy : Math.round(y / GRID_SIZE) * GRID_SIZE;
+
+        // Each guide runs from the aligned box to the dragged box
+        if (guideXVisible) {
+            guideX = alignmentIndex.getGuideX();
+            guideXStart = Math.min(alignmentIndex.getGuideXStart(), snappedY);
+            guideXEnd = Math.max(alignmentIndex.getGuideXEnd(), snappedY + height);
+        }
+        if (guideYVisible) {
+            guideY = alignmentIndex.getGuideY();
+            guideYStart = Math.min(alignmentIndex.getGuideYStart(), snappedX);
+            guideYEnd = Math.max(alignmentIndex.getGuideYEnd(), snappedX + width);
+        }
+    }
+
+    /**
+     * Fills the alignment index with the visible class and interface boxes that are not being dragged.
+     */
+    private void fillAlignmentIndex() {
+        alignmentIndex.clear();
+        Bounds visible = getVisibleModelBounds();
+        for (ClassDiagram diagram : classDiagrams) {
+            if (!draggedElements.contains(diagram) && isVisible(visible, diagram.getX(), diagram.getY(), diagram.getWidth(), diagram.getHeight())) {
+                alignmentIndex.add(diagram.getX(), diagram.getY(), diagram.getWidth(), diagram.getHeight());
+            }
+        }
+        for (InterfaceData diagram : interfaceDiagrams) {
+            if (!draggedElements.contains(diagram) && isVisible(visible, diagram.getX(), diagram.getY(), diagram.getWidth(), diagram.getHeight())) {
+                alignmentIndex.add(diagram.getX(), diagram.getY(), diagram.getWidth(), diagram.getHeight());
+            }
+        }
+        alignmentIndexReady = true;
+    }
+
+    /**
+     * Draws the visible alignment guides. The graphics context must already be set up with the
+     * model-to-canvas transform.
+     *
+     * @param gc The graphics context to draw on.
+     */
+    private void drawGuides(GraphicsContext gc) {
+        if (!guideXVisible && !guideYVisible) {
+            return;
+        }
+        double scale = viewTransform.getScale();
+        gc.save();
+        gc.setStroke(GUIDE_STROKE);
+        gc.setLineWidth(1 / scale);
+        gc.setLineDashes(null);
+        if (guideXVisible) {
+            gc.strokeLine(guideX, guideXStart, guideX, guideXEnd);
+        }
+        if (guideYVisible) {
+            gc.strokeLine(guideYStart, guideY, guideYEnd, guideY);
+        }
+        gc.restore();
+    }
+
+    /**
+     * Draws the marquee on the overlay canvas, replacing the previous one.
+     */
+    private void drawMarquee() {
+        if (overlayCanvas == null || !marqueeActive) {
+            return;
+        }
+        GraphicsContext gc = overlayCanvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, overlayCanvas.getWidth(), overlayCanvas.getHeight());
+        gc.save();
+        viewTransform.apply(gc);
+        double scale = viewTransform.getScale();
+        gc.setStroke(ACTIVE_STROKE);
+        gc.setLineWidth(1 / scale);
+        gc.setLineDashes(4 / scale, 4 / scale);
+        gc.strokeRect(Math.min(marqueeStartX, marqueeEndX), Math.min(marqueeStartY, marqueeEndY),
+                Math.abs(marqueeEndX - marqueeStartX), Math.abs(marqueeEndY - marqueeStartY));
+        gc.restore();
+    }
+
+    /**
+     * Ends the marquee and selects every class and interface box lying completely inside it.
+     * The candidates come from the hit index, so only the boxes near the marquee are tested.
+     */
+    private void finishMarquee() {
+        marqueeActive = false;
+        selection.selectInside(marqueeStartX, marqueeStartY, marqueeEndX, marqueeEndY);
+        if (overlayCanvas != null) {
+            overlayCanvas.getGraphicsContext2D().clearRect(0, 0, overlayCanvas.getWidth(), overlayCanvas.getHeight());
+        }
+        redrawCanvas();
+    }
+
+    /**
+     * Draws the relationships collected in the batch, grouped by line and arrowhead style.
+     * Name and multiplicity labels are only drawn at full detail.
+     *
+     * @param gc The graphics context to draw on.
+     */
+    private void drawRelationships(GraphicsContext gc) {
+        relationshipBatch.draw(new FxRenderer(gc), renderDetail == LevelOfDetail.Detail.FULL);
+    }
+
+    /**
+     * Calculates the area a relationship can paint into: the union of its end boxes, the loop of a
+     * self-association, and a margin wide enough for its multiplicity and name labels.
+     *
+     * @param relationship The relationship whose bounds are calculated.
+     * @return The bounds covering everything the relationship draws.
+     */
+    private Bounds getRelationshipBounds(Relationship relationship) {
+        ClassDiagram source = relationship.getSourceClass();
+        double minX = source.getX();
+        double minY = source.getY();
+        double maxX = minX + source.getWidth();
+        double maxY = minY + source.getHeight();
+
+        if (relationship.getTargetInterface() != null) {
+            InterfaceData target = relationship.getTargetInterface();
+            minX = Math.min(minX, target.getX());
+            minY = Math.min(minY, target.getY());
+            maxX = Math.max(maxX, target.getX() + target.getWidth());
+            maxY = Math.max(maxY, target.getY() + target.getHeight());
+        } else if (relationship.getTargetClass() == source) {
+            maxX += source.getWidth() / 2;
+        } else if (relationship.getTargetClass() != null) {
+            ClassDiagram target = relationship.getTargetClass();
+            minX = Math.min(minX, target.getX());
+            minY = Math.min(minY, target.getY());
+            maxX = Math.max(maxX, target.getX() + target.getWidth());
+            maxY = Math.max(maxY, target.getY() + target.getHeight());
+        }
+
+        double margin = RELATIONSHIP_LABEL_MARGIN;
+        if (relationship.getRelationName() != null) {
+            margin = Math.max(margin, calculateTextWidth(relationship.getRelationName(), drawingCanvas.getGraphicsContext2D()) + 10);
+        }
+        return new BoundingBox(minX - margin, minY - margin, (maxX - minX) + 2 * margin, (maxY - minY) + 2 * margin);
+    }
+
     /**
      * Handles the creation and addition of a new class diagram to the drawing canvas.
      * The method displays a dialog for creating the new class diagram, calculates its
@@ -376,25 +1278,20 @@ public class ClassDashboardController {
         classDiagram.setX(newX);
         classDiagram.setY(newY);
         classDiagrams.add(classDiagram);
-        classDiagram.nameProperty().addListener((obs, oldName, newName) -> updateListView());
-        updateListView();
 
         createClassDiagram(classDiagram);
     }
 
     /**
-     * Adds a given class diagram as an obstacle to the drawing area.
-     * This method calculates the dimensions of the class diagram and adds
-     * a rectangle representing the obstacle to the list of obstacles.
+     * Registers a given class diagram as an obstacle in the drawing area.
+     * The diagram's obstacle rectangle is created on first use and afterwards
+     * updated in place with the diagram's current position and size.
      *
      * @param classDiagram the class diagram to be added as an obstacle
      */
     public void addClassDiagramAsObstacle(ClassDiagram classDiagram) {
-        double x = classDiagram.getX();
-        double y = classDiagram.getY();
-        double width = calculateDiagramWidth(classDiagram, drawingCanvas.getGraphicsContext2D());
-        double height = calculateDiagramHeight(classDiagram);
-        obstacles.add(new Rectangle(x, y, width, height));
+        obstacles.update(classDiagram, classDiagram.getX(), classDiagram.getY(),
+                classDiagram.getWidth(), classDiagram.getHeight());
     }
 
     /**
@@ -407,122 +1304,50 @@ public class ClassDashboardController {
      */
     public void createClassDiagram(ClassDiagram classDiagram) {
         GraphicsContext gc = drawingCanvas.getGraphicsContext2D();
+        gc.save();
+        viewTransform.apply(gc);
+        createClassDiagram(classDiagram, gc);
+        gc.restore();
+    }
 
+    /**
+     * Creates and renders a class diagram on the given graphics context, which belongs either
+     * to the drawing canvas or to the drag overlay.
+     * The box is drawn from its cached layout, which also provides the size stored on the diagram.
+     *
+     * @param classDiagram the class diagram to be drawn
+     * @param gc the graphics context to draw on
+     */
+    private void createClassDiagram(ClassDiagram classDiagram, GraphicsContext gc) {
         double x = classDiagram.getX();
         double y = classDiagram.getY();
-
-        double height = 1;
-
-        int attributeCount = classDiagram.getAttributes().size();
-        int methodCount = classDiagram.getMethods().size();
-
-        height += Math.max(attributeCount, 1) * 30;
-        height += Math.max(methodCount, 1) * 30;
-
-        double classNameHeight = 30;
-
-        int totalItems = attributeCount + methodCount;
-
-        double attributeHeight = 0;
-        double methodHeight = 0;
-
-        if (totalItems > 0) {
-            double attributeProportion = (double) attributeCount / totalItems;
-            double methodProportion = (double) methodCount / totalItems;
-
-            attributeHeight = (height - classNameHeight) * attributeProportion;
-            methodHeight = (height - classNameHeight) * methodProportion;
-        } else {
-            attributeHeight = (height - classNameHeight) / 2;
-            methodHeight = (height - classNameHeight) / 2;
-        }
-
-        double maxWidth = 0;
-        String className = classDiagram.getName();
-        Text tempText = new Text(className);
-        tempText.setFont(gc.getFont());
-        double classNameWidth = tempText.getLayoutBounds().getWidth();
-        maxWidth = Math.max(maxWidth, classNameWidth);
-
-        for (AttributeData at : classDiagram.getAttributes()) {
-            String attributeText = at.getAccessModifier() + " " + at.getName() + " : " + at.getDataType();
-            tempText = new Text(attributeText);
-            tempText.setFont(gc.getFont());
-            double textWidth = tempText.getLayoutBounds().getWidth();
-            maxWidth = Math.max(maxWidth, textWidth);
-        }
-
-        for (MethodData md : classDiagram.getMethods()) {
-            String methodText = md.getAccessModifier() + " " + md.getName() + " : " + md.getReturnType();
-            tempText = new Text(methodText);
-            tempText.setFont(gc.getFont());
-            double textWidth = tempText.getLayoutBounds().getWidth();
-            maxWidth = Math.max(maxWidth, textWidth);
-        }
-        double width = maxWidth + 40;
+        BoxLayout layout = boxLayouts.get(classDiagram);
+        double width = layout.getWidth();
+        double height = layout.getHeight();
 
         classDiagram.setWidth(width);
         classDiagram.setHeight(height);
+        hitIndex.update(classDiagram, x, y, width, height);
 
-        Rectangle diagramRectangle = new Rectangle(x, y, width, height);
-        classDiagram.setRectangle(diagramRectangle);
-
-        addClassDiagramAsObstacle(classDiagram);
-
-        if (classDiagram == activeDiagram) {
-            gc.setStroke(new Color(0.47, 0.35, 0.65, 1.0));
+        Rectangle diagramRectangle = classDiagram.getRectangle();
+        if (diagramRectangle == null) {
+            classDiagram.setRectangle(new Rectangle(x, y, width, height));
         } else {
-            gc.setStroke(Color.BLACK);
-        }
-
-        gc.setLineWidth(2);
-        gc.strokeRect(x, y, width, height);
-
-        gc.strokeLine(x, y + classNameHeight, x + width, y + classNameHeight);
-        gc.strokeLine(x, y + classNameHeight + attributeHeight, x + width, y + classNameHeight + attributeHeight);
-
-        gc.setFill(Color.BLACK);
-        String classNameText = classDiagram.getName();
-
-        tempText = new Text(classNameText);
-        tempText.setFont(gc.getFont());
-        double classNameTextWidth = tempText.getLayoutBounds().getWidth();
-
-        gc.fillText(className, x + (width - classNameTextWidth) / 2, y + classNameHeight / 2 + 10);
-
-        double attrY = y + classNameHeight + 15;
-        for (AttributeData at : classDiagram.getAttributes()) {
-            StringBuilder attribute = new StringBuilder();
-            attribute.append(at.getAccessModifier()).append(" ");
-            attribute.append(at.getName()).append(" : ");
-            attribute.append(at.getDataType());
-
-            gc.fillText(attribute.toString(), x + 10, attrY);
-            attrY += 20;
+            diagramRectangle.setX(x);
+            diagramRectangle.setY(y);
+            diagramRectangle.setWidth(width);
+            diagramRectangle.setHeight(height);
         }
 
-        double methY = y + classNameHeight + attributeHeight + 15;
-        for (MethodData md : classDiagram.getMethods()) {
-            StringBuilder method = new StringBuilder();
-            method.append(md.getAccessModifier()).append(" ");
-            method.append(md.getName()).append(" : ");
-            method.append(md.getReturnType());
-
-            gc.fillText(method.toString(), x + 10, methY);
-            methY += 20;
-        }
-
-        ContextMenu contextMenu = new ContextMenu();
+        addClassDiagramAsObstacle(classDiagram);
 
-        MenuItem editItem = new MenuItem(" Edit     ");
-        MenuItem deleteItem = new MenuItem(" Delete    ");
-        contextMenu.getItems().addAll(editItem, deleteItem);
+        drawBox(classDiagram, classDiagram.getContentVersion(), layout, x, y, classDiagram == activeDiagram || selection.contains(classDiagram), gc);
     }
 
     /**
      * Deletes a class diagram from the list of class diagrams and all related relationships.
      * A confirmation alert is shown before the deletion. Relationships involving the class diagram
-     * are removed from the associations, compositions, aggregations, realizations, and generalizations lists.
+     * are removed from the diagram model, whatever their kind.
      * After deletion, the canvas is redrawn, and the ListView is updated accordingly.
      *
      * @param classDiagram The class diagram to be deleted.
@@ -535,87 +1360,15 @@ public class ClassDashboardController {
 
         Optional<ButtonType> result = alert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            associations.removeIf(relationship ->
-                    relationship.getSourceClass().equals(classDiagram) ||
-                            relationship.getTargetClass().equals(classDiagram)
-            );
-
-            compositions.removeIf(relationship ->
-                    relationship.getSourceClass().equals(classDiagram) ||
-                            relationship.getTargetClass().equals(classDiagram)
-            );
-
-            aggregations.removeIf(relationship ->
-                    relationship.getSourceClass().equals(classDiagram) ||
-                            relationship.getTargetClass().equals(classDiagram)
-            );
-
-            realizations.removeIf(relationship ->
-                    relationship.getSourceClass().equals(classDiagram) ||
-                            (relationship.getTargetInterface() != null &&
-                                    relationship.getTargetInterface().equals(classDiagram))
-            );
-
-            generalizations.removeIf(relationship ->
-                    relationship.getSourceClass().equals(classDiagram) ||
-                            relationship.getTargetClass().equals(classDiagram)
-            );
+            diagramModel.removeRelationshipsOf(classDiagram);
 
             classDiagrams.remove(classDiagram);
 
-            deleteClassDiagramFromListView(classDiagram);
-
             activeDiagram = null;
             redrawCanvas();
         }
     }
 
-    /**
-     * Updates the ListView to remove the given class diagram and all related relationships.
-     * The method iterates through all the model objects and filters out the ones related to the class diagram
-     * to be deleted. Then, it updates the ListView to reflect the changes.
-     *
-     * @param classDiagram The class diagram to be removed from the ListView.
-     */
-    private void deleteClassDiagramFromListView(ClassDiagram classDiagram) {
-        List<String> updatedModelNames = new ArrayList<>();
-        List<Object> updatedModelObjects = new ArrayList<>();
-
-        for (int i = 0; i < modelNames.size(); i++) {
-            Object modelItem = modelObjects.get(i);
-
-            if (modelItem instanceof Section) {
-                updatedModelNames.add(modelNames.get(i));
-                updatedModelObjects.add(modelObjects.get(i));
-            }
-            else if (modelItem instanceof ClassDiagram && modelItem.equals(classDiagram)) {
-                continue;
-            }
-            else if (modelItem instanceof Relationship) {
-                Relationship relationship = (Relationship) modelItem;
-                boolean isRelated = relationship.getSourceClass().equals(classDiagram) ||
-                        relationship.getTargetClass().equals(classDiagram) ||
-                        (relationship.getTargetInterface() != null &&
-                                relationship.getTargetInterface().equals(classDiagram));
-
-                if (isRelated) {
-                    continue; // Skip this relationship
-                }
-            }
-
-            // Otherwise, keep the item in the new lists
-            updatedModelNames.add(modelNames.get(i));
-            updatedModelObjects.add(modelObjects.get(i));
-        }
-
-        // Now, update the model names and objects
-        modelNames.setAll(updatedModelNames);
-        modelObjects.setAll(updatedModelObjects);
-
-        // Update the ListView to reflect the changes
-        modelInfoList.setItems(modelNames);
-        updateListView();  // This ensures the ListView is re-rendered with the correct data
-    }
 
     /**
      * Edits the given class diagram by opening a dialog for updating its name, attributes, and methods.
@@ -639,86 +1392,67 @@ public class ClassDashboardController {
 
     /**
      * Checks if a given point (mouseX, mouseY) is within the bounds of the specified class diagram.
-     * The bounds are calculated based on the diagram's position, width, and height.
+     * The bounds come from the same cached layout the diagram is drawn with.
      *
      * @param mouseX The x-coordinate of the mouse pointer.
      * @param mouseY The y-coordinate of the mouse pointer.
      * @param diagram The class diagram to check against.
-     * @param gc The graphics context used to calculate diagram width and height.
+     * @param gc The graphics context of the canvas.
      * @return true if the point is within the bounds of the diagram, false otherwise.
      */
     private boolean isWithinBounds(double mouseX, double mouseY, ClassDiagram diagram, GraphicsContext gc) {
-        double x = diagram.getX();
-        double y = diagram.getY();
-        double width = calculateDiagramWidth(diagram, gc);
-        double height = calculateDiagramHeight(diagram);
-        boolean isWithin = mouseX >= x && mouseX <= x + width && mouseY >= y && mouseY <= y + height;
-
-        return isWithin;
+        return boxLayouts.get(diagram).contains(diagram.getX(), diagram.getY(), mouseX, mouseY);
     }
 
-
     /**
-     * Calculates the width of a given class diagram based on its name, attributes, and methods.
-     * The width is determined by the longest text element in the diagram, with padding added.
+     * Finds the class or interface box under the given point. Only the elements registered in the hit
+     * index around the point are tested; class diagrams take precedence over interface diagrams.
      *
-     * @param diagram The class diagram whose width is to be calculated.
-     * @param gc The graphics context used to measure text width.
-     * @return The calculated width of the diagram.
+     * @param mouseX The x-coordinate of the point in model coordinates.
+     * @param mouseY The y-coordinate of the point in model coordinates.
+     * @param gc The graphics context of the canvas.
+     * @return The class or interface diagram under the point, or {@code null} if there is none.
      */
-    private double calculateDiagramWidth(ClassDiagram diagram, GraphicsContext gc) {
-        double maxWidth = 0;
-
-        Text tempText = new Text(diagram.getName());
-        tempText.setFont(gc.getFont());
-        maxWidth = Math.max(maxWidth, tempText.getLayoutBounds().getWidth());
-
-        if (!diagram.getAttributes().isEmpty()) {
-            for (AttributeData attribute : diagram.getAttributes()) {
-                String attributeText = attribute.getAccessModifier() + " " + attribute.getName() + " : " + attribute.getDataType();
-                tempText = new Text(attributeText);
-                tempText.setFont(gc.getFont());
-                maxWidth = Math.max(maxWidth, tempText.getLayoutBounds().getWidth());
+    private Object findBoxAt(double mouseX, double mouseY, GraphicsContext gc) {
+        hitIndex.query(mouseX, mouseY, hitCandidates);
+        for (Object candidate : hitCandidates) {
+            if (candidate instanceof ClassDiagram && isWithinBounds(mouseX, mouseY, (ClassDiagram) candidate, gc)) {
+                return candidate;
             }
         }
-
-        if (!diagram.getMethods().isEmpty()) {
-            for (MethodData method : diagram.getMethods()) {
-                String methodText = method.getAccessModifier() + " " + method.getName() + " : " + method.getReturnType();
-                tempText = new Text(methodText);
-                tempText.setFont(gc.getFont());
-                maxWidth = Math.max(maxWidth, tempText.getLayoutBounds().getWidth());
+        for (Object candidate : hitCandidates) {
+            if (candidate instanceof InterfaceData && isWithinBounds(mouseX, mouseY, (InterfaceData) candidate, gc)) {
+                return candidate;
             }
         }
-
-        return maxWidth + 40;
+        return null;
     }
 
     /**
-     * Calculates the height of a given class diagram based on its attributes and methods.
-     * The height includes space for the class name, attributes, methods, and some padding.
+     * Finds the relationship whose drawn path passes closest to the given point, within a few pixels.
+     * Only the line segments registered in the edge index around the point are measured.
      *
-     * @param diagram The class diagram whose height is to be calculated.
-     * @return The calculated height of the diagram.
+     * @param mouseX The x-coordinate of the point in model coordinates.
+     * @param mouseY The y-coordinate of the point in model coordinates.
+     * @param type The relationship type to look for, or {@code null} for any type.
+     * @return The relationship near the point, or {@code null} if there is none.
      */
-    private double calculateDiagramHeight(ClassDiagram diagram) {
-        double classNameHeight = 30;
-        double attributeHeight = 0;
-        for (AttributeData attribute : diagram.getAttributes())
-        {
-            Text tempText = new Text(attribute.getAccessModifier() + " " + attribute.getName() + " : " + attribute.getDataType());
-            tempText.setFont(new Font("Arial", 12));
-            attributeHeight += tempText.getLayoutBounds().getHeight();
-        }
-
-        double methodHeight = 0;
-        for (MethodData method : diagram.getMethods()) {
-            Text tempText = new Text(method.getAccessModifier() + " " + method.getName() + " : " + method.getReturnType());
-            tempText.setFont(new Font("Arial", 12)); // Use the actual font being used
-            methodHeight += tempText.getLayoutBounds().getHeight();
+    private Relationship findRelationshipAt(double mouseX, double mouseY, String type) {
+        double tolerance = HIT_TOLERANCE / viewTransform.getScale();
+        if (type == null) {
+            return edgeIndex.findNearest(mouseX, mouseY, tolerance);
         }
+        return edgeIndex.findNearest(mouseX, mouseY, tolerance, relationship -> type.equals(relationship.getType()));
+    }
 
-        return classNameHeight + attributeHeight + methodHeight + 10; // Adding padding
+    /**
+     * Registers the drawn path of a relationship, including the loop of a self-association, in the edge index.
+     *
+     * @param relationship The relationship to index.
+     */
+    private void indexRelationship(Relationship relationship) {
+        int count = relationship.getPath(pathX, pathY);
+        edgeIndex.update(relationship, pathX, pathY, count);
     }
 
     /**
@@ -730,215 +1464,145 @@ public class ClassDashboardController {
         GraphicsContext gc = drawingCanvas.getGraphicsContext2D();
 
         drawingCanvas.setOnMousePressed(event -> {
+            double mouseX = toModelX(event);
+            double mouseY = toModelY(event);
             if (event.isSecondaryButtonDown()) {
-                boolean found = false;
                 activeDiagram = null;
                 activeInterface = null;
                 activeRelationship = null;
 
-                for (ClassDiagram diagram : classDiagrams) {
-                    if (isWithinBounds(event.getX(), event.getY(), diagram, gc)) {
-                        activeDiagram = diagram;
-                        showContextMenu(event, "class");
-                        found = true;
-                        break;
-                    }
-                }
-
-                if (!found) {
-                    for (InterfaceData diagram : interfaceDiagrams) {
-                        if (isWithinBounds(event.getX(), event.getY(), diagram, gc)) {
-                            activeInterface = diagram;
-                            showContextMenu(event, "interface");
-                            found = true;
-                            break;
-                        }
-                    }
-                }
-                if (!found) {
-                    for (Relationship relationship : associations) {
-                        if (isWithinBounds(event.getX(), event.getY(), relationship, gc)) {
-                            activeRelationship = relationship;
-                            showContextMenu(event, "relationship");
-                            found = true;
-                            break;
-                        }
-                    }
-                }
-                if (!found) {
-                    for (Relationship relationship : compositions) {
-                        if (isWithinBounds(event.getX(), event.getY(), relationship, gc)) {
-                            activeRelationship = relationship;
-                            showContextMenu(event, "relationship");
-                            found = true;
-                            break;
-                        }
-                    }
-                }
-                if (!found) {
-                    for (Relationship relationship : aggregations) {
-                        if (isWithinBounds(event.getX(), event.getY(), relationship, gc)) {
-                            activeRelationship = relationship;
-                            showContextMenu(event, "relationship");
-                            found = true;
-                            break;
-                        }
-                    }
-                }
-                if (!found) {
-                    for (Relationship relationship : generalizations) {
-                        if (isWithinBounds(event.getX(), event.getY(), relationship, gc)) {
-                            activeRelationship = relationship;
-                            showContextMenu(event, "relationship");
-                            found = true;
-                            break;
-                        }
-                    }
-                }
-                if (!found) {
-                    for (Relationship relationship : realizations) {
-                        if (isWithinBounds(event.getX(), event.getY(), relationship, gc)) {
-                            activeRelationship = relationship;
-                            showContextMenu(event, "relationship");
-                            found = true;
-                            break;
-                        }
+                Object box = findBoxAt(mouseX, mouseY, gc);
+                if (box instanceof ClassDiagram) {
+                    activeDiagram = (ClassDiagram) box;
+                    showContextMenu(event, "class");
+                } else if (box instanceof InterfaceData) {
+                    activeInterface = (InterfaceData) box;
+                    showContextMenu(event, "interface");
+                } else {
+                    activeRelationship = findRelationshipAt(mouseX, mouseY, null);
+                    if (activeRelationship != null) {
+                        showContextMenu(event, "relationship");
                     }
                 }
 
-                if (!found) {
-                    activeDiagram = null;
-                    activeInterface = null;
-                    activeRelationship = null;
-                }
-
                 redrawCanvas();
             } else if (event.isPrimaryButtonDown()) {
                 activeDiagram = null;
                 activeInterface = null;
                 activeRelationship = null;
 
-                for (ClassDiagram diagram : classDiagrams) {
-                    if (isWithinBounds(event.getX(), event.getY(), diagram, gc)) {
-                        activeDiagram = diagram;
-                        dragStartX = event.getX() - diagram.getX();
-                        dragStartY = event.getY() - diagram.getY();
-                        break;
-                    }
+                Object box = findBoxAt(mouseX, mouseY, gc);
+                if (box instanceof ClassDiagram) {
+                    activeDiagram = (ClassDiagram) box;
+                    dragStartX = mouseX - activeDiagram.getX();
+                    dragStartY = mouseY - activeDiagram.getY();
+                } else if (box instanceof InterfaceData) {
+                    activeInterface = (InterfaceData) box;
+                    dragStartX = mouseX - activeInterface.getX();
+                    dragStartY = mouseY - activeInterface.getY();
+                }
+                if (activeInterface == null) {
+                    activeRelationship = findRelationshipAt(mouseX, mouseY, "association");
                 }
 
-                if (activeDiagram == null) {
-                    for (InterfaceData diagram : interfaceDiagrams) {
-                        if (isWithinBounds(event.getX(), event.getY(), diagram, gc)) {
-                            activeInterface = diagram;
-                            dragStartX = event.getX() - diagram.getX();
-                            dragStartY = event.getY() - diagram.getY();
-                            break;
-                        }
-                    }
+                // Pressing a selected box keeps the selection for a group move; anything else drops it
+                if ((box == null || !selection.contains(box)) && !selection.isEmpty()) {
+                    selection.clear();
+                    redrawCanvas();
                 }
-                if (activeInterface == null) {
-                    for (Relationship relationship : associations) {
-                        if (isWithinBounds(event.getX(), event.getY(), relationship, gc)) {
-                            activeRelationship = relationship;
-                            break;
-                        }
-                    }
+                if (box == null && activeRelationship == null) {
+                    marqueeActive = true;
+                    marqueeStartX = mouseX;
+                    marqueeStartY = mouseY;
+                    marqueeEndX = mouseX;
+                    marqueeEndY = mouseY;
                 }
             }
         });
 
+        // Dragged boxes snap to the grid and to other boxes unless Alt is held
         drawingCanvas.setOnMouseDragged(event -> {
-            if (activeDiagram != null) {
+            if (marqueeActive) {
+                marqueeEndX = toModelX(event);
+                marqueeEndY = toModelY(event);
+                renderScheduler.request(marqueeTask);
+            } else if (isGroupDrag()) {
+                moveSelection(toModelX(event) - dragStartX, toModelY(event) - dragStartY, !event.isAltDown());
+            } else if (activeDiagram != null) {
                 // Handle dragging ClassDiagram
-                double newX = event.getX() - dragStartX;
-                double newY = event.getY() - dragStartY;
-
-                activeDiagram.setX(newX);
-                activeDiagram.setY(newY);
-
-                resizeCanvasIfNeeded(newX, newY);
-                redrawCanvas();
+                double newX = toModelX(event) - dragStartX;
+                double newY = toModelY(event) - dragStartY;
+
+                beginOverlayDrag(activeDiagram);
+                markDirtyElements();
+                snapPosition(newX, newY, activeDiagram.getWidth(), activeDiagram.getHeight(), !event.isAltDown());
+                activeDiagram.setX(snappedX);
+                activeDiagram.setY(snappedY);
+                markDirtyElements();
+
+                ensureVirtualSpaceCovers(snappedX, snappedY);
+                renderScheduler.request(dirtyRegionTask);
             } else if (activeInterface != null) {
-                double newX = event.getX() - dragStartX;
-                double newY = event.getY() - dragStartY;
+                double newX = toModelX(event) - dragStartX;
+                double newY = toModelY(event) - dragStartY;
 
-                activeInterface.setX(newX);
-                activeInterface.setY(newY);
+                beginOverlayDrag(activeInterface);
+                markDirtyElements();
+                snapPosition(newX, newY, activeInterface.getWidth(), activeInterface.getHeight(), !event.isAltDown());
+                activeInterface.setX(snappedX);
+                activeInterface.setY(snappedY);
+                markDirtyElements();
 
-                resizeCanvasIfNeeded(newX, newY);
-                redrawCanvas();
+                ensureVirtualSpaceCovers(snappedX, snappedY);
+                renderScheduler.request(dirtyRegionTask);
             }
         });
 
         drawingCanvas.setOnMouseReleased(event -> {
             isDraggingSource = false;
             isDraggingTarget = false;
+            if (marqueeActive) {
+                finishMarquee();
+            }
+            endOverlayDrag();
         });
 
         drawingCanvas.setOnMouseMoved(event -> {
-            double mouseX = event.getX();
-            double mouseY = event.getY();
-
-            boolean isOverClassDiagram = false;
-            for (ClassDiagram diagram : classDiagrams) {
-                if (isWithinBounds(mouseX, mouseY, diagram, gc)) {
-                    isOverClassDiagram = true;
-                    break;
-                }
+            double mouseX = toModelX(event);
+            double mouseY = toModelY(event);
+            if (hoverTracker.contains(mouseX, mouseY)) {
+                return; // Still over the same box
+            }
+
+            Object box = findBoxAt(mouseX, mouseY, gc);
+            boolean changed;
+            if (box instanceof ClassDiagram) {
+                ClassDiagram diagram = (ClassDiagram) box;
+                changed = hoverTracker.update(box, diagram.getX(), diagram.getY(), diagram.getWidth(), diagram.getHeight());
+            } else if (box instanceof InterfaceData) {
+                InterfaceData diagram = (InterfaceData) box;
+                changed = hoverTracker.update(box, diagram.getX(), diagram.getY(), diagram.getWidth(), diagram.getHeight());
+            } else {
+                // Lines are thin and empty space may be entered by any element, so both are looked up on every move
+                changed = hoverTracker.update(findRelationshipAt(mouseX, mouseY, null));
             }
 
-            boolean isOverInterfaceDiagram = false;
-            for (InterfaceData diagram : interfaceDiagrams) {
-                if (isWithinBounds(mouseX, mouseY, diagram, gc)) {
-                    isOverInterfaceDiagram = true;
-                    break;
-                }
-            }
-            boolean isOverRelationship = false;
-            for (Relationship relationship : associations) {
-                if (isWithinBounds(mouseX, mouseY, relationship, gc)) {
-                    isOverRelationship = true;
-                    break;
-                }
-            }
-            for (Relationship relationship : compositions) {
-                if (isWithinBounds(mouseX, mouseY, relationship, gc)) {
-                    isOverRelationship = true;
-                    break;
-                }
-            }
-            for (Relationship relationship : aggregations) {
-                if (isWithinBounds(mouseX, mouseY, relationship, gc)) {
-                    isOverRelationship = true;
-                    break;
-                }
-            }
-            for (Relationship relationship : generalizations) {
-                if (isWithinBounds(mouseX, mouseY, relationship, gc)) {
-                    isOverRelationship = true;
-                    break;
-                }
-            }
-            for (Relationship relationship : realizations) {
-                if (isWithinBounds(mouseX, mouseY, relationship, gc)) {
-                    isOverRelationship = true;
-                    break;
+            if (changed) {
+                Object hovered = hoverTracker.getHovered();
+                if (hovered instanceof Relationship) {
+                    drawingCanvas.setCursor(Cursor.HAND);
+                } else if (hovered != null) {
+                    drawingCanvas.setCursor(Cursor.MOVE);
+                } else {
+                    drawingCanvas.setCursor(Cursor.DEFAULT);
                 }
             }
-
-            if (isOverClassDiagram || isOverInterfaceDiagram) {
-                drawingCanvas.setCursor(Cursor.MOVE);
-            } else if (isOverRelationship) {
-                drawingCanvas.setCursor(Cursor.HAND);
-            } else {
-                drawingCanvas.setCursor(Cursor.DEFAULT);
-            }
         });
 
 
         drawingCanvas.setOnMouseExited(event ->
         {
+            hoverTracker.reset();
             drawingCanvas.setCursor(Cursor.DEFAULT);
         });
         drawingCanvas.setOnMouseClicked(event -> {
@@ -963,22 +1627,23 @@ public class ClassDashboardController {
     }
 
     /**
-     * Resizes the canvas if the coordinates (x, y) exceed the current canvas size.
-     * The method ensures that the canvas is enlarged by a padding amount to accommodate new points.
+     * Grows the scrollable virtual space if the model coordinates (x, y), drawn at the current scale,
+     * exceed its current size. Only the size of the scroll pane content changes; the canvases stay
+     * the size of the viewport.
      *
-     * @param x The x-coordinate to check against the canvas width.
-     * @param y The y-coordinate to check against the canvas height.
+     * @param x The model x-coordinate that must be reachable by scrolling.
+     * @param y The model y-coordinate that must be reachable by scrolling.
      */
-    private void resizeCanvasIfNeeded(double x, double y) {
-        double currentWidth = drawingCanvas.getWidth();
-        double currentHeight = drawingCanvas.getHeight();
-        double padding = 100; // Padding to prevent too frequent resizing
-
-        if (x + padding > currentWidth) {
-            drawingCanvas.setWidth(x + padding);
+    private void ensureVirtualSpaceCovers(double x, double y) {
+        if (virtualSpace == null) {
+            return;
+        }
+        double scale = viewTransform.getScale();
+        if (x * scale + VIRTUAL_SPACE_PADDING > virtualSpace.getPrefWidth()) {
+            virtualSpace.setPrefWidth(x * scale + VIRTUAL_SPACE_PADDING);
         }
-        if (y + padding > currentHeight) {
-            drawingCanvas.setHeight(y + padding);
+        if (y * scale + VIRTUAL_SPACE_PADDING > virtualSpace.getPrefHeight()) {
+            virtualSpace.setPrefHeight(y * scale + VIRTUAL_SPACE_PADDING);
         }
     }
 
@@ -1024,14 +1689,7 @@ public class ClassDashboardController {
                     boolean sourceTargetSwapped = (newSource.equals(activeRelationship.getTargetClass()) && newTarget.equals(activeRelationship.getSourceClass()));
 
                     if ((!newSource.equals(activeRelationship.getSourceClass()) || !newTarget.equals(activeRelationship.getTargetClass())) && !sourceTargetSwapped) {
-                        Relationship existingRelationship = findExistingRelationship(activeRelationship);
-                        if (existingRelationship != null) {
-                            switch (existingRelationship.getType()) {
-                                case "association" -> associations.remove(existingRelationship);
-                                case "aggregation" -> aggregations.remove(existingRelationship);
-                                case "composition" -> compositions.remove(existingRelationship);
-                            }
-                        }
+                        diagramModel.removeRelationship(activeRelationship);
                     }
 
                     activeRelationship.setSourceClass(newSource);
@@ -1060,10 +1718,7 @@ public class ClassDashboardController {
                     InterfaceData newTarget = findInterfaceDiagramByName(newTargetName);
 
                     if (!newSource.equals(activeRelationship.getSourceClass()) || !newTarget.equals(activeRelationship.getTargetInterface())) {
-                        Relationship existingRelationship = findExistingRelationship(activeRelationship);
-                        if (existingRelationship != null) {
-                            realizations.remove(existingRelationship);
-                        }
+                        diagramModel.removeRelationship(activeRelationship);
                     }
 
                     activeRelationship.setSourceClass(newSource);
@@ -1092,11 +1747,8 @@ public class ClassDashboardController {
                     boolean sourceTargetSwapped = (newSource.equals(activeRelationship.getTargetClass()) && newTarget.equals(activeRelationship.getSourceClass()));
 
                     if ((!newSource.equals(activeRelationship.getSourceClass()) || !newTarget.equals(activeRelationship.getTargetClass())) && !sourceTargetSwapped) {
-                        // Find and remove existing relationship if necessary
-                        Relationship existingRelationship = findExistingRelationship(activeRelationship);
-                        if (existingRelationship != null) {
-                            generalizations.remove(existingRelationship);
-                        }
+                        // Remove the existing relationship if necessary
+                        diagramModel.removeRelationship(activeRelationship);
                     }
 
                     activeRelationship.setSourceClass(newSource);
@@ -1115,43 +1767,6 @@ public class ClassDashboardController {
         }
     }
 
-    /**
-     * Finds and returns an existing relationship in the diagram if one exists.
-     * The method checks through various types of relationships (realization, association, aggregation, composition, generalization) to find a match.
-     *
-     * @param activeRelationship The relationship to search for.
-     * @return The found relationship, or null if no match is found.
-     */
-    private Relationship findExistingRelationship(Relationship activeRelationship) {
-        for (Relationship relationship : realizations) {
-            if (relationship.equals(activeRelationship)) {
-                return relationship;
-            }
-        }
-        for (Relationship relationship : associations) {
-            if (relationship.equals(activeRelationship)) {
-                return relationship;
-            }
-        }
-        for (Relationship relationship : aggregations) {
-            if (relationship.equals(activeRelationship)) {
-                return relationship;
-            }
-        }
-        for (Relationship relationship : compositions) {
-            if (relationship.equals(activeRelationship)) {
-                return relationship;
-            }
-        }
-        for (Relationship relationship : generalizations) {
-            if (relationship.equals(activeRelationship)) {
-                return relationship;
-            }
-        }
-
-        return null;
-    }
-
     /**
      * Handles additional types of relationships (association, aggregation, composition, and generalization).
      * Based on the type of relationship, the corresponding method is called to add or edit the relationship.
@@ -1312,45 +1927,6 @@ public class ClassDashboardController {
         return result.orElse(null);
     }
 
-    /**
-     * Checks if the mouse coordinates are within a specified tolerance of the relationship line.
-     * The method calculates the distance between the mouse position and the line and returns true if it's within the tolerance.
-     *
-     * @param mouseX The x-coordinate of the mouse.
-     * @param mouseY The y-coordinate of the mouse.
-     * @param relationship The relationship to check.
-     * @param gc The graphics context used for drawing.
-     * @return True if the mouse is within the tolerance of the relationship line, otherwise false.
-     */
-    private boolean isWithinBounds(double mouseX, double mouseY, Relationship relationship, GraphicsContext gc) {
-        double startX = relationship.getStartX();
-        double startY = relationship.getStartY();
-        double endX = relationship.getEndX();
-        double endY = relationship.getEndY();
-
-        double tolerance = 5.0;
-        return isPointNearLine(mouseX, mouseY, startX, startY, endX, endY, tolerance);
-    }
-
-    /**
-     * Checks if a given point is near a line segment, within a specified tolerance.
-     * The distance from the point to the line is calculated, and if it's less than the tolerance, the method returns true.
-     *
-     * @param pointX The x-coordinate of the point.
-     * @param pointY The y-coordinate of the point.
-     * @param startX The x-coordinate of the start point of the line.
-     * @param startY The y-coordinate of the start point of the line.
-     * @param endX The x-coordinate of the end point of the line.
-     * @param endY The y-coordinate of the end point of the line.
-     * @param tolerance The tolerance within which the point should be considered near the line.
-     * @return True if the point is within the tolerance of the line, otherwise false.
-     */
-    private boolean isPointNearLine(double pointX, double pointY, double startX, double startY, double endX, double endY, double tolerance) {
-        double lineLength = Math.sqrt(Math.pow(endX - startX, 2) + Math.pow(endY - startY, 2));
-        double distance = Math.abs((endY - startY) * pointX - (endX - startX) * pointY + endX * startY - endY * startX) / lineLength;
-        return distance <= tolerance;
-    }
-
     /**
      * Displays a context menu at the location of a mouse event, offering options to edit or delete the selected diagram.
      * The menu options vary based on the type of diagram (class, interface, or relationship).
@@ -1394,32 +1970,15 @@ public class ClassDashboardController {
     }
 
     /**
-     * Deletes the specified relationship from its respective collection based on the relationship type.
-     * The relationship is removed from the appropriate list (associations, compositions, etc.),
-     * and the ListView is updated. Additionally, the canvas is redrawn after the deletion.
+     * Deletes the specified relationship from the diagram model, which removes it from the list of its kind,
+     * and updates the ListView. Additionally, the canvas is redrawn after the deletion.
      *
      * @param activeRelationship The relationship to delete.
      */
     private void deleteRelationship(Relationship activeRelationship) {
         System.out.println("Deleting Relationship: " + activeRelationship.getType());
 
-        if (activeRelationship.getType().equals("association")) {
-            associations.remove(activeRelationship);
-            System.out.println("Removed from Associations: " + activeRelationship.getType());
-        } else if (activeRelationship.getType().equals("composition")) {
-            compositions.remove(activeRelationship);
-            System.out.println("Removed from Compositions: " + activeRelationship.getType());
-        } else if (activeRelationship.getType().equals("aggregation")) {
-            aggregations.remove(activeRelationship);
-            System.out.println("Removed from Aggregations: " + activeRelationship.getType());
-        } else if (activeRelationship.getType().equals("Realization")) {
-            realizations.remove(activeRelationship);
-            System.out.println("Removed from Realizations: " + activeRelationship.getType());
-        } else if (activeRelationship.getType().equals("Generalization")) {
-            generalizations.remove(activeRelationship);
-            System.out.println("Removed from Generalizations: " + activeRelationship.getType());
-        }
-        deleteSpecificRelationshipFromListView(activeRelationship);
+        diagramModel.removeRelationship(activeRelationship);
         activeRelationship = null;
 
         System.out.println("Active Relationship reset to null.");
@@ -1428,41 +1987,6 @@ public class ClassDashboardController {
         redrawCanvas();
     }
 
-    /**
-     * Removes the specified relationship from the model's list view by filtering out the relationship
-     * from the list of model objects and model names, and then updating the list view.
-     *
-     * @param activeRelationship The relationship to remove from the list view.
-     */
-    private void deleteSpecificRelationshipFromListView(Relationship activeRelationship) {
-        List<String> updatedModelNames = new ArrayList<>();
-        List<Object> updatedModelObjects = new ArrayList<>();
-        for (int i = 0; i < modelNames.size(); i++)
-        {
-            Object modelItem = modelObjects.get(i);
-
-            if (modelItem instanceof Section) {
-                updatedModelNames.add(modelNames.get(i));
-                updatedModelObjects.add(modelObjects.get(i));
-            }
-            else if (modelItem instanceof Relationship && modelItem.equals(activeRelationship))
-            {
-                continue;
-            }
-            else {
-                updatedModelNames.add(modelNames.get(i));
-                updatedModelObjects.add(modelObjects.get(i));
-            }
-        }
-
-
-        modelNames.setAll(updatedModelNames);
-        modelObjects.setAll(updatedModelObjects);
-
-        modelInfoList.setItems(modelNames);
-
-        updateListView();
-    }
 
     /**
      * Handles the addition of an interface diagram. This method opens the dialog for the user to create a new interface
@@ -1482,8 +2006,6 @@ public class ClassDashboardController {
         interfaceDiagram.setY(newY);
 
         interfaceDiagrams.add(interfaceDiagram);
-        interfaceDiagram.nameProperty().addListener((obs, oldName, newName) -> updateListView());
-        updateListView();
 
         createInterfaceDiagram(interfaceDiagram);
     }
@@ -1497,74 +2019,116 @@ public class ClassDashboardController {
      */
     public void createInterfaceDiagram(InterfaceData interfaceDiagram) {
         GraphicsContext gc = drawingCanvas.getGraphicsContext2D();
+        gc.save();
+        viewTransform.apply(gc);
+        createInterfaceDiagram(interfaceDiagram, gc);
+        gc.restore();
+    }
 
+    /**
+     * Creates and draws the interface diagram on the given graphics context, which belongs either
+     * to the drawing canvas or to the drag overlay.
+     * The box is drawn from its cached layout, which also provides the size stored on the diagram.
+     *
+     * @param interfaceDiagram The interface diagram to be drawn.
+     * @param gc The graphics context to draw on.
+     */
+    private void createInterfaceDiagram(InterfaceData interfaceDiagram, GraphicsContext gc) {
         double x = interfaceDiagram.getX();
         double y = interfaceDiagram.getY();
-        double interfaceNameHeight = 40;
-        double methodHeight = Math.max(30 * interfaceDiagram.getMethods().size(), 30);
-
-        String stereotypeText = "<<interface>>";
-        String interfaceName = interfaceDiagram.getName();
-        double maxWidth = calculateTextWidth(stereotypeText, gc);
-        maxWidth = Math.max(maxWidth, calculateTextWidth(interfaceName, gc));
-        for (MethodData md : interfaceDiagram.getMethods()) {
-            String methodText = md.getAccessModifier() + " " + md.getName() + " : " + md.getReturnType();
-            maxWidth = Math.max(maxWidth, calculateTextWidth(methodText, gc));
-        }
+        BoxLayout layout = boxLayouts.get(interfaceDiagram);
 
-        double width = maxWidth * 1.3;
-        double height = interfaceNameHeight + methodHeight;
+        interfaceDiagram.setWidth(layout.getWidth());
+        interfaceDiagram.setHeight(layout.getHeight());
+        obstacles.update(interfaceDiagram, x, y, layout.getWidth(), layout.getHeight());
+        hitIndex.update(interfaceDiagram, x, y, layout.getWidth(), layout.getHeight());
 
-        interfaceDiagram.setWidth(width);
-        interfaceDiagram.setHeight(height);
+        drawBox(interfaceDiagram, interfaceDiagram.getContentVersion(), layout, x, y, interfaceDiagram == activeInterface || selection.contains(interfaceDiagram), gc);
+    }
 
-        if (interfaceDiagram == activeInterface) {
-            gc.setStroke(new Color(0.47, 0.35, 0.65, 1.0));
-        } else {
-            gc.setStroke(Color.BLACK);
+    /**
+     * Draws a class or interface box. A box drawn in full detail is copied from its sprite, which is
+     * rendered on first use and again after the diagram is edited or the view is zoomed. While the
+     * scale is still changing the box is drawn as vectors, and its sprite is only rendered once the
+     * scale stayed the same for a frame. The active box is highlighted, so it is always drawn as
+     * vectors and its sprite is dropped; the sprite is rendered again once another element becomes active.
+     *
+     * @param element The class or interface diagram the box belongs to.
+     * @param version The content version of the diagram.
+     * @param layout The layout of the box.
+     * @param x The x-coordinate of the box.
+     * @param y The y-coordinate of the box.
+     * @param active Whether the box belongs to the active diagram.
+     * @param gc The graphics context to draw on.
+     */
+    private void drawBox(Object element, long version, BoxLayout layout, double x, double y, boolean active, GraphicsContext gc) {
+        if (active) {
+            boxSprites.invalidate(element);
         }
-        gc.setLineWidth(2);
-        gc.strokeRect(x, y, width, height);
-
-        gc.strokeLine(x, y + interfaceNameHeight, x + width, y + interfaceNameHeight);
-
-        gc.setFill(Color.BLACK);
-        double stereotypeWidth = calculateTextWidth(stereotypeText, gc);
-        gc.fillText(stereotypeText, x + (width - stereotypeWidth) / 2, y + 15);
-
-        gc.setFont(Font.font(gc.getFont().getFamily(), Font.getDefault().getSize() + 2));
-        double interfaceNameWidth = calculateTextWidth(interfaceName, gc);
-        gc.fillText(interfaceName, x + (width - interfaceNameWidth) / 2, y + 35);
-
-        gc.setFont(Font.font(gc.getFont().getFamily(), Font.getDefault().getSize()));
-
-        double methodStartY = y + interfaceNameHeight + 15;
-        for (MethodData md : interfaceDiagram.getMethods()) {
-            String methodText = md.getAccessModifier() + " " + md.getName() + " : " + md.getReturnType();
-            gc.fillText(methodText, x + 10, methodStartY);
-            methodStartY += 20;
+        if (active || !spritesEnabled || scaleChanging || renderDetail != LevelOfDetail.Detail.FULL) {
+            drawBox(layout, x, y, active, gc);
+            return;
+        }
+        double scale = viewTransform.getScale();
+        Image sprite = boxSprites.get(element, version, scale);
+        if (sprite == null) {
+            sprite = renderSprite(layout, scale);
+            boxSprites.put(element, version, scale, sprite, (long) sprite.getWidth() * (long) sprite.getHeight() * 4);
         }
+        gc.drawImage(sprite, x - SPRITE_PADDING, y - SPRITE_PADDING, sprite.getWidth() / scale, sprite.getHeight() / scale);
+    }
 
+    /**
+     * Renders a box in full detail on the offscreen sprite canvas at the given scale and captures it.
+     *
+     * @param layout The layout of the box.
+     * @param scale The scale the box is rendered at.
+     * @return The rendered sprite, with a transparent background.
+     */
+    private Image renderSprite(BoxLayout layout, double scale) {
+        if (spriteCanvas == null) {
+            spriteCanvas = new Canvas();
+            spriteSnapshot = new SnapshotParameters();
+            spriteSnapshot.setFill(Color.TRANSPARENT);
+        }
+        double width = Math.ceil((layout.getWidth() + 2 * SPRITE_PADDING) * scale);
+        double height = Math.ceil((layout.getHeight() + 2 * SPRITE_PADDING) * scale);
+        spriteCanvas.setWidth(width);
+        spriteCanvas.setHeight(height);
 
-        ContextMenu contextMenu = new ContextMenu();
-        MenuItem editItem = new MenuItem("Edit");
-        MenuItem deleteItem = new MenuItem("Delete");
-        contextMenu.getItems().addAll(editItem, deleteItem);
+        GraphicsContext gc = spriteCanvas.getGraphicsContext2D();
+        gc.clearRect(0, 0, width, height);
+        gc.save();
+        gc.scale(scale, scale);
+        drawBox(layout, SPRITE_PADDING, SPRITE_PADDING, false, gc);
+        gc.restore();
+        return spriteCanvas.snapshot(spriteSnapshot, null);
+    }
 
+    /**
+     * Draws a class or interface box from its layout at the current level of detail.
+     * The active diagram is outlined in the highlight colour.
+     *
+     * @param layout The layout of the box.
+     * @param x The x-coordinate of the box.
+     * @param y The y-coordinate of the box.
+     * @param active Whether the box belongs to the active diagram.
+     * @param gc The graphics context to draw on.
+     */
+    private void drawBox(BoxLayout layout, double x, double y, boolean active, GraphicsContext gc) {
+        layout.draw(new FxRenderer(gc), x, y, active ? ACTIVE_STROKE : Color.BLACK, renderDetail);
     }
 
     /**
      * Calculates the width of the given text string when rendered with the specified graphics context's font.
-     * This method uses a temporary `Text` object to determine the layout bounds of the text.
+     * The measurement is served from the shared {@link TextMetricsCache}.
      *
      * @param text The text whose width is to be calculated.
      * @param gc The graphics context used to retrieve the font.
      * @return The width of the text in pixels.
      */
     private double calculateTextWidth(String text, GraphicsContext gc) {
-        Text tempText = new Text(text);
-        tempText.setFont(gc.getFont());
-        return tempText.getLayoutBounds().getWidth();
+        return textMetrics.getWidth(text, gc.getFont());
     }
 
     /**
@@ -1583,65 +2147,15 @@ public class ClassDashboardController {
         Optional<ButtonType> result = alert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
             // Remove realization relationships involving the interface
-            realizations.removeIf(relationship ->
-                    relationship.getTargetInterface() != null &&
-                            relationship.getTargetInterface().equals(interfaceDiagram)
-            );
+            diagramModel.removeRelationshipsOf(interfaceDiagram);
 
             interfaceDiagrams.remove(interfaceDiagram);
 
-            deleteInterfaceDiagramFromListView(interfaceDiagram);
-
             activeDiagram = null;
             redrawCanvas();
         }
     }
 
-    /**
-     * Removes the specified interface diagram from the list view by filtering it out from the model's
-     * lists of names and objects. This ensures the ListView is updated to reflect the removal.
-     *
-     * @param interfaceDiagram The interface diagram to remove from the list view.
-     */
-    private void deleteInterfaceDiagramFromListView(InterfaceData interfaceDiagram) {
-        List<String> updatedModelNames = new ArrayList<>();
-        List<Object> updatedModelObjects = new ArrayList<>();
-
-        for (int i = 0; i < modelNames.size(); i++) {
-            Object modelItem = modelObjects.get(i);
-
-            if (modelItem instanceof Section) {
-                // Keep sections unchanged
-                updatedModelNames.add(modelNames.get(i));
-                updatedModelObjects.add(modelObjects.get(i));
-            }
-            else if (modelItem instanceof InterfaceData && modelItem.equals(interfaceDiagram)) {
-                continue;
-            }
-            else if (modelItem instanceof Relationship) {
-                Relationship relationship = (Relationship) modelItem;
-                boolean isRelated =
-                        relationship.getTargetInterface() != null &&
-                                relationship.getTargetInterface().equals(interfaceDiagram);
-
-                if (isRelated) {
-                    continue;
-                }
-            }
-
-            // Otherwise, keep the item in the new lists
-            updatedModelNames.add(modelNames.get(i));
-            updatedModelObjects.add(modelObjects.get(i));
-        }
-
-        // Update the model names and objects
-        modelNames.setAll(updatedModelNames);
-        modelObjects.setAll(updatedModelObjects);
-
-        // Update the ListView to reflect the changes
-        modelInfoList.setItems(modelNames);
-        updateListView();  // Refresh the ListView
-    }
 
     /**
      * Opens a dialog to edit the specified interface diagram. If the diagram is updated,
@@ -1662,50 +2176,16 @@ public class ClassDashboardController {
 
     /**
      * Checks whether the given mouse coordinates are within the bounds of the specified interface diagram on the canvas.
+     * The bounds come from the same cached layout the diagram is drawn with.
      *
      * @param mouseX The X coordinate of the mouse pointer.
      * @param mouseY The Y coordinate of the mouse pointer.
      * @param diagram The interface diagram to check.
-     * @param gc The graphics context used to calculate the diagram's dimensions.
+     * @param gc The graphics context of the canvas.
      * @return True if the mouse pointer is within the bounds of the diagram, otherwise false.
      */
     private boolean isWithinBounds(double mouseX, double mouseY, InterfaceData diagram, GraphicsContext gc) {
-        double x = diagram.getX();
-        double y = diagram.getY();
-        double width = calculateDiagramWidth(diagram, gc);
-        double height = calculateDiagramHeight(diagram);
-        return mouseX >= x && mouseX <= x + width && mouseY >= y && mouseY <= y + height;
-    }
-
-    /**
-     * Calculates the width of a diagram based on its name and methods.
-     * The width is calculated as the maximum width of the diagram name and its methods, with some padding applied.
-     *
-     * @param diagram The interface diagram whose width is to be calculated.
-     * @param gc      The graphics context to use for text measurements.
-     * @return The calculated width of the diagram.
-     */
-    private double calculateDiagramWidth(InterfaceData diagram, GraphicsContext gc) {
-        double maxWidth = calculateTextWidth("<<interface>>", gc);
-        maxWidth = Math.max(maxWidth, calculateTextWidth(diagram.getName(), gc));
-        for (MethodData method : diagram.getMethods()) {
-            String methodText = method.getAccessModifier() + " " + method.getName() + " : " + method.getReturnType();
-            maxWidth = Math.max(maxWidth, calculateTextWidth(methodText, gc));
-        }
-        return maxWidth * 1.3;
-    }
-
-    /**
-     * Calculates the height of a diagram based on its name and methods.
-     * The height is determined by the height of the interface name and the methods.
-     *
-     * @param diagram The interface diagram whose height is to be calculated.
-     * @return The calculated height of the diagram.
-     */
-    private double calculateDiagramHeight(InterfaceData diagram) {
-        double interfaceNameHeight = 40;
-        double methodHeight = Math.max(30 * diagram.getMethods().size(), 30);
-        return interfaceNameHeight + methodHeight;
+        return boxLayouts.get(diagram).contains(diagram.getX(), diagram.getY(), mouseX, mouseY);
     }
 
     /**
@@ -2042,10 +2522,9 @@ public class ClassDashboardController {
      * @throws IllegalArgumentException If no class diagram with the specified name is found.
      */
     private ClassDiagram findDiagramByName(String name) {
-        for (ClassDiagram diagram : classDiagrams) {
-            if (diagram.getName().equals(name)) {
-                return diagram;
-            }
+        ClassDiagram diagram = diagramModel.findClassDiagram(name);
+        if (diagram != null) {
+            return diagram;
         }
         throw new IllegalArgumentException("No class diagram found with name: " + name);
     }
@@ -2106,60 +2585,14 @@ public class ClassDashboardController {
                 return;
             }
 
-            Relationship existingRelationship = null;
-            for (Relationship relationship : generalizations)
-            {
-                if ((relationship.getSourceClass().equals(source) && relationship.getTargetClass().equals(target)) ||
-                        (relationship.getSourceClass().equals(target) && relationship.getTargetClass().equals(source)))
-                {
-                    existingRelationship = relationship;
-                    break;
-                }
-            }
-
+            Relationship existingRelationship = diagramModel.findRelationship(source, target,
+                    EnumSet.of(RelationshipKind.GENERALIZATION));
             if (existingRelationship == null) {
-                for (Relationship association : associations) {
-                    if ((association.getSourceClass().equals(source) && association.getTargetClass().equals(target)) ||
-                            (association.getSourceClass().equals(target) && association.getTargetClass().equals(source))) {
-                        existingRelationship = association;
-                        break;
-                    }
-                }
-
-                // Check for composition
-                if (existingRelationship == null) {
-                    for (Relationship composition : compositions) {
-                        if ((composition.getSourceClass().equals(source) && composition.getTargetClass().equals(target)) ||
-                                (composition.getSourceClass().equals(target) && composition.getTargetClass().equals(source))) {
-                            existingRelationship = composition;
-                            break;
-                        }
-                    }
-                }
-
-                // Check for aggregation
-                if (existingRelationship == null) {
-                    for (Relationship aggregation : aggregations) {
-                        if ((aggregation.getSourceClass().equals(source) && aggregation.getTargetClass().equals(target)) ||
-                                (aggregation.getSourceClass().equals(target) && aggregation.getTargetClass().equals(source))) {
-                            existingRelationship = aggregation;
-                            break;
-                        }
-                    }
-                }
-
-                if (existingRelationship != null) {
-                    if (existingRelationship.getType().equals("association")) {
-                        associations.remove(existingRelationship);
-                    } else if (existingRelationship.getType().equals("composition")) {
-                        compositions.remove(existingRelationship);
-                    } else if (existingRelationship.getType().equals("aggregation")) {
-                        aggregations.remove(existingRelationship);
-                    }
-                }
+                existingRelationship = diagramModel.findRelationship(source, target,
+                        EnumSet.of(RelationshipKind.ASSOCIATION, RelationshipKind.COMPOSITION, RelationshipKind.AGGREGATION));
             }
             if (existingRelationship != null) {
-                generalizations.remove(existingRelationship);
+                diagramModel.removeRelationship(existingRelationship);
             }
 
             if (activeRelationship == null) {
@@ -2169,11 +2602,11 @@ public class ClassDashboardController {
                         "Generalization", // Relationship type
                         "0", // Default multiplicity for Generalization
                         "0", // Default multiplicity for Generalization
-                        null, // No obstacles for Generalization
+                        obstacles,
                         "" // Empty relationship name
                 );
 
-                addRelationshipToList(relationship);
+                diagramModel.addRelationship(relationship);
             } else {
                 activeRelationship.setSourceClass(source);
                 activeRelationship.setTargetClass(target);
@@ -2181,6 +2614,9 @@ public class ClassDashboardController {
                 activeRelationship.setType("Generalization");
                 activeRelationship.setSourceMultiplicity("0");
                 activeRelationship.setTargetMultiplicity("0");
+                if (diagramModel.contains(activeRelationship)) {
+                    diagramModel.updateRelationship(activeRelationship);
+                }
             }
 
             redrawCanvas();
@@ -2340,61 +2776,14 @@ public class ClassDashboardController {
                 return;
             }
 
-            // Check all types of relationships (association, composition, aggregation)
-            Relationship existingRelationship = null;
-
-            // Check for association
-            for (Relationship association : associations)
-            {
-                if ((association.getSourceClass().equals(source) && association.getTargetClass().equals(target)) ||
-                        (association.getSourceClass().equals(target) && association.getTargetClass().equals(source))) {
-                    existingRelationship = association;
-                    break;
-                }
-            }
-
-            if (existingRelationship == null) {
-                for (Relationship composition : compositions) {
-                    if ((composition.getSourceClass().equals(source) && composition.getTargetClass().equals(target)) ||
-                            (composition.getSourceClass().equals(target) && composition.getTargetClass().equals(source))) {
-                        existingRelationship = composition;
-                        break;
-                    }
-                }
-            }
-
-            // Check for aggregation
-            if (existingRelationship == null) {
-                for (Relationship aggregation : aggregations) {
-                    if ((aggregation.getSourceClass().equals(source) && aggregation.getTargetClass().equals(target)) ||
-                            (aggregation.getSourceClass().equals(target) && aggregation.getTargetClass().equals(source))) {
-                        existingRelationship = aggregation;
-                        break;
-                    }
-                }
-            }
-            if (existingRelationship == null) {
-                for (Relationship generalization : generalizations) {
-                    if ((generalization.getSourceClass().equals(source) && generalization.getTargetClass().equals(target)) ||
-                            (generalization.getSourceClass().equals(target) && generalization.getTargetClass().equals(source))) {
-                        existingRelationship = generalization;
-                        break;
-                    }
-                }
-            }
+            // Check for an existing association, composition, aggregation or generalization between the classes
+            Relationship existingRelationship = diagramModel.findRelationship(source, target,
+                    EnumSet.of(RelationshipKind.ASSOCIATION, RelationshipKind.COMPOSITION,
+                            RelationshipKind.AGGREGATION, RelationshipKind.GENERALIZATION));
 
-            // If an existing relationship is found, remove it from the appropriate list
+            // If an existing relationship is found, remove it from the model
             if (existingRelationship != null) {
-                if (existingRelationship.getType().equals("association")) {
-                    associations.remove(existingRelationship);
-                } else if (existingRelationship.getType().equals("composition")) {
-                    compositions.remove(existingRelationship);
-                } else if (existingRelationship.getType().equals("aggregation")) {
-                    aggregations.remove(existingRelationship);
-                } else if (existingRelationship.getType().equals("Generalization")) {
-                   generalizations.remove(existingRelationship);
-                }
-
+                diagramModel.removeRelationship(existingRelationship);
             }
 
             // Create the new relationship and add it to the correct list based on the relationship type
@@ -2408,14 +2797,8 @@ public class ClassDashboardController {
                     relationshipName
             );
 
-            // Add the new relationship to the appropriate list
-            if (relationshipType.equals("association")) {
-                associations.add(newRelationship);
-            } else if (relationshipType.equals("composition")) {
-                compositions.add(newRelationship);
-            } else if (relationshipType.equals("aggregation")) {
-                aggregations.add(newRelationship);
-            }
+            // Add the new relationship to the list of its kind
+            diagramModel.addRelationship(newRelationship);
 
             redrawCanvas();
 
@@ -2424,36 +2807,6 @@ public class ClassDashboardController {
         }
     }
 
-    /**
-     * Adds the given relationship to the appropriate list based on its type. It also sets up a listener
-     * for any changes to the relationship's name, ensuring the list view is updated when the name changes.
-     *
-     * @param relationship The relationship to be added to the list.
-     */
-    private void addRelationshipToList(Relationship relationship) {
-        switch (relationship.getType().toLowerCase()) {
-            case "association":
-                associations.add(relationship);
-                break;
-            case "composition":
-                compositions.add(relationship);
-                break;
-            case "aggregation":
-                aggregations.add(relationship);
-                break;
-            case "realization":
-                realizations.add(relationship);
-                break;
-            case "generalization":
-                generalizations.add(relationship);
-                break;
-            default:
-                throw new IllegalArgumentException("Invalid relationship type.");
-        }
-        relationship.relationNameProperty().addListener((obs, oldName, newName) -> updateListView());
-        updateListView();
-    }
-
     /**
      * Handles the addition of a "Realization" relationship between a class and an interface. This method
      * prompts the user to select the source class and target interface, checks for any existing realization
@@ -2468,25 +2821,14 @@ public class ClassDashboardController {
             ClassDiagram source = findDiagramByName(names.getKey());
             InterfaceData target = findInterfaceDiagramByName(names.getValue());
 
-            Relationship existingRelationship = null;
-            for (Relationship relationship : realizations) {
-                if ((relationship.getSourceClass().equals(source) && relationship.getTargetClass().equals(target)) ||
-                        (relationship.getSourceClass().equals(target) && relationship.getTargetClass().equals(source)))
-                {
-                    existingRelationship = relationship;
-                    break;
-                }
-            }
-
+            Relationship existingRelationship = diagramModel.findRelationship(source, target,
+                    EnumSet.of(RelationshipKind.REALIZATION));
             if (existingRelationship != null) {
-                realizations.remove(existingRelationship);
+                diagramModel.removeRelationship(existingRelationship);
             }
 
             Relationship realization = new Relationship(source, target, "Realization", "0", "0", obstacles);
-            realizations.add(realization);
-
-            realization.relationNameProperty().addListener((obs, oldName, newName) -> updateListView());
-            updateListView();
+            diagramModel.addRelationship(realization);
 
             redrawCanvas();
 
@@ -2503,10 +2845,9 @@ public class ClassDashboardController {
      * @throws IllegalArgumentException If no interface diagram with the given name is found.
      */
     private InterfaceData findInterfaceDiagramByName(String value) {
-        for (InterfaceData diagram : interfaceDiagrams) {
-            if (diagram.getName().equals(value)) {
-                return diagram;
-            }
+        InterfaceData diagram = diagramModel.findInterfaceDiagram(value);
+        if (diagram != null) {
+            return diagram;
         }
         throw new IllegalArgumentException("No interface diagram found with name: " + value);
     }
@@ -2615,13 +2956,13 @@ public class ClassDashboardController {
         interfaceDiagram = null;
 
         obstacles.clear();
-        interfaceDiagrams.clear();
-        classDiagrams.clear();
-        associations.clear();
-        compositions.clear();
-        aggregations.clear();
-        realizations.clear();
-        generalizations.clear();
+        hitIndex.clear();
+        edgeIndex.clear();
+        selection.clear();
+        marqueeActive = false;
+        boxLayouts.clear();
+        boxSprites.clear();
+        diagramModel.clear();
 
         isDraggingSource = false;
         isDraggingTarget = false;
@@ -2716,20 +3057,10 @@ public class ClassDashboardController {
 
 
                 writer.write("    <Relationships>\n");
-                for (Relationship relationship : associations) {
-                    saveRelationship(writer, relationship, "association");
-                }
-                for (Relationship relationship : aggregations) {
-                    saveRelationship(writer, relationship, "aggregation");
-                }
-                for (Relationship relationship : compositions) {
-                    saveRelationship(writer, relationship, "composition");
-                }
-                for (Relationship relationship : realizations) {
-                    saveRelationship(writer, relationship, "Realization");
-                }
-                for (Relationship relationship : generalizations) {
-                    saveRelationship(writer, relationship, "Generalization");
+                for (RelationshipKind kind : SAVE_ORDER) {
+                    for (Relationship relationship : diagramModel.getRelationships(kind)) {
+                        saveRelationship(writer, relationship, kind.getType());
+                    }
                 }
                 writer.write("    </Relationships>\n");
 
@@ -2791,13 +3122,7 @@ public class ClassDashboardController {
         if (file != null) {
             try {
                 // Clear existing diagrams and relationships
-                classDiagrams.clear();
-                interfaceDiagrams.clear();
-                associations.clear();
-                aggregations.clear();
-                compositions.clear();
-                realizations.clear();
-                generalizations.clear();
+                diagramModel.clear();
                 redrawCanvas(); // Clear the canvas
 
                 DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
@@ -2826,7 +3151,7 @@ public class ClassDashboardController {
                 for (int i = 0; i < relationshipNodes.getLength(); i++) {
                     Element relationshipElement = (Element) relationshipNodes.item(i);
                     Relationship relationship = loadRelationship(relationshipElement);
-                    addToRelationshipList(relationship);
+                    diagramModel.addRelationship(relationship);
                 }
 
                 redrawCanvas();
@@ -2861,7 +3186,7 @@ public class ClassDashboardController {
             attribute.setAccessModifier(attributeElement.getElementsByTagName("AccessModifier").item(0).getTextContent());
             attribute.setDataType(attributeElement.getElementsByTagName("DataType").item(0).getTextContent());
             attribute.setName(attributeElement.getElementsByTagName("Name").item(0).getTextContent());
-            classDiagram.getAttributes().add(attribute);
+            classDiagram.addAttributes(attribute);
         }
 
         // Load Methods
@@ -2872,7 +3197,7 @@ public class ClassDashboardController {
             method.setAccessModifier(methodElement.getElementsByTagName("AccessModifier").item(0).getTextContent());
             method.setReturnType(methodElement.getElementsByTagName("ReturnType").item(0).getTextContent());
             method.setName(methodElement.getElementsByTagName("Name").item(0).getTextContent());
-            classDiagram.getMethods().add(method);
+            classDiagram.addMethods(method);
         }
 
         return classDiagram;
@@ -2903,7 +3228,7 @@ public class ClassDashboardController {
             method.setAccessModifier(methodElement.getElementsByTagName("AccessModifier").item(0).getTextContent());
             method.setReturnType(methodElement.getElementsByTagName("ReturnType").item(0).getTextContent());
             method.setName(methodElement.getElementsByTagName("Name").item(0).getTextContent());
-            interfaceDiagram.getMethods().add(method);
+            interfaceDiagram.addMethods(method);
         }
 
         return interfaceDiagram;
@@ -2960,31 +3285,6 @@ public class ClassDashboardController {
         return relationship;
     }
 
-    /**
-     * Adds a relationship to the appropriate list based on its type (association, aggregation, etc.).
-     *
-     * @param relationship The Relationship object to add to the list.
-     */
-    private void addToRelationshipList(Relationship relationship) {
-        switch (relationship.getType()) {
-            case "association":
-                associations.add(relationship);
-                break;
-            case "aggregation":
-                aggregations.add(relationship);
-                break;
-            case "composition":
-                compositions.add(relationship);
-                break;
-            case "Realization":
-                realizations.add(relationship);
-                break;
-            case "Generalization":
-                generalizations.add(relationship);
-                break;
-        }
-    }
-
     /**
      * Displays an alert with the specified type, title, and message.
      *
@@ -3074,9 +3374,8 @@ public class ClassDashboardController {
                     classCode.append("public class ").append(classDiagram.getName());
 
                     // Check for generalization (extends)
-                    Optional<String> parentClass = generalizations.stream()
-                            .filter(r -> r.getSourceClass() != null &&
-                                    r.getSourceClass().equals(classDiagram) &&
+                    Optional<String> parentClass = classDiagram.getOutgoingRelationships().stream()
+                            .filter(r -> diagramModel.getKind(r) == RelationshipKind.GENERALIZATION &&
                                     r.getTargetClass() != null)
                             .map(r -> r.getTargetClass().getName())
                             .findFirst();
@@ -3085,9 +3384,8 @@ public class ClassDashboardController {
                     }
 
                     // Check for realizations (implements)
-                    List<String> implementedInterfaces = realizations.stream()
-                            .filter(r -> r.getSourceClass() != null &&
-                                    r.getSourceClass().equals(classDiagram) &&
+                    List<String> implementedInterfaces = classDiagram.getOutgoingRelationships().stream()
+                            .filter(r -> diagramModel.getKind(r) == RelationshipKind.REALIZATION &&
                                     r.getTargetInterface() != null)
                             .map(r -> r.getTargetInterface().getName())
                             .collect(Collectors.toList());
@@ -3180,25 +3478,29 @@ public class ClassDashboardController {
 
             // Add a margin around the bounding box
             int margin = 50; // Adjust as needed
-            int x = Math.max((int) drawnBounds.getMinX() - margin, 0);
-            int y = Math.max((int) drawnBounds.getMinY() - margin, 0);
-            int width = Math.min((int) drawnBounds.getWidth() + 2 * margin, (int) drawingCanvas.getWidth() - x);
-            int height = Math.min((int) drawnBounds.getHeight() + 2 * margin, (int) drawingCanvas.getHeight() - y);
-
-            // Step 2: Take a snapshot of the canvas
-            WritableImage fullSnapshot = drawingCanvas.snapshot(null, null);
-
-            // Step 3: Crop the snapshot to the bounding box
-            WritableImage croppedSnapshot = new WritableImage(width, height);
-            PixelReader pixelReader = fullSnapshot.getPixelReader();
-            PixelWriter pixelWriter = croppedSnapshot.getPixelWriter();
-
-            for (int i = 0; i < width; i++) {
-                for (int j = 0; j < height; j++) {
-                    pixelWriter.setColor(i, j, pixelReader.getColor(x + i, y + j));
-                }
+            int x = (int) drawnBounds.getMinX() - margin;
+            int y = (int) drawnBounds.getMinY() - margin;
+            int width = (int) Math.ceil(drawnBounds.getWidth()) + 2 * margin;
+            int height = (int) Math.ceil(drawnBounds.getHeight()) + 2 * margin;
+
+            // Step 2: Render the whole model onto an offscreen canvas covering the bounding box,
+            // since the on-screen canvas only holds the visible viewport
+            Canvas exportCanvas = new Canvas(width, height);
+            GraphicsContext exportGc = exportCanvas.getGraphicsContext2D();
+            exportGc.translate(-x, -y);
+            LevelOfDetail.Detail screenDetail = renderDetail;
+            renderDetail = LevelOfDetail.Detail.FULL; // Exports are always drawn in full detail
+            spritesEnabled = false; // and as vectors, whatever the scale of the screen sprites
+            try {
+                renderScene(exportGc, null);
+            } finally {
+                renderDetail = screenDetail;
+                spritesEnabled = true;
             }
 
+            // Step 3: Take a snapshot of the offscreen canvas
+            WritableImage croppedSnapshot = exportCanvas.snapshot(null, null);
+
             // Step 4: Open a FileChooser for saving the image
             FileChooser fileChooser = new FileChooser();
             fileChooser.setTitle("Export Diagram");
@@ -2,10 +2,13 @@ package org.example.craftuml.Controllers;
 
 import javafx.application.Platform;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.embed.swing.SwingFXUtils;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
 import javafx.geometry.Insets;
 import javafx.geometry.VPos;
 import javafx.scene.image.PixelReader;
@@ -17,10 +20,12 @@ import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.control.*;
+import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextAlignment;
 import javafx.scene.text.TextFlow;
@@ -29,8 +34,17 @@ import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 import org.example.craftuml.Business.ActorManager;
 import org.example.craftuml.Business.AssociationManager;
+import org.example.craftuml.Business.DirtyRegionTracker;
+import org.example.craftuml.Business.FxRenderer;
+import org.example.craftuml.Business.ListPatcher;
+import org.example.craftuml.Business.NameIndex;
+import org.example.craftuml.Business.RenderScheduler;
+import org.example.craftuml.Business.Renderer;
+import org.example.craftuml.Business.TextMetricsCache;
+import org.example.craftuml.Business.UseCaseDiagramPicker;
 import org.example.craftuml.Business.UseCaseManager;
 import org.example.craftuml.Business.UseCaseRelationManager;
+import org.example.craftuml.Business.ViewTransform;
 import org.example.craftuml.models.Section;
 import org.example.craftuml.models.UseCaseDiagrams.*;
 import org.w3c.dom.Document;
@@ -145,7 +159,7 @@ public class UseCaseDashboardController {
     /**
      * A list of actors associated with the current use case diagram.
      */
-    private List<Actor> actors = new ArrayList<>();
+    private ObservableList<Actor> actors = FXCollections.observableArrayList();
 
     /**
      * The manager for the actors in the use case diagram.
@@ -155,17 +169,33 @@ public class UseCaseDashboardController {
     /**
      * A list of use cases associated with the current use case diagram.
      */
-    private List<UseCase> useCases = new ArrayList<>();
+    private ObservableList<UseCase> useCases = FXCollections.observableArrayList();
 
     /**
      * The manager for the use cases in the use case diagram.
      */
     private UseCaseManager useCaseManager = new UseCaseManager(useCases);
 
+    /**
+     * Finds the actor or use case under the mouse. It follows the actor and use case lists and is
+     * updated whenever an element is drawn or dragged.
+     */
+    private final UseCaseDiagramPicker picker = new UseCaseDiagramPicker(actors, useCases);
+
+    /**
+     * The actors indexed by name. It follows the actor list and renames of the actors.
+     */
+    private final NameIndex<Actor> actorNames = new NameIndex<>(actors, Actor::nameProperty);
+
+    /**
+     * The use cases indexed by name. It follows the use case list and renames of the use cases.
+     */
+    private final NameIndex<UseCase> useCaseNames = new NameIndex<>(useCases, UseCase::nameProperty);
+
     /**
      * A list of associations between use cases and actors in the use case diagram.
      */
-    private List<Association> associations = new ArrayList<>();
+    private ObservableList<Association> associations = FXCollections.observableArrayList();
 
     /**
      * The manager for the associations between use cases and actors.
@@ -177,6 +207,16 @@ public class UseCaseDashboardController {
      */
     private Object draggedElement = null;
 
+    /**
+     * The associations attached to the dragged element, collected once when the drag starts.
+     */
+    private final List<Association> draggedAssociations = new ArrayList<>();
+
+    /**
+     * The include and extend relations attached to the dragged element, collected once when the drag starts.
+     */
+    private final List<UseCaseToUseCaseRelation> draggedRelations = new ArrayList<>();
+
     /**
      * The X offset of the dragged element from its original position.
      */
@@ -190,12 +230,12 @@ public class UseCaseDashboardController {
     /**
      * A list of include relations between use cases.
      */
-    private List<UseCaseToUseCaseRelation> includeRelations = new ArrayList<>();
+    private ObservableList<UseCaseToUseCaseRelation> includeRelations = FXCollections.observableArrayList();
 
     /**
      * A list of extend relations between use cases.
      */
-    private List<UseCaseToUseCaseRelation> extendRelations = new ArrayList<>();
+    private ObservableList<UseCaseToUseCaseRelation> extendRelations = FXCollections.observableArrayList();
 
     /**
      * The manager for the relations between use cases, including include and extend relations.
@@ -208,6 +248,72 @@ public class UseCaseDashboardController {
      */
     private static final double RESIZE_MARGIN = 10;
 
+    /**
+     * Coalesces repaint requests so that the canvas is redrawn at most once per pulse.
+     */
+    private final RenderScheduler renderScheduler = new RenderScheduler();
+
+    /**
+     * The full repaint of the canvas, requested through {@link #renderScheduler}.
+     */
+    private final Runnable paintTask = this::paintCanvas;
+
+    /**
+     * The area changed by moving actors and use cases since the last pulse, in model coordinates.
+     */
+    private final DirtyRegionTracker dirtyRegion = new DirtyRegionTracker();
+
+    /**
+     * The repaint of the changed areas only, requested through {@link #renderScheduler}.
+     */
+    private final Runnable dirtyRegionTask = this::redrawDirtyRegion;
+
+    /**
+     * The width of the diagram frame when it was last painted.
+     */
+    private double paintedFrameWidth;
+
+    /**
+     * The height of the diagram frame when it was last painted.
+     */
+    private double paintedFrameHeight;
+
+    /**
+     * The distance strokes reach past the bounds of the shapes they outline.
+     */
+    private static final double STROKE_MARGIN = 2;
+
+    /**
+     * The text metrics used to measure the areas covered by names and labels.
+     */
+    private final TextMetricsCache textMetrics = TextMetricsCache.getShared();
+
+    /**
+     * The rebuild of the model info list, requested through {@link #renderScheduler}.
+     */
+    private final Runnable listViewTask = this::updateListView;
+
+    /**
+     * Maps the model to the canvas. It is changed by zooming with Ctrl and the mouse wheel or with a
+     * pinch gesture, and by dragging with the middle mouse button.
+     */
+    private final ViewTransform viewTransform = new ViewTransform();
+
+    /**
+     * The factor the scale changes by for one notch of the mouse wheel.
+     */
+    private static final double ZOOM_STEP = 1.1;
+
+    /**
+     * The scroll distance reported for one notch of the mouse wheel.
+     */
+    private static final double WHEEL_NOTCH = 40;
+
+    /**
+     * The last screen position of the pointer while panning with the middle mouse button.
+     */
+    private double panLastX, panLastY;
+
     /**
      * Initializes the dashboard by setting up resize handlers for the drawing canvas
      * and configuring the ListView for displaying model information. The method also
@@ -221,6 +327,7 @@ public class UseCaseDashboardController {
     @FXML
     public void initialize() {
         initializeResizeHandlers();
+        initializeViewHandlers();
 
         modelInfoList.setCellFactory(listView -> new ListCell<String>() {
             @Override
@@ -261,7 +368,40 @@ public class UseCaseDashboardController {
                 }
             }
         });
+        modelInfoList.setItems(modelNames);
         updateListView();
+
+        ListChangeListener<Object> modelListener = change -> requestListViewUpdate();
+        actors.addListener(modelListener);
+        useCases.addListener(modelListener);
+        associations.addListener(modelListener);
+        includeRelations.addListener(modelListener);
+        extendRelations.addListener(modelListener);
+    }
+
+    /**
+     * Schedules a rebuild of the model info list for the next pulse.
+     * <p>
+     * The list is only rebuilt when elements are added, removed or renamed, never because one was moved.
+     * </p>
+     */
+    private void requestListViewUpdate() {
+        renderScheduler.request(listViewTask);
+    }
+
+    /**
+     * Checks whether an entry of the model info list can be kept for a newly built one.
+     * Sections are rebuilt on every update, so they are matched by title; every other entry by identity.
+     *
+     * @param current The entry currently in the list.
+     * @param updated The entry that should be in the list.
+     * @return true if the current entry can stay in place, false otherwise.
+     */
+    private static boolean isSameListItem(Object current, Object updated) {
+        if (current instanceof Section && updated instanceof Section) {
+            return ((Section) current).getTitle().equals(((Section) updated).getTitle());
+        }
+        return current == updated;
     }
 
     /**
@@ -271,11 +411,12 @@ public class UseCaseDashboardController {
      * <p>
      * The method updates the ListView with sections, where each section is represented
      * by a title followed by the corresponding items (actors, use cases, relationships).
+     * Only the rows that differ from the current list are inserted, removed or renamed.
      * </p>
      */
     private void updateListView() {
-        modelNames.clear();
-        modelObjects.clear();
+        List<String> names = new ArrayList<>();
+        List<Object> objects = new ArrayList<>();
 
 
         // Create sections for each type of item
@@ -308,39 +449,45 @@ public class UseCaseDashboardController {
 
         for (Section section : sections) {
             if (!firstSection) {
-                modelNames.add(SPACE);
-                modelObjects.add(null);
+                names.add(SPACE);
+                objects.add(null);
             }
             firstSection = false;
 
             // Add section title
-            modelNames.add(section.getTitle());
-            modelObjects.add(section);
+            names.add(section.getTitle());
+            objects.add(section);
 
             // Add items within the section
             for (Object item : section.getItems()) {
                 if (item instanceof Actor) {
-                    modelNames.add(((Actor) item).getName());
+                    names.add(((Actor) item).getName());
                 } else if (item instanceof UseCase) {
-                    modelNames.add(((UseCase) item).getName());
+                    names.add(((UseCase) item).getName());
                 } else if (item instanceof Association) {
-                    modelNames.add(item.toString()); // Use the Association's `toString()` implementation
+                    names.add(item.toString()); // Use the Association's `toString()` implementation
                 } else if (item instanceof UseCaseToUseCaseRelation) {
                     UseCaseToUseCaseRelation relation = (UseCaseToUseCaseRelation) item;
                     String relationText = relation.getUseCase1().getName() +
                             " <<" + relation.getRelationType() + ">> " +
                             relation.getUseCase2().getName();
-                    modelNames.add(relationText);
+                    names.add(relationText);
                 } else {
-                    modelNames.add("Unknown");
+                    names.add("Unknown");
                 }
-                modelObjects.add(item);
+                objects.add(item);
             }
         }
 
-        modelInfoList.setItems(FXCollections.observableList(modelNames));
-
-        isSaveable = false;
+        // Patch the objects first, since the cells look up their style there when a name changes
+        boolean objectsChanged = ListPatcher.patch(modelObjects, objects, UseCaseDashboardController::isSameListItem);
+        boolean namesChanged = ListPatcher.patch(modelNames, names);
+        if (objectsChanged && !namesChanged) {
+            modelInfoList.refresh();
+        }
+        if (objectsChanged || namesChanged) {
+            isSaveable = false;
+        }
     }
 
     /**
@@ -355,17 +502,72 @@ public class UseCaseDashboardController {
         drawingCanvas.setOnMouseDragged(event -> handleMouseDragged(event));
         drawingCanvas.setOnMouseReleased(event -> handleMouseReleased(event));
         drawingCanvas.setOnMouseClicked(event -> {
-            if (event.getClickCount() == 2 && isMouseOverDiagramName(event.getX(), event.getY())) {
+            if (event.getClickCount() == 2 && isMouseOverDiagramName(toModelX(event), toModelY(event))) {
                 // Double-click detected on diagram name
                 handleEditDiagramName();
             }
-            if (event.isSecondaryButtonDown() && isMouseOverDiagramName(event.getX(), event.getY())) {
+            if (event.isSecondaryButtonDown() && isMouseOverDiagramName(toModelX(event), toModelY(event))) {
                 // Right-click detected on diagram name
                 handleEditDiagramName();
             }
         });
     }
 
+    /**
+     * Initializes zooming and panning on the drawing canvas. Ctrl with the mouse wheel and pinch
+     * gestures zoom around the pointer, and dragging with the middle mouse button pans the view.
+     * Middle button events are consumed before they reach the element handlers, which are replaced
+     * whenever interactivity is enabled again.
+     */
+    private void initializeViewHandlers() {
+        drawingCanvas.setOnScroll(event -> {
+            if (event.isControlDown() && event.getDeltaY() != 0) {
+                if (viewTransform.zoomAt(event.getX(), event.getY(), Math.pow(ZOOM_STEP, event.getDeltaY() / WHEEL_NOTCH))) {
+                    renderScheduler.request(paintTask);
+                }
+                event.consume();
+            }
+        });
+        drawingCanvas.setOnZoom(event -> {
+            if (viewTransform.zoomAt(event.getX(), event.getY(), event.getZoomFactor())) {
+                renderScheduler.request(paintTask);
+            }
+            event.consume();
+        });
+        drawingCanvas.addEventFilter(MouseEvent.ANY, event -> {
+            if (event.getButton() != MouseButton.MIDDLE && !event.isMiddleButtonDown()) {
+                return;
+            }
+            if (event.getEventType() == MouseEvent.MOUSE_DRAGGED) {
+                viewTransform.panBy(event.getScreenX() - panLastX, event.getScreenY() - panLastY);
+                renderScheduler.request(paintTask);
+            }
+            panLastX = event.getScreenX();
+            panLastY = event.getScreenY();
+            event.consume();
+        });
+    }
+
+    /**
+     * Converts the x-coordinate of a mouse event on the canvas to model coordinates.
+     *
+     * @param event The mouse event.
+     * @return The x-coordinate in model space.
+     */
+    private double toModelX(MouseEvent event) {
+        return viewTransform.toModelX(event.getX());
+    }
+
+    /**
+     * Converts the y-coordinate of a mouse event on the canvas to model coordinates.
+     *
+     * @param event The mouse event.
+     * @return The y-coordinate in model space.
+     */
+    private double toModelY(MouseEvent event) {
+        return viewTransform.toModelY(event.getY());
+    }
+
     /**
      * Checks if the mouse is currently over the diagram name area in the drawing canvas.
      * The area is determined based on the X and Y coordinates of the mouse and the
@@ -448,8 +650,8 @@ public class UseCaseDashboardController {
     private void handleMouseMove(MouseEvent event) {
         if (activeDiagram == null) return;
 
-        double mouseX = event.getX();
-        double mouseY = event.getY();
+        double mouseX = toModelX(event);
+        double mouseY = toModelY(event);
 
         if (isNearBorder(mouseX, mouseY)) {
             drawingCanvas.setCursor(Cursor.SE_RESIZE);  // Change the cursor to resize when near border
@@ -472,8 +674,8 @@ public class UseCaseDashboardController {
     private void handleMousePressed(MouseEvent event) {
         if (activeDiagram == null) return;
 
-        double mouseX = event.getX();
-        double mouseY = event.getY();
+        double mouseX = toModelX(event);
+        double mouseY = toModelY(event);
 
         // If the mouse is on the border, start resizing
         if (isNearBorder(mouseX, mouseY)) {
@@ -499,13 +701,13 @@ public class UseCaseDashboardController {
     private void handleMouseDragged(MouseEvent event) {
         if (resizing && activeDiagram != null)
         {
-            double deltaX = event.getX() - dragStartX;
-            double deltaY = event.getY() - dragStartY;
+            double deltaX = toModelX(event) - dragStartX;
+            double deltaY = toModelY(event) - dragStartY;
 
             activeDiagram.setWidth(initialWidth + deltaX);
             activeDiagram.setHeight(initialHeight + deltaY);
 
-            redrawCanvas();
+            requestDirtyRedraw();
         }
     }
 
@@ -676,9 +878,13 @@ public class UseCaseDashboardController {
      * </p>
      */
     private void redrawCanvasClearAll() {
+        renderScheduler.cancel();
         GraphicsContext gc = drawingCanvas.getGraphicsContext2D();
         gc.clearRect(0, 0, drawingCanvas.getWidth(), drawingCanvas.getHeight()); // Clear the canvas
-        drawUseCaseDiagram(activeDiagram);
+        gc.save();
+        viewTransform.apply(gc);
+        drawUseCaseDiagram(new FxRenderer(gc), activeDiagram);
+        gc.restore();
         actors.clear();
         useCases.clear();
         associations.clear();
@@ -686,42 +892,223 @@ public class UseCaseDashboardController {
         includeRelations.clear();
     }
 
+    /**
+     * Marks the canvas as invalid so that it is redrawn on the next pulse.
+     * <p>
+     * Mouse drags and edits can request many redraws per frame; they are merged into a single repaint.
+     * </p>
+     */
+    private void redrawCanvas() {
+        renderScheduler.request(paintTask);
+        isSaveable = false;
+    }
+
     /**
      * Clears the canvas and redraws the active diagram, actors, use cases, associations,
      * and relationships. This is used to update the canvas view.
+     */
+    private void paintCanvas() {
+        paintCanvas(viewTransform);
+    }
+
+    /**
+     * Clears the canvas and redraws the active diagram, actors, use cases, associations,
+     * and relationships through the given view transform.
      * <p>
      * It iterates through all relevant elements (actors, use cases, associations, and relations)
-     * and draws them on the canvas to reflect the current state of the diagram.
+     * and draws them on the canvas to reflect the current state of the diagram. Elements that
+     * would be smaller than a pixel at the scale of the view are skipped.
      * </p>
+     *
+     * @param view The mapping from model coordinates to the canvas.
      */
-    private void redrawCanvas() {
+    private void paintCanvas(ViewTransform view) {
+        dirtyRegion.reset();
+        if (activeDiagram != null) {
+            paintedFrameWidth = activeDiagram.getWidth();
+            paintedFrameHeight = activeDiagram.getHeight();
+        }
         GraphicsContext gc = drawingCanvas.getGraphicsContext2D();
         gc.clearRect(0, 0, drawingCanvas.getWidth(), drawingCanvas.getHeight()); // Clear the canvas
-        drawUseCaseDiagram(activeDiagram);
+        gc.save();
+        view.apply(gc);
+        Renderer renderer = new FxRenderer(gc);
+        drawUseCaseDiagram(renderer, activeDiagram);
 
         for (Actor actor:actors)
         {
-            drawElement(actor);
+            if (!view.isSubPixel(actor.getWidth(), actor.getHeight())) {
+                drawElement(renderer, actor);
+            }
         }
         for (UseCase useCase : useCases)
         {
-            drawElement(useCase);
+            if (!view.isSubPixel(useCase.getWidth(), useCase.getHeight())) {
+                drawElement(renderer, useCase);
+            }
         }
         for (Association association : associations)
         {
-            associationManager.drawAssociationLine(association.getActor(),association.getUseCase(),drawingCanvas);
+            associationManager.drawAssociationLine(association.getActor(),association.getUseCase(),renderer);
         }
         for (UseCaseToUseCaseRelation include : includeRelations)
         {
-            useCaseRelationManager.drawUseCaseRelation(include.getUseCase1(),include.getUseCase2(),include.getRelationType(),drawingCanvas.getGraphicsContext2D());
+            useCaseRelationManager.drawUseCaseRelation(include.getUseCase1(),include.getUseCase2(),include.getRelationType(),renderer);
         }
         for (UseCaseToUseCaseRelation extend : extendRelations)
         {
-            useCaseRelationManager.drawUseCaseRelation(extend.getUseCase1(),extend.getUseCase2(),extend.getRelationType(),drawingCanvas.getGraphicsContext2D());
+            useCaseRelationManager.drawUseCaseRelation(extend.getUseCase1(),extend.getUseCase2(),extend.getRelationType(),renderer);
         }
-        updateListView();
+        gc.restore();
+    }
+
+    /**
+     * Marks the changed areas as invalid so that only they are repainted on the next pulse.
+     */
+    private void requestDirtyRedraw() {
+        renderScheduler.request(dirtyRegionTask);
         isSaveable = false;
+    }
+
+    /**
+     * Collects the associations and relations attached to the element that starts being dragged, so that
+     * each drag step only visits those instead of every association and relation of the diagram.
+     *
+     * @param element The actor or use case that starts being dragged, or {@code null} if there is none.
+     */
+    private void collectDraggedConnections(Object element) {
+        draggedAssociations.clear();
+        draggedRelations.clear();
+        if (element == null) {
+            return;
+        }
+        for (Association association : associations) {
+            if (association.getActor() == element || association.getUseCase() == element) {
+                draggedAssociations.add(association);
+            }
+        }
+        for (List<UseCaseToUseCaseRelation> relations : Arrays.asList(includeRelations, extendRelations)) {
+            for (UseCaseToUseCaseRelation relation : relations) {
+                if (relation.getUseCase1() == element || relation.getUseCase2() == element) {
+                    draggedRelations.add(relation);
+                }
+            }
+        }
+    }
+
+    /**
+     * Records the current area of an actor or use case and of every association and relation attached to it as dirty.
+     * Called before and after the element moves, so that both its old and its new position are repainted.
+     * The attached associations and relations are the ones collected when the drag started.
+     *
+     * @param element The actor or use case that moves.
+     */
+    private void markDirty(Object element) {
+        if (element instanceof Actor) {
+            dirtyRegion.include(ActorManager.getActorBounds((Actor) element, textMetrics));
+        } else if (element instanceof UseCase) {
+            dirtyRegion.include(UseCaseManager.getUseCaseBounds((UseCase) element, textMetrics));
+        }
+        for (Association association : draggedAssociations) {
+            dirtyRegion.include(associationManager.getAssociationBounds(association.getActor(), association.getUseCase()));
+        }
+        for (UseCaseToUseCaseRelation relation : draggedRelations) {
+            dirtyRegion.include(useCaseRelationManager.getUseCaseRelationBounds(
+                    relation.getUseCase1(), relation.getUseCase2(), relation.getRelationType(), textMetrics));
+        }
+    }
 
+    /**
+     * Repaints the parts of the canvas changed since the last pulse.
+     * <p>
+     * When the diagram frame was resized, only the strips between its painted and its current right and
+     * bottom edges are repainted, together with the top strip holding its centred name. The areas of moved
+     * actors and use cases are repainted as one region.
+     * </p>
+     */
+    private void redrawDirtyRegion() {
+        if (activeDiagram == null) {
+            dirtyRegion.reset();
+            return;
+        }
+        double width = activeDiagram.getWidth();
+        double height = activeDiagram.getHeight();
+        if (width != paintedFrameWidth || height != paintedFrameHeight) {
+            double x = activeDiagram.getX();
+            double y = activeDiagram.getY();
+            double minWidth = Math.min(width, paintedFrameWidth);
+            double maxWidth = Math.max(width, paintedFrameWidth);
+            double minHeight = Math.min(height, paintedFrameHeight);
+            double maxHeight = Math.max(height, paintedFrameHeight);
+            double pad = STROKE_MARGIN * 2;
+
+            redrawRegion(new BoundingBox(x + minWidth - pad, y - pad, maxWidth - minWidth + 2 * pad, maxHeight + 2 * pad));
+            redrawRegion(new BoundingBox(x - pad, y + minHeight - pad, maxWidth + 2 * pad, maxHeight - minHeight + 2 * pad));
+
+            Bounds name = textMetrics.measure(activeDiagram.getName() == null ? "" : activeDiagram.getName(), Font.getDefault());
+            double nameMinX = Math.min(0, (minWidth - name.getWidth()) / 2);
+            double nameMaxX = Math.max(maxWidth, (maxWidth + name.getWidth()) / 2);
+            redrawRegion(new BoundingBox(x + nameMinX, y, nameMaxX - nameMinX, 10 + name.getHeight() + pad));
+
+            paintedFrameWidth = width;
+            paintedFrameHeight = height;
+        }
+        if (dirtyRegion.isDirty()) {
+            Bounds region = dirtyRegion.getDirtyBounds();
+            dirtyRegion.reset();
+            redrawRegion(region);
+        }
+    }
+
+    /**
+     * Clears one area of the canvas under a clip and draws again the frame and every element that reaches into it,
+     * in the same order as a full repaint.
+     *
+     * @param region The area to repaint, in model coordinates.
+     */
+    private void redrawRegion(Bounds region) {
+        GraphicsContext gc = drawingCanvas.getGraphicsContext2D();
+        gc.save();
+        viewTransform.apply(gc);
+        gc.beginPath();
+        gc.rect(region.getMinX(), region.getMinY(), region.getWidth(), region.getHeight());
+        gc.closePath();
+        gc.clip();
+        gc.clearRect(region.getMinX(), region.getMinY(), region.getWidth(), region.getHeight());
+
+        Renderer renderer = new FxRenderer(gc);
+        drawUseCaseDiagram(renderer, activeDiagram);
+
+        // Shapes are tested with their strokes, which reach slightly past their bounds
+        Bounds reach = new BoundingBox(region.getMinX() - STROKE_MARGIN, region.getMinY() - STROKE_MARGIN,
+                region.getWidth() + 2 * STROKE_MARGIN, region.getHeight() + 2 * STROKE_MARGIN);
+        for (Actor actor : actors) {
+            if (!viewTransform.isSubPixel(actor.getWidth(), actor.getHeight())
+                    && reach.intersects(ActorManager.getActorBounds(actor, textMetrics))) {
+                drawElement(renderer, actor);
+            }
+        }
+        for (UseCase useCase : useCases) {
+            if (!viewTransform.isSubPixel(useCase.getWidth(), useCase.getHeight())
+                    && reach.intersects(UseCaseManager.getUseCaseBounds(useCase, textMetrics))) {
+                drawElement(renderer, useCase);
+            }
+        }
+        for (Association association : associations) {
+            if (reach.intersects(associationManager.getAssociationBounds(association.getActor(), association.getUseCase()))) {
+                associationManager.drawAssociationLine(association.getActor(), association.getUseCase(), renderer);
+            }
+        }
+        for (List<UseCaseToUseCaseRelation> relations : Arrays.asList(includeRelations, extendRelations)) {
+            for (UseCaseToUseCaseRelation relation : relations) {
+                if (reach.intersects(useCaseRelationManager.getUseCaseRelationBounds(
+                        relation.getUseCase1(), relation.getUseCase2(), relation.getRelationType(), textMetrics))) {
+                    useCaseRelationManager.drawUseCaseRelation(relation.getUseCase1(), relation.getUseCase2(),
+                            relation.getRelationType(), renderer);
+                }
+            }
+        }
+        gc.restore();
     }
 
     /**
@@ -732,25 +1119,25 @@ public class UseCaseDashboardController {
      * the properties of the provided UseCaseDiagram object.
      * </p>
      *
+     * @param renderer The renderer to draw with.
      * @param diagram The UseCaseDiagram object containing the diagram's properties (position, size, name) to be drawn.
      */
-    private void drawUseCaseDiagram(UseCaseDiagram diagram) {
-        GraphicsContext gc = drawingCanvas.getGraphicsContext2D();
-        gc.setFill(Color.WHITE); // Background color for the rectangle
-        gc.fillRect(diagram.getX(), diagram.getY(), diagram.getWidth(), diagram.getHeight());
+    private void drawUseCaseDiagram(Renderer renderer, UseCaseDiagram diagram) {
+        renderer.setFill(Color.WHITE); // Background color for the rectangle
+        renderer.fillRect(diagram.getX(), diagram.getY(), diagram.getWidth(), diagram.getHeight());
 
-        gc.setStroke(Color.BLACK);
-        gc.setLineWidth(2);
-        gc.strokeRect(diagram.getX(), diagram.getY(), diagram.getWidth(), diagram.getHeight());
+        renderer.setStroke(Color.BLACK);
+        renderer.setLineWidth(2);
+        renderer.strokeRect(diagram.getX(), diagram.getY(), diagram.getWidth(), diagram.getHeight());
 
         // Draw the name at the top center of the rectangle
-        gc.setFill(Color.BLACK);
-        gc.setTextAlign(TextAlignment.CENTER);
-        gc.setTextBaseline(VPos.TOP);
+        renderer.setFill(Color.BLACK);
+        renderer.setTextAlign(TextAlignment.CENTER);
+        renderer.setTextBaseline(VPos.TOP);
 
         double textX = diagram.getX() + diagram.getWidth() / 2; // Center horizontally within the diagram
         double textY = diagram.getY() + 10; // Slight offset from the top of the diagram
-        gc.fillText(diagram.getName(), textX, textY);
+        renderer.fillText(diagram.getName(), textX, textY);
     }
 
     /**
@@ -827,6 +1214,7 @@ public class UseCaseDashboardController {
                 showErrorMessage("An actor with this name already exists.");
             } else {
                 actorManager.updateActorName(actor, newName); // Delegating to ActorDAO
+                requestListViewUpdate();
                 redrawCanvas();
             }
         });
@@ -904,6 +1292,7 @@ public class UseCaseDashboardController {
             try {
                 // Update name via DAO
                 useCaseManager.editUseCaseName(useCase, newName);
+                requestListViewUpdate();
 
                 // Redraw canvas
                 redrawCanvas();
@@ -918,21 +1307,22 @@ public class UseCaseDashboardController {
      * <p>
      * This method checks the type of the provided element. If it is an instance of Actor, it delegates the drawing
      * to the ActorManager. If it is an instance of UseCase, it delegates the drawing to the UseCaseManager. If the element
-     * is of any other type, an exception is thrown.
+     * is of any other type, an exception is thrown. The picker is updated with the drawn position and size.
      * </p>
      *
+     * @param renderer The renderer to draw with.
      * @param element The element (either Actor or UseCase) to be drawn on the canvas.
      * @throws IllegalArgumentException if the element type is not supported.
      */
-    private void drawElement(Object element) {
-        GraphicsContext gc = drawingCanvas.getGraphicsContext2D();
-
+    private void drawElement(Renderer renderer, Object element) {
         if (element instanceof Actor) {
             Actor actor = (Actor) element;
-            actorManager.drawActor(gc, actor); // Delegate drawing to ActorDAO
+            actorManager.drawActor(renderer, actor); // Delegate drawing to ActorDAO
+            picker.update(actor);
         } else if (element instanceof UseCase) {
             UseCase useCase = (UseCase) element;
-            useCaseManager.drawUseCase(gc, useCase); // Delegate drawing to UseCaseDAO
+            useCaseManager.drawUseCase(renderer, useCase); // Delegate drawing to UseCaseDAO
+            picker.update(useCase); // Drawing may have resized the oval to fit the name
         } else {
             throw new IllegalArgumentException("Unsupported element type: " + element.getClass().getSimpleName());
         }
@@ -982,22 +1372,9 @@ public class UseCaseDashboardController {
     private void enableInteractivity() {
         // Mouse moved: Change cursor to move symbol when over a draggable element
         drawingCanvas.setOnMouseMoved(event -> {
-            boolean isHovering = false;
-
-            // Check if hovering over any actor
-            if (ActorManager.isHoveringOverActor(event.getX(), event.getY(), actors)) {
-                drawingCanvas.setCursor(Cursor.MOVE); // Change cursor to move symbol
-                isHovering = true;
-            }
-
-            // Check if hovering over any use case (if not hovering over an actor)
-            if (!isHovering && UseCaseManager.isHoveringOverUseCase(event.getX(), event.getY(), useCases)) {
+            if (picker.isOverElement(toModelX(event), toModelY(event))) {
                 drawingCanvas.setCursor(Cursor.MOVE); // Change cursor to move symbol
-                isHovering = true;
-            }
-
-            // Reset to default cursor if not hovering over any draggable element
-            if (!isHovering) {
+            } else {
                 drawingCanvas.setCursor(Cursor.DEFAULT);
             }
         });
@@ -1017,61 +1394,58 @@ public class UseCaseDashboardController {
         drawingCanvas.setOnMouseDragged(event -> {
             if (draggedElement != null) {
                 closeContextMenu();
+                markDirty(draggedElement);
                 if (draggedElement instanceof Actor) {
                     ActorManager.updateActorPosition(
                             (Actor) draggedElement,
-                            event.getX(),
-                            event.getY(),
+                            toModelX(event),
+                            toModelY(event),
                             dragOffsetX,
                             dragOffsetY,
-                            drawingCanvas.getWidth(),
-                            drawingCanvas.getHeight()
+                            viewTransform.getVisibleBounds(drawingCanvas.getWidth(), drawingCanvas.getHeight())
                     );
                 } else if (draggedElement instanceof UseCase) {
                     UseCaseManager.updateUseCasePosition(
                             (UseCase) draggedElement,
-                            event.getX(),
-                            event.getY(),
+                            toModelX(event),
+                            toModelY(event),
                             dragOffsetX,
                             dragOffsetY,
                             activeDiagram
                     );
                 }
-                redrawCanvas(); // Refresh the canvas after updating the position
+                picker.update(draggedElement);
+                markDirty(draggedElement);
+                requestDirtyRedraw(); // Repaint only what the move changed
             }
         });
 
         // Mouse released: Stop dragging
         drawingCanvas.setOnMouseReleased(event -> {
             draggedElement = null;
+            collectDraggedConnections(null);
         });
     }
 
     /**
      * Handles the right-click event on the canvas to show the appropriate context menu.
      * <p>
-     * This method checks if the user right-clicked on an actor or use case. If an actor is clicked, it shows an actor-specific
-     * context menu. If a use case is clicked, it shows a use case-specific context menu.
+     * This method asks the picker for the actor or use case drawn on top at the click position. If an actor is clicked,
+     * it shows an actor-specific context menu. If a use case is clicked, it shows a use case-specific context menu.
      * </p>
      *
      * @param event The MouseEvent that triggered the right-click action.
      */
     private void handleRightClick(MouseEvent event) {
-        double clickX = event.getX();
-        double clickY = event.getY();
+        double clickX = toModelX(event);
+        double clickY = toModelY(event);
 
-        // Check if an actor was clicked
-        Actor clickedActor = actorManager.findActorByPosition(clickX, clickY);
-        if (clickedActor != null) {
-            showContextMenu(clickedActor, event.getScreenX(), event.getScreenY(), "actor");
+        Object clickedElement = picker.pick(clickX, clickY);
+        if (clickedElement instanceof Actor) {
+            showContextMenu(clickedElement, event.getScreenX(), event.getScreenY(), "actor");
             event.consume(); // Prevent further processing
-            return;
-        }
-
-        // Use UseCaseDAO to check if a use case was clicked
-        UseCase clickedUseCase = useCaseManager.findClickedUseCase(clickX, clickY);
-        if (clickedUseCase != null) {
-            showContextMenu(clickedUseCase, event.getScreenX(), event.getScreenY(), "useCase");
+        } else if (clickedElement instanceof UseCase) {
+            showContextMenu(clickedElement, event.getScreenX(), event.getScreenY(), "useCase");
             event.consume(); // Prevent further processing
         }
     }
@@ -1079,8 +1453,9 @@ public class UseCaseDashboardController {
     /**
      * Handles the mouse press event on the canvas to detect which element is being clicked or dragged.
      * <p>
-     * This method checks if the mouse was pressed on an actor or use case. If so, it initializes the dragging process by
-     * calculating the offset between the mouse position and the element's position.
+     * This method asks the picker for the actor or use case drawn on top at the mouse position. If there is one, it initializes the dragging process by
+     * calculating the offset between the mouse position and the element's position, and collects the associations
+     * and relations attached to it for repainting during the drag.
      * </p>
      *
      * @param event The MouseEvent that triggered the mouse press action.
@@ -1090,20 +1465,15 @@ public class UseCaseDashboardController {
         dragOffsetX = 0;
         dragOffsetY = 0;
 
-        // Check if an actor is clicked
-        draggedElement = ActorManager.getClickedActor(event.getX(), event.getY(), actors);
-        if (draggedElement != null) {
-            dragOffsetX = event.getX() - ((Actor) draggedElement).getX();
-            dragOffsetY = event.getY() - ((Actor) draggedElement).getY();
-            return;
-        }
-
-        // Check if a use case is clicked
-        draggedElement = UseCaseManager.getClickedUseCase(event.getX(), event.getY(), useCases);
-        if (draggedElement != null) {
-            dragOffsetX = event.getX() - ((UseCase) draggedElement).getX();
-            dragOffsetY = event.getY() - ((UseCase) draggedElement).getY();
+        draggedElement = picker.pick(toModelX(event), toModelY(event));
+        if (draggedElement instanceof Actor) {
+            dragOffsetX = toModelX(event) - ((Actor) draggedElement).getX();
+            dragOffsetY = toModelY(event) - ((Actor) draggedElement).getY();
+        } else if (draggedElement instanceof UseCase) {
+            dragOffsetX = toModelX(event) - ((UseCase) draggedElement).getX();
+            dragOffsetY = toModelY(event) - ((UseCase) draggedElement).getY();
         }
+        collectDraggedConnections(draggedElement);
     }
 
     /**
@@ -1311,19 +1681,12 @@ public class UseCaseDashboardController {
             String selectedActorName = actorComboBox.getValue();
             String selectedUseCaseName = useCaseComboBox.getValue();
             if (selectedActorName != null && selectedUseCaseName != null) {
-                Actor selectedActor = actors.stream()
-                        .filter(actor -> actor.getName().equals(selectedActorName))
-                        .findFirst()
-                        .orElse(null);
+                Actor selectedActor = findActorByName(selectedActorName);
 
-                UseCase selectedUseCase = useCases.stream()
-                        .filter(useCase -> useCase.getName().equals(selectedUseCaseName))
-                        .findFirst()
-                        .orElse(null);
+                UseCase selectedUseCase = findUseCaseByName(selectedUseCaseName);
 
                 if (selectedActor != null && selectedUseCase != null) {
                     if (associationManager.createAssociation(selectedUseCase, selectedActor, associations)) {
-                        associationManager.drawAssociationLine(selectedActor, selectedUseCase, drawingCanvas);
                         redrawCanvas();
                     } else {
                         showAlert("Association Exists", "This actor is already associated with the selected use case.");
@@ -1459,15 +1822,9 @@ public class UseCaseDashboardController {
             String selectedUseCaseName2 = useCaseComboBox2.getValue();
 
             // Map the selected names back to UseCase objects
-            UseCase selectedUseCase1 = useCases.stream()
-                    .filter(useCase -> useCase.getName().equals(selectedUseCaseName1))
-                    .findFirst()
-                    .orElse(null);
+            UseCase selectedUseCase1 = findUseCaseByName(selectedUseCaseName1);
 
-            UseCase selectedUseCase2 = useCases.stream()
-                    .filter(useCase -> useCase.getName().equals(selectedUseCaseName2))
-                    .findFirst()
-                    .orElse(null);
+            UseCase selectedUseCase2 = findUseCaseByName(selectedUseCaseName2);
 
             // Ensure both values are selected
             if (selectedUseCase1 != null && selectedUseCase2 != null) {
@@ -1516,15 +1873,9 @@ public class UseCaseDashboardController {
                 showAlert("Error", "A use case cannot have a relation with itself.");
                 confirmButton.setDisable(true);
             } else {
-                UseCase useCase1 = useCases.stream()
-                        .filter(uc -> uc.getName().equals(useCaseName1))
-                        .findFirst()
-                        .orElse(null);
+                UseCase useCase1 = findUseCaseByName(useCaseName1);
 
-                UseCase useCase2 = useCases.stream()
-                        .filter(uc -> uc.getName().equals(useCaseName2))
-                        .findFirst()
-                        .orElse(null);
+                UseCase useCase2 = findUseCaseByName(useCaseName2);
 
                 if (relationType.equals("include")) {
                     if (useCaseRelationManager.hasExtendRelation(useCase1, useCase2)) {
@@ -1774,33 +2125,23 @@ public class UseCaseDashboardController {
     }
 
     /**
-     * Finds an actor by name from the list of actors.
+     * Finds an actor by name in the name index of the actors.
      *
      * @param name The name of the actor to find.
      * @return The actor object if found, otherwise null.
      */
     private Actor findActorByName(String name) {
-        for (Actor actor : actors) {
-            if (actor.getName().equals(name)) {
-                return actor;
-            }
-        }
-        return null;
+        return actorNames.find(name);
     }
 
     /**
-     * Finds a use case by name from the list of use cases.
+     * Finds a use case by name in the name index of the use cases.
      *
      * @param name The name of the use case to find.
      * @return The use case object if found, otherwise null.
      */
     private UseCase findUseCaseByName(String name) {
-        for (UseCase useCase : useCases) {
-            if (useCase.getName().equals(name)) {
-                return useCase;
-            }
-        }
-        return null;
+        return useCaseNames.find(name);
     }
 
     /**
@@ -1919,8 +2260,11 @@ public class UseCaseDashboardController {
      */
     @FXML
     public void handleExportDiagram() {
+        renderScheduler.flush(); // Apply any pending update before capturing the canvas
+        paintCanvas(new ViewTransform()); // Capture the diagram at its natural size, whatever the current zoom
         WritableImage fullSnapshot = new WritableImage((int) drawingCanvas.getWidth(), (int) drawingCanvas.getHeight());
         drawingCanvas.snapshot(null, fullSnapshot);
+        renderScheduler.request(paintTask);
         // Crop the snapshot to fit only the relevant content
         WritableImage croppedSnapshot = cropCanvasSnapshot(fullSnapshot);
         // Open a file chooser to save the cropped image
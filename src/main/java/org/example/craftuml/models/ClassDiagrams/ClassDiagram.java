@@ -9,6 +9,7 @@ import org.example.craftuml.models.DiagramComponent;
 import org.example.craftuml.models.Relationship;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -69,9 +70,16 @@ public class ClassDiagram implements DiagramComponent {
     private Rectangle diagramRectangle;
 
     /**
-     * A list of relationships associated with the class diagram.
+     * The relationships that start at this class diagram. The list is kept up to date by the relationships
+     * themselves while they are part of a diagram model.
      */
-    private List<Relationship> relationships = new ArrayList<>();
+    private final List<Relationship> outgoingRelationships = new ArrayList<>();
+
+    /**
+     * The relationships that end at this class diagram. The list is kept up to date by the relationships
+     * themselves while they are part of a diagram model.
+     */
+    private final List<Relationship> incomingRelationships = new ArrayList<>();
 
     /**
      * A property holding the name of the interface. This property can be observed for changes
@@ -79,6 +87,11 @@ public class ClassDiagram implements DiagramComponent {
      */
     private final StringProperty name = new SimpleStringProperty();
 
+    /**
+     * A counter incremented whenever the name, attributes or methods change, so that cached
+     * layouts of the diagram can tell whether they are still valid. Moving the diagram does not change it.
+     */
+    private long contentVersion = 0;
 
     /**
      * Constructor to initialize a class diagram with the specified name, x and y position.
@@ -88,6 +101,7 @@ public class ClassDiagram implements DiagramComponent {
      * @param y The y-coordinate for the class diagram's position on the canvas.
      */
     public ClassDiagram(String name, double x, double y) {
+        this.name.addListener((obs, oldName, newName) -> contentVersion++);
         setName(name);
         this.x = x;
         this.y = y;
@@ -100,6 +114,7 @@ public class ClassDiagram implements DiagramComponent {
      */
     public ClassDiagram()
     {
+        this.name.addListener((obs, oldName, newName) -> contentVersion++);
         this.attributes = new ArrayList<>();
         this.methods = new ArrayList<>();
     }
@@ -166,6 +181,7 @@ public class ClassDiagram implements DiagramComponent {
             throw new IllegalArgumentException("Attributes list cannot be null.");
         }
         this.attributes = new ArrayList<>(attributes);
+        contentVersion++;
     }
 
     /**
@@ -179,6 +195,7 @@ public class ClassDiagram implements DiagramComponent {
             throw new IllegalArgumentException("Methods list cannot be null.");
         }
         this.methods = new ArrayList<>(methods);
+        contentVersion++;
     }
 
     /**
@@ -188,6 +205,7 @@ public class ClassDiagram implements DiagramComponent {
      */
     public void addAttributes(AttributeData ad) {
         attributes.add(ad);
+        contentVersion++;
     }
 
     /**
@@ -197,6 +215,7 @@ public class ClassDiagram implements DiagramComponent {
      */
     public void addMethods(MethodData md) {
         methods.add(md);
+        contentVersion++;
     }
 
     /**
@@ -217,6 +236,16 @@ public class ClassDiagram implements DiagramComponent {
         return methods;
     }
 
+    /**
+     * Gets the version of the diagram's content. The version changes whenever the name,
+     * attributes or methods are replaced or extended through this class.
+     *
+     * @return The current content version.
+     */
+    public long getContentVersion() {
+        return contentVersion;
+    }
+
     /**
      * Gets the x-coordinate of the class diagram.
      *
@@ -304,4 +333,60 @@ public class ClassDiagram implements DiagramComponent {
     public double getHeight() {
         return this.height;
     }
+
+    /**
+     * Returns the relationships of the diagram model that start at this class diagram.
+     *
+     * @return A read-only view of the outgoing relationships, in the order they were attached.
+     */
+    public List<Relationship> getOutgoingRelationships() {
+        return Collections.unmodifiableList(outgoingRelationships);
+    }
+
+    /**
+     * Returns the relationships of the diagram model that end at this class diagram.
+     *
+     * @return A read-only view of the incoming relationships, in the order they were attached.
+     */
+    public List<Relationship> getIncomingRelationships() {
+        return Collections.unmodifiableList(incomingRelationships);
+    }
+
+    /**
+     * Records a relationship that starts at this class diagram. Called by the relationship when it is
+     * attached to a diagram model or its source changes.
+     *
+     * @param relationship The outgoing relationship.
+     */
+    public void addOutgoingRelationship(Relationship relationship) {
+        outgoingRelationships.add(relationship);
+    }
+
+    /**
+     * Forgets a relationship that no longer starts at this class diagram.
+     *
+     * @param relationship The outgoing relationship.
+     */
+    public void removeOutgoingRelationship(Relationship relationship) {
+        outgoingRelationships.remove(relationship);
+    }
+
+    /**
+     * Records a relationship that ends at this class diagram. Called by the relationship when it is
+     * attached to a diagram model or its target changes.
+     *
+     * @param relationship The incoming relationship.
+     */
+    public void addIncomingRelationship(Relationship relationship) {
+        incomingRelationships.add(relationship);
+    }
+
+    /**
+     * Forgets a relationship that no longer ends at this class diagram.
+     *
+     * @param relationship The incoming relationship.
+     */
+    public void removeIncomingRelationship(Relationship relationship) {
+        incomingRelationships.remove(relationship);
+    }
 }
@@ -6,8 +6,10 @@ import javafx.beans.property.StringProperty;
 import javafx.scene.text.Font;
 import javafx.scene.text.Text;
 import org.example.craftuml.models.DiagramComponent;
+import org.example.craftuml.models.Relationship;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -64,12 +66,24 @@ public class InterfaceData implements DiagramComponent {
      */
     private final StringProperty name = new SimpleStringProperty();
 
+    /**
+     * The realizations of this interface. The list is kept up to date by the relationships
+     * themselves while they are part of a diagram model.
+     */
+    private final List<Relationship> incomingRelationships = new ArrayList<>();
+
+    /**
+     * A counter incremented whenever the name or methods change, so that cached layouts of the
+     * diagram can tell whether they are still valid. Moving the diagram does not change it.
+     */
+    private long contentVersion = 0;
     /**
      * Default constructor to initialize an empty InterfaceData object with an empty list of methods.
      * The name property is not initialized here, and must be set separately.
      */
     public InterfaceData()
     {
+        this.name.addListener((obs, oldName, newName) -> contentVersion++);
         this.methods = new ArrayList<>();
     }
 
@@ -154,6 +168,27 @@ public class InterfaceData implements DiagramComponent {
      */
     public void setMethods(List<MethodData> methods) {
         this.methods = methods;
+        contentVersion++;
+    }
+
+    /**
+     * Adds a method to the interface's list of methods.
+     *
+     * @param md The MethodData to add to the interface.
+     */
+    public void addMethods(MethodData md) {
+        methods.add(md);
+        contentVersion++;
+    }
+
+    /**
+     * Gets the version of the interface's content. The version changes whenever the name
+     * or methods are replaced or extended through this class.
+     *
+     * @return The current content version.
+     */
+    public long getContentVersion() {
+        return contentVersion;
     }
 
     /**
@@ -210,4 +245,31 @@ public class InterfaceData implements DiagramComponent {
         return this.height;
     }
 
-}
\ No newline at end of file
+    /**
+     * Returns the relationships of the diagram model that end at this interface.
+     *
+     * @return A read-only view of the incoming relationships, in the order they were attached.
+     */
+    public List<Relationship> getIncomingRelationships() {
+        return Collections.unmodifiableList(incomingRelationships);
+    }
+
+    /**
+     * Records a relationship that ends at this interface. Called by the relationship when it is
+     * attached to a diagram model or its target changes.
+     *
+     * @param relationship The incoming relationship.
+     */
+    public void addIncomingRelationship(Relationship relationship) {
+        incomingRelationships.add(relationship);
+    }
+
+    /**
+     * Forgets a relationship that no longer ends at this interface.
+     *
+     * @param relationship The incoming relationship.
+     */
+    public void removeIncomingRelationship(Relationship relationship) {
+        incomingRelationships.remove(relationship);
+    }
+}
@@ -0,0 +1,461 @@
+package org.example.craftuml.models;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.example.craftuml.Business.NameIndex;
+import org.example.craftuml.models.ClassDiagrams.ClassDiagram;
+import org.example.craftuml.models.ClassDiagrams.InterfaceData;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Holds the elements of a class diagram: its class diagrams, interfaces and relationships.
+ * <p>
+ * Every element gets an id when it is added, which stays the same until the element is removed and is never
+ * given to another element. Elements are indexed by id and relationships by their kind, so looking up an
+ * element, finding the kind of a relationship or removing it are single map operations instead of a search
+ * through every relationship list. Class diagrams and interfaces are also indexed by name, so references
+ * in dialogs and loaded files are resolved without a scan.
+ * </p>
+ * <p>
+ * While a relationship is in the model it is listed in the outgoing relationships of its source class and
+ * the incoming relationships of its target, and moves along when its ends change. Deleting a box, finding
+ * the relationships attached to it or finding a relationship between two boxes therefore only visits the
+ * relationships of that box.
+ * </p>
+ * <p>
+ * The class diagrams and interfaces are exposed as observable lists that may be changed directly; the model
+ * follows those changes. Relationships are kept in one observable list per kind, in the order in which they
+ * were added. Those lists are read-only and change through {@link #addRelationship} and
+ * {@link #removeRelationship}, so that every relationship ends up in the list of its kind.
+ * </p>
+ */
+public class DiagramModel {
+    /**
+     * The class diagrams of the diagram.
+     */
+    private final ObservableList<ClassDiagram> classDiagrams = FXCollections.observableArrayList();
+
+    /**
+     * The interfaces of the diagram.
+     */
+    private final ObservableList<InterfaceData> interfaceDiagrams = FXCollections.observableArrayList();
+
+    /**
+     * The class diagrams indexed by name, following renames.
+     */
+    private final NameIndex<ClassDiagram> classDiagramNames = new NameIndex<>(classDiagrams, ClassDiagram::nameProperty);
+
+    /**
+     * The interfaces indexed by name, following renames.
+     */
+    private final NameIndex<InterfaceData> interfaceDiagramNames = new NameIndex<>(interfaceDiagrams, InterfaceData::nameProperty);
+
+    /**
+     * The relationships of the diagram, one modifiable list per kind.
+     */
+    private final Map<RelationshipKind, ObservableList<Relationship>> relationships = new EnumMap<>(RelationshipKind.class);
+
+    /**
+     * Read-only views of the relationship lists, handed out to callers.
+     */
+    private final Map<RelationshipKind, ObservableList<Relationship>> relationshipViews = new EnumMap<>(RelationshipKind.class);
+
+    /**
+     * The kind of every relationship in the model, as it was when the relationship was added or last updated.
+     */
+    private final Map<Relationship, RelationshipKind> kinds = new IdentityHashMap<>();
+
+    /**
+     * Every element of the model, keyed by its id.
+     */
+    private final Map<Long, Object> elementsById = new HashMap<>();
+
+    /**
+     * The id of every element of the model. Elements are compared by identity.
+     */
+    private final Map<Object, Long> ids = new IdentityHashMap<>();
+
+    /**
+     * A read-only view of all relationships, kind by kind in drawing order.
+     */
+    private final List<Relationship> allRelationships = new AbstractList<>() {
+        @Override
+        public Relationship get(int index) {
+            if (index >= 0) {
+                for (ObservableList<Relationship> list : relationships.values()) {
+                    if (index < list.size()) {
+                        return list.get(index);
+                    }
+                    index -= list.size();
+                }
+            }
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (ObservableList<Relationship> list : relationships.values()) {
+                size += list.size();
+            }
+            return size;
+        }
+    };
+
+    /**
+     * The id given to the next added element.
+     */
+    private long nextId = 1;
+
+    /**
+     * Creates an empty model.
+     */
+    public DiagramModel() {
+        ListChangeListener<Object> idListener = change -> {
+            while (change.next()) {
+                change.getRemoved().forEach(this::forgetId);
+                change.getAddedSubList().forEach(this::assignId);
+            }
+        };
+        classDiagrams.addListener(idListener);
+        interfaceDiagrams.addListener(idListener);
+        for (RelationshipKind kind : RelationshipKind.values()) {
+            ObservableList<Relationship> list = FXCollections.observableArrayList();
+            relationships.put(kind, list);
+            relationshipViews.put(kind, FXCollections.unmodifiableObservableList(list));
+        }
+    }
+
+    /**
+     * Returns the class diagrams. The list may be changed directly.
+     *
+     * @return The observable list of class diagrams.
+     */
+    public ObservableList<ClassDiagram> getClassDiagrams() {
+        return classDiagrams;
+    }
+
+    /**
+     * Returns the interfaces. The list may be changed directly.
+     *
+     * @return The observable list of interfaces.
+     */
+    public ObservableList<InterfaceData> getInterfaceDiagrams() {
+        return interfaceDiagrams;
+    }
+
+    /**
+     * Finds a class diagram by name.
+     *
+     * @param name The name of the class diagram.
+     * @return The first added class diagram with that name, or {@code null} if there is none.
+     */
+    public ClassDiagram findClassDiagram(String name) {
+        return classDiagramNames.find(name);
+    }
+
+    /**
+     * Finds an interface by name.
+     *
+     * @param name The name of the interface.
+     * @return The first added interface with that name, or {@code null} if there is none.
+     */
+    public InterfaceData findInterfaceDiagram(String name) {
+        return interfaceDiagramNames.find(name);
+    }
+
+    /**
+     * Returns the relationships of one kind.
+     *
+     * @param kind The kind of relationships.
+     * @return A read-only observable list of the relationships of that kind, in the order they were added.
+     * @throws IllegalArgumentException if the kind is null.
+     */
+    public ObservableList<Relationship> getRelationships(RelationshipKind kind) {
+        if (kind == null) {
+            throw new IllegalArgumentException("Relationship kind cannot be null.");
+        }
+        return relationshipViews.get(kind);
+    }
+
+    /**
+     * Returns every relationship, kind by kind in the order of {@link RelationshipKind}.
+     * The list is a live read-only view, not a copy.
+     *
+     * @return A read-only view of all relationships.
+     */
+    public List<Relationship> getRelationships() {
+        return allRelationships;
+    }
+
+    /**
+     * Adds a relationship to the list of the kind named by its type.
+     * Adding a relationship that is already in the model does nothing.
+     *
+     * @param relationship The relationship to add.
+     * @return The id of the relationship.
+     * @throws IllegalArgumentException if the relationship is null or its type is not a known relationship type.
+     */
+    public long addRelationship(Relationship relationship) {
+        if (relationship == null) {
+            throw new IllegalArgumentException("Relationship cannot be null.");
+        }
+        if (!kinds.containsKey(relationship)) {
+            RelationshipKind kind = RelationshipKind.fromType(relationship.getType());
+            kinds.put(relationship, kind);
+            assignId(relationship);
+            relationships.get(kind).add(relationship);
+            relationship.link();
+        }
+        return ids.get(relationship);
+    }
+
+    /**
+     * Removes a relationship from the model. Relationships that are not in the model are ignored.
+     *
+     * @param relationship The relationship to remove.
+     * @return true if the relationship was removed, false if it was not in the model.
+     */
+    public boolean removeRelationship(Relationship relationship) {
+        RelationshipKind kind = kinds.remove(relationship);
+        if (kind == null) {
+            return false;
+        }
+        forgetId(relationship);
+        relationships.get(kind).remove(relationship);
+        relationship.unlink();
+        return true;
+    }
+
+    /**
+     * Removes every relationship accepted by a filter.
+     *
+     * @param filter Accepts the relationships to remove.
+     * @return true if any relationship was removed, false otherwise.
+     * @throws IllegalArgumentException if the filter is null.
+     */
+    public boolean removeRelationshipsIf(Predicate<? super Relationship> filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Filter cannot be null.");
+        }
+        boolean removed = false;
+        for (ObservableList<Relationship> list : relationships.values()) {
+            removed |= list.removeIf(relationship -> {
+                if (!filter.test(relationship)) {
+                    return false;
+                }
+                kinds.remove(relationship);
+                forgetId(relationship);
+                relationship.unlink();
+                return true;
+            });
+        }
+        return removed;
+    }
+
+    /**
+     * Removes every relationship that starts or ends at an element. Only the relationships of the element
+     * are visited, not every relationship in the model.
+     *
+     * @param element A class diagram or interface.
+     * @return true if any relationship was removed, false otherwise.
+     */
+    public boolean removeRelationshipsOf(Object element) {
+        boolean removed = false;
+        for (Relationship relationship : new ArrayList<>(getIncidentRelationships(element))) {
+            removed |= removeRelationship(relationship);
+        }
+        return removed;
+    }
+
+    /**
+     * Moves a relationship to the list of the kind named by its current type. This has to be called
+     * after the type of a relationship in the model was changed with {@link Relationship#setType}.
+     *
+     * @param relationship The relationship whose type changed.
+     * @throws IllegalArgumentException if the relationship is not in the model or its type is not a known relationship type.
+     */
+    public void updateRelationship(Relationship relationship) {
+        RelationshipKind oldKind = kinds.get(relationship);
+        if (oldKind == null) {
+            throw new IllegalArgumentException("Relationship is not part of the diagram.");
+        }
+        RelationshipKind newKind = RelationshipKind.fromType(relationship.getType());
+        if (newKind != oldKind) {
+            relationships.get(oldKind).remove(relationship);
+            kinds.put(relationship, newKind);
+            relationships.get(newKind).add(relationship);
+        }
+    }
+
+    /**
+     * Returns the kind of a relationship in the model.
+     *
+     * @param relationship The relationship.
+     * @return The kind of the relationship, or {@code null} if it is not in the model.
+     */
+    public RelationshipKind getKind(Relationship relationship) {
+        return kinds.get(relationship);
+    }
+
+    /**
+     * Finds a relationship of one of the given kinds between two elements, in either direction.
+     * Only the relationships of the first element are visited. If several relationships match,
+     * the one of the kind that comes first in {@link RelationshipKind} is returned.
+     *
+     * @param first One end of the relationship.
+     * @param second The other end of the relationship.
+     * @param kindsToSearch The kinds of relationships to consider.
+     * @return The first matching relationship, or {@code null} if there is none.
+     */
+    public Relationship findRelationship(Object first, Object second, Set<RelationshipKind> kindsToSearch) {
+        Relationship found = null;
+        RelationshipKind foundKind = null;
+        for (Relationship relationship : getIncidentRelationships(first)) {
+            RelationshipKind kind = kinds.get(relationship);
+            if (kindsToSearch.contains(kind) && (foundKind == null || kind.compareTo(foundKind) < 0)
+                    && ((isSource(relationship, first) && isTarget(relationship, second))
+                    || (isSource(relationship, second) && isTarget(relationship, first)))) {
+                found = relationship;
+                foundKind = kind;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns the relationships that start or end at an element, read from the adjacency lists of the element
+     * instead of a search through every relationship. A relationship from a class to itself is listed once.
+     *
+     * @param element A class diagram or interface.
+     * @return The relationships of the element, outgoing ones first; an empty list for any other element.
+     */
+    public List<Relationship> getIncidentRelationships(Object element) {
+        if (element instanceof ClassDiagram classDiagram) {
+            List<Relationship> outgoing = classDiagram.getOutgoingRelationships();
+            List<Relationship> incoming = classDiagram.getIncomingRelationships();
+            if (incoming.isEmpty()) {
+                return outgoing;
+            }
+            if (outgoing.isEmpty()) {
+                return incoming;
+            }
+            List<Relationship> incident = new ArrayList<>(outgoing.size() + incoming.size());
+            incident.addAll(outgoing);
+            for (Relationship relationship : incoming) {
+                if (relationship.getSourceClass() != classDiagram) {
+                    incident.add(relationship);
+                }
+            }
+            return incident;
+        }
+        if (element instanceof InterfaceData interfaceData) {
+            return interfaceData.getIncomingRelationships();
+        }
+        return List.of();
+    }
+
+    /**
+     * Returns the id of an element.
+     *
+     * @param element A class diagram, interface or relationship.
+     * @return The id of the element, or -1 if it is not in the model.
+     */
+    public long getId(Object element) {
+        Long id = ids.get(element);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Returns the element with an id.
+     *
+     * @param id The id of the element.
+     * @return The class diagram, interface or relationship with that id, or {@code null} if there is none.
+     */
+    public Object getElement(long id) {
+        return elementsById.get(id);
+    }
+
+    /**
+     * Checks whether an element is part of the model.
+     *
+     * @param element A class diagram, interface or relationship.
+     * @return true if the element is in the model, false otherwise.
+     */
+    public boolean contains(Object element) {
+        return ids.containsKey(element);
+    }
+
+    /**
+     * Removes every class diagram, interface and relationship. Ids that were given out are not reused.
+     */
+    public void clear() {
+        classDiagrams.clear();
+        interfaceDiagrams.clear();
+        kinds.keySet().forEach(relationship -> {
+            forgetId(relationship);
+            relationship.unlink();
+        });
+        kinds.clear();
+        for (ObservableList<Relationship> list : relationships.values()) {
+            list.clear();
+        }
+    }
+
+    /**
+     * Checks whether an element is the source of a relationship.
+     *
+     * @param relationship The relationship.
+     * @param element The element.
+     * @return true if the element is the source class, false otherwise.
+     */
+    private static boolean isSource(Relationship relationship, Object element) {
+        return relationship.getSourceClass() == element;
+    }
+
+    /**
+     * Checks whether an element is the target of a relationship.
+     *
+     * @param relationship The relationship.
+     * @param element The element.
+     * @return true if the element is the target class or interface, false otherwise.
+     */
+    private static boolean isTarget(Relationship relationship, Object element) {
+        return element != null && (relationship.getTargetClass() == element || relationship.getTargetInterface() == element);
+    }
+
+    /**
+     * Gives an element that was added to the model a new id.
+     *
+     * @param element The added element.
+     */
+    private void assignId(Object element) {
+        if (!ids.containsKey(element)) {
+            long id = nextId++;
+            ids.put(element, id);
+            elementsById.put(id, element);
+        }
+    }
+
+    /**
+     * Drops the id of an element that was removed from the model.
+     *
+     * @param element The removed element.
+     */
+    private void forgetId(Object element) {
+        Long id = ids.remove(element);
+        if (id != null) {
+            elementsById.remove(id);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package org.example.craftuml.models;
+
+import javafx.scene.shape.Rectangle;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds one obstacle rectangle per diagram element that relationship lines should avoid.
+ * Rectangles are keyed by the identity of the element that owns them, so moving or resizing
+ * an element updates its existing rectangle in place instead of adding a new one.
+ */
+public class ObstacleIndex {
+    /**
+     * The obstacle rectangles, keyed by the element that owns them.
+     */
+    private final Map<Object, Rectangle> obstacles = new IdentityHashMap<>();
+
+    /**
+     * Creates an index pre-filled with the given rectangles, each acting as its own owner.
+     * This keeps callers that still work with plain rectangle lists compatible with the index.
+     *
+     * @param rectangles The rectangles to add; may be {@code null}.
+     * @return A new index containing the given rectangles.
+     */
+    public static ObstacleIndex of(List<Rectangle> rectangles) {
+        ObstacleIndex index = new ObstacleIndex();
+        if (rectangles != null) {
+            for (Rectangle rectangle : rectangles) {
+                index.obstacles.put(rectangle, rectangle);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Sets the obstacle bounds of the given element, creating its rectangle on first use
+     * and updating it in place afterwards.
+     *
+     * @param owner The element that owns the obstacle.
+     * @param x The x-coordinate of the top-left corner.
+     * @param y The y-coordinate of the top-left corner.
+     * @param width The width of the obstacle.
+     * @param height The height of the obstacle.
+     * @throws IllegalArgumentException if the owner is null.
+     */
+    public void update(Object owner, double x, double y, double width, double height) {
+        if (owner == null) {
+            throw new IllegalArgumentException("Obstacle owner cannot be null.");
+        }
+        Rectangle rectangle = obstacles.get(owner);
+        if (rectangle == null) {
+            obstacles.put(owner, new Rectangle(x, y, width, height));
+        } else {
+            rectangle.setX(x);
+            rectangle.setY(y);
+            rectangle.setWidth(width);
+            rectangle.setHeight(height);
+        }
+    }
+
+    /**
+     * Removes the obstacle owned by the given element.
+     *
+     * @param owner The element whose obstacle is removed.
+     */
+    public void remove(Object owner) {
+        obstacles.remove(owner);
+    }
+
+    /**
+     * Returns the obstacle owned by the given element.
+     *
+     * @param owner The element that owns the obstacle.
+     * @return The obstacle rectangle, or {@code null} if the element has none.
+     */
+    public Rectangle get(Object owner) {
+        return obstacles.get(owner);
+    }
+
+    /**
+     * Returns a read-only view of every obstacle in the index.
+     *
+     * @return The obstacles currently in the index.
+     */
+    public Collection<Rectangle> getObstacles() {
+        return Collections.unmodifiableCollection(obstacles.values());
+    }
+
+    /**
+     * Returns the number of obstacles in the index.
+     *
+     * @return The number of obstacles.
+     */
+    public int size() {
+        return obstacles.size();
+    }
+
+    /**
+     * Removes every obstacle from the index.
+     */
+    public void clear() {
+        obstacles.clear();
+    }
+}
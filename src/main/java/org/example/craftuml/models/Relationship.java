@@ -5,6 +5,8 @@ import javafx.beans.property.StringProperty;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
+import org.example.craftuml.Business.FxRenderer;
+import org.example.craftuml.Business.Renderer;
 import org.example.craftuml.models.ClassDiagrams.ClassDiagram;
 import org.example.craftuml.models.ClassDiagrams.InterfaceData;
 
@@ -71,23 +73,100 @@ public class Relationship {
     private static final double OFFSET = 50.0;
 
     /**
-     * A list of obstacles that may interfere with drawing the relationship on the canvas.
-     * Obstacles are typically represented as rectangles that need to be considered when placing or drawing the relationship.
+     * The index of obstacles that may interfere with drawing the relationship on the canvas.
+     * Obstacles are rectangles owned by diagram elements; the index is shared with the canvas
+     * and updated in place when those elements move or resize.
      */
-    private List<Rectangle> obstacles = new ArrayList<>();
+    private ObstacleIndex obstacles = new ObstacleIndex();
 
     /**
      * The starting x and y coordinates of the relationship on the canvas.
-     * These represent the initial position of the line or arrow that connects the source and target classes.
+     * These represent the initial position of the line or arrow that connects the source and target classes,
+     * and are part of the cached geometry.
      */
     double startX, startY;
 
     /**
      * The ending x and y coordinates of the relationship on the canvas.
-     * These represent the final position of the line or arrow connecting the source and target classes.
+     * These represent the final position of the line or arrow connecting the source and target classes,
+     * and are part of the cached geometry.
      */
     double endX, endY;
 
+    /**
+     * The horizontal and vertical offsets of the four corners of a box, as fractions of its width and height,
+     * in the order top-left, top-right, bottom-left, bottom-right.
+     */
+    private static final double[] CORNER_X = {0, 1, 0, 1};
+    private static final double[] CORNER_Y = {0, 0, 1, 1};
+
+    /**
+     * The distance between a multiplicity label and the border of its box.
+     */
+    private static final double LABEL_OFFSET = 15;
+
+    /**
+     * The position and size of the source and target boxes the cached geometry was computed for,
+     * in the order source x, y, width, height, target x, y, width, height.
+     */
+    private final double[] geometryKey = new double[8];
+
+    /**
+     * Whether the cached geometry has been computed for the current ends and type.
+     * The geometry is also recomputed whenever one of the boxes moves or resizes.
+     */
+    private boolean geometryValid;
+
+    /**
+     * Whether the relationship is part of a {@link DiagramModel} and listed in the adjacency lists of its ends.
+     */
+    private boolean linked;
+
+    /**
+     * The relationship type the cached geometry was computed for.
+     */
+    private String geometryType;
+
+    /**
+     * Whether the relationship is drawn as a loop on the side of a single class.
+     */
+    private boolean selfAssociation;
+
+    /**
+     * The outer corner of the loop of a self-association.
+     */
+    private double loopX, loopY;
+
+    /**
+     * The cosine and sine of the direction from the start to the end of the line.
+     */
+    private double directionX, directionY;
+
+    /**
+     * The position of the relationship name.
+     */
+    private double nameX, nameY;
+
+    /**
+     * The positions of the source and target multiplicity labels.
+     */
+    private double sourceLabelX, sourceLabelY, targetLabelX, targetLabelY;
+
+    /**
+     * The diamond drawn at the target of a composition or aggregation.
+     */
+    private final double[] diamondX = new double[4], diamondY = new double[4];
+
+    /**
+     * The empty arrowhead drawn at the target of a realization or generalization.
+     */
+    private final double[] arrowX = new double[3], arrowY = new double[3];
+    /**
+     * The largest number of points returned by {@link #getPath}: the start, the two corners of a
+     * self-association loop and the end.
+     */
+    public static final int MAX_PATH_POINTS = 4;
+
     /**
      * A property representing the name of the relationship.
      * This property allows for binding in a UI context (e.g., in JavaFX).
@@ -112,7 +191,30 @@ public class Relationship {
         this.type = type;
         this.sourceClassMultiplicity = sourceClassMultiplicity;
         this.targetClassMultiplicity = targetClassMultiplicity;
-        this.obstacles=obstacles;
+        this.obstacles = ObstacleIndex.of(obstacles);
+        this.relationName = relationName;
+        this.relationNameProperty.set(type);
+    }
+
+    /**
+     * Constructs a new Relationship between two classes that queries a shared obstacle index.
+     * This constructor is used for relationships between two classes, such as association, composition, or aggregation.
+     *
+     * @param sourceClass The source class in the relationship.
+     * @param targetClass The target class in the relationship.
+     * @param type The type of relationship (e.g., "association", "composition", "aggregation", etc.).
+     * @param sourceClassMultiplicity The multiplicity at the source class end (e.g., "1", "0..*", etc.).
+     * @param targetClassMultiplicity The multiplicity at the target class end (e.g., "1", "0..*", etc.).
+     * @param obstacles The obstacle index shared with the canvas; may be {@code null} for no obstacles.
+     * @param relationName The name of the relationship, which typically represents the role or nature of the relationship.
+     */
+    public Relationship(ClassDiagram sourceClass, ClassDiagram targetClass, String type, String sourceClassMultiplicity, String targetClassMultiplicity, ObstacleIndex obstacles, String relationName) {
+        this.sourceClass = sourceClass;
+        this.targetClass = targetClass;
+        this.type = type;
+        this.sourceClassMultiplicity = sourceClassMultiplicity;
+        this.targetClassMultiplicity = targetClassMultiplicity;
+        this.obstacles = obstacles != null ? obstacles : new ObstacleIndex();
         this.relationName = relationName;
         this.relationNameProperty.set(type);
     }
@@ -134,7 +236,28 @@ public class Relationship {
         this.type = type;
         this.sourceClassMultiplicity = sourceClassMultiplicity;
         this.targetClassMultiplicity = targetClassMultiplicity;
-        this.obstacles=obstacles;
+        this.obstacles = ObstacleIndex.of(obstacles);
+        this.relationNameProperty.set(type);
+    }
+
+    /**
+     * Constructs a new Relationship between a class and an interface that queries a shared obstacle index.
+     * This constructor is used for relationships where a class realizes an interface (e.g., realization).
+     *
+     * @param sourceClass The source class in the relationship.
+     * @param targetInterface The target interface in the relationship.
+     * @param type The type of relationship (e.g., "realization").
+     * @param sourceClassMultiplicity The multiplicity at the source class end (e.g., "1", "0..*", etc.).
+     * @param targetClassMultiplicity The multiplicity at the target interface end (e.g., "1", "0..*", etc.).
+     * @param obstacles The obstacle index shared with the canvas; may be {@code null} for no obstacles.
+     */
+    public Relationship(ClassDiagram sourceClass, InterfaceData targetInterface, String type, String sourceClassMultiplicity, String targetClassMultiplicity, ObstacleIndex obstacles) {
+        this.sourceClass = sourceClass;
+        this.targetInterface = targetInterface;
+        this.type = type;
+        this.sourceClassMultiplicity = sourceClassMultiplicity;
+        this.targetClassMultiplicity = targetClassMultiplicity;
+        this.obstacles = obstacles != null ? obstacles : new ObstacleIndex();
         this.relationNameProperty.set(type);
     }
 
@@ -174,43 +297,38 @@ public class Relationship {
      */
     public void draw(GraphicsContext gc)
     {
-        double x1 = sourceClass.getX();
-        double y1 = sourceClass.getY();
-        double x2 = targetClass.getX();
-        double y2 = targetClass.getY();
-
-
-        double sourceClassWidth = sourceClass.getWidth();
-        double sourceClassHeight = sourceClass.getHeight();
-        double targetClassWidth = targetClass.getWidth();
-        double targetClassHeight = targetClass.getHeight();
-
-        double[] adjustedSourceClass = calculateOrthogonalBorderIntersection(
-                x1, y1, sourceClassWidth, sourceClassHeight, x1, y1, x2, y2
-        );
-        double[] adjustedTargetClass = calculateOrthogonalBorderIntersection(
-                x2, y2, targetClassWidth, targetClassHeight, x2, y2, x1, y1
-        );
-
-        double adjX1 = adjustedSourceClass[0];
-        double adjY1 = adjustedSourceClass[1];
-        double adjX2 = adjustedTargetClass[0];
-        double adjY2 = adjustedTargetClass[1];
-
-
-        startX = adjX1;
-        startY = adjY1;
-        endX = adjX2;
-        endY = adjY2;
+        draw(gc, true);
+    }
 
-        double midX = adjX1;
-        double midY = adjY2;
+    /**
+     * Draws the relationship, optionally leaving out its name and multiplicity labels.
+     * Labels are skipped when the diagram is drawn at a low level of detail, where they would be unreadable.
+     * The line, the arrowhead and the label positions are read from the cached geometry.
+     *
+     * @param gc The {@link GraphicsContext} used to draw the relationship on the canvas.
+     * @param drawLabels Whether the relationship name and multiplicities are drawn.
+     */
+    public void draw(GraphicsContext gc, boolean drawLabels)
+    {
+        draw(new FxRenderer(gc), drawLabels);
+    }
 
-        gc.setLineWidth(2);
+    /**
+     * Draws the relationship with the given renderer, optionally leaving out its name and multiplicity labels.
+     *
+     * @param renderer The {@link Renderer} used to draw the relationship.
+     * @param drawLabels Whether the relationship name and multiplicities are drawn.
+     */
+    public void draw(Renderer renderer, boolean drawLabels)
+    {
+        if (!updateGeometry()) {
+            return;
+        }
 
+        renderer.setLineWidth(2);
 
-        if (type.equals("association") && sourceClass == targetClass) {
-            drawSelfAssociation(gc, x1, y1, sourceClassWidth, sourceClassHeight);
+        if (selfAssociation) {
+            drawSelfAssociation(renderer, drawLabels);
             return;
         }
 
@@ -224,30 +342,20 @@ public class Relationship {
               arrowLength = 0;
         }
 
-        double angle = Math.atan2(adjY2 - adjY1, adjX2 - adjX1);
-
-
-        double baseX = adjX2 - arrowLength * Math.cos(angle);
-        double baseY = adjY2 - arrowLength * Math.sin(angle);
-
-        gc.setStroke(Color.BLACK);
-
-        gc.strokeLine(adjX1, adjY1, baseX, baseY);
-
-        double mid2X = adjX1 + (adjX2 - adjX1) / 2;
-        double mid2Y = adjY1 + (adjY2 - adjY1) / 2;
-        gc.setFill(Color.BLACK);
-        gc.fillText(relationName, mid2X, mid2Y - 10);
+        renderer.setStroke(Color.BLACK);
 
-        drawMultiplicity(gc,
-                adjX1, adjY1, sourceClassMultiplicity,
-                adjX2, adjY2, targetClassMultiplicity,
-                x1, y1, x1 + sourceClassWidth, y1 + sourceClassHeight,
-                x2, y2, x2 + targetClassWidth, y2 + targetClassHeight);
+        renderer.strokeLine(startX, startY, endX - arrowLength * directionX, endY - arrowLength * directionY);
 
+        if (drawLabels) {
+            drawLabels(renderer);
+        }
 
-        if (type.equals("composition") || type.equals("aggregation")) {
-            drawDiamondArrowhead(gc, type, adjX1, adjY1, adjX2, adjY2);
+        if (type.equals("composition")) {
+            renderer.setFill(Color.BLACK);
+            renderer.fillPolygon(diamondX, diamondY, 4);
+        } else if (type.equals("aggregation")) {
+            renderer.setStroke(Color.BLACK);
+            renderer.strokePolygon(diamondX, diamondY, 4);
         }
     }
 
@@ -255,41 +363,37 @@ public class Relationship {
      * Draws the visual representation of a self-association for a class.
      * A self-association is represented by a loop at the edge of the class rectangle.
      *
-     * @param gc The {@link GraphicsContext} used to draw the self-association on the canvas.
-     * @param x The x-coordinate of the top-left corner of the class.
-     * @param y The y-coordinate of the top-left corner of the class.
-     * @param width The width of the class rectangle.
-     * @param height The height of the class rectangle.
+     * @param renderer The {@link Renderer} used to draw the self-association.
+     * @param drawLabels Whether the relationship name and multiplicities are drawn.
      */
-    private void drawSelfAssociation(GraphicsContext gc, double x, double y, double width, double height) {
-
-        double loopOffsetX = width / 2 ;
-        double loopOffsetY = height / 2; ;
-
-        double startX = x + width;
-        double startY = y + height / 2;
-        double cornerX = startX + loopOffsetX;
-        double cornerY = startY + loopOffsetY;
-        double endX = x + width;
-        double endY = cornerY;
-
-        gc.setStroke(Color.BLACK);
-        gc.strokeLine(startX, startY, cornerX, startY);
-        gc.strokeLine(cornerX, startY, cornerX, cornerY);
-        gc.strokeLine(cornerX, cornerY, endX, cornerY);
-
-        double midX = startX + (endX - startX) / 2;
-        double midY = startY + (cornerY - startY) / 2;
-        gc.setFill(Color.BLACK);
-        gc.fillText(relationName, midX, midY - 10);
-
-        drawMultiplicity(gc,
-                startX, startY, sourceClassMultiplicity,
-                endX, cornerY, targetClassMultiplicity,
-                x, y, x + width, y + height, // Source class bounds
-                x, y, x + width, y + height  // Target class bounds (same as source for self-association)
-        );
+    private void drawSelfAssociation(Renderer renderer, boolean drawLabels) {
+        renderer.setStroke(Color.BLACK);
+        renderer.strokeLine(startX, startY, loopX, startY);
+        renderer.strokeLine(loopX, startY, loopX, loopY);
+        renderer.strokeLine(loopX, loopY, endX, endY);
+
+        if (drawLabels) {
+            drawLabels(renderer);
+        }
+    }
 
+    /**
+     * Draws the relationship name and the multiplicities that are set at their cached positions.
+     *
+     * @param renderer The {@link Renderer} used to draw the labels.
+     */
+    public void drawLabels(Renderer renderer) {
+        if (!updateGeometry()) {
+            return;
+        }
+        renderer.setFill(Color.BLACK);
+        renderer.fillText(relationName, nameX, nameY);
+        if (sourceClassMultiplicity != null && !sourceClassMultiplicity.equals("0")) {
+            renderer.fillText(sourceClassMultiplicity, sourceLabelX, sourceLabelY);
+        }
+        if (targetClassMultiplicity != null && !targetClassMultiplicity.equals("0")) {
+            renderer.fillText(targetClassMultiplicity, targetLabelX, targetLabelY);
+        }
     }
 
     /**
@@ -300,108 +404,340 @@ public class Relationship {
      */
     public void drawRealization(GraphicsContext gc)
     {
-        double[] originalDashes = gc.getLineDashes();
+        drawRealization(new FxRenderer(gc));
+    }
 
-        double x1 = sourceClass.getX();
-        double y1 = sourceClass.getY();
-        double x2 = targetInterface.getX();
-        double y2 = targetInterface.getY();
+    /**
+     * Draws a realization relationship with the given renderer.
+     *
+     * @param renderer The {@link Renderer} used to draw the realization relationship.
+     */
+    public void drawRealization(Renderer renderer)
+    {
+        if (!updateGeometry()) {
+            return;
+        }
+        double[] originalDashes = renderer.getLineDashes();
 
-        double sourceClassWidth = sourceClass.getWidth();
-        double sourceClassHeight = sourceClass.getHeight();
-        double targetInterfaceWidth = targetInterface.getWidth();
-        double targetInterfaceHeight = targetInterface.getHeight();
+        renderer.setLineWidth(2);
+        renderer.setLineDashes(10, 5);
+        renderer.setStroke(Color.BLACK);
+        drawLineToArrowhead(renderer);
+
+        renderer.setLineDashes(originalDashes);
+        renderer.strokePolygon(arrowX, arrowY, 3);
+    }
 
-        double[] adjustedSourceClass = calculateOrthogonalBorderIntersection(
-                x1, y1, sourceClassWidth, sourceClassHeight, x1, y1, x2, y2
-        );
-        double[] adjustedTargetInterface = calculateOrthogonalBorderIntersection(
-                x2, y2, targetInterfaceWidth, targetInterfaceHeight, x2, y2, x1, y1
-        );
-        double adjX1 = adjustedSourceClass[0];
-        double adjY1 = adjustedSourceClass[1];
-        double adjX2 = adjustedTargetInterface[0];
-        double adjY2 = adjustedTargetInterface[1];
+    /**
+     * Draws a generalization relationship between the source class and target class (or interface).
+     * The relationship is represented by a line and an empty arrowhead pointing at the target.
+     *
+     * @param gc The {@link GraphicsContext} used to draw the generalization relationship on the canvas.
+     */
+    public void drawGeneralization(GraphicsContext gc)
+    {
+        drawGeneralization(new FxRenderer(gc));
+    }
 
-        startX = adjX1;
-        startY = adjY1;
-        endX = adjX2;
-        endY = adjY2;
+    /**
+     * Draws a generalization relationship with the given renderer.
+     *
+     * @param renderer The {@link Renderer} used to draw the generalization relationship.
+     */
+    public void drawGeneralization(Renderer renderer)
+    {
+        if (!updateGeometry()) {
+            return;
+        }
+        renderer.setLineWidth(2);
+        renderer.setStroke(Color.BLACK);
+        drawLineToArrowhead(renderer);
 
-        gc.setLineWidth(2);
+        // Draw the solid arrowhead
+        renderer.strokePolygon(arrowX, arrowY, 3);
+    }
 
+    /**
+     * Strokes the line from the start of the relationship to the base of the empty arrowhead.
+     *
+     * @param renderer The {@link Renderer} used to draw the line.
+     */
+    private void drawLineToArrowhead(Renderer renderer) {
+        double arrowLength = 15.0;
+        renderer.strokeLine(startX, startY, endX - arrowLength * directionX, endY - arrowLength * directionY);
+    }
 
-        gc.setLineDashes(10, 5);
+    /**
+     * Checks whether the relationship is drawn with a dashed line, which is the case for realizations.
+     *
+     * @return true if the line is dashed, false if it is solid.
+     */
+    public boolean isDashed() {
+        return "realization".equalsIgnoreCase(type);
+    }
 
-        gc.setStroke(Color.BLACK);
+    /**
+     * Checks whether the arrowhead of the relationship is filled, which is the case for the diamond of a composition.
+     * All other arrowheads are outlined.
+     *
+     * @return true if the arrowhead is filled, false otherwise.
+     */
+    public boolean hasFilledArrowhead() {
+        return "composition".equalsIgnoreCase(type);
+    }
 
-        double arrowLength = 15.0;
-        double angle = Math.atan2(adjY2 - adjY1, adjX2 - adjX1);
+    /**
+     * Checks whether the relationship shows its name and multiplicities. Realizations and generalizations do not.
+     *
+     * @return true if labels are drawn, false otherwise.
+     */
+    public boolean hasLabels() {
+        return !isDashed() && !"generalization".equalsIgnoreCase(type);
+    }
 
-        double stopX = adjX2 - arrowLength * Math.cos(angle);
-        double stopY = adjY2 - arrowLength * Math.sin(angle);
+    /**
+     * Adds the line of the relationship to the current path of the renderer, so that many
+     * relationships of the same style can be stroked at once. The line ends at the base of the
+     * arrowhead; a self-association adds its loop.
+     *
+     * @param renderer The {@link Renderer} whose path is extended.
+     * @return true if the line was added, false if one of the ends is missing.
+     */
+    public boolean appendLine(Renderer renderer) {
+        if (!updateGeometry()) {
+            return false;
+        }
+        renderer.moveTo(startX, startY);
+        if (selfAssociation) {
+            renderer.lineTo(loopX, startY);
+            renderer.lineTo(loopX, loopY);
+            renderer.lineTo(endX, endY);
+        } else {
+            double arrowLength = getArrowLength();
+            renderer.lineTo(endX - arrowLength * directionX, endY - arrowLength * directionY);
+        }
+        return true;
+    }
 
-        gc.setStroke(Color.BLACK);
+    /**
+     * Adds the arrowhead of the relationship, if it has one, to the current path of the renderer
+     * as a closed shape: the diamond of a composition or aggregation, or the triangle of a
+     * realization or generalization.
+     *
+     * @param renderer The {@link Renderer} whose path is extended.
+     */
+    public void appendArrowhead(Renderer renderer) {
+        if (!updateGeometry() || selfAssociation) {
+            return;
+        }
+        if ("composition".equalsIgnoreCase(type) || "aggregation".equalsIgnoreCase(type)) {
+            appendPolygon(renderer, diamondX, diamondY, 4);
+        } else if (isDashed() || "generalization".equalsIgnoreCase(type)) {
+            appendPolygon(renderer, arrowX, arrowY, 3);
+        }
+    }
 
-        gc.strokeLine(adjX1, adjY1, stopX, stopY);
+    /**
+     * Copies the points of the polyline the relationship is drawn along into the given arrays:
+     * the loop of a self-association, or the straight line from the source to the tip of the arrowhead.
+     *
+     * @param xPoints The array receiving the x-coordinates; at least {@link #MAX_PATH_POINTS} long.
+     * @param yPoints The array receiving the y-coordinates; at least {@link #MAX_PATH_POINTS} long.
+     * @return The number of points copied, or 0 if one of the ends is missing.
+     * @throws IllegalArgumentException if an array is null or too short.
+     */
+    public int getPath(double[] xPoints, double[] yPoints) {
+        if (xPoints == null || yPoints == null || xPoints.length < MAX_PATH_POINTS || yPoints.length < MAX_PATH_POINTS) {
+            throw new IllegalArgumentException("Path arrays must hold at least " + MAX_PATH_POINTS + " points.");
+        }
+        if (!updateGeometry()) {
+            return 0;
+        }
+        xPoints[0] = startX;
+        yPoints[0] = startY;
+        if (selfAssociation) {
+            xPoints[1] = loopX;
+            yPoints[1] = startY;
+            xPoints[2] = loopX;
+            yPoints[2] = loopY;
+            xPoints[3] = endX;
+            yPoints[3] = endY;
+            return 4;
+        }
+        xPoints[1] = endX;
+        yPoints[1] = endY;
+        return 2;
+    }
 
-        gc.setLineDashes(originalDashes);
-        drawEmptyArrowhead(gc, stopX, stopY, adjX2, adjY2);
+    /**
+     * Returns how far the line stops short of the target to leave room for the arrowhead.
+     *
+     * @return The length of the arrowhead along the line, or 0 if there is none.
+     */
+    private double getArrowLength() {
+        if ("composition".equalsIgnoreCase(type) || "aggregation".equalsIgnoreCase(type)) {
+            return 20.0;
+        } else if (isDashed() || "generalization".equalsIgnoreCase(type)) {
+            return 15.0;
+        }
+        return 0;
     }
 
     /**
-     * Draws a generalization relationship between the source class and target class (or interface).
-     * The relationship is represented by a dashed line and an arrowhead, with the arrowhead pointing from
-     * the target class/interface to the source class.
+     * Adds a closed polygon to the current path of a renderer.
      *
-     * @param gc The {@link GraphicsContext} used to draw the generalization relationship on the canvas.
+     * @param renderer The {@link Renderer} whose path is extended.
+     * @param xPoints The x-coordinates of the corners.
+     * @param yPoints The y-coordinates of the corners.
+     * @param count The number of corners.
      */
-    public void drawGeneralization(GraphicsContext gc)
-    {
-        double[] originalDashes = gc.getLineDashes();
+    private static void appendPolygon(Renderer renderer, double[] xPoints, double[] yPoints, int count) {
+        renderer.moveTo(xPoints[0], yPoints[0]);
+        for (int i = 1; i < count; i++) {
+            renderer.lineTo(xPoints[i], yPoints[i]);
+        }
+        renderer.closePath();
+    }
 
+    /**
+     * Recomputes the cached geometry if the source or target box moved or resized, or if the ends
+     * or the type of the relationship changed since it was last computed. The geometry consists of
+     * the anchor points on the two boxes, the arrowheads and the positions of the labels.
+     *
+     * @return true if the geometry is available, false if one of the ends is missing.
+     */
+    private boolean updateGeometry() {
+        Object target = targetInterface != null ? targetInterface : targetClass;
+        if (sourceClass == null || target == null) {
+            return false;
+        }
+        double x2, y2, w2, h2;
+        if (targetInterface != null) {
+            x2 = targetInterface.getX();
+            y2 = targetInterface.getY();
+            w2 = targetInterface.getWidth();
+            h2 = targetInterface.getHeight();
+        } else {
+            x2 = targetClass.getX();
+            y2 = targetClass.getY();
+            w2 = targetClass.getWidth();
+            h2 = targetClass.getHeight();
+        }
         double x1 = sourceClass.getX();
         double y1 = sourceClass.getY();
-        double x2 = targetClass.getX();
-        double y2 = targetClass.getY();
-
-        double sourceClassWidth = sourceClass.getWidth();
-        double sourceClassHeight = sourceClass.getHeight();
-        double targetInterfaceWidth = targetClass.getWidth();
-        double targetInterfaceHeight = targetClass.getHeight();
-
-        double[] adjustedSourceClass = calculateOrthogonalBorderIntersection(
-                x1, y1, sourceClassWidth, sourceClassHeight, x1, y1, x2, y2
-        );
-        double[] adjustedTargetInterface = calculateOrthogonalBorderIntersection(
-                x2, y2, targetInterfaceWidth, targetInterfaceHeight, x2, y2, x1, y1
-        );
-        double adjX1 = adjustedSourceClass[0];
-        double adjY1 = adjustedSourceClass[1];
-        double adjX2 = adjustedTargetInterface[0];
-        double adjY2 = adjustedTargetInterface[1];
-
-        startX = adjX1;
-        startY = adjY1;
-        endX = adjX2;
-        endY = adjY2;
-
-        gc.setLineWidth(2);
+        double w1 = sourceClass.getWidth();
+        double h1 = sourceClass.getHeight();
+
+        double[] key = geometryKey;
+        if (geometryValid && geometryType == type
+                && key[0] == x1 && key[1] == y1 && key[2] == w1 && key[3] == h1
+                && key[4] == x2 && key[5] == y2 && key[6] == w2 && key[7] == h2) {
+            return true;
+        }
+        key[0] = x1; key[1] = y1; key[2] = w1; key[3] = h1;
+        key[4] = x2; key[5] = y2; key[6] = w2; key[7] = h2;
+        geometryValid = true;
+        geometryType = type;
+
+        selfAssociation = "association".equals(type) && sourceClass == targetClass;
+        if (selfAssociation) {
+            startX = x1 + w1;
+            startY = y1 + h1 / 2;
+            loopX = startX + w1 / 2;
+            loopY = startY + h1 / 2;
+            endX = x1 + w1;
+            endY = loopY;
+            nameX = startX;
+            nameY = startY + (loopY - startY) / 2 - 10;
+        } else {
+            int sourceCorner = closestCorner(x1, y1, w1, h1, x2, y2);
+            int targetCorner = closestCorner(x2, y2, w2, h2, x1, y1);
+            startX = x1 + CORNER_X[sourceCorner] * w1;
+            startY = y1 + CORNER_Y[sourceCorner] * h1;
+            endX = x2 + CORNER_X[targetCorner] * w2;
+            endY = y2 + CORNER_Y[targetCorner] * h2;
+            nameX = startX + (endX - startX) / 2;
+            nameY = startY + (endY - startY) / 2 - 10;
+        }
+        sourceLabelX = labelPosition(startX, x1, x1 + w1);
+        sourceLabelY = labelPosition(startY, y1, y1 + h1);
+        targetLabelX = selfAssociation ? labelPosition(endX, x1, x1 + w1) : labelPosition(endX, x2, x2 + w2);
+        targetLabelY = selfAssociation ? labelPosition(endY, y1, y1 + h1) : labelPosition(endY, y2, y2 + h2);
 
-        double arrowLength = 15.0;
-        double angle = Math.atan2(adjY2 - adjY1, adjX2 - adjX1);
+        double angle = Math.atan2(endY - startY, endX - startX);
+        directionX = Math.cos(angle);
+        directionY = Math.sin(angle);
 
-        double stopX = adjX2 - arrowLength * Math.cos(angle);
-        double stopY = adjY2 - arrowLength * Math.sin(angle);
+        double arrowLength = 15.0;
+        double arrowWidth = 7.0;
+        arrowX[0] = endX;
+        arrowY[0] = endY;
+        arrowX[1] = endX - arrowLength * directionX + arrowWidth * directionY;
+        arrowY[1] = endY - arrowLength * directionY - arrowWidth * directionX;
+        arrowX[2] = endX - arrowLength * directionX - arrowWidth * directionY;
+        arrowY[2] = endY - arrowLength * directionY + arrowWidth * directionX;
 
-        // Draw the dashed line from source to the point before the arrowhead
-        gc.setStroke(Color.BLACK);
+        double diamondLength = 10.0;
+        double diamondWidth = 7.0;
+        double baseX = endX - diamondLength * directionX;
+        double baseY = endY - diamondLength * directionY;
+        diamondX[0] = endX;
+        diamondY[0] = endY;
+        diamondX[1] = baseX - diamondWidth * directionY;
+        diamondY[1] = baseY + diamondWidth * directionX;
+        diamondX[2] = baseX - diamondLength * directionX;
+        diamondY[2] = baseY - diamondLength * directionY;
+        diamondX[3] = baseX + diamondWidth * directionY;
+        diamondY[3] = baseY - diamondWidth * directionX;
+        return true;
+    }
 
-        gc.strokeLine(adjX1, adjY1, stopX, stopY);
+    /**
+     * Finds the corner of a box that lies closest to any corner of an equally sized box at another
+     * position. This is the allocation-free form of {@link #calculateOrthogonalBorderIntersection}
+     * used for the cached geometry.
+     *
+     * @param rectX The x-coordinate of the box.
+     * @param rectY The y-coordinate of the box.
+     * @param rectWidth The width of both boxes.
+     * @param rectHeight The height of both boxes.
+     * @param otherX The x-coordinate of the other box.
+     * @param otherY The y-coordinate of the other box.
+     * @return The index of the closest corner in {@link #CORNER_X} and {@link #CORNER_Y}.
+     */
+    private static int closestCorner(double rectX, double rectY, double rectWidth, double rectHeight, double otherX, double otherY) {
+        double minDistance = Double.MAX_VALUE;
+        int closest = 0;
+        for (int i = 0; i < 4; i++) {
+            for (int j = 0; j < 4; j++) {
+                double dx = rectX + CORNER_X[i] * rectWidth - otherX - CORNER_X[j] * rectWidth;
+                double dy = rectY + CORNER_Y[i] * rectHeight - otherY - CORNER_Y[j] * rectHeight;
+                double distance = dx * dx + dy * dy;
+                if (distance < minDistance) {
+                    minDistance = distance;
+                    closest = i;
+                }
+            }
+        }
+        return closest;
+    }
 
-        gc.setLineDashes(originalDashes);
-        // Draw the solid arrowhead
-        drawEmptyArrowhead(gc, stopX, stopY, adjX2, adjY2);
+    /**
+     * Places a multiplicity label along one axis: outside the box if the anchor lies on or beyond
+     * one of its borders, otherwise at the anchor itself.
+     *
+     * @param anchor The coordinate of the anchor point.
+     * @param min The minimum coordinate of the box.
+     * @param max The maximum coordinate of the box.
+     * @return The coordinate of the label.
+     */
+    private static double labelPosition(double anchor, double min, double max) {
+        if (anchor <= min) {
+            return min - LABEL_OFFSET;
+        } else if (anchor >= max) {
+            return max + LABEL_OFFSET;
+        }
+        return anchor;
     }
 
     /**
@@ -433,55 +769,6 @@ public class Relationship {
         gc.strokePolygon(new double[]{xTip, xLeft, xRight}, new double[]{yTip, yLeft, yRight}, 3);
     }
 
-    /**
-     * Draws a diamond-shaped arrowhead for the given relationship type (composition or aggregation).
-     * The arrowhead is used to visually indicate the relationship type between two classes, with the
-     * shape of the arrowhead differing based on the type of relationship.
-     *
-     * @param gc The {@link GraphicsContext} used to draw the diamond-shaped arrowhead on the canvas.
-     * @param type The type of relationship, either "composition" or "aggregation".
-     * @param x1 The x-coordinate of the starting point of the arrow.
-     * @param y1 The y-coordinate of the starting point of the arrow.
-     * @param x2 The x-coordinate of the end point of the arrow (tip).
-     * @param y2 The y-coordinate of the end point of the arrow (tip).
-     */
-    private void drawDiamondArrowhead(GraphicsContext gc, String type, double x1, double y1, double x2, double y2) {
-        double angle = Math.atan2(y2 - y1, x2 - x1);
-        double diamondLength = 10.0;
-        double diamondWidth = 7.0;
-
-        double xTip = x2;
-        double yTip = y2;
-
-        double xBase = x2 - diamondLength * Math.cos(angle);
-        double yBase = y2 - diamondLength * Math.sin(angle);
-
-        double xLeft = xBase - diamondWidth * Math.sin(angle);
-        double yLeft = yBase + diamondWidth * Math.cos(angle);
-
-        double xRight = xBase + diamondWidth * Math.sin(angle);
-        double yRight = yBase - diamondWidth * Math.cos(angle);
-
-        double xBack = xBase - diamondLength * Math.cos(angle);
-        double yBack = yBase - diamondLength * Math.sin(angle);
-
-        if (type.equals("composition")) {
-            gc.setFill(Color.BLACK);
-            gc.fillPolygon(
-                    new double[]{xTip, xLeft, xBack, xRight},
-                    new double[]{yTip, yLeft, yBack, yRight},
-                    4
-            );
-        } else if (type.equals("aggregation")) {
-            gc.setStroke(Color.BLACK);
-            gc.strokePolygon(
-                    new double[]{xTip, xLeft, xBack, xRight},
-                    new double[]{yTip, yLeft, yBack, yRight},
-                    4
-            );
-        }
-    }
-
     /**
      * Calculates the orthogonal intersection points of a line between two points (source and target) with the
      * edges of two rectangles (representing the source and target classes).
@@ -613,73 +900,85 @@ public class Relationship {
 
     /**
      * Sets the starting x-coordinate for the relationship line.
+     * The value is kept until the source or target box moves or resizes and the geometry is recomputed.
      *
      * @param startX The x-coordinate of the starting point.
      */
     public void setStartX(double startX) {
+        updateGeometry();
         this.startX = startX;
     }
 
     /**
      * Sets the starting y-coordinate for the relationship line.
+     * The value is kept until the source or target box moves or resizes and the geometry is recomputed.
      *
      * @param startY The y-coordinate of the starting point.
      */
     public void setStartY(double startY) {
+        updateGeometry();
         this.startY = startY;
     }
 
     /**
      * Sets the ending x-coordinate for the relationship line.
+     * The value is kept until the source or target box moves or resizes and the geometry is recomputed.
      *
      * @param endX The x-coordinate of the ending point.
      */
     public void setEndX(double endX) {
+        updateGeometry();
         this.endX = endX;
     }
 
     /**
      * Sets the ending y-coordinate for the relationship line.
+     * The value is kept until the source or target box moves or resizes and the geometry is recomputed.
      *
      * @param endY The y-coordinate of the ending point.
      */
     public void setEndY(double endY) {
+        updateGeometry();
         this.endY = endY;
     }
 
     /**
-     * Gets the starting x-coordinate for the relationship line.
+     * Gets the starting x-coordinate for the relationship line, computing the geometry first if one of the boxes changed.
      *
      * @return The x-coordinate of the starting point.
      */
     public double getStartX() {
+        updateGeometry();
         return startX;
     }
 
     /**
-     * Gets the starting y-coordinate for the relationship line.
+     * Gets the starting y-coordinate for the relationship line, computing the geometry first if one of the boxes changed.
      *
      * @return The y-coordinate of the starting point.
      */
     public double getStartY() {
+        updateGeometry();
         return startY;
     }
 
     /**
-     * Gets the ending x-coordinate for the relationship line.
+     * Gets the ending x-coordinate for the relationship line, computing the geometry first if one of the boxes changed.
      *
      * @return The x-coordinate of the ending point.
      */
     public double getEndX() {
+        updateGeometry();
         return endX;
     }
 
     /**
-     * Gets the ending y-coordinate for the relationship line.
+     * Gets the ending y-coordinate for the relationship line, computing the geometry first if one of the boxes changed.
      *
      * @return The y-coordinate of the ending point.
      */
     public double getEndY() {
+        updateGeometry();
         return endY;
     }
 
@@ -690,7 +989,10 @@ public class Relationship {
      * @param sourceClass The {@link ClassDiagram} object representing the source class.
      */
     public void setSourceClass(ClassDiagram sourceClass) {
+        detachFromEnds();
         this.sourceClass = sourceClass;
+        attachToEnds();
+        geometryValid = false;
     }
 
     /**
@@ -699,7 +1001,10 @@ public class Relationship {
      * @param targetClass The {@link ClassDiagram} object representing the target class.
      */
     public void setTargetClass(ClassDiagram targetClass) {
+        detachFromEnds();
         this.targetClass = targetClass;
+        attachToEnds();
+        geometryValid = false;
     }
 
     /**
@@ -708,7 +1013,68 @@ public class Relationship {
      * @param targetInterface The {@link InterfaceData} object representing the target interface.
      */
     public void setTargetInterface(InterfaceData targetInterface) {
+        detachFromEnds();
         this.targetInterface = targetInterface;
+        attachToEnds();
+        geometryValid = false;
+    }
+
+    /**
+     * Lists the relationship in the adjacency lists of its ends and keeps it listed there when the ends change.
+     * Called by {@link DiagramModel} when the relationship is added to it. Linking a linked relationship does nothing.
+     */
+    void link() {
+        if (!linked) {
+            linked = true;
+            attachToEnds();
+        }
+    }
+
+    /**
+     * Takes the relationship out of the adjacency lists of its ends.
+     * Called by {@link DiagramModel} when the relationship is removed from it.
+     */
+    void unlink() {
+        if (linked) {
+            detachFromEnds();
+            linked = false;
+        }
+    }
+
+    /**
+     * Adds the relationship to the outgoing list of its source and the incoming list of its target, if it is linked.
+     */
+    private void attachToEnds() {
+        if (!linked) {
+            return;
+        }
+        if (sourceClass != null) {
+            sourceClass.addOutgoingRelationship(this);
+        }
+        if (targetClass != null) {
+            targetClass.addIncomingRelationship(this);
+        }
+        if (targetInterface != null) {
+            targetInterface.addIncomingRelationship(this);
+        }
+    }
+
+    /**
+     * Removes the relationship from the adjacency lists of its current ends, if it is linked.
+     */
+    private void detachFromEnds() {
+        if (!linked) {
+            return;
+        }
+        if (sourceClass != null) {
+            sourceClass.removeOutgoingRelationship(this);
+        }
+        if (targetClass != null) {
+            targetClass.removeIncomingRelationship(this);
+        }
+        if (targetInterface != null) {
+            targetInterface.removeIncomingRelationship(this);
+        }
     }
 
     /**
@@ -796,12 +1162,20 @@ public class Relationship {
     /**
      * Gets the list of obstacles (rectangles) that may interfere with the drawing of the relationship.
      *
-     * @return A list of {@link Rectangle} objects representing the obstacles.
+     * @return A snapshot list of the {@link Rectangle} objects currently in the obstacle index.
      */
     public List<Rectangle> getObstacles() {
-        return obstacles;
+        return new ArrayList<>(obstacles.getObstacles());
     }
 
+    /**
+     * Gets the obstacle index this relationship shares with the canvas.
+     *
+     * @return The {@link ObstacleIndex} holding the obstacles.
+     */
+    public ObstacleIndex getObstacleIndex() {
+        return obstacles;
+    }
 
     /**
      * Sets the name of the relationship.
@@ -818,7 +1192,16 @@ public class Relationship {
      * @param obstacles A list of {@link Rectangle} objects representing the obstacles.
      */
     public void setObstacles(List<Rectangle> obstacles) {
-        this.obstacles = obstacles;
+        this.obstacles = ObstacleIndex.of(obstacles);
+    }
+
+    /**
+     * Sets the obstacle index this relationship queries.
+     *
+     * @param obstacles The {@link ObstacleIndex} holding the obstacles; {@code null} means no obstacles.
+     */
+    public void setObstacleIndex(ObstacleIndex obstacles) {
+        this.obstacles = obstacles != null ? obstacles : new ObstacleIndex();
     }
 
     /**
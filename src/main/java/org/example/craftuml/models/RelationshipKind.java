@@ -0,0 +1,73 @@
+package org.example.craftuml.models;
+
+/**
+ * The kinds of relationships a class diagram can contain, in the order in which they are drawn.
+ * Each kind knows the type string that {@link Relationship} objects and saved projects use for it.
+ */
+public enum RelationshipKind {
+    /**
+     * A plain association between two classes.
+     */
+    ASSOCIATION("association"),
+
+    /**
+     * A composition, drawn with a filled diamond at the source class.
+     */
+    COMPOSITION("composition"),
+
+    /**
+     * An aggregation, drawn with a hollow diamond at the source class.
+     */
+    AGGREGATION("aggregation"),
+
+    /**
+     * A realization of an interface by a class.
+     */
+    REALIZATION("Realization"),
+
+    /**
+     * A generalization from a subclass to its superclass.
+     */
+    GENERALIZATION("Generalization");
+
+    /**
+     * The type string used for this kind.
+     */
+    private final String type;
+
+    /**
+     * Creates a kind with its type string.
+     *
+     * @param type The type string used for this kind.
+     */
+    RelationshipKind(String type) {
+        this.type = type;
+    }
+
+    /**
+     * Returns the type string used for this kind, as stored in {@link Relationship#getType()} and in saved projects.
+     *
+     * @return The type string.
+     */
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Returns the kind for a type string. Letter case is ignored, so "realization" and "Realization" are the same kind.
+     *
+     * @param type The type string.
+     * @return The matching kind.
+     * @throws IllegalArgumentException if the type is null or not a known relationship type.
+     */
+    public static RelationshipKind fromType(String type) {
+        if (type != null) {
+            for (RelationshipKind kind : values()) {
+                if (kind.type.equalsIgnoreCase(type)) {
+                    return kind;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Invalid relationship type: " + type);
+    }
+}
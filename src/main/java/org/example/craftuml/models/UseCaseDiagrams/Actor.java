@@ -1,5 +1,7 @@
 package org.example.craftuml.models.UseCaseDiagrams;
 
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
@@ -24,7 +26,7 @@ public class Actor implements DiagramComponent {
     /**
      * The name of the actor, typically used to identify it in the diagram.
      */
-    private String name;
+    private final StringProperty name = new SimpleStringProperty();
 
     /**
      * The x-coordinate of the actor's position on the canvas.
@@ -78,7 +80,7 @@ public class Actor implements DiagramComponent {
      * @param name The name of the actor to initialize.
      */
     public Actor(String name) {
-        this.name = name;
+        this.name.set(name);
         this.x = 0;  // Default position
         this.y = 0;  // Default position
         actorRectangle = new Rectangle(x, y, width, height); // Initialize the actor's rectangle
@@ -142,7 +144,7 @@ public class Actor implements DiagramComponent {
      */
     public void onMousePressed(MouseEvent event) {
         // Logic to handle when mouse is pressed on the actor
-        System.out.println("Actor clicked: " + name);
+        System.out.println("Actor clicked: " + name.get());
     }
 
     /**
@@ -167,7 +169,7 @@ public class Actor implements DiagramComponent {
      */
     private void onMouseReleased(MouseEvent event) {
         // Logic to handle when mouse is released
-        System.out.println("Mouse released on actor: " + name);
+        System.out.println("Mouse released on actor: " + name.get());
     }
 
     /**
@@ -214,7 +216,7 @@ public class Actor implements DiagramComponent {
      */
     @Override
     public String getName() {
-        return name;
+        return name.get();
     }
 
     /**
@@ -228,7 +230,17 @@ public class Actor implements DiagramComponent {
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Name cannot be null or empty");
         }
-        this.name = name;
+        this.name.set(name);
+    }
+
+    /**
+     * Returns the name property of the actor.
+     * This method allows for listeners that follow renames.
+     *
+     * @return The StringProperty representing the name of the actor.
+     */
+    public StringProperty nameProperty() {
+        return name;
     }
 
     /**
@@ -276,7 +288,7 @@ public class Actor implements DiagramComponent {
     @Override
     public String toString() {
         return "Actor{" +
-                "name='" + name + '\'' +
+                "name='" + name.get() + '\'' +
                 ", x=" + x +
                 ", y=" + y +
                 '}';
@@ -1,5 +1,7 @@
 package org.example.craftuml.models.UseCaseDiagrams;
 
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
 import javafx.scene.paint.Color;
 import org.example.craftuml.models.DiagramComponent;
 
@@ -31,7 +33,7 @@ public class UseCase implements DiagramComponent {
      * The name of the use case.
      * This represents the label or identifier for the use case in the diagram.
      */
-    private String name;
+    private final StringProperty name = new SimpleStringProperty();
 
     /**
      * The x-coordinate of the position of the use case diagram on the canvas.
@@ -69,6 +71,31 @@ public class UseCase implements DiagramComponent {
      */
     private List<Actor> associatedActors = new ArrayList<>();
 
+    /**
+     * The horizontal space between the name and the edge of the oval, on both sides together.
+     */
+    public static final double TEXT_PADDING_X = 30;
+
+    /**
+     * The vertical space between the name and the edge of the oval, on both sides together.
+     */
+    public static final double TEXT_PADDING_Y = 10;
+
+    /**
+     * The name the text extents were measured for, or {@code null} if they were never measured.
+     */
+    private String measuredName;
+
+    /**
+     * The measured width of the name.
+     */
+    private double textWidth;
+
+    /**
+     * The measured height of the name.
+     */
+    private double textHeight;
+
 
     /**
      * Sets the x-coordinate of the use case diagram on the canvas.
@@ -107,6 +134,55 @@ public class UseCase implements DiagramComponent {
         return height;
     }
 
+    /**
+     * Checks whether the text extents were measured for the given name, so that they can be reused
+     * instead of measuring the name again.
+     *
+     * @param name The name to check.
+     * @return true if the stored extents belong to the name, false otherwise.
+     */
+    public boolean hasTextExtents(String name) {
+        return measuredName != null && measuredName.equals(name);
+    }
+
+    /**
+     * Stores the measured extents of the name and sizes the oval around it: the width and height
+     * become the text extents plus padding, with at least {@link #DEFAULT_HEIGHT} as height.
+     *
+     * @param name The name that was measured.
+     * @param textWidth The measured width of the name.
+     * @param textHeight The measured height of the name.
+     * @throws IllegalArgumentException If the name is null or an extent is negative.
+     */
+    public void setTextExtents(String name, double textWidth, double textHeight) {
+        if (name == null || textWidth < 0 || textHeight < 0) {
+            throw new IllegalArgumentException("Name cannot be null and text extents cannot be negative");
+        }
+        this.measuredName = name;
+        this.textWidth = textWidth;
+        this.textHeight = textHeight;
+        this.width = textWidth + TEXT_PADDING_X;
+        this.height = Math.max(DEFAULT_HEIGHT, textHeight + TEXT_PADDING_Y);
+    }
+
+    /**
+     * Gets the measured width of the name.
+     *
+     * @return The text width, or 0 if the name was never measured.
+     */
+    public double getTextWidth() {
+        return textWidth;
+    }
+
+    /**
+     * Gets the measured height of the name.
+     *
+     * @return The text height, or 0 if the name was never measured.
+     */
+    public double getTextHeight() {
+        return textHeight;
+    }
+
     /**
      * Gets the x-offset of the use case during dragging.
      *
@@ -157,7 +233,7 @@ public class UseCase implements DiagramComponent {
      */
     // Constructor
     public UseCase(String name) {
-        this.name = name;
+        this.name.set(name);
         this.x = 0; // Default position
         this.y = 0; // Default position
     }
@@ -170,7 +246,7 @@ public class UseCase implements DiagramComponent {
      */
     @Override
     public String getName() {
-        return name;
+        return name.get();
     }
 
 
@@ -185,7 +261,17 @@ public class UseCase implements DiagramComponent {
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Name cannot be null or empty");
         }
-        this.name = name;
+        this.name.set(name);
+    }
+
+    /**
+     * Returns the name property of the use case.
+     * This method allows for listeners that follow renames.
+     *
+     * @return The StringProperty representing the name of the use case.
+     */
+    public StringProperty nameProperty() {
+        return name;
     }
 
     /**
@@ -233,7 +319,7 @@ public class UseCase implements DiagramComponent {
     @Override
     public String toString() {
         return "UseCase{" +
-                "name='" + name + '\'' +
+                "name='" + name.get() + '\'' +
                 ", x=" + x +
                 ", y=" + y +
                 '}';
@@ -3,6 +3,7 @@ package org.example.craftuml.models.UseCaseDiagrams;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Text;
+import org.example.craftuml.Business.NameIndex;
 import org.example.craftuml.models.DiagramComponent;
 import java.util.ArrayList;
 import java.util.List;
@@ -78,6 +79,16 @@ public class UseCaseDiagram {
      */
     private List<Actor> actors;
 
+    /**
+     * The actors of the diagram indexed by name, following renames.
+     */
+    private final NameIndex<Actor> actorNames = new NameIndex<>(Actor::nameProperty);
+
+    /**
+     * The use cases of the diagram indexed by name, following renames.
+     */
+    private final NameIndex<UseCase> useCaseNames = new NameIndex<>(UseCase::nameProperty);
+
 
 
     /**
@@ -126,6 +137,10 @@ public class UseCaseDiagram {
      */
     public void setUseCases(List<UseCase> useCases) {
         this.useCases = useCases;
+        useCaseNames.clear();
+        if (useCases != null) {
+            useCases.forEach(this::indexUseCase);
+        }
     }
 
     /**
@@ -136,6 +151,10 @@ public class UseCaseDiagram {
      */
     public void setActors(List<Actor> actors) {
         this.actors = actors;
+        actorNames.clear();
+        if (actors != null) {
+            actors.forEach(this::indexActor);
+        }
     }
 
     /**
@@ -212,6 +231,7 @@ public class UseCaseDiagram {
      */
     public void addUseCase(UseCase useCase) {
         useCases.add(useCase); // Assuming useCases is a list of UseCase objects
+        indexUseCase(useCase);
     }
 
     /**
@@ -220,7 +240,9 @@ public class UseCaseDiagram {
      * @param useCase The use case to remove from the diagram.
      */
     public void removeUseCase(UseCase useCase) {
-        useCases.remove(useCase);
+        if (useCases.remove(useCase)) {
+            useCaseNames.remove(useCase);
+        }
     }
 
     /**
@@ -234,7 +256,9 @@ public class UseCaseDiagram {
         if (actorName == null || actorName.trim().isEmpty()) {
             throw new IllegalArgumentException("Actor name cannot be null or empty");
         }
-        actors.add(new Actor(actorName));
+        Actor actor = new Actor(actorName);
+        actors.add(actor);
+        indexActor(actor);
     }
 
     /**
@@ -246,6 +270,7 @@ public class UseCaseDiagram {
         Actor actor = findActorByName(actorName);
         if (actor != null) {
             actors.remove(actor);
+            actorNames.remove(actor);
         }
     }
 
@@ -402,34 +427,46 @@ public class UseCaseDiagram {
 
     /**
      * Helper method to find an actor by its name.
-     * Searches the list of actors and returns the actor that matches the given name.
+     * Looks the name up in the name index of the actors.
      *
      * @param name The name of the actor to search for.
      * @return The {@link Actor} object if found, otherwise {@code null}.
      */
     private Actor findActorByName(String name) {
-        for (Actor actor : actors) {
-            if (actor.getName().equals(name)) {
-                return actor;
-            }
-        }
-        return null;
+        return actorNames.find(name);
     }
 
     /**
      * Helper method to find a use case by its name.
-     * Searches the list of use cases and returns the use case that matches the given name.
+     * Looks the name up in the name index of the use cases.
      *
      * @param name The name of the use case to search for.
      * @return The {@link UseCase} object if found, otherwise {@code null}.
      */
     private UseCase findUseCaseByName(String name) {
-        for (UseCase useCase : useCases) {
-            if (useCase.getName().equals(name)) {
-                return useCase;
-            }
+        return useCaseNames.find(name);
+    }
+
+    /**
+     * Adds an actor to the name index. Null entries of the list are not indexed.
+     *
+     * @param actor The actor to index.
+     */
+    private void indexActor(Actor actor) {
+        if (actor != null) {
+            actorNames.add(actor);
+        }
+    }
+
+    /**
+     * Adds a use case to the name index. Null entries of the list are not indexed.
+     *
+     * @param useCase The use case to index.
+     */
+    private void indexUseCase(UseCase useCase) {
+        if (useCase != null) {
+            useCaseNames.add(useCase);
         }
-        return null;
     }
 
 
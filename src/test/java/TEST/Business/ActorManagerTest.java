@@ -1,6 +1,9 @@
 package TEST.Business;
 
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
 import org.example.craftuml.Business.ActorManager;
+import org.example.craftuml.Business.TextMetricsCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import javafx.scene.canvas.GraphicsContext;
@@ -135,4 +138,34 @@ class ActorManagerTest {
         assertEquals(initialX + 50 - 10, actor.getX());  // Apply offset
         assertEquals(initialY + 50 - 10, actor.getY());  // Apply offset
     }
+
+    @Test
+    void testUpdateActorPositionClampsToVisibleModelBounds() {
+        actorManager.addActor("Actor 1");
+        Actor actor = actors.get(0);
+
+        // A canvas of 500 x 500 pixels at zoom 0.5, panned so that it shows model x from -200 to 800
+        BoundingBox visible = new BoundingBox(-200, 0, 1000, 1000);
+        ActorManager.updateActorPosition(actor, 700, 600, 0, 0, visible);
+        assertEquals(700, actor.getX());
+        assertEquals(600, actor.getY());
+
+        ActorManager.updateActorPosition(actor, -500, 5000, 0, 0, visible);
+        assertEquals(-200, actor.getX());
+        assertEquals(1000 - actor.getHeight(), actor.getY());
+    }
+
+    @Test
+    void testActorBoundsCoverFigureAndName() {
+        actorManager.addActor("Customer");
+        Actor actor = actors.get(0);
+        actor.setX(100);
+        actor.setY(100);
+
+        TextMetricsCache metrics = new TextMetricsCache(16, (text, font) -> new BoundingBox(0, 0, text.length() * 7, 16));
+        Bounds bounds = ActorManager.getActorBounds(actor, metrics);
+        assertTrue(bounds.contains(100, 100));
+        assertTrue(bounds.contains(120, 175));
+        assertTrue(bounds.getMaxY() > 185);
+    }
 }
@@ -0,0 +1,70 @@
+package TEST.Business;
+
+import org.example.craftuml.Business.AlignmentIndex;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AlignmentIndexTest {
+
+    @Test
+    void testAlignsLeftEdges() {
+        AlignmentIndex index = new AlignmentIndex();
+        index.add(100, 0, 80, 40);
+        index.add(400, 0, 80, 40);
+
+        assertEquals(-3, index.alignX(103, 60, 5));
+        assertTrue(index.hasGuideX());
+        assertEquals(100, index.getGuideX());
+        assertEquals(0, index.getGuideXStart());
+        assertEquals(40, index.getGuideXEnd());
+    }
+
+    @Test
+    void testAlignsCentresAndOppositeEdges() {
+        AlignmentIndex index = new AlignmentIndex();
+        index.add(0, 100, 100, 50);
+
+        // The middle of a 20 high box at y = 113 is at 123, two below the middle of the indexed box
+        assertEquals(2, index.alignY(113, 20, 5));
+        assertEquals(125, index.getGuideY());
+        assertEquals(0, index.getGuideYStart());
+        assertEquals(100, index.getGuideYEnd());
+
+        // The right edge of the dragged box lines up with the left edge of the indexed box
+        assertEquals(-1, index.alignX(-49, 50, 5));
+        assertEquals(0, index.getGuideX());
+    }
+
+    @Test
+    void testPicksClosestEdgeWithinTolerance() {
+        AlignmentIndex index = new AlignmentIndex();
+        index.add(200, 0, 10, 10);
+        index.add(196, 50, 10, 10);
+
+        assertEquals(-1, index.alignX(197, 100, 5));
+        assertEquals(196, index.getGuideX());
+        assertEquals(50, index.getGuideXStart());
+    }
+
+    @Test
+    void testNothingFoundOutsideTolerance() {
+        AlignmentIndex index = new AlignmentIndex();
+        assertEquals(0, index.alignX(10, 10, 5));
+        assertFalse(index.hasGuideX());
+
+        index.add(0, 0, 10, 10);
+        assertEquals(0, index.alignY(100, 10, 5));
+        assertFalse(index.hasGuideY());
+        assertEquals(1, index.size());
+
+        index.clear();
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testNegativeToleranceThrows() {
+        AlignmentIndex index = new AlignmentIndex();
+        assertThrows(IllegalArgumentException.class, () -> index.alignX(0, 10, -1));
+    }
+}
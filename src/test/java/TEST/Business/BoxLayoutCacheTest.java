@@ -0,0 +1,96 @@
+package TEST.Business;
+
+import javafx.geometry.BoundingBox;
+import org.example.craftuml.Business.BoxLayout;
+import org.example.craftuml.Business.BoxLayoutCache;
+import org.example.craftuml.Business.TextMetricsCache;
+import org.example.craftuml.models.ClassDiagrams.AttributeData;
+import org.example.craftuml.models.ClassDiagrams.ClassDiagram;
+import org.example.craftuml.models.ClassDiagrams.InterfaceData;
+import org.example.craftuml.models.ClassDiagrams.MethodData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoxLayoutCacheTest {
+
+    private BoxLayoutCache cache;
+    private ClassDiagram diagram;
+
+    @BeforeEach
+    void setUp() {
+        TextMetricsCache metrics = new TextMetricsCache(64, (text, font) -> new BoundingBox(0, 0, text.length() * 6, 14));
+        cache = new BoxLayoutCache(metrics);
+        diagram = new ClassDiagram("Shape", 10, 10);
+        diagram.addAttributes(new AttributeData("-", "area", "double"));
+        diagram.addMethods(new MethodData("+", "draw", "void"));
+    }
+
+    @Test
+    void testLayoutIsReusedWhileDiagramMoves() {
+        BoxLayout first = cache.get(diagram);
+        diagram.setX(300);
+        diagram.setY(400);
+        assertSame(first, cache.get(diagram));
+    }
+
+    @Test
+    void testContentEditsInvalidateLayout() {
+        BoxLayout first = cache.get(diagram);
+
+        diagram.setName("Polygon");
+        BoxLayout renamed = cache.get(diagram);
+        assertNotSame(first, renamed);
+
+        diagram.addAttributes(new AttributeData("-", "sides", "int"));
+        BoxLayout extended = cache.get(diagram);
+        assertNotSame(renamed, extended);
+        assertTrue(extended.getHeight() > renamed.getHeight());
+    }
+
+    @Test
+    void testClassLayoutHasNameAndCompartmentLines() {
+        BoxLayout layout = cache.get(diagram);
+
+        assertEquals(2, layout.getSeparatorCount());
+        assertEquals(3, layout.getLineCount());
+        assertEquals("Shape", layout.getText(0));
+        assertEquals("- area : double", layout.getText(1));
+        assertEquals("+ draw : void", layout.getText(2));
+        assertEquals("- area : double".length() * 6 + 40, layout.getWidth());
+        assertEquals(61, layout.getHeight());
+    }
+
+    @Test
+    void testInterfaceLayoutAndHitTestAgree() {
+        InterfaceData shape = new InterfaceData();
+        shape.setName("Drawable");
+        shape.setMethods(new ArrayList<>(List.of(new MethodData("+", "draw", "void"))));
+        shape.setPosition(100, 100);
+
+        BoxLayout layout = cache.get(shape);
+        assertEquals(1, layout.getSeparatorCount());
+        assertEquals("<<interface>>", layout.getText(0));
+        assertTrue(layout.contains(100, 100, 100 + layout.getWidth(), 100 + layout.getHeight()));
+        assertFalse(layout.contains(100, 100, 101 + layout.getWidth(), 100));
+
+        shape.addMethods(new MethodData("+", "resize", "void"));
+        assertNotSame(layout, cache.get(shape));
+    }
+
+    @Test
+    void testRemoveForgetsLayout() {
+        cache.get(diagram);
+        cache.remove(diagram);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testNullMetricsThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new BoxLayoutCache(null));
+    }
+}
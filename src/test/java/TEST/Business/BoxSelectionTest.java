@@ -0,0 +1,83 @@
+package TEST.Business;
+
+import org.example.craftuml.Business.BoxSelection;
+import org.example.craftuml.Business.SpatialGrid;
+import org.example.craftuml.models.ClassDiagrams.ClassDiagram;
+import org.example.craftuml.models.ClassDiagrams.InterfaceData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoxSelectionTest {
+
+    private SpatialGrid<Object> boxes;
+    private BoxSelection selection;
+    private ClassDiagram first;
+    private ClassDiagram second;
+    private InterfaceData shape;
+
+    @BeforeEach
+    void setUp() {
+        boxes = new SpatialGrid<>(128);
+        selection = new BoxSelection(boxes);
+        first = new ClassDiagram("First", 10, 10);
+        second = new ClassDiagram("Second", 200, 10);
+        shape = new InterfaceData();
+        shape.setPosition(10, 200);
+        boxes.update(first, 10, 10, 100, 60);
+        boxes.update(second, 200, 10, 100, 60);
+        boxes.update(shape, 10, 200, 100, 40);
+    }
+
+    @Test
+    void testSelectsOnlyBoxesCompletelyInside() {
+        selection.selectInside(0, 0, 250, 300);
+
+        assertEquals(List.of(first, shape), List.copyOf(selection.getSelected()));
+        assertFalse(selection.contains(second)); // partly inside
+    }
+
+    @Test
+    void testMarqueeWorksInEveryDirection() {
+        selection.selectInside(320, 80, 0, 0);
+        assertEquals(List.of(first, second), List.copyOf(selection.getSelected()));
+
+        selection.selectInside(0, 300, 150, 150);
+        assertEquals(List.of(shape), List.copyOf(selection.getSelected()));
+
+        selection.selectInside(500, 500, 600, 600);
+        assertTrue(selection.isEmpty());
+    }
+
+    @Test
+    void testGroupMoveShiftsEveryBoxByTheSameDistance() {
+        selection.selectInside(0, 0, 320, 300);
+        assertTrue(selection.isGroupMove(second));
+        assertFalse(selection.isGroupMove(null));
+
+        selection.moveTo(second, 237, -5);
+
+        assertEquals(47, first.getX());
+        assertEquals(-5, first.getY());
+        assertEquals(237, second.getX());
+        assertEquals(-5, second.getY());
+        assertEquals(47, shape.getX());
+        assertEquals(185, shape.getY());
+    }
+
+    @Test
+    void testSingleOrUnselectedBoxIsNotAGroupMove() {
+        selection.selectInside(0, 0, 150, 100);
+        assertFalse(selection.isGroupMove(first));
+
+        selection.selectInside(0, 0, 320, 100);
+        assertFalse(selection.isGroupMove(shape));
+        selection.remove(second);
+        assertFalse(selection.isGroupMove(first));
+        assertThrows(IllegalArgumentException.class, () -> selection.moveTo(null, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BoxSelection(null));
+    }
+}
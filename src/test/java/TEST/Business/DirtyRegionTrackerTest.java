@@ -0,0 +1,60 @@
+package TEST.Business;
+
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import org.example.craftuml.Business.DirtyRegionTracker;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DirtyRegionTrackerTest {
+
+    @Test
+    void testNewTrackerIsClean() {
+        DirtyRegionTracker tracker = new DirtyRegionTracker();
+        assertFalse(tracker.isDirty());
+        assertNull(tracker.getDirtyBounds());
+    }
+
+    @Test
+    void testIncludeUnionsOldAndNewBounds() {
+        DirtyRegionTracker tracker = new DirtyRegionTracker(0);
+        tracker.include(10, 10, 50, 40);
+        tracker.include(100, 80, 50, 40);
+
+        Bounds bounds = tracker.getDirtyBounds();
+        assertTrue(tracker.isDirty());
+        assertEquals(10, bounds.getMinX());
+        assertEquals(10, bounds.getMinY());
+        assertEquals(150, bounds.getMaxX());
+        assertEquals(120, bounds.getMaxY());
+    }
+
+    @Test
+    void testPaddingIsAddedOnEverySide() {
+        DirtyRegionTracker tracker = new DirtyRegionTracker(5);
+        tracker.include(new BoundingBox(20, 30, 10, 10));
+
+        Bounds bounds = tracker.getDirtyBounds();
+        assertEquals(15, bounds.getMinX());
+        assertEquals(25, bounds.getMinY());
+        assertEquals(20, bounds.getWidth());
+        assertEquals(20, bounds.getHeight());
+    }
+
+    @Test
+    void testResetClearsTheRegion() {
+        DirtyRegionTracker tracker = new DirtyRegionTracker();
+        tracker.include(0, 0, 10, 10);
+        tracker.reset();
+        assertFalse(tracker.isDirty());
+
+        tracker.include(50, 50, 10, 10);
+        assertEquals(46, tracker.getDirtyBounds().getMinX());
+    }
+
+    @Test
+    void testNegativePaddingThrows() {
+        assertThrows(IllegalArgumentException.class, () -> new DirtyRegionTracker(-1));
+    }
+}
@@ -0,0 +1,57 @@
+package TEST.Business;
+
+import org.example.craftuml.Business.HoverTracker;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HoverTrackerTest {
+
+    @Test
+    void testFirstUpdateIsATransition() {
+        HoverTracker<String> tracker = new HoverTracker<>();
+        assertFalse(tracker.contains(0, 0));
+        assertTrue(tracker.update(null));
+        assertFalse(tracker.update(null));
+        assertNull(tracker.getHovered());
+    }
+
+    @Test
+    void testPointerInsideBoundsNeedsNoLookup() {
+        HoverTracker<String> tracker = new HoverTracker<>();
+        assertTrue(tracker.update("box", 10, 10, 100, 50));
+
+        assertTrue(tracker.contains(10, 10));
+        assertTrue(tracker.contains(110, 60));
+        assertFalse(tracker.contains(111, 30));
+        assertFalse(tracker.update("box", 10, 10, 100, 50));
+        assertEquals("box", tracker.getHovered());
+    }
+
+    @Test
+    void testUnboundedHoverIsLookedUpAgain() {
+        HoverTracker<String> tracker = new HoverTracker<>();
+        tracker.update("box", 0, 0, 100, 100);
+        assertTrue(tracker.update("line"));
+        assertFalse(tracker.contains(50, 50));
+        assertFalse(tracker.update("line"));
+        assertTrue(tracker.update(null));
+    }
+
+    @Test
+    void testResetForgetsHover() {
+        HoverTracker<String> tracker = new HoverTracker<>();
+        tracker.update("box", 0, 0, 100, 100);
+        tracker.reset();
+
+        assertFalse(tracker.contains(50, 50));
+        assertNull(tracker.getHovered());
+        assertTrue(tracker.update("box", 0, 0, 100, 100));
+    }
+
+    @Test
+    void testNullBoundedHoverThrows() {
+        HoverTracker<String> tracker = new HoverTracker<>();
+        assertThrows(IllegalArgumentException.class, () -> tracker.update(null, 0, 0, 10, 10));
+    }
+}
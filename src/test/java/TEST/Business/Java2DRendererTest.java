@@ -0,0 +1,106 @@
+package TEST.Business;
+
+import javafx.geometry.BoundingBox;
+import javafx.scene.paint.Color;
+import org.example.craftuml.Business.BoxLayout;
+import org.example.craftuml.Business.Java2DRenderer;
+import org.example.craftuml.Business.LevelOfDetail;
+import org.example.craftuml.Business.TextMetricsCache;
+import org.example.craftuml.models.ClassDiagrams.ClassDiagram;
+import org.example.craftuml.models.Relationship;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Java2DRendererTest {
+
+    private BufferedImage image;
+    private Graphics2D graphics;
+    private Java2DRenderer renderer;
+
+    @BeforeEach
+    void setUp() {
+        image = new BufferedImage(200, 200, BufferedImage.TYPE_INT_ARGB);
+        graphics = image.createGraphics();
+        renderer = new Java2DRenderer(graphics);
+    }
+
+    @AfterEach
+    void tearDown() {
+        graphics.dispose();
+    }
+
+    private int alpha(int x, int y) {
+        return image.getRGB(x, y) >>> 24;
+    }
+
+    @Test
+    void testFillAndClearRect() {
+        renderer.setFill(Color.RED);
+        renderer.fillRect(10, 10, 50, 50);
+        assertEquals(0xFFFF0000, image.getRGB(30, 30));
+
+        renderer.clearRect(20, 20, 10, 10);
+        assertEquals(0, alpha(25, 25));
+        assertEquals(0xFFFF0000, image.getRGB(40, 40));
+    }
+
+    @Test
+    void testSaveAndRestoreTransform() {
+        renderer.save();
+        renderer.translate(100, 100);
+        renderer.scale(2, 2);
+        renderer.setFill(Color.BLUE);
+        renderer.fillRect(0, 0, 10, 10);
+        renderer.restore();
+        renderer.fillRect(0, 0, 10, 10);
+
+        assertEquals(0xFF0000FF, image.getRGB(115, 115));
+        assertEquals(0xFF000000, image.getRGB(5, 5));
+    }
+
+    @Test
+    void testZeroDashesDrawSolidLine() {
+        renderer.setLineWidth(2);
+        renderer.setLineDashes(0);
+        assertNull(renderer.getLineDashes());
+        renderer.strokeLine(0, 100, 200, 100);
+        for (int x = 5; x < 195; x += 10) {
+            assertTrue(alpha(x, 100) > 0);
+        }
+    }
+
+    @Test
+    void testBoxLayoutRendersHeadless() {
+        TextMetricsCache metrics = new TextMetricsCache(16, (text, font) -> new BoundingBox(0, 0, text.length() * 6, 14));
+        BoxLayout layout = BoxLayout.forClass(new ClassDiagram("Shape", 0, 0), metrics);
+        layout.draw(renderer, 20, 20, Color.BLACK, LevelOfDetail.Detail.FULL);
+        assertTrue(alpha(20, 40) > 0);
+        assertTrue(alpha((int) (20 + layout.getWidth()), 40) > 0);
+    }
+
+    @Test
+    void testRelationshipRendersHeadless() {
+        ClassDiagram source = new ClassDiagram("A", 0, 0);
+        source.setWidth(40);
+        source.setHeight(40);
+        ClassDiagram target = new ClassDiagram("B", 150, 150);
+        target.setWidth(40);
+        target.setHeight(40);
+        Relationship relationship = new Relationship(source, target, "association", "0", "0", new ArrayList<>(), "");
+
+        relationship.draw(renderer, false);
+        assertTrue(alpha(95, 95) > 0);
+    }
+
+    @Test
+    void testNullGraphicsThrows() {
+        assertThrows(IllegalArgumentException.class, () -> new Java2DRenderer(null));
+    }
+}
@@ -0,0 +1,38 @@
+package TEST.Business;
+
+import org.example.craftuml.Business.LevelOfDetail;
+import org.example.craftuml.Business.LevelOfDetail.Detail;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LevelOfDetailTest {
+
+    private final LevelOfDetail levelOfDetail = new LevelOfDetail(0.6, 0.3, 100, 300);
+
+    @Test
+    void testNaturalScaleWithFewBoxesIsFullDetail() {
+        assertEquals(Detail.FULL, levelOfDetail.select(1.0, 20));
+    }
+
+    @Test
+    void testScaleThresholds() {
+        assertEquals(Detail.NAMES_ONLY, levelOfDetail.select(0.5, 20));
+        assertEquals(Detail.OUTLINES, levelOfDetail.select(0.2, 20));
+        assertEquals(Detail.FULL, levelOfDetail.select(0.6, 20));
+    }
+
+    @Test
+    void testDensityThresholds() {
+        assertEquals(Detail.NAMES_ONLY, levelOfDetail.select(1.0, 101));
+        assertEquals(Detail.OUTLINES, levelOfDetail.select(1.0, 301));
+        assertEquals(Detail.FULL, levelOfDetail.select(1.0, 100));
+    }
+
+    @Test
+    void testInconsistentThresholdsThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new LevelOfDetail(0.2, 0.5, 100, 300));
+        assertThrows(IllegalArgumentException.class, () -> new LevelOfDetail(0.6, 0.3, 300, 100));
+        assertThrows(IllegalArgumentException.class, () -> new LevelOfDetail(0.6, -0.1, 100, 300));
+    }
+}
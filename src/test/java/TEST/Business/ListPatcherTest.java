@@ -0,0 +1,81 @@
+package TEST.Business;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import org.example.craftuml.Business.ListPatcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ListPatcherTest {
+
+    private ObservableList<String> items;
+    private List<String> changes;
+
+    @BeforeEach
+    void setUp() {
+        items = FXCollections.observableArrayList("CLASSES", "Shape", "Circle", " ", "RELATIONSHIPS", "association");
+        changes = new ArrayList<>();
+        items.addListener((ListChangeListener<String>) change -> {
+            while (change.next()) {
+                if (change.wasReplaced()) {
+                    changes.add("replace " + change.getFrom());
+                } else if (change.wasAdded()) {
+                    changes.add("add " + change.getFrom());
+                } else if (change.wasRemoved()) {
+                    changes.add("remove " + change.getFrom());
+                }
+            }
+        });
+    }
+
+    @Test
+    void testUnchangedListIsNotTouched() {
+        List<String> desired = new ArrayList<>(items);
+        assertFalse(ListPatcher.patch(items, desired));
+        assertTrue(changes.isEmpty());
+    }
+
+    @Test
+    void testRenameReplacesSingleItem() {
+        List<String> desired = Arrays.asList("CLASSES", "Shape", "Square", " ", "RELATIONSHIPS", "association");
+        assertTrue(ListPatcher.patch(items, desired));
+        assertEquals(desired, items);
+        assertEquals(List.of("replace 2"), changes);
+    }
+
+    @Test
+    void testInsertAddsSingleItem() {
+        List<String> desired = Arrays.asList("CLASSES", "Shape", "Circle", "Square", " ", "RELATIONSHIPS", "association");
+        ListPatcher.patch(items, desired);
+        assertEquals(desired, items);
+        assertEquals(List.of("add 3"), changes);
+    }
+
+    @Test
+    void testDeleteRemovesSingleItem() {
+        List<String> desired = Arrays.asList("CLASSES", "Circle", " ", "RELATIONSHIPS", "association");
+        ListPatcher.patch(items, desired);
+        assertEquals(desired, items);
+        assertEquals(List.of("remove 1"), changes);
+    }
+
+    @Test
+    void testCustomComparisonKeepsMatchingItems() {
+        List<String> desired = Arrays.asList("classes", "shape", "circle", " ", "relationships", "association");
+        assertFalse(ListPatcher.patch(items, desired, String::equalsIgnoreCase));
+        assertEquals("CLASSES", items.get(0));
+    }
+
+    @Test
+    void testNullArgumentsThrow() {
+        assertThrows(IllegalArgumentException.class, () -> ListPatcher.patch(null, items));
+        assertThrows(IllegalArgumentException.class, () -> ListPatcher.patch(items, null));
+    }
+}
@@ -0,0 +1,86 @@
+package TEST.Business;
+
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.example.craftuml.Business.NameIndex;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameIndexTest {
+
+    private static StringProperty named(String name) {
+        return new SimpleStringProperty(name);
+    }
+
+    @Test
+    void testFindsElementsByName() {
+        NameIndex<StringProperty> index = new NameIndex<>(property -> property);
+        StringProperty a = named("A");
+        StringProperty b = named("B");
+        index.add(a);
+        index.add(b);
+        index.add(a);
+
+        assertSame(a, index.find("A"));
+        assertSame(b, index.find("B"));
+        assertNull(index.find("C"));
+        assertNull(index.find(null));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void testFollowsRenames() {
+        NameIndex<StringProperty> index = new NameIndex<>(property -> property);
+        StringProperty element = named("Old");
+        index.add(element);
+
+        element.set("New");
+        assertNull(index.find("Old"));
+        assertSame(element, index.find("New"));
+
+        index.remove(element);
+        element.set("Newer");
+        assertNull(index.find("New"));
+        assertNull(index.find("Newer"));
+    }
+
+    @Test
+    void testDuplicateNamesFindFirstAdded() {
+        NameIndex<StringProperty> index = new NameIndex<>(property -> property);
+        StringProperty first = named("Same");
+        StringProperty second = named("Same");
+        index.add(first);
+        index.add(second);
+
+        assertSame(first, index.find("Same"));
+        index.remove(first);
+        assertSame(second, index.find("Same"));
+    }
+
+    @Test
+    void testFollowsObservableList() {
+        StringProperty a = named("A");
+        ObservableList<StringProperty> items = FXCollections.observableArrayList(a);
+        NameIndex<StringProperty> index = new NameIndex<>(items, property -> property);
+        StringProperty b = named("B");
+
+        assertSame(a, index.find("A"));
+        items.add(b);
+        assertSame(b, index.find("B"));
+        items.remove(a);
+        assertNull(index.find("A"));
+        items.clear();
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testInvalidArgumentsThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new NameIndex<StringProperty>(null));
+        assertThrows(IllegalArgumentException.class, () -> new NameIndex<StringProperty>(null, property -> property));
+        NameIndex<StringProperty> index = new NameIndex<>(property -> property);
+        assertThrows(IllegalArgumentException.class, () -> index.add(null));
+    }
+}
@@ -0,0 +1,128 @@
+package TEST.Business;
+
+import org.example.craftuml.Business.Java2DRenderer;
+import org.example.craftuml.Business.RelationshipBatch;
+import org.example.craftuml.models.ClassDiagrams.ClassDiagram;
+import org.example.craftuml.models.ClassDiagrams.InterfaceData;
+import org.example.craftuml.models.Relationship;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RelationshipBatchTest {
+
+    private BufferedImage image;
+    private Graphics2D graphics;
+    private CountingRenderer renderer;
+    private RelationshipBatch batch;
+
+    private static class CountingRenderer extends Java2DRenderer {
+        private int strokes;
+        private int fills;
+        private int dashChanges;
+
+        private CountingRenderer(Graphics2D graphics) {
+            super(graphics);
+        }
+
+        @Override
+        public void stroke() {
+            strokes++;
+            super.stroke();
+        }
+
+        @Override
+        public void fill() {
+            fills++;
+            super.fill();
+        }
+
+        @Override
+        public void setLineDashes(double... dashes) {
+            dashChanges++;
+            super.setLineDashes(dashes);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        image = new BufferedImage(400, 400, BufferedImage.TYPE_INT_ARGB);
+        graphics = image.createGraphics();
+        renderer = new CountingRenderer(graphics);
+        batch = new RelationshipBatch();
+    }
+
+    @AfterEach
+    void tearDown() {
+        graphics.dispose();
+    }
+
+    private ClassDiagram box(String name, double x, double y) {
+        ClassDiagram diagram = new ClassDiagram(name, x, y);
+        diagram.setWidth(40);
+        diagram.setHeight(40);
+        return diagram;
+    }
+
+    private InterfaceData interfaceBox(double x, double y) {
+        InterfaceData diagram = new InterfaceData();
+        diagram.setName("Shape");
+        diagram.setX(x);
+        diagram.setY(y);
+        diagram.setWidth(40);
+        diagram.setHeight(40);
+        return diagram;
+    }
+
+    @Test
+    void testStateChangesDoNotGrowWithEdges() {
+        ClassDiagram hub = box("Hub", 180, 180);
+        for (int i = 0; i < 20; i++) {
+            String type = i % 3 == 0 ? "composition" : i % 3 == 1 ? "aggregation" : "association";
+            batch.add(new Relationship(hub, box("C" + i, (i % 5) * 80, (i / 5) * 100), type, "1", "0..*", new ArrayList<>(), "r" + i));
+        }
+        for (int i = 0; i < 10; i++) {
+            batch.add(new Relationship(box("I" + i, i * 35, 350), interfaceBox(300, 20), "Realization", "0", "0", new ArrayList<>()));
+        }
+        assertEquals(30, batch.size());
+
+        batch.draw(renderer, true);
+
+        assertEquals(2, renderer.strokes);
+        assertEquals(1, renderer.fills);
+        assertEquals(3, renderer.dashChanges);
+        assertEquals(0, batch.size());
+    }
+
+    @Test
+    void testBatchDrawsEdgesAndArrowheads() {
+        ClassDiagram whole = box("Whole", 20, 20);
+        ClassDiagram part = box("Part", 300, 300);
+        batch.add(new Relationship(whole, part, "composition", "0", "0", new ArrayList<>(), ""));
+
+        batch.draw(renderer, false);
+
+        // The line runs between the facing corners, the filled diamond sits at the target corner
+        assertTrue((image.getRGB(170, 170) >>> 24) > 0);
+        assertTrue((image.getRGB(292, 292) >>> 24) > 0);
+        assertEquals(1, renderer.dashChanges);
+    }
+
+    @Test
+    void testEmptyBatchDrawsNothing() {
+        batch.draw(renderer, true);
+        assertEquals(0, renderer.strokes);
+        assertEquals(0, renderer.fills);
+    }
+
+    @Test
+    void testNullRelationshipThrows() {
+        assertThrows(IllegalArgumentException.class, () -> batch.add(null));
+    }
+}
@@ -0,0 +1,89 @@
+package TEST.Business;
+
+import org.example.craftuml.Business.RenderScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RenderSchedulerTest {
+
+    private TestScheduler scheduler;
+    private int paints;
+
+    /**
+     * Scheduler whose pulses are driven by the test instead of an AnimationTimer.
+     */
+    private static class TestScheduler extends RenderScheduler {
+        int starts;
+        int stops;
+
+        @Override
+        protected void startPulse() {
+            starts++;
+        }
+
+        @Override
+        protected void stopPulse() {
+            stops++;
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        scheduler = new TestScheduler();
+        paints = 0;
+    }
+
+    @Test
+    void testRepeatedRequestsRunOncePerPulse() {
+        Runnable paint = () -> paints++;
+        for (int i = 0; i < 50; i++) {
+            scheduler.request(paint);
+        }
+        assertEquals(0, paints);
+        assertEquals(1, scheduler.starts);
+
+        scheduler.flush();
+        assertEquals(1, paints);
+        assertFalse(scheduler.hasPendingWork());
+        assertEquals(1, scheduler.stops);
+    }
+
+    @Test
+    void testTaskRequestedDuringFlushRunsInSameFlush() {
+        StringBuilder order = new StringBuilder();
+        Runnable list = () -> order.append("list");
+        Runnable paint = () -> {
+            order.append("paint,");
+            scheduler.request(list);
+        };
+
+        scheduler.request(paint);
+        scheduler.flush();
+        assertEquals("paint,list", order.toString());
+        assertFalse(scheduler.hasPendingWork());
+    }
+
+    @Test
+    void testTaskRequestingItselfIsDeferredToNextPulse() {
+        Runnable[] self = new Runnable[1];
+        self[0] = () -> {
+            paints++;
+            scheduler.request(self[0]);
+        };
+
+        scheduler.request(self[0]);
+        scheduler.flush();
+        assertEquals(1, paints);
+        assertTrue(scheduler.hasPendingWork());
+
+        scheduler.cancel();
+        assertFalse(scheduler.hasPendingWork());
+    }
+
+    @Test
+    void testNullTaskThrows() {
+        assertThrows(IllegalArgumentException.class, () -> scheduler.request(null));
+    }
+}
@@ -0,0 +1,79 @@
+package TEST.Business;
+
+import org.example.craftuml.Business.SegmentIndex;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SegmentIndexTest {
+
+    @Test
+    void testFindsNearestEdgeWithinTolerance() {
+        SegmentIndex<String> index = new SegmentIndex<>(100);
+        index.update("horizontal", new double[]{0, 300}, new double[]{50, 50}, 2);
+        index.update("vertical", new double[]{150, 150}, new double[]{0, 300}, 2);
+
+        assertEquals("horizontal", index.findNearest(60, 53, 5));
+        assertEquals("vertical", index.findNearest(148, 200, 5));
+        assertEquals("vertical", index.findNearest(151, 52, 5));
+        assertNull(index.findNearest(60, 60, 5));
+    }
+
+    @Test
+    void testLineExtensionIsNotPicked() {
+        SegmentIndex<String> index = new SegmentIndex<>(100);
+        index.update("edge", new double[]{0, 100}, new double[]{0, 100}, 2);
+
+        assertEquals("edge", index.findNearest(50, 52, 5));
+        assertNull(index.findNearest(150, 150, 5));
+    }
+
+    @Test
+    void testEveryPolylineSegmentIsIndexed() {
+        SegmentIndex<String> index = new SegmentIndex<>(50);
+        double[] xPoints = {100, 160, 160, 100};
+        double[] yPoints = {20, 20, 60, 60};
+        index.update("loop", xPoints, yPoints, 4);
+
+        assertEquals("loop", index.findNearest(130, 22, 3));
+        assertEquals("loop", index.findNearest(161, 40, 3));
+        assertEquals("loop", index.findNearest(120, 59, 3));
+        assertNull(index.findNearest(130, 40, 3));
+
+        // Shortening the polyline drops the segments that are no longer drawn
+        index.update("loop", xPoints, yPoints, 2);
+        assertNull(index.findNearest(161, 40, 3));
+        assertEquals("loop", index.findNearest(130, 22, 3));
+    }
+
+    @Test
+    void testFilterAndRemove() {
+        SegmentIndex<String> index = new SegmentIndex<>(100);
+        index.update("a", new double[]{0, 100}, new double[]{10, 10}, 2);
+        index.update("b", new double[]{0, 100}, new double[]{12, 12}, 2);
+
+        assertEquals("a", index.findNearest(50, 10, 5));
+        assertEquals("b", index.findNearest(50, 10, 5, edge -> edge.equals("b")));
+
+        index.remove("a");
+        assertFalse(index.contains("a"));
+        assertEquals("b", index.findNearest(50, 10, 5));
+        index.update("b", new double[]{0}, new double[]{0}, 1);
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testDistanceToSegment() {
+        assertEquals(5, SegmentIndex.distanceToSegment(5, 5, 0, 0, 10, 0), 1e-9);
+        assertEquals(5, SegmentIndex.distanceToSegment(13, 4, 0, 0, 10, 0), 1e-9);
+        assertEquals(5, SegmentIndex.distanceToSegment(3, 4, 0, 0, 0, 0), 1e-9);
+    }
+
+    @Test
+    void testInvalidArgumentsThrow() {
+        SegmentIndex<String> index = new SegmentIndex<>(100);
+        assertThrows(IllegalArgumentException.class, () -> index.update(null, new double[2], new double[2], 2));
+        assertThrows(IllegalArgumentException.class, () -> index.update("a", new double[1], new double[2], 2));
+        assertThrows(IllegalArgumentException.class, () -> index.findNearest(0, 0, -1));
+    }
+}
@@ -0,0 +1,113 @@
+package TEST.Business;
+
+import org.example.craftuml.Business.SpatialGrid;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpatialGridTest {
+
+    private final List<String> result = new ArrayList<>();
+
+    @Test
+    void testPointQueryFindsContainingElements() {
+        SpatialGrid<String> grid = new SpatialGrid<>(100);
+        grid.update("A", 10, 10, 50, 50);
+        grid.update("B", 40, 40, 200, 30);
+        grid.update("C", 500, 500, 20, 20);
+
+        assertEquals(List.of("A", "B"), grid.query(45, 45, result));
+        assertEquals(List.of("B"), grid.query(230, 60, result));
+        assertTrue(grid.query(300, 300, result).isEmpty());
+        assertEquals(3, grid.size());
+    }
+
+    @Test
+    void testUpdateMovesElement() {
+        SpatialGrid<String> grid = new SpatialGrid<>(100);
+        grid.update("A", 10, 10, 50, 50);
+        grid.update("A", 410, 410, 50, 50);
+
+        assertTrue(grid.query(30, 30, result).isEmpty());
+        assertEquals(List.of("A"), grid.query(430, 430, result));
+        assertEquals(1, grid.size());
+
+        // A move within the same cells only changes the bounds
+        grid.update("A", 420, 420, 10, 10);
+        assertTrue(grid.query(450, 450, result).isEmpty());
+        assertEquals(List.of("A"), grid.query(425, 425, result));
+    }
+
+    @Test
+    void testResultsKeepInsertionOrderAfterMoves() {
+        SpatialGrid<String> grid = new SpatialGrid<>(50);
+        grid.update("first", 0, 0, 10, 10);
+        grid.update("second", 300, 300, 10, 10);
+        grid.update("second", 0, 0, 10, 10);
+        grid.update("first", 300, 300, 10, 10);
+        grid.update("first", 0, 0, 10, 10);
+
+        assertEquals(List.of("first", "second"), grid.query(5, 5, result));
+    }
+
+    @Test
+    void testAreaQueryReportsEachElementOnce() {
+        SpatialGrid<String> grid = new SpatialGrid<>(10);
+        grid.update("wide", 0, 0, 95, 95);
+        grid.update("small", 60, 60, 5, 5);
+        grid.update("far", 1000, 1000, 5, 5);
+
+        assertEquals(List.of("wide", "small"), grid.query(50, 50, 30, 30, result));
+        assertEquals(List.of("wide", "small", "far"), grid.query(-1e6, -1e6, 2e6, 2e6, result));
+    }
+
+    @Test
+    void testInsideQueryDropsPartlyCoveredElements() {
+        SpatialGrid<String> grid = new SpatialGrid<>(100);
+        grid.update("inside", 10, 10, 50, 50);
+        grid.update("edge", 0, 0, 100, 20);
+        grid.update("across", 80, 80, 50, 50);
+
+        assertEquals(List.of("inside", "edge"), grid.queryInside(0, 0, 100, 100, result));
+        assertEquals(List.of("inside"), grid.queryInside(5, 5, 95, 95, result));
+        assertTrue(grid.queryInside(300, 300, 10, 10, result).isEmpty());
+    }
+
+    @Test
+    void testRemoveAndClear() {
+        SpatialGrid<String> grid = new SpatialGrid<>(100);
+        grid.update("A", 0, 0, 250, 250);
+        grid.update("B", 0, 0, 10, 10);
+
+        grid.remove("A");
+        grid.remove("missing");
+        assertFalse(grid.contains("A"));
+        assertEquals(List.of("B"), grid.query(5, 5, result));
+        assertTrue(grid.query(200, 200, result).isEmpty());
+
+        grid.clear();
+        assertEquals(0, grid.size());
+        assertTrue(grid.query(5, 5, result).isEmpty());
+    }
+
+    @Test
+    void testNegativeCoordinatesUseTheirOwnCells() {
+        SpatialGrid<String> grid = new SpatialGrid<>(100);
+        grid.update("A", -150, -150, 20, 20);
+
+        assertEquals(List.of("A"), grid.query(-140, -140, result));
+        assertTrue(grid.query(60, 60, result).isEmpty());
+    }
+
+    @Test
+    void testInvalidArgumentsThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new SpatialGrid<String>(0));
+        SpatialGrid<String> grid = new SpatialGrid<>(100);
+        assertThrows(IllegalArgumentException.class, () -> grid.update(null, 0, 0, 10, 10));
+        assertThrows(IllegalArgumentException.class, () -> grid.update("A", 0, 0, -1, 10));
+        assertThrows(IllegalArgumentException.class, () -> grid.update("A", Double.NaN, 0, 10, 10));
+    }
+}
@@ -0,0 +1,79 @@
+package TEST.Business;
+
+import org.example.craftuml.Business.SpriteCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpriteCacheTest {
+
+    private SpriteCache<String> cache;
+    private final Object first = new Object();
+    private final Object second = new Object();
+    private final Object third = new Object();
+
+    @BeforeEach
+    void setUp() {
+        cache = new SpriteCache<>(100);
+    }
+
+    @Test
+    void testSpriteIsReusedForSameVersionAndScale() {
+        cache.put(first, 1, 1.0, "sprite", 40);
+        assertEquals("sprite", cache.get(first, 1, 1.0));
+        assertEquals(40, cache.getUsedBytes());
+    }
+
+    @Test
+    void testVersionOrScaleChangeMisses() {
+        cache.put(first, 1, 1.0, "sprite", 40);
+        assertNull(cache.get(first, 1, 2.0));
+        assertEquals(0, cache.size());
+
+        cache.put(first, 1, 1.0, "sprite", 40);
+        assertNull(cache.get(first, 2, 1.0));
+        assertEquals(0, cache.getUsedBytes());
+    }
+
+    @Test
+    void testLeastRecentlyUsedIsEvictedOverBudget() {
+        cache.put(first, 1, 1.0, "a", 40);
+        cache.put(second, 1, 1.0, "b", 40);
+        cache.get(first, 1, 1.0);
+        cache.put(third, 1, 1.0, "c", 40);
+
+        assertNull(cache.get(second, 1, 1.0));
+        assertEquals("a", cache.get(first, 1, 1.0));
+        assertEquals("c", cache.get(third, 1, 1.0));
+        assertEquals(80, cache.getUsedBytes());
+    }
+
+    @Test
+    void testOversizedSpriteIsNotStored() {
+        cache.put(first, 1, 1.0, "huge", 101);
+        assertEquals(0, cache.size());
+        assertNull(cache.get(first, 1, 1.0));
+    }
+
+    @Test
+    void testInvalidateAndClear() {
+        cache.put(first, 1, 1.0, "a", 10);
+        cache.put(second, 1, 1.0, "b", 10);
+        cache.invalidate(first);
+        assertNull(cache.get(first, 1, 1.0));
+        assertEquals(10, cache.getUsedBytes());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getUsedBytes());
+    }
+
+    @Test
+    void testInvalidArgumentsThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new SpriteCache<String>(0));
+        assertThrows(IllegalArgumentException.class, () -> cache.put(null, 1, 1.0, "a", 1));
+        assertThrows(IllegalArgumentException.class, () -> cache.put(first, 1, 1.0, null, 1));
+        assertThrows(IllegalArgumentException.class, () -> cache.put(first, 1, 1.0, "a", -1));
+    }
+}
@@ -0,0 +1,75 @@
+package TEST.Business;
+
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.scene.text.Font;
+import org.example.craftuml.Business.TextMetricsCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextMetricsCacheTest {
+
+    private TextMetricsCache cache;
+    private Font font;
+    private int measurements;
+
+    @BeforeEach
+    void setUp() {
+        measurements = 0;
+        cache = new TextMetricsCache(2, (text, f) -> {
+            measurements++;
+            return new BoundingBox(0, 0, text.length() * f.getSize() / 2, f.getSize());
+        });
+        font = Font.font("Arial", 12);
+    }
+
+    @Test
+    void testRepeatedMeasurementIsCached() {
+        Bounds first = cache.measure("+ name : String", font);
+        Bounds second = cache.measure("+ name : String", font);
+
+        assertSame(first, second);
+        assertEquals(1, cache.size());
+        assertEquals(1, measurements);
+    }
+
+    @Test
+    void testLongerTextIsWider() {
+        assertTrue(cache.getWidth("a much longer line of text", font) > cache.getWidth("short", font));
+    }
+
+    @Test
+    void testDifferentFontsAreSeparateEntries() {
+        cache.measure("Shape", font);
+        cache.measure("Shape", Font.font("Arial", 14));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        Bounds first = cache.measure("first", font);
+        cache.measure("second", font);
+        cache.measure("first", font);
+        cache.measure("third", font);
+
+        assertEquals(2, cache.size());
+        assertSame(first, cache.measure("first", font));
+        assertEquals(3, measurements);
+
+        cache.measure("second", font);
+        assertEquals(4, measurements);
+    }
+
+    @Test
+    void testNullTextIsMeasuredAsEmpty() {
+        assertEquals(0, cache.getWidth(null, font));
+    }
+
+    @Test
+    void testInvalidArgumentsThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new TextMetricsCache(0));
+        assertThrows(IllegalArgumentException.class, () -> new TextMetricsCache(10, null));
+    }
+}
@@ -0,0 +1,100 @@
+package TEST.Business;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.example.craftuml.Business.UseCaseDiagramPicker;
+import org.example.craftuml.models.UseCaseDiagrams.Actor;
+import org.example.craftuml.models.UseCaseDiagrams.UseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UseCaseDiagramPickerTest {
+
+    private ObservableList<Actor> actors;
+    private ObservableList<UseCase> useCases;
+    private UseCaseDiagramPicker picker;
+
+    @BeforeEach
+    void setUp() {
+        actors = FXCollections.observableArrayList();
+        useCases = FXCollections.observableArrayList();
+        picker = new UseCaseDiagramPicker(actors, useCases);
+    }
+
+    private Actor actor(String name, double x, double y) {
+        Actor actor = new Actor(name);
+        actor.setX(x);
+        actor.setY(y);
+        return actor;
+    }
+
+    private UseCase useCase(String name, double x, double y) {
+        UseCase useCase = new UseCase(name);
+        useCase.setX(x);
+        useCase.setY(y);
+        return useCase;
+    }
+
+    @Test
+    void testPicksElementsAddedToTheLists() {
+        Actor user = actor("User", 10, 10);
+        UseCase login = useCase("Login", 200, 200);
+        actors.add(user);
+        useCases.add(login);
+
+        assertEquals(2, picker.size());
+        assertSame(user, picker.pick(20, 50));
+        assertSame(login, picker.pick(250, 225));
+        assertNull(picker.pick(150, 150));
+    }
+
+    @Test
+    void testUseCaseIsOnlyHitInsideItsOval() {
+        UseCase login = useCase("Login", 0, 0);
+        useCases.add(login);
+
+        // The corner of the bounding box lies outside the 100 x 50 oval
+        assertNull(picker.pick(3, 3));
+        assertFalse(picker.isOverElement(98, 48));
+        assertSame(login, picker.pick(50, 25));
+        assertSame(login, picker.pick(99, 25));
+    }
+
+    @Test
+    void testTopmostElementWins() {
+        Actor user = actor("User", 40, 0);
+        UseCase first = useCase("First", 0, 0);
+        UseCase second = useCase("Second", 20, 0);
+        actors.add(user);
+        useCases.add(first);
+        useCases.add(second);
+
+        // Use cases are drawn over actors, later use cases over earlier ones
+        assertSame(second, picker.pick(55, 25));
+        assertSame(user, picker.pick(45, 80));
+    }
+
+    @Test
+    void testUpdateFollowsMoveAndRemovalDropsElement() {
+        Actor user = actor("User", 10, 10);
+        actors.add(user);
+
+        user.setX(400);
+        user.setY(400);
+        picker.update(user);
+        assertNull(picker.pick(20, 50));
+        assertSame(user, picker.pick(410, 450));
+
+        actors.remove(user);
+        assertNull(picker.pick(410, 450));
+        assertEquals(0, picker.size());
+    }
+
+    @Test
+    void testInvalidArgumentsThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new UseCaseDiagramPicker(null, useCases));
+        assertThrows(IllegalArgumentException.class, () -> picker.update("not an element"));
+    }
+}
@@ -1,7 +1,9 @@
 package TEST.Business;
 
-
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
 import org.example.craftuml.Business.UseCaseManager;
+import org.example.craftuml.Business.TextMetricsCache;
 import org.example.craftuml.models.UseCaseDiagrams.UseCase;
 import org.example.craftuml.models.UseCaseDiagrams.UseCaseDiagram;
 import org.junit.jupiter.api.BeforeEach;
@@ -133,5 +135,23 @@ class UseCaseManagerTest {
 
         assertFalse(isHovering);
     }
-}
 
+    @Test
+    void testUseCaseBoundsCoverOvalAndFollowMove() {
+        useCaseManager.addUseCase("Place A Very Long Order Name", 100, 100, activeDiagram);
+        UseCase useCase = useCaseManager.getUseCases().get(0);
+
+        TextMetricsCache metrics = new TextMetricsCache(16, (text, font) -> new BoundingBox(0, 0, text.length() * 7, 16));
+        Bounds bounds = UseCaseManager.getUseCaseBounds(useCase, metrics);
+        assertEquals(100, bounds.getMinX());
+        assertEquals(100, bounds.getMinY());
+        assertTrue(bounds.getWidth() > UseCase.DEFAULT_WIDTH);
+        assertTrue(bounds.getHeight() >= 50);
+
+        useCase.setPosition(200, 150);
+        Bounds moved = UseCaseManager.getUseCaseBounds(useCase, metrics);
+        assertEquals(200, moved.getMinX());
+        assertEquals(150, moved.getMinY());
+        assertEquals(bounds.getWidth(), moved.getWidth());
+    }
+}
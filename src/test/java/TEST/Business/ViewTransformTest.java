@@ -0,0 +1,68 @@
+package TEST.Business;
+
+import javafx.geometry.Bounds;
+import org.example.craftuml.Business.ViewTransform;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ViewTransformTest {
+
+    @Test
+    void testZoomKeepsAnchorPointInPlace() {
+        ViewTransform view = new ViewTransform();
+        view.setOffset(50, 20);
+        double modelX = view.toModelX(200);
+        double modelY = view.toModelY(150);
+
+        assertTrue(view.zoomAt(200, 150, 2.0));
+        assertEquals(2.0, view.getScale());
+        assertEquals(modelX, view.toModelX(200), 1e-9);
+        assertEquals(modelY, view.toModelY(150), 1e-9);
+        assertEquals(200, view.toCanvasX(modelX), 1e-9);
+    }
+
+    @Test
+    void testZoomIsClampedToLimits() {
+        ViewTransform view = new ViewTransform(0.5, 2.0);
+        view.zoomAt(0, 0, 10);
+        assertEquals(2.0, view.getScale());
+        assertFalse(view.zoomAt(0, 0, 1.5));
+
+        view.zoomAt(0, 0, 0.01);
+        assertEquals(0.5, view.getScale());
+    }
+
+    @Test
+    void testPanMovesModelWithPointer() {
+        ViewTransform view = new ViewTransform();
+        view.zoomAt(0, 0, 2.0);
+        double before = view.toModelX(100);
+        view.panBy(40, 0);
+        assertEquals(before - 20, view.toModelX(100), 1e-9);
+    }
+
+    @Test
+    void testVisibleBoundsAndSubPixelCulling() {
+        ViewTransform view = new ViewTransform();
+        view.zoomAt(0, 0, 0.25);
+        view.setOffset(100, 0);
+
+        Bounds visible = view.getVisibleBounds(800, 600);
+        assertEquals(400, visible.getMinX(), 1e-9);
+        assertEquals(3200, visible.getWidth(), 1e-9);
+        assertEquals(2400, visible.getHeight(), 1e-9);
+
+        assertTrue(view.isSubPixel(3, 2));
+        assertFalse(view.isSubPixel(3, 8));
+    }
+
+    @Test
+    void testInvalidArgumentsThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new ViewTransform(0, 2));
+        assertThrows(IllegalArgumentException.class, () -> new ViewTransform(1.5, 2));
+        ViewTransform view = new ViewTransform();
+        assertThrows(IllegalArgumentException.class, () -> view.zoomAt(0, 0, -1));
+        assertThrows(IllegalArgumentException.class, () -> view.zoomAt(0, 0, Double.NaN));
+    }
+}
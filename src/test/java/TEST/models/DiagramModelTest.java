@@ -0,0 +1,203 @@
+package TEST.models;
+
+import org.example.craftuml.models.ClassDiagrams.ClassDiagram;
+import org.example.craftuml.models.ClassDiagrams.InterfaceData;
+import org.example.craftuml.models.DiagramModel;
+import org.example.craftuml.models.ObstacleIndex;
+import org.example.craftuml.models.Relationship;
+import org.example.craftuml.models.RelationshipKind;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiagramModelTest {
+
+    private DiagramModel model;
+    private ClassDiagram first;
+    private ClassDiagram second;
+    private InterfaceData shape;
+    private final ObstacleIndex obstacles = new ObstacleIndex();
+
+    @BeforeEach
+    void setUp() {
+        model = new DiagramModel();
+        first = new ClassDiagram("First", 0, 0);
+        second = new ClassDiagram("Second", 300, 0);
+        shape = new InterfaceData();
+        shape.setName("Shape");
+        model.getClassDiagrams().addAll(first, second);
+        model.getInterfaceDiagrams().add(shape);
+    }
+
+    private Relationship relationship(String type) {
+        return new Relationship(first, second, type, "1", "1", obstacles, "");
+    }
+
+    @Test
+    void testRelationshipsAreSortedByKind() {
+        Relationship generalization = relationship("Generalization");
+        Relationship association = relationship("association");
+        Relationship realization = new Relationship(first, shape, "Realization", "0", "0", obstacles);
+        model.addRelationship(generalization);
+        model.addRelationship(association);
+        model.addRelationship(realization);
+
+        assertEquals(List.of(association), model.getRelationships(RelationshipKind.ASSOCIATION));
+        assertEquals(List.of(realization), model.getRelationships(RelationshipKind.REALIZATION));
+        assertEquals(RelationshipKind.GENERALIZATION, model.getKind(generalization));
+        assertEquals(List.of(association, realization, generalization), model.getRelationships());
+        assertThrows(UnsupportedOperationException.class,
+                () -> model.getRelationships(RelationshipKind.ASSOCIATION).clear());
+    }
+
+    @Test
+    void testIdsAreStableAndNotReused() {
+        long firstId = model.getId(first);
+        long secondId = model.getId(second);
+        Relationship association = relationship("association");
+        long associationId = model.addRelationship(association);
+
+        assertNotEquals(firstId, secondId);
+        assertSame(first, model.getElement(firstId));
+        assertSame(association, model.getElement(associationId));
+        assertEquals(associationId, model.addRelationship(association));
+
+        model.getClassDiagrams().remove(first);
+        assertEquals(-1, model.getId(first));
+        assertNull(model.getElement(firstId));
+
+        model.getClassDiagrams().add(first);
+        assertTrue(model.getId(first) > associationId);
+        assertEquals(secondId, model.getId(second));
+    }
+
+    @Test
+    void testRemoveRelationship() {
+        Relationship composition = relationship("composition");
+        long id = model.addRelationship(composition);
+
+        assertTrue(model.removeRelationship(composition));
+        assertFalse(model.removeRelationship(composition));
+        assertFalse(model.contains(composition));
+        assertNull(model.getElement(id));
+        assertTrue(model.getRelationships().isEmpty());
+    }
+
+    @Test
+    void testRemoveRelationshipsIfAcrossKinds() {
+        Relationship association = relationship("association");
+        Relationship aggregation = relationship("aggregation");
+        Relationship realization = new Relationship(first, shape, "Realization", "0", "0", obstacles);
+        model.addRelationship(association);
+        model.addRelationship(aggregation);
+        model.addRelationship(realization);
+
+        assertTrue(model.removeRelationshipsIf(r -> second.equals(r.getTargetClass())));
+        assertEquals(List.of(realization), model.getRelationships());
+        assertFalse(model.contains(aggregation));
+        assertNull(model.getKind(association));
+    }
+
+    @Test
+    void testFindRelationshipInEitherDirection() {
+        Relationship association = relationship("association");
+        Relationship realization = new Relationship(first, shape, "Realization", "0", "0", obstacles);
+        model.addRelationship(association);
+        model.addRelationship(realization);
+
+        assertSame(association, model.findRelationship(second, first, EnumSet.allOf(RelationshipKind.class)));
+        assertNull(model.findRelationship(first, second, EnumSet.of(RelationshipKind.COMPOSITION)));
+        assertSame(realization, model.findRelationship(first, shape, EnumSet.of(RelationshipKind.REALIZATION)));
+    }
+
+    @Test
+    void testUpdateRelationshipMovesItToItsNewKind() {
+        Relationship association = relationship("association");
+        long id = model.addRelationship(association);
+        association.setType("Generalization");
+        model.updateRelationship(association);
+
+        assertTrue(model.getRelationships(RelationshipKind.ASSOCIATION).isEmpty());
+        assertEquals(List.of(association), model.getRelationships(RelationshipKind.GENERALIZATION));
+        assertEquals(id, model.getId(association));
+        assertThrows(IllegalArgumentException.class, () -> model.updateRelationship(relationship("association")));
+    }
+
+    @Test
+    void testFindsBoxesByNameAfterRenames() {
+        assertSame(first, model.findClassDiagram("First"));
+        assertSame(shape, model.findInterfaceDiagram("Shape"));
+
+        first.setName("Renamed");
+        assertNull(model.findClassDiagram("First"));
+        assertSame(first, model.findClassDiagram("Renamed"));
+
+        model.getClassDiagrams().remove(first);
+        assertNull(model.findClassDiagram("Renamed"));
+        assertNull(model.findInterfaceDiagram("Second"));
+    }
+
+    @Test
+    void testAdjacencyListsFollowTheModel() {
+        Relationship association = relationship("association");
+        Relationship realization = new Relationship(first, shape, "Realization", "0", "0", obstacles);
+        assertTrue(first.getOutgoingRelationships().isEmpty());
+
+        model.addRelationship(association);
+        model.addRelationship(realization);
+        assertEquals(List.of(association, realization), first.getOutgoingRelationships());
+        assertEquals(List.of(association), second.getIncomingRelationships());
+        assertEquals(List.of(realization), model.getIncidentRelationships(shape));
+
+        association.setTargetClass(first);
+        assertTrue(second.getIncomingRelationships().isEmpty());
+        assertEquals(List.of(realization, association), model.getIncidentRelationships(first));
+
+        association.setSourceClass(second);
+        assertEquals(List.of(association), model.getIncidentRelationships(second));
+        assertEquals(List.of(realization, association), model.getIncidentRelationships(first));
+
+        model.removeRelationship(association);
+        assertTrue(second.getOutgoingRelationships().isEmpty());
+        assertEquals(List.of(realization), model.getIncidentRelationships(first));
+        assertTrue(model.getIncidentRelationships("First").isEmpty());
+    }
+
+    @Test
+    void testRemoveRelationshipsOfOnlyTouchesThatElement() {
+        Relationship association = relationship("association");
+        Relationship loop = new Relationship(second, second, "association", "1", "1", obstacles, "");
+        Relationship realization = new Relationship(first, shape, "Realization", "0", "0", obstacles);
+        model.addRelationship(association);
+        model.addRelationship(loop);
+        model.addRelationship(realization);
+
+        assertEquals(List.of(loop, association), model.getIncidentRelationships(second));
+        assertTrue(model.removeRelationshipsOf(second));
+        assertFalse(model.removeRelationshipsOf(second));
+        assertEquals(List.of(realization), model.getRelationships());
+        assertEquals(List.of(realization), first.getOutgoingRelationships());
+        assertNull(model.findRelationship(first, second, EnumSet.allOf(RelationshipKind.class)));
+
+        model.clear();
+        assertTrue(first.getOutgoingRelationships().isEmpty());
+        assertTrue(shape.getIncomingRelationships().isEmpty());
+    }
+
+    @Test
+    void testClearAndInvalidInput() {
+        model.addRelationship(relationship("association"));
+        model.clear();
+
+        assertTrue(model.getClassDiagrams().isEmpty());
+        assertTrue(model.getRelationships().isEmpty());
+        assertEquals(-1, model.getId(first));
+        assertThrows(IllegalArgumentException.class, () -> model.addRelationship(null));
+        assertThrows(IllegalArgumentException.class, () -> model.addRelationship(relationship("dependency")));
+        assertEquals(RelationshipKind.REALIZATION, RelationshipKind.fromType("realization"));
+    }
+}
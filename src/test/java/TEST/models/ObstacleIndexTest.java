@@ -0,0 +1,77 @@
+package TEST.models;
+
+import javafx.scene.shape.Rectangle;
+import org.example.craftuml.models.ClassDiagrams.ClassDiagram;
+import org.example.craftuml.models.ObstacleIndex;
+import org.example.craftuml.models.Relationship;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ObstacleIndexTest {
+
+    private ObstacleIndex index;
+    private ClassDiagram diagram;
+
+    @BeforeEach
+    public void setup() {
+        index = new ObstacleIndex();
+        diagram = new ClassDiagram("Shape", 10, 10);
+    }
+
+    @Test
+    public void testUpdateReusesTheSameRectangle() {
+        index.update(diagram, 10, 10, 100, 60);
+        Rectangle first = index.get(diagram);
+
+        for (int i = 0; i < 1000; i++) {
+            index.update(diagram, 10 + i, 10 + i, 100, 60);
+        }
+
+        assertEquals(1, index.size());
+        assertSame(first, index.get(diagram));
+        assertEquals(1009, first.getX());
+    }
+
+    @Test
+    public void testRemoveDropsTheOwnersObstacle() {
+        index.update(diagram, 0, 0, 50, 50);
+        index.remove(diagram);
+        assertEquals(0, index.size());
+        assertNull(index.get(diagram));
+    }
+
+    @Test
+    public void testOfWrapsPlainRectangleList() {
+        List<Rectangle> rectangles = new ArrayList<>();
+        rectangles.add(new Rectangle(0, 0, 10, 10));
+        rectangles.add(new Rectangle(20, 20, 10, 10));
+
+        assertEquals(2, ObstacleIndex.of(rectangles).size());
+        assertEquals(0, ObstacleIndex.of(null).size());
+    }
+
+    @Test
+    public void testRelationshipSeesInPlaceUpdates() {
+        ClassDiagram target = new ClassDiagram("Target", 300, 0);
+        Relationship relationship = new Relationship(diagram, target, "association", "1", "1", index, "uses");
+        ClassDiagram blocker = new ClassDiagram("Blocker", 0, 0);
+
+        index.update(blocker, 1000, 1000, 40, 40);
+        assertSame(index, relationship.getObstacleIndex());
+        assertEquals(1000, relationship.getObstacles().get(0).getX());
+
+        index.update(blocker, 150, 40, 40, 40);
+        assertEquals(1, relationship.getObstacles().size());
+        assertEquals(150, relationship.getObstacles().get(0).getX());
+    }
+
+    @Test
+    public void testNullOwnerThrows() {
+        assertThrows(IllegalArgumentException.class, () -> index.update(null, 0, 0, 1, 1));
+    }
+}
@@ -219,5 +219,57 @@ public class RelationshipTest {
 
 
 
-}
+    @Test
+    void testGeometryIsAvailableWithoutDrawing() {
+        sourceClass.setWidth(50);
+        sourceClass.setHeight(40);
+        targetClass.setWidth(50);
+        targetClass.setHeight(40);
+        Relationship relationship = new Relationship(sourceClass, targetClass, "association", "1", "0..*", obstacles, "Association");
+
+        assertEquals(50, relationship.getStartX());
+        assertEquals(100, relationship.getStartY());
+        assertEquals(100, relationship.getEndX());
+        assertEquals(100, relationship.getEndY());
+    }
 
+    @Test
+    void testGeometryFollowsMovedBox() {
+        sourceClass.setWidth(50);
+        sourceClass.setHeight(40);
+        targetClass.setWidth(50);
+        targetClass.setHeight(40);
+        Relationship relationship = new Relationship(sourceClass, targetClass, "association", "1", "0..*", obstacles, "Association");
+        relationship.getStartX();
+
+        targetClass.setPosition(100, 300);
+        assertEquals(50, relationship.getStartX());
+        assertEquals(140, relationship.getStartY());
+        assertEquals(100, relationship.getEndX());
+        assertEquals(300, relationship.getEndY());
+    }
+
+    @Test
+    void testSetterOverridesGeometryUntilBoxMoves() {
+        Relationship relationship = new Relationship(sourceClass, targetClass, "association", "1", "0..*", obstacles, "Association");
+        relationship.setStartX(42);
+        assertEquals(42, relationship.getStartX());
+
+        sourceClass.setX(10);
+        assertEquals(10, relationship.getStartX());
+    }
+
+    @Test
+    void testSelfAssociationPathFollowsLoop() {
+        sourceClass.setWidth(60);
+        sourceClass.setHeight(40);
+        Relationship relationship = new Relationship(sourceClass, sourceClass, "association", "1", "1", obstacles, "self");
+        double[] xPoints = new double[Relationship.MAX_PATH_POINTS];
+        double[] yPoints = new double[Relationship.MAX_PATH_POINTS];
+
+        assertEquals(4, relationship.getPath(xPoints, yPoints));
+        assertArrayEquals(new double[]{60, 90, 90, 60}, xPoints);
+        assertArrayEquals(new double[]{120, 120, 140, 140}, yPoints);
+        assertThrows(IllegalArgumentException.class, () -> relationship.getPath(new double[2], new double[2]));
+    }
+}
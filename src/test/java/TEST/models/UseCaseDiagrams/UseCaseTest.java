@@ -83,5 +83,20 @@ class UseCaseTest {
         String expectedString = "UseCase{name='Login', x=0.0, y=0.0}";
         assertEquals(expectedString, useCase.toString());
     }
-}
 
+    @Test
+    void testTextExtentsSizeTheOval() {
+        assertFalse(useCase.hasTextExtents("Login"));
+
+        useCase.setTextExtents("Login", 120, 16);
+        assertTrue(useCase.hasTextExtents("Login"));
+        assertEquals(150, useCase.getWidth());
+        assertEquals(50, useCase.getHeight());
+        assertEquals(120, useCase.getTextWidth());
+
+        useCase.setName("Register");
+        assertFalse(useCase.hasTextExtents("Register"));
+        assertThrows(IllegalArgumentException.class, () -> useCase.setTextExtents(null, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> useCase.setTextExtents("Login", -1, 1));
+    }
+}